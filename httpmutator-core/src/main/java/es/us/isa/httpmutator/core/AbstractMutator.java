@@ -21,7 +21,9 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  */
 public abstract class AbstractMutator extends RandomManager {
     protected LinkedHashMap<String, AbstractOperator> operators; // Map of mutation operators. The key should be equal to the
-                                                           // one in the properties file
+                                                           // one in the properties file. Built once: operators that must
+                                                           // not be applied in a call are excluded with a mask (see
+                                                           // operatorMask()) rather than removed from the map
     protected float prob; // Probability to apply this mutation to an element. Configured in properties
                           // file
 
@@ -66,18 +68,38 @@ public abstract class AbstractMutator extends RandomManager {
      *         contain any operator
      */
     public String getOperator() {
-        float sumWeights = operators.values().stream() // Sum all weights
-                .map(AbstractOperator::getWeight)
-                .reduce(0f, Float::sum);
+        return getOperator(0L);
+    }
+
+    /**
+     * Same as {@link #getOperator()}, but ignoring the operators excluded by a mask
+     * (see {@link #operatorMask(String...)}), as if they were not in the map.
+     *
+     * @param excludedOperators Mask of the operators that cannot be selected
+     * @return The name of the mutation operator selected, or null if no operator
+     *         can be selected
+     */
+    protected String getOperator(long excludedOperators) {
+        float sumWeights = 0f; // Sum all weights
+        int position = 0;
+        for (AbstractOperator operator : operators.values()) {
+            if (!isExcluded(excludedOperators, position++)) {
+                sumWeights += operator.getWeight();
+            }
+        }
         float randomFloat = rand2.nextFloat() * sumWeights; // Generate random float between 0 and sumWeights
 
         float acc = 0;
         String operatorName = null;
         Iterator<Map.Entry<String, AbstractOperator>> operatorIterator = operators.entrySet().iterator();
         Map.Entry<String, AbstractOperator> currentOperator;
+        position = 0;
         while (operatorIterator.hasNext() && sumWeights != 0) { // Iterate over mutation operators if sum of weights is
                                                                 // greater than 0
             currentOperator = operatorIterator.next();
+            if (isExcluded(excludedOperators, position++)) {
+                continue;
+            }
             acc += currentOperator.getValue().getWeight();
             if (randomFloat <= acc) { // When the condition is met, get operator name and break loop
                 operatorName = currentOperator.getKey();
@@ -88,6 +110,37 @@ public abstract class AbstractMutator extends RandomManager {
         return operatorName;
     }
 
+    /**
+     * Builds a mask to exclude some operators from a single call (e.g., operators
+     * that were already applied or that make no changes to an empty array), so that
+     * the map of operators never has to be modified. Each bit of the mask stands for
+     * the operator at that position of the map. Names not present in the map are
+     * ignored.
+     *
+     * @param operatorNames Names of the operators to exclude
+     * @return The mask, to be combined with other masks with '|'
+     */
+    protected long operatorMask(String... operatorNames) {
+        long mask = 0L;
+        int position = 0;
+        for (String name : operators.keySet()) {
+            for (String operatorName : operatorNames) {
+                if (name.equals(operatorName)) {
+                    if (position >= Long.SIZE) {
+                        throw new IllegalStateException("Only the first " + Long.SIZE + " operators of a mutator can be excluded");
+                    }
+                    mask |= 1L << position;
+                }
+            }
+            position++;
+        }
+        return mask;
+    }
+
+    private static boolean isExcluded(long excludedOperators, int position) {
+        return position < Long.SIZE && (excludedOperators & (1L << position)) != 0;
+    }
+
     /**
      * Given an object and the name of a property, mutate the value of that property
      * with probability {@link AbstractMutator#prob}
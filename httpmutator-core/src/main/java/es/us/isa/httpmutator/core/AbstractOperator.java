@@ -30,6 +30,11 @@ public abstract class AbstractOperator extends RandomManager {
 
     protected abstract Object doMutate(Object element);
 
+    /**
+     * @return whether the operator can mutate the element. Should only depend on the
+     *         shape of the element (type, size and property names), since mutation plans
+     *         check it once per shape (see {@code BodyMutator#setPlanCache})
+     */
     public boolean isApplicable(Object element) {
         return true; // Default implementation, can be overridden
     }
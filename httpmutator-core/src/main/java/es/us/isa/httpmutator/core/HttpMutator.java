@@ -1,27 +1,50 @@
 package es.us.isa.httpmutator.core;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.HashCode;
+import es.us.isa.httpmutator.core.body.MutationPlanCache;
+import es.us.isa.httpmutator.core.dedup.MutantDeduplicator;
+import es.us.isa.httpmutator.core.dedup.StructuralHash;
+import es.us.isa.httpmutator.core.model.CandidateGroup;
 import es.us.isa.httpmutator.core.model.HttpExchange;
 import es.us.isa.httpmutator.core.model.Mutant;
-import es.us.isa.httpmutator.core.model.MutantGroup;
+import es.us.isa.httpmutator.core.model.MutatedHttpResponse;
 import es.us.isa.httpmutator.core.model.StandardHttpResponse;
 import es.us.isa.httpmutator.core.reader.HttpExchangeReader;
 import es.us.isa.httpmutator.core.reporter.MutantReporter;
+import es.us.isa.httpmutator.core.strategy.DeferredMutationStrategy;
 import es.us.isa.httpmutator.core.strategy.MutationStrategy;
+import es.us.isa.httpmutator.core.util.MutationConfig;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 import es.us.isa.httpmutator.core.util.RandomUtils;
 import es.us.isa.httpmutator.core.writer.MutantWriter;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 /**
  * High-level orchestration class for running HttpMutator.
+ *
+ * Once configured, an instance is thread-safe: any number of threads can call the
+ * mutate(...) methods at the same time, sharing a single engine, without external
+ * locking. The mutants of each exchange only depend on the random seed and the exchange
+ * id, never on which other threads are running. Reporters are notified concurrently and
+ * must therefore be thread-safe (as {@link es.us.isa.httpmutator.core.reporter.CsvReporter}
+ * is); each writer is called by one thread at a time. Configuration methods (with..., add...)
+ * should not be called while mutants are being generated.
  */
 public class HttpMutator implements AutoCloseable {
 
@@ -30,33 +53,68 @@ public class HttpMutator implements AutoCloseable {
     /**
      * Strategy for selecting which mutants to keep.
      */
-    private MutationStrategy strategy;
+    private volatile MutationStrategy strategy;
 
     /**
      * Optional writers that emit mutated responses.
      */
-    private final List<MutantWriter> writers = new ArrayList<>();
+    private final List<MutantWriter> writers = new CopyOnWriteArrayList<>();
 
     /**
      * Optional reporters that collect statistics / metrics.
      */
-    private final List<MutantReporter> reporters = new ArrayList<>();
+    private final List<MutantReporter> reporters = new CopyOnWriteArrayList<>();
 
     /**
-     * Random seed used by mutation utilities.
+     * Random seed of the run. The random streams of each exchange are derived from it
+     * and the exchange id, so the mutants of an exchange do not depend on which other
+     * exchanges are processed, nor on their order.
      */
-    private long randomSeed;
+    private volatile long randomSeed;
 
-    private boolean closed = false;
+    /**
+     * Number of threads generating mutants in {@link #mutateStream}; 1 runs it on the
+     * calling thread only.
+     */
+    private volatile int threads = 1;
+
+    /**
+     * Whether {@link #mutateStream} emits mutants in input order when it runs on several
+     * threads.
+     */
+    private volatile boolean orderedOutput = true;
+
+    /**
+     * Optional stage dropping duplicate mutants before they reach writers, reporters and consumers.
+     */
+    private volatile MutantDeduplicator deduplicator;
+
+    /**
+     * Number of exchanges at the start of the input skipped by {@link #mutateStream}
+     * (e.g., the exchanges already mutated by an interrupted run).
+     */
+    private volatile long skippedExchanges = 0;
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
 
     public HttpMutator() {
         this(42L);
     }
 
     public HttpMutator(long randomSeed) {
-        this.engine = new HttpMutatorEngine();
+        this(randomSeed, PropertyManager.getConfig());
+    }
+
+    /**
+     * @param randomSeed random seed of the run
+     * @param config     configuration of the mutation operators. Unlike the global
+     *                   properties of {@link PropertyManager}, it is fixed for the lifetime
+     *                   of this instance, so instances with different configurations can
+     *                   run side by side
+     */
+    public HttpMutator(long randomSeed, MutationConfig config) {
+        this.engine = new HttpMutatorEngine(config);
         this.randomSeed = randomSeed;
-        RandomUtils.setSeed(randomSeed);
     }
 
     public HttpMutator withMutationStrategy(MutationStrategy strategy) {
@@ -94,9 +152,13 @@ public class HttpMutator implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Sets the random seed of the run, from which the random stream of each exchange is
+     * derived. The global seed of {@link RandomUtils} is left untouched, so instances with
+     * different seeds can run side by side.
+     */
     public HttpMutator withRandomSeed(long randomSeed) {
         this.randomSeed = randomSeed;
-        RandomUtils.setSeed(randomSeed);
         return this;
     }
 
@@ -104,6 +166,112 @@ public class HttpMutator implements AutoCloseable {
         return randomSeed;
     }
 
+    /**
+     * Opt-in parallel generation of the mutants of each exchange: status code, header
+     * and body mutants are generated concurrently on the given pool, and large bodies
+     * are split into chunks of subtrees generated in parallel. Groups still reach the
+     * strategy, writers and reporters on the calling thread and in a well-defined
+     * order, and results are identical to the ones of sequential generation. The pool
+     * is not shut down by this class.
+     *
+     * @param pool the pool to use, or null to go back to sequential generation
+     */
+    public HttpMutator withParallelGeneration(ForkJoinPool pool) {
+        engine.setForkJoinPool(pool);
+        return this;
+    }
+
+    /**
+     * Number of threads used by {@link #mutateStream}. With more than one, reading,
+     * mutant generation and writing run as a pipeline: a reader thread feeds exchanges
+     * through a bounded queue to the given number of worker threads, which generate,
+     * select and materialize the mutants of each exchange, and the calling thread passes
+     * them to writers and reporters. Since the mutants of an exchange only depend on the
+     * random seed and the exchange id, the output is the same as with one thread (see
+     * {@link #withOrderedOutput(boolean)}).
+     *
+     * @param threads number of worker threads, 1 (the default) to process the stream on
+     *                the calling thread
+     */
+    public HttpMutator withThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1");
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * @param orderedOutput true (the default) to emit the mutants of the exchanges in input
+     *                      order when {@link #mutateStream} runs on several threads; false to
+     *                      emit them as soon as they are generated, for maximum throughput
+     */
+    public HttpMutator withOrderedOutput(boolean orderedOutput) {
+        this.orderedOutput = orderedOutput;
+        return this;
+    }
+
+    /**
+     * Drops mutants whose mutated response is identical to the original response or to
+     * another mutant, before they are passed to writers, reporters and consumers (see
+     * {@link MutantDeduplicator} for the available scopes). Mutants held back by a
+     * {@link DeferredMutationStrategy} are deduplicated too, within the scope of their
+     * exchange, when they are emitted at the end of the stream.
+     *
+     * @param deduplicator the deduplicator to use, or null (the default) to keep every mutant
+     */
+    public HttpMutator withDeduplication(MutantDeduplicator deduplicator) {
+        this.deduplicator = deduplicator;
+        return this;
+    }
+
+    public MutantDeduplicator getDeduplicator() {
+        return deduplicator;
+    }
+
+    /**
+     * Skips the first exchanges of the input in {@link #mutateStream}: they are read but
+     * not mutated. Since the random streams of each exchange only depend on the seed and
+     * the exchange id, resuming an interrupted run by skipping the exchanges it already
+     * mutated yields the same mutants for the remaining ones, provided the strategy keeps
+     * no state across exchanges (e.g., no budgets or reservoir) and the output is ordered.
+     *
+     * @param skippedExchanges number of exchanges to skip, 0 (the default) to mutate all
+     */
+    public HttpMutator withSkippedExchanges(long skippedExchanges) {
+        if (skippedExchanges < 0) {
+            throw new IllegalArgumentException("skippedExchanges must be >= 0");
+        }
+        this.skippedExchanges = skippedExchanges;
+        return this;
+    }
+
+    public long getSkippedExchanges() {
+        return skippedExchanges;
+    }
+
+    /**
+     * Caches the mutation plans of the shapes of the response bodies (see
+     * {@link MutationPlanCache}), so that bodies with the same shape as a previous one
+     * (e.g., responses of the same endpoint) are mutated without analysing their
+     * structure again. With the built-in operators, the output is the same with or
+     * without a cache (see {@link es.us.isa.httpmutator.core.body.BodyMutator#setPlanCache}).
+     *
+     * @param planCache the cache to use, or null (the default) to analyse every body
+     */
+    public HttpMutator withPlanCache(MutationPlanCache planCache) {
+        engine.setPlanCache(planCache);
+        return this;
+    }
+
+    public MutationPlanCache getPlanCache() {
+        return engine.getPlanCache();
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
     public List<MutantWriter> getWriters() {
         return Collections.unmodifiableList(writers);
     }
@@ -124,58 +292,134 @@ public class HttpMutator implements AutoCloseable {
      * Core pipeline:
      * - engine.getAllMutants
      * - strategy.selectMutants
-     * - build StandardHttpResponse for each mutant
+     * - wrap each mutant in a MutatedHttpResponse view (no conversion)
      * - notify reporters
      * - invoke extraHandler (per context)
      */
     private void processExchange(HttpExchange exchange, Consumer<StandardHttpResponse> perMutantConsumer) {
+        processExchange(exchange, perMutantConsumer, null);
+    }
 
-        Objects.requireNonNull(exchange, "exchange must not be null");
-        ensureStrategyConfigured();
+    /**
+     * Same as {@link #processExchange(HttpExchange, Consumer)}, additionally passing the
+     * mutated JsonNode of each selected mutant to perMutantNodeConsumer. Mutants are
+     * only materialized when some writer, reporter or consumer needs them, and are
+     * passed to them as {@link MutatedHttpResponse} views over the mutated JsonNode.
+     */
+    private void processExchange(HttpExchange exchange, Consumer<StandardHttpResponse> perMutantConsumer,
+                                 Consumer<JsonNode> perMutantNodeConsumer) {
 
-        StandardHttpResponse original = exchange.getResponse();
-        JsonNode responseNode = original.toJsonNode();
+        Objects.requireNonNull(exchange, "exchange must not be null");
+        boolean responseNeeded = !writers.isEmpty() || !reporters.isEmpty() || perMutantConsumer != null;
+        JsonNode responseNode = exchange.getResponse().toReadOnlyJsonNode();
+        MutantDeduplicator.Scope dedup = dedupScope(responseNode);
 
         try {
-            engine.getAllMutants(responseNode, (MutantGroup group) -> {
-                for (Mutant mutant : strategy.selectMutants(group)) {
-                    JsonNode mutatedNode = mutant.getMutatedNode();
-                    StandardHttpResponse mutated =
-                            StandardHttpResponse.fromJsonNode(mutatedNode);
-
-                    for (MutantWriter writer : writers) {
-                        try {
-                            writer.write(exchange, mutated, mutant);
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        }
-                    }
+            selectMutants(exchange, responseNode, mutant -> {
+                if (!responseNeeded && perMutantNodeConsumer == null) {
+                    return;
+                }
+                JsonNode mutatedNode = mutant.getMutatedNode();
+                if (dedup != null && !dedup.accept(StructuralHash.of(mutatedNode))) {
+                    return;
+                }
 
-                    for (MutantReporter reporter : reporters) {
-                        reporter.onMutant(exchange, mutated, mutant);
-                    }
+                if (responseNeeded) {
+                    StandardHttpResponse mutated = MutatedHttpResponse.of(mutatedNode);
+
+                    emit(exchange, mutated, mutant);
 
                     if (perMutantConsumer != null) {
                         perMutantConsumer.accept(mutated);
                     }
                 }
+
+                if (perMutantNodeConsumer != null) {
+                    perMutantNodeConsumer.accept(mutatedNode);
+                }
             });
         } catch (UncheckedIOException e) {
             throw new RuntimeException("I/O error while writing mutated responses", e.getCause());
         }
     }
 
+    /**
+     * @param responseNode the response of the exchange, from {@link StandardHttpResponse#toReadOnlyJsonNode()}
+     * @return the deduplication scope of the exchange, or null if deduplication is disabled
+     */
+    private MutantDeduplicator.Scope dedupScope(JsonNode responseNode) {
+        MutantDeduplicator deduplicator = this.deduplicator;
+        return deduplicator == null ? null : deduplicator.forExchange(StructuralHash.of(responseNode));
+    }
+
+    /**
+     * Generates the mutants of an exchange and passes the ones selected by the strategy
+     * to the consumer, in a well-defined order.
+     *
+     * @param responseNode the response of the exchange, from {@link StandardHttpResponse#toReadOnlyJsonNode()}
+     */
+    private void selectMutants(HttpExchange exchange, JsonNode responseNode, Consumer<Mutant> consumer) {
+        ensureStrategyConfigured();
+
+        MutationStrategy strategy = this.strategy.forExchange(exchange);
+        long exchangeSeed = RandomUtils.deriveSeed(randomSeed, exchange.getId());
+
+        // The strategy picks from candidates, so discarded mutants are never generated
+        RandomUtils.runWithSeed(exchangeSeed, () -> engine.getAllCandidates(responseNode, (CandidateGroup group) -> {
+            // The strategy draws from a stream of its own for each group
+            List<Mutant> selected = RandomUtils.callWithSeed(
+                    RandomUtils.deriveSeed(exchangeSeed, "strategy", group.getIdentifier()),
+                    () -> strategy.selectCandidates(group));
+            selected.forEach(consumer);
+        }));
+    }
+
+    /**
+     * Passes a selected mutant to the writers and reporters.
+     */
+    private void emit(HttpExchange exchange, StandardHttpResponse mutated, Mutant mutant) {
+        for (MutantWriter writer : writers) {
+            try {
+                synchronized (writer) { // Writers are not required to be thread-safe
+                    writer.write(exchange, mutated, mutant);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        for (MutantReporter reporter : reporters) {
+            reporter.onMutant(exchange, mutated, mutant);
+        }
+    }
+
+    /**
+     * Tells the writers that all the mutants of an exchange have been emitted.
+     */
+    private void endExchange(HttpExchange exchange) {
+        for (MutantWriter writer : writers) {
+            try {
+                synchronized (writer) {
+                    writer.endExchange(exchange);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     @Override
     public void close() throws IOException {
-        if (closed) return;
-        closed = true;
+        if (!closed.compareAndSet(false, true)) return;
 
         IOException firstException = null;
 
         // 1. Close writers
         for (MutantWriter writer : writers) {
             try {
-                writer.close();
+                synchronized (writer) {
+                    writer.close();
+                }
             } catch (IOException e) {
                 if (firstException == null) {
                     firstException = e;
@@ -206,9 +450,42 @@ public class HttpMutator implements AutoCloseable {
     public void mutateStream(HttpExchangeReader exchangeReader, Reader in) throws IOException {
         Objects.requireNonNull(exchangeReader, "exchangeReader must not be null");
         Objects.requireNonNull(in, "in must not be null");
+        mutateStream(consumer -> exchangeReader.read(in, consumer));
+    }
+
+    /**
+     * Same as {@link #mutateStream(HttpExchangeReader, Reader)}, for UTF-8 input read as
+     * bytes (see {@link HttpExchangeReader#read(InputStream, Consumer)}).
+     */
+    public void mutateStream(HttpExchangeReader exchangeReader, InputStream in) throws IOException {
+        Objects.requireNonNull(exchangeReader, "exchangeReader must not be null");
+        Objects.requireNonNull(in, "in must not be null");
+        mutateStream(consumer -> exchangeReader.read(in, consumer));
+    }
 
+    /**
+     * Same as {@link #mutateStream(HttpExchangeReader, Reader)}, for a UTF-8 file, possibly
+     * compressed (see {@link HttpExchangeReader#read(Path, Consumer)}).
+     */
+    public void mutateStream(HttpExchangeReader exchangeReader, Path file) throws IOException {
+        Objects.requireNonNull(exchangeReader, "exchangeReader must not be null");
+        Objects.requireNonNull(file, "file must not be null");
+        mutateStream(consumer -> exchangeReader.read(file, consumer));
+    }
+
+    private void mutateStream(StreamPipeline.Source<HttpExchange> exchanges) throws IOException {
         try {
-            exchangeReader.read(in, httpExchange -> processExchange(httpExchange, null));
+            if (threads > 1) {
+                mutateStreamPipelined(exchanges);
+            } else {
+                exchanges.forEach(skipping(httpExchange -> {
+                    processExchange(httpExchange, null);
+                    endExchange(httpExchange);
+                }));
+            }
+            drainDeferredMutants();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         } catch (RuntimeException e) {
             if (e.getCause() instanceof IOException) {
                 throw (IOException) e.getCause();
@@ -219,7 +496,108 @@ public class HttpMutator implements AutoCloseable {
         }
     }
 
+    /**
+     * @return a consumer passing exchanges to the given one, except the first
+     *         {@link #skippedExchanges} ones
+     */
+    private Consumer<HttpExchange> skipping(Consumer<HttpExchange> consumer) {
+        long toSkip = skippedExchanges;
+        if (toSkip == 0) {
+            return consumer;
+        }
+        long[] read = new long[1]; // Exchanges are read on a single thread
+        return exchange -> {
+            if (read[0] < toSkip) {
+                read[0]++;
+            } else {
+                consumer.accept(exchange);
+            }
+        };
+    }
+
+    /**
+     * Emits the mutants held back by the strategy until the end of the stream, if any
+     * (see {@link DeferredMutationStrategy}), deduplicated as the other mutants.
+     */
+    private void drainDeferredMutants() {
+        MutationStrategy strategy = this.strategy;
+        if (strategy instanceof DeferredMutationStrategy) {
+            // The mutants of an exchange share its scope; there are at most as many scopes as deferred mutants
+            Map<HttpExchange, MutantDeduplicator.Scope> dedupScopes = new IdentityHashMap<>();
+            ((DeferredMutationStrategy) strategy).drain((exchange, mutant) -> {
+                JsonNode mutatedNode = mutant.getMutatedNode();
+                if (deduplicator != null && !dedupScopes.computeIfAbsent(exchange,
+                        e -> dedupScope(e.getResponse().toReadOnlyJsonNode()))
+                        .accept(StructuralHash.of(mutatedNode))) {
+                    return;
+                }
+                emit(exchange, MutatedHttpResponse.of(mutatedNode), mutant);
+            });
+        }
+    }
+
+    /**
+     * Pipelined version of {@link #mutateStream}: workers generate and materialize the
+     * selected mutants of whole exchanges, which are then written on the calling thread
+     * (see {@link #withThreads(int)}).
+     */
+    private void mutateStreamPipelined(StreamPipeline.Source<HttpExchange> exchanges) throws IOException {
+        ensureStrategyConfigured();
+        boolean responseNeeded = !writers.isEmpty() || !reporters.isEmpty();
+        boolean deduplicated = deduplicator != null;
+
+        StreamPipeline<HttpExchange, MutatedExchange> pipeline =
+                new StreamPipeline<>(threads, 4 * threads, orderedOutput);
+        pipeline.run(
+                consumer -> exchanges.forEach(skipping(consumer)),
+                exchange -> {
+                    // Hashes are computed by the workers, duplicates are dropped in input order by the writer stage
+                    MutatedExchange result = new MutatedExchange(exchange, exchange.getResponse().toReadOnlyJsonNode());
+                    selectMutants(exchange, result.responseNode, mutant -> {
+                        if (responseNeeded) {
+                            JsonNode mutatedNode = mutant.getMutatedNode();
+                            result.add(mutant, MutatedHttpResponse.of(mutatedNode),
+                                    deduplicated ? StructuralHash.of(mutatedNode) : null);
+                        }
+                    });
+                    return result;
+                },
+                result -> {
+                    MutantDeduplicator.Scope dedup = deduplicated ? dedupScope(result.responseNode) : null;
+                    for (int i = 0; i < result.mutants.size(); i++) {
+                        if (dedup == null || dedup.accept(result.hashes.get(i))) {
+                            emit(result.exchange, result.responses.get(i), result.mutants.get(i));
+                        }
+                    }
+                    endExchange(result.exchange);
+                });
+    }
+
+    /**
+     * Selected mutants of an exchange, on their way from a pipeline worker to the writers.
+     */
+    private static final class MutatedExchange {
+        final HttpExchange exchange;
+        final JsonNode responseNode;
+        final List<Mutant> mutants = new ArrayList<>();
+        final List<StandardHttpResponse> responses = new ArrayList<>();
+        final List<HashCode> hashes = new ArrayList<>(); // Null elements if deduplication is disabled
+
+        MutatedExchange(HttpExchange exchange, JsonNode responseNode) {
+            this.exchange = exchange;
+            this.responseNode = responseNode;
+        }
+
+        void add(Mutant mutant, StandardHttpResponse response, HashCode hash) {
+            mutants.add(mutant);
+            responses.add(response);
+            hashes.add(hash);
+        }
+    }
+
         // ===================== In-memory: StandardHttpResponse → List =====================
+    // Results are MutatedHttpResponse views sharing unchanged subtrees with the original (read-only,
+    // setters detach them; see MutatedHttpResponse#toStandardHttpResponse() for an independent copy).
 
     public List<StandardHttpResponse> mutate(StandardHttpResponse original) {
         return mutate(original, "in-memory");
@@ -240,6 +618,14 @@ public class HttpMutator implements AutoCloseable {
 
     // ===================== In-memory: JsonNode → List<JsonNode> =====================
 
+    /**
+     * Returns the selected mutants of a canonical response. Each returned node only
+     * copies the parts of the response on the path to its mutation and shares the
+     * rest with the original response and with the other results, so memory grows
+     * with the number of mutants rather than with mutants x body size. The returned
+     * nodes must therefore be treated as read-only (use {@link JsonNode#deepCopy()}
+     * before modifying one).
+     */
     public List<JsonNode> mutate(JsonNode canonicalResponseNode, String label) {
         Objects.requireNonNull(canonicalResponseNode, "canonicalResponseNode must not be null");
         ensureStrategyConfigured();
@@ -251,7 +637,7 @@ public class HttpMutator implements AutoCloseable {
 
         List<JsonNode> results = new ArrayList<>();
 
-        processExchange(exchange, mutated -> results.add(mutated.toJsonNode()));
+        processExchange(exchange, null, results::add);
 
         return results;
     }
@@ -261,6 +647,7 @@ public class HttpMutator implements AutoCloseable {
     }
 
     // ===================== In-memory streaming: StandardHttpResponse =====================
+    // Responses passed to the consumer are MutatedHttpResponse views, as above.
 
     public void mutate(StandardHttpResponse original, String label, Consumer<StandardHttpResponse> consumer) {
 
@@ -279,6 +666,7 @@ public class HttpMutator implements AutoCloseable {
     }
 
     // ===================== In-memory streaming: JsonNode =====================
+    // Nodes passed to the consumer share unchanged subtrees with the original response (read-only).
 
     public void mutate(JsonNode canonicalResponseNode, Consumer<JsonNode> consumer) {
         mutate(canonicalResponseNode, null, consumer);
@@ -294,7 +682,7 @@ public class HttpMutator implements AutoCloseable {
                 StandardHttpResponse.fromJsonNode(canonicalResponseNode);
         HttpExchange exchange = new HttpExchange(null, original, id);
 
-        processExchange(exchange, mutated -> consumer.accept(mutated.toJsonNode()));
+        processExchange(exchange, null, consumer);
     }
 
     /**
@@ -1,19 +1,33 @@
 package es.us.isa.httpmutator.core;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.Hashing;
+import es.us.isa.httpmutator.core.body.MutationPlanCache;
+import es.us.isa.httpmutator.core.checkpoint.Checkpoint;
+import es.us.isa.httpmutator.core.dedup.MutantDeduplicator;
 import es.us.isa.httpmutator.core.reader.HarExchangeReader;
 import es.us.isa.httpmutator.core.reader.HttpExchangeReader;
+import es.us.isa.httpmutator.core.reader.InputFiles;
 import es.us.isa.httpmutator.core.reader.JsonlExchangeReader;
+import es.us.isa.httpmutator.core.reader.MappedJsonlExchangeReader;
+import es.us.isa.httpmutator.core.reporter.CheckpointableReporter;
 import es.us.isa.httpmutator.core.reporter.CsvReporter;
 import es.us.isa.httpmutator.core.reporter.MutantReporter;
 import es.us.isa.httpmutator.core.strategy.AllOperatorsStrategy;
+import es.us.isa.httpmutator.core.strategy.BudgetStrategy;
 import es.us.isa.httpmutator.core.strategy.MutationStrategy;
+import es.us.isa.httpmutator.core.strategy.PathNoveltyStrategy;
 import es.us.isa.httpmutator.core.strategy.RandomSingleStrategy;
+import es.us.isa.httpmutator.core.strategy.ReservoirSamplingStrategy;
+import es.us.isa.httpmutator.core.strategy.StratifiedStrategy;
+import es.us.isa.httpmutator.core.writer.DeltaJsonlMutantWriter;
 import es.us.isa.httpmutator.core.writer.HarMutantWriter;
 import es.us.isa.httpmutator.core.writer.JsonlMutantWriter;
 import es.us.isa.httpmutator.core.writer.MutantWriter;
+import es.us.isa.httpmutator.core.writer.ShardedZstdJsonlMutantWriter;
 
 import java.io.IOException;
-import java.io.Reader;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -21,14 +35,17 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Simple CLI entry point for HttpMutator.
  *
  * Responsibilities:
  * - Parse basic command-line arguments
- * - Open input file as Reader
+ * - Read the input file, decompressing .zst and .gz files
  * - Create appropriate HttpExchangeReader based on input format
  * - Create MutantWriter(s) that write to files under an output directory
  * - Wire everything into a configured HttpMutator and run mutateStream(...)
@@ -67,7 +84,7 @@ public final class HttpMutatorCli {
     // ============================================================
 
     private static void run(CliConfig config) throws IOException {
-        // 1) Prepare input Reader
+        // 1) Prepare input
         Path input = config.inputFile;
         if (!Files.exists(input)) {
             throw new IllegalArgumentException("Input file does not exist: " + input);
@@ -75,19 +92,108 @@ public final class HttpMutatorCli {
 
         Files.createDirectories(config.outputDir);
 
+        // 2) Load the checkpoint of the run to resume, if any
+        Path checkpointFile = config.outputDir.resolve(config.baseName + ".checkpoint.json");
+        String signature = config.checkpoint ? configurationSignature(config) : null;
+        Checkpoint resumed = null;
+        if (config.resume) {
+            if (!Files.exists(checkpointFile)) {
+                throw new IllegalArgumentException("No checkpoint to resume from: " + checkpointFile);
+            }
+            resumed = Checkpoint.read(checkpointFile);
+            if (!resumed.getConfiguration().equals(signature)) {
+                throw new IllegalArgumentException("Checkpoint " + checkpointFile
+                        + " was written for a different input or configuration");
+            }
+            if (resumed.isComplete()) {
+                System.err.println("Nothing to resume, the run is already complete: " + checkpointFile);
+                return;
+            }
+        }
+        long skippedExchanges = resumed == null ? 0 : resumed.getExchangesProcessed();
+
         HttpExchangeReader exchangeReader = createExchangeReader(config);
-        List<MutantWriter> writers = createWriters(config);
+        List<MutantWriter> writers = createWriters(config, resumed == null ? 0 : resumed.getNextShardIndex());
         List<MutantReporter> reporters = createReporters(config);
 
         MutationStrategy strategy = createStrategy(config);
 
-        try (Reader in = Files.newBufferedReader(input, StandardCharsets.UTF_8);
-             HttpMutator mutator = new HttpMutator(config.randomSeed)
-                     .withMutationStrategy(strategy)
-                     .withWriters(writers)
-                     .withReporters(reporters)) {
+        // 3) Save a checkpoint each time a shard is committed
+        AtomicReference<Checkpoint> lastCheckpoint = new AtomicReference<>(resumed);
+        if (config.checkpoint) {
+            if (resumed != null) {
+                restoreReporters(reporters, resumed);
+            }
+            for (MutantWriter writer : writers) {
+                ((ShardedZstdJsonlMutantWriter) writer).withCommitListener((shard, nextShardIndex, completed) -> {
+                    Checkpoint checkpoint = new Checkpoint(signature, config.randomSeed,
+                            skippedExchanges + completed, nextShardIndex, saveReporters(reporters), false);
+                    checkpoint.write(checkpointFile);
+                    lastCheckpoint.set(checkpoint);
+                });
+            }
+        }
+
+        try (HttpMutator mutator = new HttpMutator(config.randomSeed)
+                .withMutationStrategy(strategy)
+                .withWriters(writers)
+                .withReporters(reporters)
+                .withThreads(config.threads)
+                .withOrderedOutput(!config.unordered)
+                .withDeduplication(createDeduplicator(config))
+                .withPlanCache(config.planCacheSize > 0 ? new MutationPlanCache(config.planCacheSize) : null)
+                .withSkippedExchanges(skippedExchanges)) {
+
+            mutator.mutateStream(exchangeReader, input);
+        }
+
+        if (config.checkpoint) {
+            lastCheckpoint.get().completed().write(checkpointFile);
+        }
+    }
+
+    /**
+     * Everything the output of a run depends on, so that a run is only resumed with the
+     * same input and configuration. Threads are left out, since checkpointed runs write
+     * the same output with any number of threads.
+     *
+     * <p>The dictionary is part of it, since a resumed run overwrites the dictionary and
+     * manifest that the shards already committed are decompressed with. A dictionary file
+     * is identified by the hash of its content, a trained one by its number of samples.</p>
+     */
+    private static String configurationSignature(CliConfig config) throws IOException {
+        String signature = "input=" + config.inputFile.toAbsolutePath().normalize()
+                + ";size=" + Files.size(config.inputFile)
+                + ";format=" + config.format
+                + ";strategy=" + config.strategy
+                + ";seed=" + config.randomSeed
+                + ";dedup=" + config.dedup
+                + ";shardLines=" + config.shardLines
+                + ";reporters=" + config.reporterNames;
+        if ("train".equals(config.zstdDict)) {
+            signature += ";zstdDict=train:" + config.zstdDictSamples;
+        } else if (config.zstdDict != null) {
+            signature += ";zstdDict=sha256:" + Hashing.sha256().hashBytes(Files.readAllBytes(Paths.get(config.zstdDict)));
+        }
+        return signature;
+    }
+
+    private static Map<String, JsonNode> saveReporters(List<MutantReporter> reporters) {
+        Map<String, JsonNode> states = new LinkedHashMap<>();
+        for (MutantReporter reporter : reporters) {
+            if (reporter instanceof CheckpointableReporter) {
+                states.put(reporter.getClass().getSimpleName(), ((CheckpointableReporter) reporter).saveState());
+            }
+        }
+        return states;
+    }
 
-            mutator.mutateStream(exchangeReader, in);
+    private static void restoreReporters(List<MutantReporter> reporters, Checkpoint checkpoint) {
+        for (MutantReporter reporter : reporters) {
+            JsonNode state = checkpoint.getReporterStates().get(reporter.getClass().getSimpleName());
+            if (reporter instanceof CheckpointableReporter && state != null) {
+                ((CheckpointableReporter) reporter).restoreState(state);
+            }
         }
     }
 
@@ -98,7 +204,9 @@ public final class HttpMutatorCli {
     private static HttpExchangeReader createExchangeReader(CliConfig config) {
         switch (config.format) {
             case JSONL:
-                return new JsonlExchangeReader();
+                return config.readThreads > 1
+                        ? new MappedJsonlExchangeReader(config.readThreads)
+                        : new JsonlExchangeReader();
             case HAR:
                 return new HarExchangeReader();
             default:
@@ -106,45 +214,91 @@ public final class HttpMutatorCli {
         }
     }
 
+    /**
+     * Budget rules:
+     * - --novelty wraps the strategy in a PathNoveltyStrategy.
+     * - Any of --maxPerExchange, --maxPerPath or --maxTotal wraps the result in a BudgetStrategy.
+     * - The reservoir strategy is already bounded by --sampleSize and cannot be combined with them.
+     */
     private static MutationStrategy createStrategy(CliConfig config) {
+        boolean budgeted = config.maxPerExchange != BudgetStrategy.UNLIMITED
+                || config.maxPerPath != BudgetStrategy.UNLIMITED
+                || config.maxTotal != BudgetStrategy.UNLIMITED;
+        MutationStrategy strategy;
         switch (config.strategy) {
             case EXHAUSTIVE:
-                return new AllOperatorsStrategy();
+                strategy = new AllOperatorsStrategy();
+                break;
 
             case RANDOM:
-                return new RandomSingleStrategy();
+                strategy = new RandomSingleStrategy();
+                break;
+
+            case STRATIFIED:
+                strategy = new StratifiedStrategy();
+                break;
+
+            case RESERVOIR:
+                if (budgeted || config.novelty > 0) {
+                    throw new IllegalArgumentException("--maxPerExchange, --maxPerPath, --maxTotal and --novelty "
+                            + "cannot be used with the reservoir strategy");
+                }
+                return new ReservoirSamplingStrategy(config.sampleSize);
 
             default:
                 throw new IllegalArgumentException("Unsupported strategy: " + config.strategy);
         }
+        if (config.novelty > 0) {
+            strategy = new PathNoveltyStrategy(strategy, config.novelty, config.noveltyTable);
+        }
+        return budgeted
+                ? new BudgetStrategy(strategy, config.maxPerExchange, config.maxPerPath, config.maxTotal)
+                : strategy;
+    }
+
+    private static MutantDeduplicator createDeduplicator(CliConfig config) {
+        switch (config.dedup) {
+            case NONE:
+                return null;
+
+            case EXCHANGE:
+                return MutantDeduplicator.perExchange();
+
+            case WINDOW:
+                return MutantDeduplicator.windowed(config.dedupWindow);
+
+            default:
+                throw new IllegalArgumentException("Unsupported dedup scope: " + config.dedup);
+        }
     }
 
     /**
      * Output selection rules:
-     * - If neither --writeHar nor --writeJsonl is provided -> default JSONL output.
-     * - If only --writeHar is provided -> only HAR output.
-     * - If only --writeJsonl is provided -> only JSONL output.
-     * - If both are provided -> output both.
+     * - If none of --writeHar, --writeJsonl, --writeZstd and --writeDelta is provided -> default JSONL output.
+     * - Otherwise -> only the outputs provided.
+     *
+     * @param firstShardIndex index of the first zstd shard (non-zero when resuming a run)
      */
-    private static List<MutantWriter> createWriters(CliConfig config) throws IOException {
+    private static List<MutantWriter> createWriters(CliConfig config, int firstShardIndex) throws IOException {
         List<MutantWriter> writers = new ArrayList<>();
 
-        boolean anySpecified = config.writeHar || config.writeJsonl;
+        boolean anySpecified = config.writeHar || config.writeJsonl || config.writeZstd || config.writeDelta;
         boolean writeJsonl = !anySpecified || config.writeJsonl;
         boolean writeHar = config.writeHar;
 
         if (writeJsonl) {
             Path jsonlOut = config.outputDir.resolve(config.baseName + "-mutants.jsonl");
-            Writer jsonlWriter = Files.newBufferedWriter(
+            OutputStream jsonlStream = Files.newOutputStream(
                     jsonlOut,
-                    StandardCharsets.UTF_8,
                     StandardOpenOption.CREATE,
                     StandardOpenOption.TRUNCATE_EXISTING
             );
-            writers.add(new JsonlMutantWriter(jsonlWriter, config.includeMeta));
+            writers.add(new JsonlMutantWriter(jsonlStream, config.includeMeta));
         }
 
-        if (writeHar) {
+        if (writeHar && config.harMaxBytes > 0) {
+            writers.add(new HarMutantWriter(config.outputDir, config.baseName + "-mutants", config.harMaxBytes));
+        } else if (writeHar) {
             Path harOut = config.outputDir.resolve(config.baseName + "-mutants.har");
             Writer harWriter = Files.newBufferedWriter(
                     harOut,
@@ -155,6 +309,43 @@ public final class HttpMutatorCli {
             writers.add(new HarMutantWriter(harWriter));
         }
 
+        if (config.writeDelta) {
+            Path deltaOut = config.outputDir.resolve(config.baseName + "-mutants.delta.jsonl");
+            Writer deltaWriter = Files.newBufferedWriter(
+                    deltaOut,
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING
+            );
+            writers.add(new DeltaJsonlMutantWriter(deltaWriter));
+        }
+
+        if (config.writeZstd) {
+            String shardPrefix = config.baseName + "-mutants";
+            ShardedZstdJsonlMutantWriter zstdWriter = new ShardedZstdJsonlMutantWriter(
+                    config.outputDir,
+                    shardPrefix,
+                    config.shardLines,
+                    ShardedZstdJsonlMutantWriter.DEFAULT_MAX_UNCOMPRESSED_BYTES,
+                    ShardedZstdJsonlMutantWriter.DEFAULT_ZSTD_LEVEL,
+                    ShardedZstdJsonlMutantWriter.DEFAULT_BUFFER_BYTES,
+                    firstShardIndex).withCompressionWorkers(config.zstdWorkers);
+
+            // A resumed run keeps the dictionary already trained for the shards of the interrupted one
+            byte[] trained = firstShardIndex > 0 && "train".equals(config.zstdDict)
+                    ? ShardedZstdJsonlMutantWriter.readDictionary(config.outputDir, shardPrefix)
+                    : null;
+            if (trained != null) {
+                zstdWriter.withDictionary(trained);
+            } else if ("train".equals(config.zstdDict)) {
+                zstdWriter.withTrainedDictionary(config.zstdDictSamples,
+                        ShardedZstdJsonlMutantWriter.DEFAULT_DICTIONARY_BYTES);
+            } else if (config.zstdDict != null) {
+                zstdWriter.withDictionary(Files.readAllBytes(Paths.get(config.zstdDict)));
+            }
+            writers.add(zstdWriter);
+        }
+
         return writers;
     }
 
@@ -197,7 +388,16 @@ public final class HttpMutatorCli {
     // strategies exposed by CLI
     private enum StrategyName {
         RANDOM,
-        EXHAUSTIVE
+        EXHAUSTIVE,
+        STRATIFIED,
+        RESERVOIR
+    }
+
+    // deduplication scopes exposed by CLI
+    private enum DedupScope {
+        NONE,
+        EXCHANGE,
+        WINDOW
     }
 
     private static final class CliConfig {
@@ -211,9 +411,40 @@ public final class HttpMutatorCli {
 
         final StrategyName strategy;
 
+        // Budgets
+        final long maxPerExchange;
+        final long maxPerPath;
+        final long maxTotal;
+        final int sampleSize;
+        final int novelty;
+        final int noveltyTable;
+
+        // Deduplication
+        final DedupScope dedup;
+        final int dedupWindow;
+
+        // Mutation plans
+        final int planCacheSize;
+
         // Output toggles
         final boolean writeHar;
         final boolean writeJsonl;
+        final boolean writeZstd;
+        final boolean writeDelta;
+        final long harMaxBytes;
+        final long shardLines;
+        final int zstdWorkers;
+        final String zstdDict;
+        final int zstdDictSamples;
+
+        // Pipeline
+        final int readThreads;
+        final int threads;
+        final boolean unordered;
+
+        // Checkpoints
+        final boolean checkpoint;
+        final boolean resume;
 
         private CliConfig(Path inputFile,
                           InputFormat format,
@@ -223,8 +454,29 @@ public final class HttpMutatorCli {
                           long randomSeed,
                           List<String> reporterNames,
                           StrategyName strategy,
+                          long maxPerExchange,
+                          long maxPerPath,
+                          long maxTotal,
+                          int sampleSize,
+                          int novelty,
+                          int noveltyTable,
+                          DedupScope dedup,
+                          int dedupWindow,
+                          int planCacheSize,
                           boolean writeHar,
-                          boolean writeJsonl) {
+                          boolean writeJsonl,
+                          boolean writeZstd,
+                          boolean writeDelta,
+                          long harMaxBytes,
+                          long shardLines,
+                          int zstdWorkers,
+                          String zstdDict,
+                          int zstdDictSamples,
+                          int readThreads,
+                          int threads,
+                          boolean unordered,
+                          boolean checkpoint,
+                          boolean resume) {
             this.inputFile = inputFile;
             this.format = format;
             this.outputDir = outputDir;
@@ -233,8 +485,29 @@ public final class HttpMutatorCli {
             this.randomSeed = randomSeed;
             this.reporterNames = reporterNames;
             this.strategy = strategy;
+            this.maxPerExchange = maxPerExchange;
+            this.maxPerPath = maxPerPath;
+            this.maxTotal = maxTotal;
+            this.sampleSize = sampleSize;
+            this.novelty = novelty;
+            this.noveltyTable = noveltyTable;
+            this.dedup = dedup;
+            this.dedupWindow = dedupWindow;
+            this.planCacheSize = planCacheSize;
             this.writeHar = writeHar;
             this.writeJsonl = writeJsonl;
+            this.writeZstd = writeZstd;
+            this.writeDelta = writeDelta;
+            this.harMaxBytes = harMaxBytes;
+            this.shardLines = shardLines;
+            this.zstdWorkers = zstdWorkers;
+            this.zstdDict = zstdDict;
+            this.zstdDictSamples = zstdDictSamples;
+            this.readThreads = readThreads;
+            this.threads = threads;
+            this.unordered = unordered;
+            this.checkpoint = checkpoint;
+            this.resume = resume;
         }
 
         static CliConfig parse(String[] args) {
@@ -251,9 +524,34 @@ public final class HttpMutatorCli {
             long randomSeed = 42L;
             StrategyName strategy = StrategyName.RANDOM;
 
+            long maxPerExchange = BudgetStrategy.UNLIMITED;
+            long maxPerPath = BudgetStrategy.UNLIMITED;
+            long maxTotal = BudgetStrategy.UNLIMITED;
+            int sampleSize = 1000;
+            int novelty = 0;
+            int noveltyTable = PathNoveltyStrategy.DEFAULT_TABLE_SIZE;
+
+            DedupScope dedup = DedupScope.NONE;
+            int dedupWindow = 1_000_000;
+            int planCacheSize = 0;
+
             // Output flags (default selection implemented in createWriters)
             boolean writeHar = false;
             boolean writeJsonl = false;
+            boolean writeZstd = false;
+            boolean writeDelta = false;
+            long harMaxBytes = 0;
+            long shardLines = ShardedZstdJsonlMutantWriter.DEFAULT_MAX_LINES_PER_SHARD;
+            int zstdWorkers = 0;
+            String zstdDict = null;
+            int zstdDictSamples = ShardedZstdJsonlMutantWriter.DEFAULT_DICTIONARY_SAMPLES;
+
+            int readThreads = 1;
+            int threads = 1;
+            boolean unordered = false;
+
+            boolean checkpoint = false;
+            boolean resume = false;
 
             for (int i = 0; i < args.length; i++) {
                 String arg = args[i];
@@ -265,7 +563,7 @@ public final class HttpMutatorCli {
                         }
                         input = Paths.get(args[++i]);
                         if (baseName == null) {
-                            baseName = stripExtension(input.getFileName().toString());
+                            baseName = stripExtension(InputFiles.uncompressedName(input.getFileName().toString()));
                         }
                         break;
 
@@ -307,6 +605,84 @@ public final class HttpMutatorCli {
                         strategy = parseStrategy(args[++i]);
                         break;
 
+                    case "--maxPerExchange":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--maxPerExchange requires a non-negative integer");
+                        }
+                        maxPerExchange = parseBudget("--maxPerExchange", args[++i]);
+                        break;
+
+                    case "--maxPerPath":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--maxPerPath requires a non-negative integer");
+                        }
+                        maxPerPath = parseBudget("--maxPerPath", args[++i]);
+                        break;
+
+                    case "--maxTotal":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--maxTotal requires a non-negative integer");
+                        }
+                        maxTotal = parseBudget("--maxTotal", args[++i]);
+                        break;
+
+                    case "--novelty":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--novelty requires a positive integer");
+                        }
+                        novelty = Integer.parseInt(args[++i]);
+                        if (novelty < 1) {
+                            throw new IllegalArgumentException("--novelty must be >= 1");
+                        }
+                        break;
+
+                    case "--noveltyTable":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--noveltyTable requires a positive integer");
+                        }
+                        noveltyTable = Integer.parseInt(args[++i]);
+                        if (noveltyTable < 1) {
+                            throw new IllegalArgumentException("--noveltyTable must be >= 1");
+                        }
+                        break;
+
+                    case "--sampleSize":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--sampleSize requires a positive integer");
+                        }
+                        sampleSize = Integer.parseInt(args[++i]);
+                        if (sampleSize < 1) {
+                            throw new IllegalArgumentException("--sampleSize must be >= 1");
+                        }
+                        break;
+
+                    case "--dedup":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--dedup requires 'none', 'exchange' or 'window'");
+                        }
+                        dedup = parseDedupScope(args[++i]);
+                        break;
+
+                    case "--dedupWindow":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--dedupWindow requires a positive integer");
+                        }
+                        dedupWindow = Integer.parseInt(args[++i]);
+                        if (dedupWindow < 1) {
+                            throw new IllegalArgumentException("--dedupWindow must be >= 1");
+                        }
+                        break;
+
+                    case "--planCache":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--planCache requires a non-negative integer");
+                        }
+                        planCacheSize = Integer.parseInt(args[++i]);
+                        if (planCacheSize < 0) {
+                            throw new IllegalArgumentException("--planCache must be >= 0");
+                        }
+                        break;
+
                     case "--includeMeta":
                         includeMeta = true;
                         break;
@@ -327,6 +703,94 @@ public final class HttpMutatorCli {
                         writeJsonl = true;
                         break;
 
+                    case "--writeZstd":
+                        writeZstd = true;
+                        break;
+
+                    case "--writeDelta":
+                        writeDelta = true;
+                        break;
+
+                    case "--harMaxBytes":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--harMaxBytes requires a positive integer");
+                        }
+                        harMaxBytes = Long.parseLong(args[++i]);
+                        if (harMaxBytes < 1) {
+                            throw new IllegalArgumentException("--harMaxBytes must be >= 1");
+                        }
+                        break;
+
+                    case "--shardLines":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--shardLines requires a positive integer");
+                        }
+                        shardLines = Long.parseLong(args[++i]);
+                        if (shardLines < 1) {
+                            throw new IllegalArgumentException("--shardLines must be >= 1");
+                        }
+                        break;
+
+                    case "--zstdWorkers":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--zstdWorkers requires a non-negative integer");
+                        }
+                        zstdWorkers = Integer.parseInt(args[++i]);
+                        if (zstdWorkers < 0) {
+                            throw new IllegalArgumentException("--zstdWorkers must be >= 0");
+                        }
+                        break;
+
+                    case "--zstdDict":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--zstdDict requires 'train' or a dictionary file");
+                        }
+                        zstdDict = args[++i];
+                        break;
+
+                    case "--zstdDictSamples":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--zstdDictSamples requires a positive integer");
+                        }
+                        zstdDictSamples = Integer.parseInt(args[++i]);
+                        if (zstdDictSamples < 1) {
+                            throw new IllegalArgumentException("--zstdDictSamples must be >= 1");
+                        }
+                        break;
+
+                    case "--readThreads":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--readThreads requires a positive integer");
+                        }
+                        readThreads = Integer.parseInt(args[++i]);
+                        if (readThreads < 1) {
+                            throw new IllegalArgumentException("--readThreads must be >= 1");
+                        }
+                        break;
+
+                    case "--threads":
+                        if (i + 1 >= args.length) {
+                            throw new IllegalArgumentException("--threads requires a positive integer");
+                        }
+                        threads = Integer.parseInt(args[++i]);
+                        if (threads < 1) {
+                            throw new IllegalArgumentException("--threads must be >= 1");
+                        }
+                        break;
+
+                    case "--unordered":
+                        unordered = true;
+                        break;
+
+                    case "--checkpoint":
+                        checkpoint = true;
+                        break;
+
+                    case "--resume":
+                        checkpoint = true;
+                        resume = true;
+                        break;
+
                     case "--help":
                     case "-h":
                         printUsage();
@@ -342,7 +806,7 @@ public final class HttpMutatorCli {
                 throw new IllegalArgumentException("Missing required --input argument");
             }
             if (format == null) {
-                String name = input.getFileName().toString().toLowerCase();
+                String name = InputFiles.uncompressedName(input.getFileName().toString()).toLowerCase();
                 if (name.endsWith(".jsonl")) {
                     format = InputFormat.JSONL;
                 } else if (name.endsWith(".har") || name.endsWith(".har.json")) {
@@ -355,14 +819,47 @@ public final class HttpMutatorCli {
             if (baseName == null) {
                 baseName = "mutants";
             }
+            if (checkpoint) {
+                checkResumable(writeZstd && !writeJsonl && !writeHar && !writeDelta, strategy, maxPerExchange, maxPerPath,
+                        maxTotal, novelty, dedup, unordered);
+            }
 
             return new CliConfig(
                     input, format, outputDir, baseName,
                     includeMeta, randomSeed, reporterNames, strategy,
-                    writeHar, writeJsonl
+                    maxPerExchange, maxPerPath, maxTotal, sampleSize, novelty, noveltyTable,
+                    dedup, dedupWindow, planCacheSize,
+                    writeHar, writeJsonl, writeZstd, writeDelta, harMaxBytes, shardLines, zstdWorkers, zstdDict, zstdDictSamples, readThreads, threads, unordered, checkpoint, resume
             );
         }
 
+        /**
+         * A run can only be resumed from a checkpoint if skipping the exchanges already
+         * processed yields the mutants the interrupted run would have written next, i.e.,
+         * its output is ordered and nothing selected depends on the previous exchanges.
+         */
+        private static void checkResumable(boolean onlyZstd, StrategyName strategy, long maxPerExchange,
+                                           long maxPerPath, long maxTotal, int novelty, DedupScope dedup,
+                                           boolean unordered) {
+            if (!onlyZstd) {
+                throw new IllegalArgumentException("--checkpoint and --resume require --writeZstd as the only output");
+            }
+            if (strategy != StrategyName.RANDOM && strategy != StrategyName.EXHAUSTIVE) {
+                throw new IllegalArgumentException("--checkpoint and --resume only support the random and all strategies");
+            }
+            if (maxPerExchange != BudgetStrategy.UNLIMITED || maxPerPath != BudgetStrategy.UNLIMITED
+                    || maxTotal != BudgetStrategy.UNLIMITED || novelty > 0) {
+                throw new IllegalArgumentException("--checkpoint and --resume cannot be used with --maxPerExchange, "
+                        + "--maxPerPath, --maxTotal or --novelty");
+            }
+            if (dedup == DedupScope.WINDOW) {
+                throw new IllegalArgumentException("--checkpoint and --resume cannot be used with --dedup window");
+            }
+            if (unordered) {
+                throw new IllegalArgumentException("--checkpoint and --resume cannot be used with --unordered");
+            }
+        }
+
         private static StrategyName parseStrategy(String raw) {
             String v = raw == null ? "" : raw.trim().toLowerCase();
             switch (v) {
@@ -371,9 +868,36 @@ public final class HttpMutatorCli {
                     return StrategyName.EXHAUSTIVE;
                 case "random":
                     return StrategyName.RANDOM;
+                case "stratified":
+                    return StrategyName.STRATIFIED;
+                case "reservoir":
+                    return StrategyName.RESERVOIR;
                 default:
-                    throw new IllegalArgumentException("Unknown strategy: " + raw + " (supported: all, random)");
+                    throw new IllegalArgumentException(
+                            "Unknown strategy: " + raw + " (supported: all, random, stratified, reservoir)");
+            }
+        }
+
+        private static DedupScope parseDedupScope(String raw) {
+            String v = raw == null ? "" : raw.trim().toLowerCase();
+            switch (v) {
+                case "none":
+                    return DedupScope.NONE;
+                case "exchange":
+                    return DedupScope.EXCHANGE;
+                case "window":
+                    return DedupScope.WINDOW;
+                default:
+                    throw new IllegalArgumentException("Unknown dedup scope: " + raw + " (supported: none, exchange, window)");
+            }
+        }
+
+        private static long parseBudget(String option, String raw) {
+            long budget = Long.parseLong(raw);
+            if (budget < 0) {
+                throw new IllegalArgumentException(option + " must be >= 0");
             }
+            return budget;
         }
 
         private static String stripExtension(String fileName) {
@@ -389,17 +913,39 @@ public final class HttpMutatorCli {
         System.err.println("Usage: java -jar httpmutator.jar [options]");
         System.err.println();
         System.err.println("Required:");
-        System.err.println("  -i, --input <file>        Input file (JSONL or HAR)");
+        System.err.println("  -i, --input <file>        Input file (JSONL or HAR, optionally .zst or .gz compressed)");
         System.err.println();
         System.err.println("Optional:");
         System.err.println("  -f, --format <fmt>        Input format: jsonl | har");
         System.err.println("  -o, --output <dir>        Output directory (default: hm-output)");
         System.err.println("  -s, --strategy <name>     Mutation strategy (default: random)");
-        System.err.println("        Supported: exhaustive(all), random");
+        System.err.println("        Supported: exhaustive(all), random, stratified, reservoir");
+        System.err.println("      --maxPerExchange <n>  At most n mutants per exchange");
+        System.err.println("      --maxPerPath <n>      At most n mutants per endpoint and JSON path");
+        System.err.println("      --maxTotal <n>        At most n mutants in total");
+        System.err.println("      --sampleSize <n>      Mutants kept by the reservoir strategy (default: 1000)");
+        System.err.println("      --novelty <n>         At most n mutants per endpoint template, JSON path and operator");
+        System.err.println("      --noveltyTable <n>    Combinations remembered by --novelty (default: 100000)");
+        System.err.println("      --dedup <scope>       Drop duplicate mutants: none (default), exchange, window");
+        System.err.println("      --dedupWindow <n>     Mutants remembered by --dedup window (default: 1000000)");
+        System.err.println("      --planCache <n>       Reuse the mutation plans of up to n body shapes (default: 0, off)");
         System.err.println("      --includeMeta         Include mutation metadata fields in JSONL output");
         System.err.println("      --seed <long>         Random seed (default: 42)");
         System.err.println("      --writeJsonl          Write JSONL output (default if no output flags are specified)");
         System.err.println("      --writeHar            Write HAR output");
+        System.err.println("      --harMaxBytes <n>     Split HAR output into files of about n bytes each");
+        System.err.println("      --writeZstd           Write zstd-compressed JSONL shards");
+        System.err.println("      --writeDelta          Write delta-encoded JSONL: each original once, then a patch per mutant");
+        System.err.println("      --shardLines <n>      Mutants per zstd shard (default: 50000)");
+        System.err.println("      --zstdWorkers <n>     Threads compressing zstd shards (default: 0, the writer thread)");
+        System.err.println("      --zstdDict <dict>     Compress zstd shards with a dictionary: 'train' or a dictionary file");
+        System.err.println("      --zstdDictSamples <n> Mutants the dictionary is trained from (default: 10000)");
+        System.err.println("      --readThreads <n>     Threads parsing uncompressed JSONL input (default: 1)");
+        System.err.println("      --threads <n>         Mutation worker threads (default: 1)");
+        System.err.println("      --unordered           With --threads > 1, write mutants as soon as they are ready");
+        System.err.println("                            instead of in input order");
+        System.err.println("      --checkpoint          Save a checkpoint each time a zstd shard is committed");
+        System.err.println("      --resume              Resume an interrupted run from its checkpoint");
         System.err.println("  -h, --help                Show this help and exit");
         System.err.println();
         System.err.println("Reporters:");
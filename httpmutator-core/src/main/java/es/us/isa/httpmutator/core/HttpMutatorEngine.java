@@ -1,11 +1,15 @@
 package es.us.isa.httpmutator.core;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import es.us.isa.httpmutator.core.body.value.boolean0.BooleanMutator;
 import es.us.isa.httpmutator.core.body.value.double0.DoubleMutator;
@@ -13,18 +17,26 @@ import es.us.isa.httpmutator.core.body.value.long0.LongMutator;
 import es.us.isa.httpmutator.core.body.value.null0.NullMutator;
 import es.us.isa.httpmutator.core.body.value.string0.StringMutator;
 import es.us.isa.httpmutator.core.util.JsonManager;
+import es.us.isa.httpmutator.core.util.MutationConfig;
+import es.us.isa.httpmutator.core.util.PropertyManager;
+import es.us.isa.httpmutator.core.util.RandomUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import es.us.isa.httpmutator.core.body.BodyMutator;
+import es.us.isa.httpmutator.core.body.MutationPlanCache;
 import es.us.isa.httpmutator.core.headers.HeaderMutator;
+import es.us.isa.httpmutator.core.model.CandidateGroup;
+import es.us.isa.httpmutator.core.model.MutantCandidate;
 import es.us.isa.httpmutator.core.model.MutantGroup;
 import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.PatchOperation;
 import es.us.isa.httpmutator.core.sc.StatusCodeMutator;
+import es.us.isa.httpmutator.core.strategy.MutationStrategy;
 
 
 /**
@@ -32,6 +44,12 @@ import es.us.isa.httpmutator.core.sc.StatusCodeMutator;
  *
  * Package-private: not intended to be used directly by library users.
  * Use {@link HttpMutator} as the public facade.
+ *
+ * Thread-safe: mutators and operators are built once, at construction, and are never
+ * modified afterwards; all the state of a call to {@link #getAllMutants(JsonNode, Consumer)}
+ * lives in that call. A single engine can thus be shared by any number of threads.
+ * For reproducible results, each call should run in a random scope of its own (see
+ * {@link RandomUtils#callWithSeed}), as {@link HttpMutator} does.
  */
 public class HttpMutatorEngine {
     private static final Logger logger = LogManager.getLogger(HttpMutatorEngine.class.getName());
@@ -50,20 +68,77 @@ public class HttpMutatorEngine {
 
     private final static double defaultPossibility = 1.0;
 
+    /** Pool used to generate mutants in parallel, null to generate them on the calling thread. */
+    private volatile ForkJoinPool pool;
+
+    /** Configuration the mutators and operators are built with. */
+    private final MutationConfig config;
+
+    /**
+     * Builds an engine configured with the current mutation properties (see
+     * {@link PropertyManager#getConfig()}). Later changes to the properties do not
+     * affect the engine.
+     */
     public HttpMutatorEngine() {
+        this(PropertyManager.getConfig());
+    }
+
+    public HttpMutatorEngine(MutationConfig config) {
+        this.config = Objects.requireNonNull(config, "config must not be null");
         resetMutators();
     }
 
+    public MutationConfig getConfig() {
+        return config;
+    }
+
     private void resetMutators() {
-        statusCodeMutator = Boolean.parseBoolean(readProperty("operator.sc.enabled")) ? new StatusCodeMutator() : null;
-        headerMutator = Boolean.parseBoolean(readProperty("operator.header.enabled")) ? new HeaderMutator() : null;
-        bodyMutator = Boolean.parseBoolean(readProperty("operator.body.enabled")) ? new BodyMutator() : null;
-
-        booleanMutator = Boolean.parseBoolean(readProperty("operator.value.boolean.enabled")) ? new BooleanMutator() : null;
-        doubleMutator = Boolean.parseBoolean(readProperty("operator.value.double.enabled")) ? new DoubleMutator() : null;
-        longMutator = Boolean.parseBoolean(readProperty("operator.value.long.enabled")) ? new LongMutator() : null;
-        stringMutator = Boolean.parseBoolean(readProperty("operator.value.string.enabled")) ? new StringMutator() : null;
-        nullMutator = Boolean.parseBoolean(readProperty("operator.value.null.enabled")) ? new NullMutator() : null;
+        statusCodeMutator = config.getBoolean("operator.sc.enabled") ? new StatusCodeMutator(config) : null;
+        headerMutator = config.getBoolean("operator.header.enabled") ? new HeaderMutator(config) : null;
+        bodyMutator = config.getBoolean("operator.body.enabled") ? new BodyMutator(config) : null;
+
+        booleanMutator = config.getBoolean("operator.value.boolean.enabled") ? new BooleanMutator(config) : null;
+        doubleMutator = config.getBoolean("operator.value.double.enabled") ? new DoubleMutator(config) : null;
+        longMutator = config.getBoolean("operator.value.long.enabled") ? new LongMutator(config) : null;
+        stringMutator = config.getBoolean("operator.value.string.enabled") ? new StringMutator(config) : null;
+        nullMutator = config.getBoolean("operator.value.null.enabled") ? new NullMutator(config) : null;
+    }
+
+    /**
+     * Enables (or disables, if null) parallel generation of mutants. When enabled, the
+     * status code, header and body components are generated concurrently, and the body
+     * is split into chunks of subtrees generated in parallel (see
+     * {@link BodyMutator#getAllMutants(JsonNode, double, Consumer, ForkJoinPool)}).
+     * Groups are still passed to the consumer on the calling thread and in the same
+     * order as in sequential mode (status code, headers, body), and results are
+     * identical to the ones of sequential mode, since each mutant draws from a random
+     * stream of its own (see {@link #getAllMutants(JsonNode, Consumer)}).
+     *
+     * @param pool the pool where to generate mutants, or null for sequential generation
+     */
+    public void setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return pool;
+    }
+
+    /**
+     * Caches the mutation plans of the shapes of the bodies mutated from now on (see
+     * {@link BodyMutator#setPlanCache(MutationPlanCache)}). Has no effect if body
+     * mutation is disabled.
+     *
+     * @param planCache the cache to use, or null to stop caching plans
+     */
+    public void setPlanCache(MutationPlanCache planCache) {
+        if (bodyMutator != null) {
+            bodyMutator.setPlanCache(planCache);
+        }
+    }
+
+    public MutationPlanCache getPlanCache() {
+        return bodyMutator != null ? bodyMutator.getPlanCache() : null;
     }
 
     public void getAllMutants(String response, Consumer<MutantGroup> consumer) {
@@ -80,6 +155,12 @@ public class HttpMutatorEngine {
      * Process all mutants in streaming fashion to avoid memory explosion.
      * This method processes status code, headers, and body mutants one by one.
      *
+     * Randomness is derived from the seed of the current scope (see
+     * {@link RandomUtils#currentSeed()}, typically the seed of the exchange set by
+     * {@link HttpMutator}): each mutant is generated with a random stream of its own,
+     * whose seed only depends on that seed, the location of the mutation and the
+     * operator applied.
+     *
      * @param node        the response JsonNode to mutate
      * @param consumer    consumer to process each mutant as it's generated
      */
@@ -89,14 +170,161 @@ public class HttpMutatorEngine {
             return;
         }
 
-        // Process status code mutants
-        processStatusCodeMutants(node, consumer);
+        // All components derive their streams from the same seed
+        RandomUtils.runWithSeed(RandomUtils.currentSeed(), () -> {
+            if (pool != null) {
+                getAllMutantsInParallel(node, consumer);
+                return;
+            }
+
+            // Process status code mutants
+            processStatusCodeMutants(node, consumer);
+
+            // Process header mutants
+            processHeaderMutants(node, consumer);
+
+            // Process body mutants (using new streaming approach)
+            processBodyMutants(node, consumer);
+        });
+    }
+
+    /**
+     * Two-phase version of {@link #getAllMutants(JsonNode, Consumer)}: passes the consumer
+     * the same groups, in the same order, as groups of candidates that are only generated
+     * when materialized (see {@link MutationStrategy#selectCandidates(CandidateGroup)}).
+     * Body candidates defer the application of their operator, which is where most of
+     * the work goes; status code and header mutants are cheap and are generated upfront.
+     * In parallel mode (see {@link #setForkJoinPool(ForkJoinPool)}), all mutants are
+     * generated upfront, in parallel, and wrapped as candidates.
+     *
+     * @param node     the response JsonNode to mutate
+     * @param consumer consumer to process the candidates of each group
+     */
+    public void getAllCandidates(JsonNode node, Consumer<CandidateGroup> consumer) {
+        if (pool != null) {
+            getAllMutants(node, mutantGroup -> consumer.accept(CandidateGroup.of(mutantGroup)));
+            return;
+        }
+        if (!isValidResponse(node)) {
+            logger.warn("Response must include status code, headers, and body");
+            return;
+        }
+
+        RandomUtils.runWithSeed(RandomUtils.currentSeed(), () -> {
+            processStatusCodeMutants(node, mutantGroup -> consumer.accept(CandidateGroup.of(mutantGroup)));
+            processHeaderMutants(node, mutantGroup -> consumer.accept(CandidateGroup.of(mutantGroup)));
+
+            JsonNode body = node.get("Body");
+            if (bodyMutator != null && (body.isArray() || body.isObject())) {
+                bodyMutator.getAllCandidates(body, defaultPossibility,
+                        candidateGroup -> consumer.accept(assembleBodyCandidates(node, candidateGroup)));
+            } else {
+                processBodyMutants(node, mutantGroup -> consumer.accept(CandidateGroup.of(mutantGroup)));
+            }
+        });
+    }
+
+    /**
+     * Parallel version of {@link #getAllMutants(JsonNode, Consumer)}. Status code and
+     * header mutants are generated on the pool while the body is processed on the
+     * calling thread (with its subtrees forked on the pool), and their groups are
+     * passed to the consumer before the first body group.
+     */
+    private void getAllMutantsInParallel(JsonNode node, Consumer<MutantGroup> consumer) {
+        long seed = RandomUtils.currentSeed();
+        ForkJoinTask<List<MutantGroup>> statusCodeTask = pool.submit(() -> RandomUtils.callWithSeed(
+                seed, () -> collect(c -> processStatusCodeMutants(node, c))));
+        ForkJoinTask<List<MutantGroup>> headerTask = pool.submit(() -> RandomUtils.callWithSeed(
+                seed, () -> collect(c -> processHeaderMutants(node, c))));
+
+        // Status code and header groups go first, right before the first body group
+        class OrderedConsumer implements Consumer<MutantGroup> {
+            private boolean precedingGroupsDelivered = false;
+
+            void deliverPrecedingGroups() {
+                if (!precedingGroupsDelivered) {
+                    precedingGroupsDelivered = true;
+                    statusCodeTask.join().forEach(consumer);
+                    headerTask.join().forEach(consumer);
+                }
+            }
+
+            @Override
+            public void accept(MutantGroup group) {
+                deliverPrecedingGroups();
+                consumer.accept(group);
+            }
+        }
+        OrderedConsumer bodyConsumer = new OrderedConsumer();
+
+        try {
+            processBodyMutants(node, bodyConsumer);
+            bodyConsumer.deliverPrecedingGroups(); // In case the body produced no groups
+        } finally {
+            statusCodeTask.cancel(false);
+            headerTask.cancel(false);
+        }
+    }
+
+    /**
+     * Pull-based version of {@link #getAllMutants(JsonNode, Consumer)}: returns a stream of
+     * the same groups, in the same order, generated lazily as the stream is consumed. A
+     * caller that only needs some mutants (e.g., with {@code limit} or {@code findFirst},
+     * or pulling from {@link Stream#iterator()}) does not pay for the rest. The body, which
+     * is usually where most mutants come from, is generated location by location, and can
+     * be split for parallel streams (see {@link BodyMutator#streamMutantGroups}). The pool
+     * set with {@link #setForkJoinPool(ForkJoinPool)} is not used; call
+     * {@link Stream#parallel()} instead.
+     *
+     * Mutants draw from random streams derived from the seed of the current scope when
+     * this method is called, so results do not depend on when or where the stream is
+     * consumed.
+     *
+     * @param node the response JsonNode to mutate
+     * @return a lazy stream of the groups of mutants of the response
+     */
+    public Stream<MutantGroup> streamMutantGroups(JsonNode node) {
+        if (!isValidResponse(node)) {
+            logger.warn("Response must include status code, headers, and body");
+            return Stream.empty();
+        }
 
-        // Process header mutants
-        processHeaderMutants(node, consumer);
+        long seed = RandomUtils.currentSeed();
+        Stream<MutantGroup> statusCodeGroups = lazily(seed, c -> processStatusCodeMutants(node, c));
+        Stream<MutantGroup> headerGroups = lazily(seed, c -> processHeaderMutants(node, c));
 
-        // Process body mutants (using new streaming approach)
-        processBodyMutants(node, consumer);
+        JsonNode body = node.get("Body");
+        Stream<MutantGroup> bodyGroups;
+        if (bodyMutator != null && (body.isArray() || body.isObject())) {
+            bodyGroups = RandomUtils.callWithSeed(seed, () -> bodyMutator.streamMutantGroups(body, defaultPossibility))
+                    .map(mutantGroup -> assembleBodyMutants(node, mutantGroup));
+        } else {
+            bodyGroups = lazily(seed, c -> processBodyMutants(node, c)); // A single value, a single group
+        }
+
+        return Stream.concat(Stream.concat(statusCodeGroups, headerGroups), bodyGroups);
+    }
+
+    /**
+     * Same as {@link #streamMutantGroups(JsonNode)}, flattened into single mutants.
+     */
+    public Stream<Mutant> streamMutants(JsonNode node) {
+        return streamMutantGroups(node).flatMap(mutantGroup -> mutantGroup.getMutants().stream());
+    }
+
+    /**
+     * Stream of the groups of a component, generated (with the given seed) when the stream
+     * is first pulled.
+     */
+    private static Stream<MutantGroup> lazily(long seed, Consumer<Consumer<MutantGroup>> producer) {
+        Supplier<List<MutantGroup>> groups = () -> RandomUtils.callWithSeed(seed, () -> collect(producer));
+        return Stream.of(groups).flatMap(supplier -> supplier.get().stream());
+    }
+
+    private static List<MutantGroup> collect(Consumer<Consumer<MutantGroup>> producer) {
+        List<MutantGroup> groups = new ArrayList<>();
+        producer.accept(groups::add);
+        return groups;
     }
 
     // ========== Component-specific processing methods ==========
@@ -130,11 +358,11 @@ public class HttpMutatorEngine {
                 // Assemble complete response with mutated body
                 MutantGroup assembledGroup = assembleBodyMutants(node, mutantGroup);
                 consumer.accept(assembledGroup);
-            });
+            }, pool);
         } else if (longMutator != null && (body.isLong() || body.isInt())) {
             List<Mutant> currentPathMutants = new ArrayList<>();
             longMutator.getOperators().forEach((n, operator) -> {
-                Object v = operator.mutate(body.asLong());
+                Object v = mutateBodyValue(n, () -> operator.mutate(body.asLong()));
                 Mutant mutant = new Mutant("Body", JsonManager.toJsonNode(v, objectMapper), LongMutator.class, operator.getClass());
                 currentPathMutants.add(mutant);
             });
@@ -146,7 +374,7 @@ public class HttpMutatorEngine {
         } else if (doubleMutator != null && body.isDouble()) {
             List<Mutant> currentPathMutants = new ArrayList<>();
             doubleMutator.getOperators().forEach((n, operator) -> {
-                Object v = operator.mutate(body.asDouble());
+                Object v = mutateBodyValue(n, () -> operator.mutate(body.asDouble()));
                 Mutant mutant = new Mutant("Body", JsonManager.toJsonNode(v, objectMapper), DoubleMutator.class, operator.getClass());
                 currentPathMutants.add(mutant);
             });
@@ -158,7 +386,7 @@ public class HttpMutatorEngine {
         } else if (stringMutator != null && body.isTextual()) {
             List<Mutant> currentPathMutants = new ArrayList<>();
             stringMutator.getOperators().forEach((n, operator) -> {
-                Object v = operator.mutate(body.asText());
+                Object v = mutateBodyValue(n, () -> operator.mutate(body.asText()));
                 Mutant mutant = new Mutant("Body", JsonManager.toJsonNode(v, objectMapper), StringMutator.class, operator.getClass());
                 currentPathMutants.add(mutant);
             });
@@ -170,7 +398,7 @@ public class HttpMutatorEngine {
         } else if (nullMutator != null && body.isNull()) {
             List<Mutant> currentPathMutants = new ArrayList<>();
             nullMutator.getOperators().forEach((n, operator) -> {
-                Object v = operator.mutate(null);
+                Object v = mutateBodyValue(n, () -> operator.mutate(null));
                 Mutant mutant = new Mutant("Body", JsonManager.toJsonNode(v, objectMapper), NullMutator.class, operator.getClass());
                 currentPathMutants.add(mutant);
             });
@@ -184,27 +412,33 @@ public class HttpMutatorEngine {
         }
     }
 
+    /**
+     * Applies an operator to a body that is a single value, with the random stream of
+     * the operator (derived from the current seed, the body path and the operator name).
+     */
+    private static Object mutateBodyValue(String operatorName, Supplier<Object> mutation) {
+        return RandomUtils.callWithSeed(RandomUtils.deriveSeed(RandomUtils.currentSeed(), "", operatorName), mutation);
+    }
+
     // ========== Response assembly methods ==========
 
+    private static final JsonPointer STATUS_CODE_POINTER = JsonPointer.compile("/Status Code");
+    private static final JsonPointer HEADERS_POINTER = JsonPointer.compile("/Headers");
+    private static final JsonPointer BODY_POINTER = JsonPointer.compile("/Body");
+
     /**
-     * Assembles complete HTTP response with mutated status codes
+     * Assembles complete HTTP response with mutated status codes.
+     * The assembled mutants are patch-based: they keep a reference to the original
+     * response plus the replaced status code, and are only materialized on demand.
      */
     private MutantGroup assembleStatusCodeMutants(JsonNode originalResponse, MutantGroup statusCodeMutants) {
         List<Mutant> assembled = new ArrayList<>();
         for (Mutant statusCodeMutant : statusCodeMutants.getMutants()) {
             try {
-                // Create complete response JSON
-                ObjectNode completeResponse = objectMapper.createObjectNode();
-
-                // Set mutated status code
-                completeResponse.set("Status Code", statusCodeMutant.getMutatedNode());
-
-                // Keep original headers and body
-                completeResponse.set("Headers", originalResponse.get("Headers"));
-                completeResponse.set("Body", originalResponse.get("Body"));
-
-                // Create new mutant with complete response
-                Mutant completeMutant = new Mutant(statusCodeMutant.getOriginalJsonPath(), completeResponse, statusCodeMutant.getMutatorClass(), statusCodeMutant.getOperatorClass());
+                // Replace the status code, keeping original headers and body
+                PatchOperation patch = PatchOperation.replace(STATUS_CODE_POINTER, statusCodeMutant.getMutatedNode());
+                Mutant completeMutant = new Mutant(statusCodeMutant.getOriginalJsonPath(), originalResponse,
+                        Collections.singletonList(patch), statusCodeMutant.getMutatorClass(), statusCodeMutant.getOperatorClass());
 
                 assembled.add(completeMutant);
 
@@ -224,20 +458,10 @@ public class HttpMutatorEngine {
 
         for (Mutant headerMutant : headerMutants.getMutants()) {
             try {
-                // Create complete response JSON
-                ObjectNode completeResponse = objectMapper.createObjectNode();
-
-                // Keep original status code
-                completeResponse.set("Status Code", originalResponse.get("Status Code"));
-
-                // Set mutated headers
-                completeResponse.set("Headers", headerMutant.getMutatedNode());
-
-                // Keep original body
-                completeResponse.set("Body", originalResponse.get("Body"));
-
-                // Create new mutant with complete response
-                Mutant completeMutant = new Mutant(headerMutant.getOriginalJsonPath(), completeResponse, headerMutant.getMutatorClass(), headerMutant.getOperatorClass());
+                // Replace the headers, keeping original status code and body
+                PatchOperation patch = PatchOperation.replace(HEADERS_POINTER, headerMutant.getMutatedNode());
+                Mutant completeMutant = new Mutant(headerMutant.getOriginalJsonPath(), originalResponse,
+                        Collections.singletonList(patch), headerMutant.getMutatorClass(), headerMutant.getOperatorClass());
 
                 assembled.add(completeMutant);
 
@@ -250,28 +474,16 @@ public class HttpMutatorEngine {
     }
 
     /**
-     * Assembles complete HTTP response with mutated body
+     * Assembles complete HTTP response with mutated body. The patch of each body
+     * mutant is rebased onto the "Body" field of the response, so the body is never
+     * materialized here.
      */
     private MutantGroup assembleBodyMutants(JsonNode originalResponse, MutantGroup bodyMutants) {
         List<Mutant> assembled = new ArrayList<>();
 
         for (Mutant bodyMutant : bodyMutants.getMutants()) {
             try {
-                // Create complete response JSON
-                ObjectNode completeResponse = objectMapper.createObjectNode();
-
-                // Keep original status code and headers
-                completeResponse.set("Status Code", originalResponse.get("Status Code"));
-                completeResponse.set("Headers", originalResponse.get("Headers"));
-
-                // Set mutated body
-                completeResponse.set("Body", bodyMutant.getMutatedNode());
-
-                // Create new mutant with complete response
-                Mutant completeMutant = new Mutant(bodyMutant.getOriginalJsonPath(), completeResponse, bodyMutant.getMutatorClass(), bodyMutant.getOperatorClass());
-
-                assembled.add(completeMutant);
-
+                assembled.add(assembleBodyMutant(originalResponse, bodyMutant));
             } catch (Exception e) {
                 logger.warn("Failed to assemble body mutant: {}", e.getMessage());
             }
@@ -280,6 +492,32 @@ public class HttpMutatorEngine {
         return new MutantGroup(bodyMutants.getIdentifier(), assembled);
     }
 
+    /**
+     * Same as {@link #assembleBodyMutants(JsonNode, MutantGroup)}, for candidates: each
+     * body mutant is assembled when its candidate is materialized.
+     */
+    private CandidateGroup assembleBodyCandidates(JsonNode originalResponse, CandidateGroup bodyCandidates) {
+        List<MutantCandidate> assembled = new ArrayList<>();
+
+        for (MutantCandidate bodyCandidate : bodyCandidates.getCandidates()) {
+            assembled.add(new MutantCandidate(bodyCandidate.getOriginalJsonPath(), bodyCandidate.getMutatorClass(),
+                    bodyCandidate.getOperatorClass(),
+                    () -> assembleBodyMutant(originalResponse, bodyCandidate.materialize())));
+        }
+
+        return new CandidateGroup(bodyCandidates.getIdentifier(), assembled);
+    }
+
+    private static Mutant assembleBodyMutant(JsonNode originalResponse, Mutant bodyMutant) {
+        // Keep original status code and headers, patch the body
+        List<PatchOperation> patch = new ArrayList<>();
+        for (PatchOperation operation : bodyMutant.getPatch()) {
+            patch.add(operation.withPrefix(BODY_POINTER));
+        }
+        return new Mutant(bodyMutant.getOriginalJsonPath(), originalResponse, patch,
+                bodyMutant.getMutatorClass(), bodyMutant.getOperatorClass());
+    }
+
     private boolean isValidResponse(JsonNode node) {
         return node.isObject() && node.has("Status Code") && node.get("Status Code").isInt() && node.has("Headers") && node.get("Headers").isObject() && node.has("Body");
     }
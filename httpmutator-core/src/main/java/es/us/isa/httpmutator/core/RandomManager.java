@@ -2,9 +2,15 @@ package es.us.isa.httpmutator.core;
 
 import org.apache.commons.math3.random.RandomDataGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+
+import es.us.isa.httpmutator.core.util.ScopedRandomGenerator;
 
 /**
  * Class for randomness management. To be extended by mutators and operators.
+ * Both generators draw from the current thread's scoped stream when one is
+ * active (see {@link es.us.isa.httpmutator.core.util.RandomUtils#callWithSeed}),
+ * and from a generator seeded with {@link #seed} otherwise.
  *
  * @author Alberto Martin-Lopez
  */
@@ -19,10 +25,9 @@ public abstract class RandomManager {
     }
     
     public RandomManager(long fixedSeed) {
-        rand1 = new RandomDataGenerator();
         seed = fixedSeed;
-        rand1.reSeed(seed);
-        rand2 = rand1.getRandomGenerator();
+        rand2 = new ScopedRandomGenerator(new Well19937c(seed));
+        rand1 = new RandomDataGenerator(rand2);
     }
 
     public long getSeed() {
@@ -0,0 +1,214 @@
+package es.us.isa.httpmutator.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Three-stage pipeline used by {@link HttpMutator#mutateStream} when it runs on several
+ * threads:
+ * <ol>
+ *     <li>a reader thread pulls items from the source and numbers them;</li>
+ *     <li>N worker threads apply the (expensive) stage function to each item;</li>
+ *     <li>the calling thread passes the results to the sink, either in input order
+ *     (through a reordering buffer) or as soon as they are available.</li>
+ * </ol>
+ * Stages are connected by bounded queues, and at most {@code capacity} items are in flight
+ * (queued, being processed or waiting in the reordering buffer) at any time, so a slow sink
+ * or a slow item slows down the reader instead of filling the memory.
+ *
+ * The first exception thrown by any stage stops the pipeline and is rethrown by
+ * {@link #run} on the calling thread.
+ */
+final class StreamPipeline<T, R> {
+
+    /**
+     * Producer of the items of the pipeline, e.g., an {@link es.us.isa.httpmutator.core.reader.HttpExchangeReader}
+     * bound to its input.
+     */
+    interface Source<T> {
+        void forEach(Consumer<T> consumer) throws IOException;
+    }
+
+    private static final AtomicInteger PIPELINE_COUNT = new AtomicInteger();
+
+    private final int workers;
+    private final int capacity;
+    private final boolean ordered;
+
+    /**
+     * @param workers  number of threads applying the stage function
+     * @param capacity maximum number of items in flight
+     * @param ordered  whether results reach the sink in input order
+     */
+    StreamPipeline(int workers, int capacity, boolean ordered) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be >= 1");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1");
+        }
+        this.workers = workers;
+        this.capacity = capacity;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Runs the pipeline until the source is exhausted and every result has reached the sink.
+     *
+     * @param source items to process
+     * @param stage  function applied to each item on the worker threads; must not return null
+     * @param sink   consumer of the results, always called on the calling thread
+     */
+    void run(Source<T> source, Function<T, R> stage, Consumer<R> sink) throws IOException {
+        BlockingQueue<Item<T>> input = new ArrayBlockingQueue<>(capacity);
+        BlockingQueue<Item<R>> output = new ArrayBlockingQueue<>(capacity);
+        Semaphore inFlight = new Semaphore(capacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1, threadFactory());
+
+        try {
+            // 1. Reader stage
+            executor.execute(() -> {
+                AtomicLong sequence = new AtomicLong();
+                try {
+                    source.forEach(value -> {
+                        try {
+                            inFlight.acquire();
+                            input.put(new Item<>(sequence.getAndIncrement(), value));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Pipeline reader interrupted", e);
+                        }
+                    });
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    for (int i = 0; i < workers; i++) {
+                        if (!putQuietly(input, Item.end())) {
+                            break;
+                        }
+                    }
+                }
+            });
+
+            // 2. Worker stage
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> {
+                    try {
+                        Item<T> item;
+                        while (!(item = input.take()).isEnd()) {
+                            output.put(new Item<>(item.sequence, stage.apply(item.value)));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                    putQuietly(output, Item.end());
+                });
+            }
+
+            // 3. Writer stage (calling thread)
+            Map<Long, R> pending = new HashMap<>();
+            long next = 0;
+            int running = workers;
+            while (running > 0) {
+                Item<R> item = output.take();
+                rethrowIfFailed(failure);
+                if (item.isEnd()) {
+                    running--;
+                } else if (!ordered) {
+                    sink.accept(item.value);
+                    inFlight.release();
+                } else {
+                    pending.put(item.sequence, item.value);
+                    R value;
+                    while ((value = pending.remove(next)) != null) {
+                        sink.accept(value);
+                        inFlight.release();
+                        next++;
+                    }
+                }
+            }
+            rethrowIfFailed(failure);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for mutants");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <V> boolean putQuietly(BlockingQueue<Item<V>> queue, Item<V> item) {
+        try {
+            queue.put(item);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // The pipeline is being stopped
+            return false;
+        }
+    }
+
+    private static void rethrowIfFailed(AtomicReference<Throwable> failure) throws IOException {
+        Throwable t = failure.get();
+        if (t == null) {
+            return;
+        }
+        if (t instanceof IOException) {
+            throw (IOException) t;
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new IllegalStateException(t);
+    }
+
+    private static ThreadFactory threadFactory() {
+        int pipeline = PIPELINE_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "httpmutator-pipeline-" + pipeline + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Item numbered by the reader stage. Items with a negative sequence number mark the end
+     * of the stream.
+     */
+    private static final class Item<V> {
+        final long sequence;
+        final V value;
+
+        Item(long sequence, V value) {
+            this.sequence = sequence;
+            this.value = value;
+        }
+
+        static <V> Item<V> end() {
+            return new Item<>(-1, null);
+        }
+
+        boolean isEnd() {
+            return sequence < 0;
+        }
+    }
+}
@@ -7,12 +7,14 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import es.us.isa.httpmutator.core.AbstractMutator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import static es.us.isa.httpmutator.core.util.JsonManager.insertElement;
+import static es.us.isa.httpmutator.core.util.OperatorNames.CHANGE_TYPE;
 import static es.us.isa.httpmutator.core.util.OperatorNames.DISORDER_ELEMENTS;
 import static es.us.isa.httpmutator.core.util.OperatorNames.EMPTY;
+import static es.us.isa.httpmutator.core.util.OperatorNames.NULL;
 import static es.us.isa.httpmutator.core.util.OperatorNames.REMOVE_ELEMENT;
 import static es.us.isa.httpmutator.core.util.OperatorNames.REMOVE_OBJECT_ELEMENT;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 
 /**
  * Superclass for object and array mutators. Both share common functionalities,
@@ -25,19 +27,21 @@ public abstract class AbstractObjectOrArrayMutator extends AbstractMutator {
 
     protected int minMutations;
     protected int maxMutations;
+    protected final MutationConfig config; // Configuration of the operators, see resetOperators()
 
-    public AbstractObjectOrArrayMutator() {
+    public AbstractObjectOrArrayMutator(MutationConfig config) {
         super();
+        this.config = config;
         switch(this.getClass().getSimpleName()) {
             case "ArrayMutator":
-                prob = Float.parseFloat(readProperty("operator.array.prob"));
-                minMutations = Integer.parseInt(readProperty("operator.array.mutations.min"));
-                maxMutations = Integer.parseInt(readProperty("operator.array.mutations.max"));
+                prob = config.getFloat("operator.array.prob");
+                minMutations = config.getInt("operator.array.mutations.min");
+                maxMutations = config.getInt("operator.array.mutations.max");
                 break;
             case "ObjectMutator":
-                prob = Float.parseFloat(readProperty("operator.object.prob"));
-                minMutations = Integer.parseInt(readProperty("operator.object.mutations.min"));
-                maxMutations = Integer.parseInt(readProperty("operator.object.mutations.max"));
+                prob = config.getFloat("operator.object.prob");
+                minMutations = config.getInt("operator.object.mutations.min");
+                maxMutations = config.getInt("operator.object.mutations.max");
                 break;
             default:
                 throw new IllegalArgumentException("Wrong class: " + this.getClass().getSimpleName() +
@@ -65,17 +69,23 @@ public abstract class AbstractObjectOrArrayMutator extends AbstractMutator {
 
     /**
      * Auxiliary function to clear the map of operators and add all of them again.
-     * Needed because when one type of mutation is applied, it is removed from the
-     * map so that it is not selected again.
+     * Called once on construction: applying mutations never modifies the map (the
+     * operators that must not be selected again in a call are excluded with a mask),
+     * so it is only needed to undo changes made to the map from outside.
      */
     public abstract void resetOperators();
 
     /**
-     * This function is like {@link AbstractObjectOrArrayMutator#resetOperators}
-     * but setting only operators that apply to the first level of a JSON array,
-     * i.e. addProperty, removeProperty and empty.
+     * Whether an operator applies to the first level of a JSON object or array,
+     * i.e., to a JSON that is not contained in any other object or array. Operators
+     * that would replace the whole JSON (null, change type) do not.
+     *
+     * @param operatorName The name of the operator, as in the map of operators
+     * @return True if the operator can be applied to a first-level JSON
      */
-    public abstract void resetFirstLevelOperators();
+    public boolean isFirstLevelOperator(String operatorName) {
+        return !NULL.equals(operatorName) && !CHANGE_TYPE.equals(operatorName);
+    }
 
     /**
      * The mutate method of the ObjectOrArrayMutator is a bit different from others,
@@ -122,6 +132,7 @@ public abstract class AbstractObjectOrArrayMutator extends AbstractMutator {
     protected boolean mutate(JsonNode jsonNode, String propertyName, Integer index) {
         boolean isObj = index==null; // If index==null, jsonNode is an object, otherwise it is an array
         Boolean elementWasObj = null; // Whether the elementToMutate was an object in the previous iteration or not
+        long excludedOperators = 0L; // Operators not to be selected again in this call
         int nMutations = rand1.nextInt(minMutations, maxMutations);
         boolean wasMutated = false;
         for (int i=0; i<nMutations; i++) {
@@ -136,18 +147,15 @@ public abstract class AbstractObjectOrArrayMutator extends AbstractMutator {
                 elementWasObj = elementToMutate.isObject(); // Update elementWasObj value for next iteration
                 if (shouldApplyMutation()) {
                     // Mutate element by randomly choosing one mutation operator among 'operators' and applying the mutation:
-                    String operator = getOperator();
+                    String operator = getOperator(excludedOperators);
                     // If node is empty and an operator that will make no changes is selected
                     if (elementToMutate.size() == 0 && (operator.equals(REMOVE_ELEMENT)  || operator.equals(REMOVE_OBJECT_ELEMENT) || operator.equals(DISORDER_ELEMENTS) || operator.equals(EMPTY))) {
-                        operators.remove(REMOVE_ELEMENT); // Discard all those operators
-                        operators.remove(REMOVE_OBJECT_ELEMENT);
-                        operators.remove(DISORDER_ELEMENTS);
-                        operators.remove(EMPTY);
-                        operator = getOperator(); // And select other
+                        excludedOperators |= operatorMask(REMOVE_ELEMENT, REMOVE_OBJECT_ELEMENT, DISORDER_ELEMENTS, EMPTY); // Discard all those operators
+                        operator = getOperator(excludedOperators); // And select other
                     }
                     if (operator != null) {
                         Object mutatedElement = operators.get(operator).mutate(elementToMutate);
-                        operators.remove(operator); // Remove that operator so that the mutation isn't applied twice
+                        excludedOperators |= operatorMask(operator); // Exclude that operator so that the mutation isn't applied twice
                         // Replace original element with mutated element:
                         insertElement(jsonNode, mutatedElement, propertyName, index);
                         if (!wasMutated)
@@ -156,7 +164,6 @@ public abstract class AbstractObjectOrArrayMutator extends AbstractMutator {
                 }
             }
         }
-        resetOperators(); // After all mutations are applied, reset operators to have all of them in the map again
 
         return wasMutated;
     }
@@ -171,20 +178,17 @@ public abstract class AbstractObjectOrArrayMutator extends AbstractMutator {
      * @return The mutated JSON object or array
      */
     public JsonNode getMutatedNode(JsonNode jsonNode) {
-        resetFirstLevelOperators(); // Use only first level operators
+        long excludedOperators = operatorMask(NULL, CHANGE_TYPE); // Use only first level operators
         int nMutations = rand1.nextInt(minMutations, maxMutations);
         for (int i=0; i<nMutations; i++) {
             if (shouldApplyMutation()) {
                 // Mutate element by randomly choosing one mutation operator among 'operators' and applying the mutation:
-                String operator = getOperator();
+                String operator = getOperator(excludedOperators);
 
                 // If node is empty and an operator that will make no changes is selected
                 if (jsonNode.size() == 0 && (operator.equals(REMOVE_ELEMENT) || operator.equals(REMOVE_OBJECT_ELEMENT) || operator.equals(DISORDER_ELEMENTS) || operator.equals(EMPTY))) {
-                    operators.remove(REMOVE_ELEMENT); // Discard all those operators
-                    operators.remove(REMOVE_OBJECT_ELEMENT);
-                    operators.remove(DISORDER_ELEMENTS);
-                    operators.remove(EMPTY);
-                    operator = getOperator(); // And select other
+                    excludedOperators |= operatorMask(REMOVE_ELEMENT, REMOVE_OBJECT_ELEMENT, DISORDER_ELEMENTS, EMPTY); // Discard all those operators
+                    operator = getOperator(excludedOperators); // And select other
                 }
 
                 // If node is an object and REMOVE_OBJECT_ELEMENT op. was selected, check that there are nested objects, otherwise choose a different op.
@@ -198,18 +202,17 @@ public abstract class AbstractObjectOrArrayMutator extends AbstractMutator {
                         }
                     }
                     if (!containsObjects) {
-                        operators.remove(REMOVE_OBJECT_ELEMENT); // This operator can't be applied, discard it
-                        operator = getOperator(); // And select other
+                        excludedOperators |= operatorMask(REMOVE_OBJECT_ELEMENT); // This operator can't be applied, discard it
+                        operator = getOperator(excludedOperators); // And select other
                     }
                 }
 
                 if (operator != null) {
                     jsonNode = (JsonNode)operators.get(operator).mutate(jsonNode);
-                    operators.remove(operator); // Remove that operator so that the mutation isn't applied twice
+                    excludedOperators |= operatorMask(operator); // Exclude that operator so that the mutation isn't applied twice
                 }
             }
         }
-        resetOperators(); // After all mutations are applied, reset operators to have all of them in the map again
 
         return jsonNode;
     }
@@ -1,14 +1,20 @@
 package es.us.isa.httpmutator.core.body;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -16,34 +22,38 @@ import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
 
 import es.us.isa.httpmutator.core.AbstractMutator;
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.model.CandidateGroup;
 import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutantCandidate;
 import es.us.isa.httpmutator.core.model.MutantGroup;
+import es.us.isa.httpmutator.core.model.PatchOperation;
 import es.us.isa.httpmutator.core.body.array.ArrayMutator;
 import es.us.isa.httpmutator.core.body.array.operator.ArrayAddElementOperator;
 import es.us.isa.httpmutator.core.body.array.operator.ArrayRemoveElementOperator;
 import es.us.isa.httpmutator.core.body.object.ObjectMutator;
 import es.us.isa.httpmutator.core.body.object.operator.ObjectAddElementOperator;
 import es.us.isa.httpmutator.core.body.object.operator.ObjectRemoveElementOperator;
-import es.us.isa.httpmutator.core.body.object.operator.ObjectRemoveObjectTypeElementOperator;
 import es.us.isa.httpmutator.core.body.value.boolean0.BooleanMutator;
 import es.us.isa.httpmutator.core.body.value.double0.DoubleMutator;
 import es.us.isa.httpmutator.core.body.value.long0.LongMutator;
 import es.us.isa.httpmutator.core.body.value.null0.NullMutator;
 import es.us.isa.httpmutator.core.body.value.string0.StringMutator;
 import static es.us.isa.httpmutator.core.util.JsonManager.getNodeElement;
-import static es.us.isa.httpmutator.core.util.JsonManager.insertElement;
+import static es.us.isa.httpmutator.core.util.JsonManager.shallowCopy;
+import static es.us.isa.httpmutator.core.util.JsonManager.toElementNode;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
 import es.us.isa.httpmutator.core.util.PropertyManager;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 import es.us.isa.httpmutator.core.util.RandomUtils;
 
 /**
@@ -55,31 +65,33 @@ public class BodyMutator {
 
     private static final Logger logger = LogManager.getLogger(BodyMutator.class.getName());
 
-    private ObjectMapper objectMapper;
-
-    private boolean firstIteration; // True when mutateJSON is called the first time, false when it's called
-                                    // recursively
-    private int jsonProgress; // For Single Order Mutation (SOM): Size of JSON (sum of all object properties
-                              // and array elements)
-    private Integer elementIndex; // For SOM: Index of element (counting the whole JSON) to mutate
-    private List<Integer> elementIndexes; // For SOM: Index of elements (counting the whole JSON) subject to be mutated
-    private boolean mutationApplied; // For SOM: True if the mutation was applied. Used to stop iterating
-    private boolean singleOrderActive; // True if single order mutation was used in the previous execution
-    private JsonNode rootJson; // For getAllMutants(): root JSON where each property will be mutated in several
-                               // ways
-
-    private StringMutator stringMutator;
-    private LongMutator longMutator;
-    private DoubleMutator doubleMutator;
-    private BooleanMutator booleanMutator;
-    private NullMutator nullMutator;
-    private ObjectMutator objectMutator;
-    private ArrayMutator arrayMutator;
+    /**
+     * Number of consecutive locations generated by each task in parallel mode. Since every
+     * mutant draws from a random stream of its own, it has no effect on the results.
+     */
+    static final int PARALLEL_CHUNK_SIZE = 256;
+
+    private final ObjectMapper objectMapper;
+
+    private volatile MutationConfig config; // Configuration the mutators are built with
+
+    // Mutators (and their operators) are built once per configuration and shared by all calls,
+    // which never modify them: the state of each call lives in local variables or in a context
+    // of its own (see GenerationContext). A BodyMutator can thus be used by several threads at
+    // the same time, as long as its properties are not changed meanwhile
+    private volatile Mutators multipleOrderMutators; // Configured as in the properties file
+    private volatile Mutators singleOrderMutators;   // Configured for single order mutations, built on first use
+
+    private volatile MutationPlanCache planCache;    // Null if plans are not cached
 
     public BodyMutator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public BodyMutator(MutationConfig config) {
+        this.config = config;
         objectMapper = new ObjectMapper();
-        resetJsonMutator();
-        resetMutators();
+        multipleOrderMutators = Mutators.fromConfig(config);
     }
 
     // ========== Core method: streaming processing by path ==========
@@ -94,30 +106,99 @@ public class BodyMutator {
      */
     public void getAllMutants(JsonNode jsonNode, double probability, 
                                        Consumer<MutantGroup> consumer) {
+        getAllMutants(jsonNode, probability, consumer, null);
+    }
+
+    /**
+     * Same as {@link #getAllMutants(JsonNode, double, Consumer)}, but generating the
+     * mutants of the body in parallel on the given pool. The locations of the body
+     * are split into chunks of {@value #PARALLEL_CHUNK_SIZE} consecutive locations
+     * (i.e., runs of whole subtrees), each generated by a separate task. The
+     * consumer is called on the calling thread, with groups in the same order as in
+     * sequential mode, and results are identical to the ones of sequential mode.
+     *
+     * Each mutant is generated with a random stream of its own, whose seed is derived
+     * from the seed of the current scope (see {@link RandomUtils#currentSeed()}), the
+     * path of the element and the name of the operator. Mutants are thus reproducible
+     * regardless of the number of threads and of which other mutants are generated.
+     *
+     * This method can be called by several threads at the same time: the state of each
+     * call is kept in a context of its own, and the mutators are shared but never modified.
+     *
+     * @param jsonNode The JsonNode to mutate
+     * @param probability The probability based on which to apply each mutation
+     * @param consumer Consumer to process mutants for each path
+     * @param pool Pool where to generate the mutants, or null to generate them on the calling thread
+     */
+    public void getAllMutants(JsonNode jsonNode, double probability,
+                              Consumer<MutantGroup> consumer, ForkJoinPool pool) {
         
-        // Critical: maintain state management logic consistent with original
-        boolean firstIterationOccurred = false;
-        
-        if (firstIteration) {
-            setUpSingleOrderMutation(); // Setup single order mutation mode
-            firstIteration = false;
-            firstIterationOccurred = true;
-            rootJson = jsonNode.deepCopy(); // Save root JSON copy
+        // Index a copy of the JSON once, so that mutants never share nodes with the input
+        GenerationContext context = newContext(jsonNode, probability);
+        if (pool == null) {
+            generateMutantGroups(context, 0, context.index.size(), consumer);
+        } else {
+            generateMutantGroupsInParallel(context, consumer, pool);
+        }
+    }
+
+    /**
+     * Generate the groups of mutants of the locations in positions [from, to) of the index,
+     * passing each group to the consumer as soon as it is generated.
+     */
+    private void generateMutantGroups(GenerationContext context, int from, int to, Consumer<MutantGroup> consumer) {
+        for (int i = from; i < to; i++) {
+            MutableLocation location = context.index.get(i);
+            List<Mutant> locationMutants = location.isRoot()
+                    ? generateFirstLevelMutants(context, location, i)
+                    : generateMutantsForElement(context, location, i);
+            if (!locationMutants.isEmpty()) {
+                consumer.accept(new MutantGroup("Body" + location.getPath(), locationMutants));
+            }
         }
+    }
+
+    /**
+     * Same as {@link #generateMutantGroups(GenerationContext, int, int, Consumer)},
+     * returning the groups in a list.
+     */
+    private List<MutantGroup> collectMutantGroups(GenerationContext context, int from, int to) {
+        List<MutantGroup> groups = new ArrayList<>();
+        generateMutantGroups(context, from, to, groups::add);
+        return groups;
+    }
 
+    private void generateMutantGroupsInParallel(GenerationContext context, Consumer<MutantGroup> consumer,
+                                                ForkJoinPool pool) {
+        MutableLocationIndex index = context.index;
+        // Chunks are delivered in order; at most maxPendingChunks are generated ahead of the consumer
+        int maxPendingChunks = Math.max(2, pool.getParallelism() * 2);
+        Deque<ForkJoinTask<List<MutantGroup>>> pendingChunks = new ArrayDeque<>();
         try {
-            // Start recursive processing
-            getAllMutants(jsonNode, "", probability, consumer);
+            for (int from = 0; from < index.size(); from += PARALLEL_CHUNK_SIZE) {
+                int start = from;
+                int end = Math.min(from + PARALLEL_CHUNK_SIZE, index.size());
+                pendingChunks.add(pool.submit(() -> collectMutantGroups(context, start, end)));
+                if (pendingChunks.size() >= maxPendingChunks) {
+                    deliver(pendingChunks.poll().join(), consumer);
+                }
+            }
+            while (!pendingChunks.isEmpty()) {
+                deliver(pendingChunks.poll().join(), consumer);
+            }
         } finally {
-            // 🧹 Ensure state is reset after processing completes
-            if (firstIterationOccurred) {
-                rootJson = null;
-                firstIteration = true;
-                resetMutators();
+            for (ForkJoinTask<List<MutantGroup>> pendingChunk : pendingChunks) {
+                pendingChunk.cancel(false);
             }
         }
     }
 
+    private static void deliver(List<MutantGroup> groups, Consumer<MutantGroup> consumer) {
+        for (MutantGroup group : groups) {
+            consumer.accept(group);
+        }
+    }
+
     /**
      * String version of path-based processing
      */
@@ -133,100 +214,136 @@ public class BodyMutator {
         }
     }
 
+    // ========== Pull-based processing ==========
+
     /**
-     * Internal recursive method: process mutants by path
-     * This method is the core logic, similar to original getAllMutants but outputs by path grouping
+     * Lazy version of {@link #getAllMutants(JsonNode, double, Consumer)}: returns a stream of
+     * the same groups, in the same order, generating the mutants of each location only when
+     * the stream pulls it. Short-circuiting operations (e.g., {@code limit} or
+     * {@code findFirst}) thus stop generation early, and {@link Stream#iterator()} can be
+     * used to pull groups one by one. The stream can also be made parallel, in which case
+     * the locations of the body are split into ranges generated by different threads.
+     *
+     * The JSON is copied and indexed when this method is called, and the mutants draw from
+     * random streams derived from the seed of the current scope at that time (see
+     * {@link RandomUtils#currentSeed()}). Results are thus the same as the ones of
+     * {@link #getAllMutants(JsonNode, double, Consumer)}, no matter when, on which thread or
+     * how far the stream is consumed.
+     *
+     * @param jsonNode    The JsonNode to mutate
+     * @param probability The probability based on which to apply each mutation
+     * @return A stream of the mutants of each location of the JSON
      */
-    private void getAllMutants(JsonNode jsonNode, String parentPath, 
-                                        double probability, Consumer<MutantGroup> consumer) {
-        
-        List<Mutant> currentPathMutants = new ArrayList<>();
-        AbstractMutator mutator = getMutator(jsonNode);
+    public Stream<MutantGroup> streamMutantGroups(JsonNode jsonNode, double probability) {
+        GenerationContext context = newContext(jsonNode, probability);
+        return StreamSupport.stream(new MutantGroupSpliterator(context, 0, context.index.size()), false);
+    }
 
-        // Handle root-level mutations for current path (corresponding to original firstIteration logic)
-        if (parentPath.isEmpty() && mutator != null) {
-            if (mutator instanceof AbstractObjectOrArrayMutator) {
-                ((AbstractObjectOrArrayMutator) mutator).resetFirstLevelOperators();
-            } else {
-                throw new IllegalStateException("Mutator for root JSON must be an AbstractObjectOrArrayMutator");
-            }
-            
-            for (AbstractOperator operator : mutator.getOperators().values()) {
-                JsonNode jsonNodeCopy = jsonNode.deepCopy();
-                if (RandomUtils.nextDouble() < probability && operator.isApplicable(jsonNodeCopy)) {
-                    JsonNode mutant = (JsonNode) operator.mutate(jsonNodeCopy);
-                    currentPathMutants.add(new Mutant(
-                        "Body" + parentPath,
-                        mutant,
-                        mutator.getClass(),
-                        operator.getClass()
-                    ));
+    /**
+     * Same as {@link #streamMutantGroups(JsonNode, double)}, flattened into single mutants.
+     */
+    public Stream<Mutant> streamAllMutants(JsonNode jsonNode, double probability) {
+        return streamMutantGroups(jsonNode, probability).flatMap(group -> group.getMutants().stream());
+    }
+
+    /**
+     * Spliterator over the groups of mutants of the locations in positions [from, to) of
+     * the index of a context. Each location is generated when the spliterator reaches it,
+     * and splitting halves the remaining range.
+     */
+    private final class MutantGroupSpliterator implements Spliterator<MutantGroup> {
+        private final GenerationContext context;
+        private int from;
+        private final int to;
+
+        MutantGroupSpliterator(GenerationContext context, int from, int to) {
+            this.context = context;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super MutantGroup> action) {
+            while (from < to) {
+                int position = from++;
+                MutableLocation location = context.index.get(position);
+                List<Mutant> locationMutants = location.isRoot()
+                        ? generateFirstLevelMutants(context, location, position)
+                        : generateMutantsForElement(context, location, position);
+                if (!locationMutants.isEmpty()) {
+                    action.accept(new MutantGroup("Body" + location.getPath(), locationMutants));
+                    return true;
                 }
             }
-            
-            ((AbstractObjectOrArrayMutator) mutator).resetOperators();
-                        
-            // If root path has mutations, send immediately to consumer
-            if (!currentPathMutants.isEmpty()) {
-                consumer.accept(new MutantGroup("Body" + parentPath, currentPathMutants));
-            }
+            return false;
         }
 
-        // Process child elements - this is the main memory optimization point
-        Iterator<JsonNode> jsonIterator = jsonNode.elements();
-        int i = 0;
-        while (jsonIterator.hasNext()) {
-            JsonNode element = jsonIterator.next();
-            
-            String propertyName = jsonNode.isObject() ? 
-                Lists.newArrayList(jsonNode.fieldNames()).get(i) : null;
-            Integer index = jsonNode.isArray() ? i : null;
-            String currentPath = parentPath + "/" + (index == null ? propertyName : index);
-            
-            // Generate mutations for current element and process immediately
-            List<Mutant> elementMutants = generateMutantsForElement(
-                element, parentPath, propertyName, index, probability
-            );
-            
-            if (!elementMutants.isEmpty()) {
-                consumer.accept(new MutantGroup("Body" + currentPath, elementMutants));
+        @Override
+        public Spliterator<MutantGroup> trySplit() {
+            int middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
             }
+            MutantGroupSpliterator prefix = new MutantGroupSpliterator(context, from, middle);
+            from = middle;
+            return prefix;
+        }
 
-            // Recursively process container nodes
-            if (element.isContainerNode()) {
-                getAllMutants(element, currentPath, probability, consumer);
-            }
+        @Override
+        public long estimateSize() {
+            return to - from; // At most one group per location
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    /**
+     * Generate mutants for the root JSON. Operators that would replace the whole
+     * JSON (null, change type) are not applied at this level.
+     */
+    private List<Mutant> generateFirstLevelMutants(GenerationContext context, MutableLocation location,
+                                                   int position) {
+        List<Mutant> mutants = new ArrayList<>();
+        AbstractMutator mutator = context.plan != null
+                ? context.plan.getMutator(position)
+                : getFirstLevelMutator(context, location);
+        if (mutator == null) {
+            return mutants;
+        }
 
-            i++;
+        for (Map.Entry<String, AbstractOperator> entry : operatorsOf(context, mutator, true, position)) {
+            AbstractOperator operator = entry.getValue();
+            JsonNode mutant = RandomUtils.callWithSeed(operatorSeed(context.seed, location, entry.getKey()),
+                    () -> applyFirstLevelOperator(context, location, operator));
+            if (mutant != null) {
+                mutants.add(firstLevelMutant(location, mutator, operator, mutant));
+            }
         }
+
+        return mutants;
     }
 
     /**
      * Generate mutants for a single element
      * This method is responsible for specific mutation generation logic
      */
-    private List<Mutant> generateMutantsForElement(JsonNode element, String parentPath,
-                                                  String propertyName, Integer index, 
-                                                  double probability) {
+    private List<Mutant> generateMutantsForElement(GenerationContext context, MutableLocation location,
+                                                   int position) {
         List<Mutant> mutants = new ArrayList<>();
-        AbstractMutator mutator = getMutator(element);
+        AbstractMutator mutator = context.plan != null
+                ? context.plan.getMutator(position)
+                : getMutator(context.mutators, location.getNode());
         
         if (mutator != null) {
-            for (AbstractOperator operator : mutator.getOperators().values()) {
-                if (RandomUtils.nextDouble() < probability && operator.isApplicable(getNodeElement(element))) {
-                    JsonNode mutatedJson = getMutatedJson(
-                        rootJson, // Use saved root JSON copy
-                        parentPath, 
-                        propertyName, 
-                        index, 
-                        operator
-                    );
-                    mutants.add(new Mutant(
-                        "Body" + parentPath + "/" + (index == null ? propertyName : index),
-                        mutatedJson,
-                        mutator.getClass(),
-                        operator.getClass()
-                    ));
+            for (Map.Entry<String, AbstractOperator> entry : operatorsOf(context, mutator, false, position)) {
+                AbstractOperator operator = entry.getValue();
+                JsonNode mutatedElement = RandomUtils.callWithSeed(operatorSeed(context.seed, location, entry.getKey()),
+                        () -> applyOperator(context, location, operator));
+                if (mutatedElement != null) {
+                    mutants.add(elementMutant(context, location, mutator, operator, mutatedElement));
                 }
             }
         }
@@ -234,12 +351,235 @@ public class BodyMutator {
         return mutants;
     }
 
+    private static AbstractMutator getFirstLevelMutator(GenerationContext context, MutableLocation location) {
+        AbstractMutator mutator = getMutator(context.mutators, location.getNode());
+        if (mutator != null && !(mutator instanceof AbstractObjectOrArrayMutator)) {
+            throw new IllegalStateException("Mutator for root JSON must be an AbstractObjectOrArrayMutator");
+        }
+        return mutator;
+    }
+
+    /**
+     * Operators of a mutator to apply to a location: the ones of the plan of the
+     * location if there is one (whose applicability has already been checked), all the
+     * first-level operators of the mutator for the root JSON, and all of its operators
+     * otherwise.
+     */
+    private static Iterable<Map.Entry<String, AbstractOperator>> operatorsOf(GenerationContext context,
+                                                                           AbstractMutator mutator,
+                                                                           boolean firstLevel, int position) {
+        if (context.plan != null) {
+            return context.plan.getOperators(position);
+        }
+        if (!firstLevel) {
+            return mutator.getOperators().entrySet();
+        }
+        AbstractObjectOrArrayMutator rootMutator = (AbstractObjectOrArrayMutator) mutator;
+        List<Map.Entry<String, AbstractOperator>> operators = new ArrayList<>();
+        for (Map.Entry<String, AbstractOperator> entry : mutator.getOperators().entrySet()) {
+            if (rootMutator.isFirstLevelOperator(entry.getKey())) {
+                operators.add(entry);
+            }
+        }
+        return operators;
+    }
+
+    /**
+     * Applies a first-level operator to the root JSON, within the random scope of the
+     * operator. Returns null if the operator is not applied (because of the probability
+     * or because it is not applicable).
+     */
+    private static JsonNode applyFirstLevelOperator(GenerationContext context, MutableLocation location,
+                                                    AbstractOperator operator) {
+        JsonNode jsonNodeCopy = shallowCopy(location.getNode()); // First-level operators only add, remove or move children
+        return RandomUtils.nextDouble() < context.probability
+                && (context.plan != null || operator.isApplicable(jsonNodeCopy)) // Plans only hold applicable operators
+                ? (JsonNode) operator.mutate(jsonNodeCopy)
+                : null;
+    }
+
+    /**
+     * Applies an operator to an element, within the random scope of the operator.
+     * Returns null if the operator is not applied (because of the probability or
+     * because it is not applicable).
+     */
+    private JsonNode applyOperator(GenerationContext context, MutableLocation location, AbstractOperator operator) {
+        JsonNode element = location.getNode();
+        return RandomUtils.nextDouble() < context.probability
+                && (context.plan != null || operator.isApplicable(getNodeElement(element)))
+                ? getMutatedElement(element, operator)
+                : null;
+    }
+
+    private static Mutant firstLevelMutant(MutableLocation location, AbstractMutator mutator,
+                                           AbstractOperator operator, JsonNode mutant) {
+        return new Mutant(
+            "Body",
+            location.getNode(),
+            Collections.singletonList(PatchOperation.replace(location.getPointer(), mutant)),
+            mutator.getClass(),
+            operator.getClass()
+        );
+    }
+
+    private static Mutant elementMutant(GenerationContext context, MutableLocation location, AbstractMutator mutator,
+                                        AbstractOperator operator, JsonNode mutatedElement) {
+        return new Mutant(
+            "Body" + location.getPath(),
+            context.index.getRoot(), // Use the indexed copy of the JSON
+            Collections.singletonList(PatchOperation.replace(location.getPointer(), mutatedElement)),
+            mutator.getClass(),
+            operator.getClass()
+        );
+    }
+
+    // ========== Two-phase processing: candidates first, mutants on demand ==========
+
+    /**
+     * Two-phase version of {@link #getAllMutants(JsonNode, double, Consumer)}: for each
+     * location, passes the consumer the candidates that getAllMutants would generate
+     * (those whose operator passes the probability check and is applicable), without
+     * applying any operator. Each candidate applies its operator when materialized, with
+     * the same random stream as getAllMutants, so it yields the very same mutant.
+     *
+     * @param jsonNode The JsonNode to mutate
+     * @param probability The probability based on which to apply each mutation
+     * @param consumer Consumer to process the candidates of each path
+     */
+    public void getAllCandidates(JsonNode jsonNode, double probability, Consumer<CandidateGroup> consumer) {
+        GenerationContext context = newContext(jsonNode, probability);
+        for (int i = 0; i < context.index.size(); i++) {
+            MutableLocation location = context.index.get(i);
+            List<MutantCandidate> candidates = generateCandidates(context, location, i);
+            if (!candidates.isEmpty()) {
+                consumer.accept(new CandidateGroup("Body" + location.getPath(), candidates));
+            }
+        }
+    }
+
+    private List<MutantCandidate> generateCandidates(GenerationContext context, MutableLocation location,
+                                                     int position) {
+        List<MutantCandidate> candidates = new ArrayList<>();
+        boolean firstLevel = location.isRoot();
+        AbstractMutator mutator = context.plan != null ? context.plan.getMutator(position)
+                : firstLevel ? getFirstLevelMutator(context, location)
+                : getMutator(context.mutators, location.getNode());
+        if (mutator == null) {
+            return candidates;
+        }
+
+        Object element = firstLevel ? location.getNode() : getNodeElement(location.getNode());
+        for (Map.Entry<String, AbstractOperator> entry : operatorsOf(context, mutator, firstLevel, position)) {
+            AbstractOperator operator = entry.getValue();
+            long seed = operatorSeed(context.seed, location, entry.getKey());
+            // Same check as applyOperator, whose first draw is the probability one (always passed if it is 1,
+            // and the stream of each operator is its own, so the draw can then be skipped)
+            boolean applied = context.probability >= 1
+                    ? context.plan != null || operator.isApplicable(element)
+                    : RandomUtils.callWithSeed(seed, () -> RandomUtils.nextDouble() < context.probability
+                            && (context.plan != null || operator.isApplicable(element)));
+            if (!applied) {
+                continue;
+            }
+            Supplier<Mutant> generator = firstLevel
+                    ? () -> firstLevelMutant(location, mutator, operator,
+                            RandomUtils.callWithSeed(seed, () -> applyFirstLevelOperator(context, location, operator)))
+                    : () -> elementMutant(context, location, mutator, operator,
+                            RandomUtils.callWithSeed(seed, () -> applyOperator(context, location, operator)));
+            candidates.add(new MutantCandidate(firstLevel ? "Body" : "Body" + location.getPath(),
+                    mutator.getClass(), operator.getClass(), generator));
+        }
+        return candidates;
+    }
+
+    /**
+     * Seed of the random stream used to apply an operator to an element, derived from
+     * the seed of the body, the path of the element and the name of the operator.
+     */
+    private static long operatorSeed(long seed, MutableLocation location, String operatorName) {
+        return RandomUtils.deriveSeed(seed, location.getPath(), operatorName);
+    }
+
+    // ========== Mutation plans ==========
+
+    /**
+     * Caches the mutation plans of the shapes of the bodies mutated from now on (see
+     * {@link MutationPlanCache}), so that bodies with the same shape as a previous one
+     * are mutated without indexing them and checking the applicability of each
+     * operator again. The cache assumes that {@link AbstractOperator#isApplicable}
+     * only depends on the shape of an element (its type, size and property names), as
+     * for the built-in operators; results are then the same with or without a cache.
+     *
+     * @param planCache the cache to use (may be shared with other BodyMutators), or null
+     *                  to stop caching plans
+     */
+    public void setPlanCache(MutationPlanCache planCache) {
+        this.planCache = planCache;
+    }
+
+    public MutationPlanCache getPlanCache() {
+        return planCache;
+    }
+
+    /**
+     * Creates the context of a call on a copy of a JSON, indexing the copy with the
+     * plan of its shape if plans are cached (building and caching the plan if needed).
+     */
+    private GenerationContext newContext(JsonNode jsonNode, double probability) {
+        Mutators mutators = singleOrderMutators();
+        JsonNode jsonNodeCopy = jsonNode.deepCopy(); // Index a copy, so that mutants never share nodes with the input
+        long seed = RandomUtils.currentSeed();
+        MutationPlanCache cache = planCache;
+        if (cache == null) {
+            return new GenerationContext(mutators, MutableLocationIndex.build(jsonNodeCopy), null, probability, seed);
+        }
+
+        HashCode shape = MutationPlan.shapeOf(jsonNodeCopy);
+        MutationPlan plan = cache.get(shape, mutators);
+        MutableLocationIndex index = plan != null ? plan.bind(jsonNodeCopy) : null;
+        if (index == null) { // Not cached (or, very unlikely, another shape with the same fingerprint)
+            index = MutableLocationIndex.build(jsonNodeCopy);
+            plan = buildPlan(mutators, index);
+            cache.put(shape, plan);
+        }
+        return new GenerationContext(mutators, index, plan, probability, seed);
+    }
+
+    /**
+     * Builds the mutation plan of the shape of an indexed JSON: the mutator of each
+     * location and the operators to apply to it (the applicable ones).
+     */
+    private static MutationPlan buildPlan(Mutators mutators, MutableLocationIndex index) {
+        GenerationContext context = new GenerationContext(mutators, index, null, 1, 0);
+        AbstractMutator[] locationMutators = new AbstractMutator[index.size()];
+        List<List<Map.Entry<String, AbstractOperator>>> locationOperators = new ArrayList<>(index.size());
+        for (int i = 0; i < index.size(); i++) {
+            MutableLocation location = index.get(i);
+            boolean firstLevel = location.isRoot();
+            AbstractMutator mutator = firstLevel
+                    ? getFirstLevelMutator(context, location)
+                    : getMutator(mutators, location.getNode());
+            List<Map.Entry<String, AbstractOperator>> operators = new ArrayList<>();
+            if (mutator != null) {
+                Object element = firstLevel ? location.getNode() : getNodeElement(location.getNode());
+                for (Map.Entry<String, AbstractOperator> entry : operatorsOf(context, mutator, firstLevel, i)) {
+                    if (entry.getValue().isApplicable(element)) {
+                        operators.add(entry);
+                    }
+                }
+            }
+            locationMutators[i] = mutator;
+            locationOperators.add(operators.isEmpty() ? Collections.emptyList() : operators);
+        }
+        return new MutationPlan(mutators, index, locationMutators, locationOperators);
+    }
+
     /**
      * Based on an input JSON, apply all possible single order mutations on it
      * based on a certain probability and return one mutant per mutation (i.e.,
      * one mutant per property per operator).
      * 
-     * @deprecated Use {@link #sreamAllMutants(JsonNode, double)} instead.
+     * @deprecated Use {@link #streamAllMutants(JsonNode, double)} instead.
      *
      * @param jsonNode    The JsonNode to mutate.
      * @param probability The probability based on which to apply each mutation.
@@ -247,7 +587,9 @@ public class BodyMutator {
      */
     @Deprecated
     public List<Mutant> getAllMutants(JsonNode jsonNode, double probability) {
-        return getAllMutants(jsonNode, "", probability);
+        List<Mutant> mutants = new ArrayList<>();
+        getAllMutants(jsonNode, probability, mutantGroup -> mutants.addAll(mutantGroup.getMutants()));
+        return mutants;
     }
 
     @Deprecated
@@ -272,7 +614,7 @@ public class BodyMutator {
 
     @Deprecated
     public List<Mutant> getAllMutants(JsonNode jsonNode) {
-        return getAllMutants(jsonNode, "", 1);
+        return getAllMutants(jsonNode, 1);
     }
 
     @Deprecated
@@ -281,110 +623,20 @@ public class BodyMutator {
     }
 
     /**
+     * Applies an operator to a single element of the saved root JSON and returns the
+     * new value of the element. The element is not modified: if it is an object or
+     * array, the operator receives a shallow copy of it, since object and array
+     * operators only add, remove or reorder the children of the node they receive.
+     * The result may thus share subtrees with the root JSON and must be treated as
+     * read-only; use {@link Mutant#deepCopy()} to obtain an independent tree.
      *
-     * @param jsonNode    JsonNode of which to obtain all possible mutants
-     *                    (recursively)
-     * @param parentPath  Pointer representing the location of the jsonNode
-     *                    within the root (first-level) JSON
-     * @param probability The probability with which a mutation is applied
-     * @return All mutants generated based on the jsonNode passed
-     */
-    private List<Mutant> getAllMutants(JsonNode jsonNode, String parentPath, double probability) {
-        List<Mutant> mutants = new ArrayList<>();
-        AbstractMutator mutator = getMutator(jsonNode);
-
-        boolean firstIterationOccurred = false; // Used to reset JsonMutator for next execution
-        if (firstIteration) {
-            setUpSingleOrderMutation(); // Mutants are only generated as single order mutations
-
-            firstIteration = false;
-            firstIterationOccurred = true;
-            rootJson = jsonNode.deepCopy(); // Make a deep copy so that the input object is not altered
-
-            // Get mutants of the first-level JSON
-            if (mutator != null) {
-                ((AbstractObjectOrArrayMutator) mutator).resetFirstLevelOperators();
-                for (AbstractOperator operator : mutator.getOperators().values()) {
-                    JsonNode jsonNodeCopy = jsonNode.deepCopy();
-                    if (RandomUtils.nextDouble() < probability && operator.isApplicable(jsonNodeCopy)) {
-                        JsonNode mutant = (JsonNode) operator.mutate(jsonNodeCopy);
-                        mutants.add(
-                                new Mutant(
-                                        "Body" + parentPath,
-                                        mutant,
-                                        mutator.getClass(),
-                                        operator.getClass()));
-                    }
-                }
-                ((AbstractObjectOrArrayMutator) mutator).resetOperators();
-            }
-        }
-
-        Iterator<JsonNode> jsonIterator = jsonNode.elements();
-        int i = 0;
-        while (jsonIterator.hasNext()) {
-            JsonNode element = jsonIterator.next();
-            mutator = getMutator(element);
-
-            String propertyName = jsonNode.isObject() ? Lists.newArrayList(jsonNode.fieldNames()).get(i) : null;
-            Integer index = jsonNode.isArray() ? i : null;
-
-            if (mutator != null) { // Apply all operators, and generate one mutant for each
-                for (AbstractOperator operator : mutator.getOperators().values()) {
-                    if (operator instanceof ObjectRemoveObjectTypeElementOperator) {
-                        System.err.println("");
-                    }
-                    if (RandomUtils.nextDouble() < probability && operator.isApplicable(getNodeElement(element))) {
-                        JsonNode mutatedJson = getMutatedJson(rootJson, parentPath, propertyName, index, operator);
-                        mutants.add(
-                                new Mutant(
-                                        "Body" + parentPath + "/" + (index == null ? propertyName : index),
-                                        mutatedJson,
-                                        mutator.getClass(),
-                                        operator.getClass()));
-                    }
-                }
-            }
-
-            if (element.isContainerNode()) // Iterate over children and add its mutants
-            {
-                mutants.addAll(
-                        getAllMutants(element, parentPath + "/" + (index == null ? propertyName : index), probability));
-            }
-
-            i++;
-        }
-
-        // At the end of the first iteration, reset JsonMutator for next call
-        if (firstIterationOccurred) {
-            rootJson = null;
-            firstIteration = true;
-            resetMutators();
-        }
-
-        return mutants;
-    }
-
-    /**
-     *
-     * @param jsonNode     JSON where to mutate some element (can be nested)
-     * @param jsonPath     Pointer to the element which is the parent of the element
-     *                     to mutate, e.g., "/prop1/arrayProp"
-     * @param propertyName Name of the property to mutate, null if is an array
-     *                     element
-     * @param index        Index of the element to mutate, null if is an object
-     *                     property
-     * @param operator     Mutation operator to apply to the element
-     * @return The modified jsonNode
-     */
-    private JsonNode getMutatedJson(JsonNode jsonNode, String jsonPath, String propertyName, Integer index,
-            AbstractOperator operator) {
-        JsonNode jsonNodeCopy = jsonNode.deepCopy();
-        JsonNode element = jsonNodeCopy.at(jsonPath + "/" + (index == null ? propertyName : index));
-        Object mutatedElement = operator.mutate(getNodeElement(element));
-        insertElement(jsonNodeCopy.at(jsonPath), mutatedElement, propertyName, index);
-
-        return jsonNodeCopy;
+     * @param element  Element to mutate
+     * @param operator Mutation operator to apply to the element
+     * @return The mutated element, as a JsonNode
+     */
+    private JsonNode getMutatedElement(JsonNode element, AbstractOperator operator) {
+        Object mutatedElement = operator.mutate(getNodeElement(shallowCopy(element)));
+        return toElementNode(mutatedElement);
     }
 
     /**
@@ -396,21 +648,9 @@ public class BodyMutator {
      */
     public JsonNode mutateJson(JsonNode jsonNode, boolean singleOrder) {
         if (singleOrder) {
-            if (!singleOrderActive) // If the last call to this function was with singleOrder=false, then...
-            {
-                setUpSingleOrderMutation(); // ... set up parameters for single order mutation...
-
-            }
-            singleOrderActive = true; // ... and keep track of this update for next function call
-            return singleOrderMutation(jsonNode);
+            return singleOrderMutation(singleOrderMutators(), jsonNode);
         } else {
-            if (singleOrderActive) // If the last call to this function was with singleOrder=true, then...
-            {
-                resetMutators(); // ... set up parameters for multiple order mutation
-
-            }
-            singleOrderActive = false; // ... and keep track of this update for next function call
-            return multipleOrderMutation(jsonNode);
+            return multipleOrderMutation(multipleOrderMutators, jsonNode);
         }
     }
 
@@ -431,160 +671,63 @@ public class BodyMutator {
     }
 
     /**
-     * Auxiliary function to set up the JsonMutator for single order mutations.
-     * Basically, probabilities of all mutators are set to 1, and for object and
-     * array mutators, only one mutation is allowed and only one element can be
-     * added or removed. That way, only one change is made at a time.
+     * Mutators set up for single order mutations (see {@link Mutators#singleOrder}),
+     * built the first time they are needed.
      */
-    private void setUpSingleOrderMutation() {
-        if (Boolean.parseBoolean(readProperty("operator.value.string.enabled"))) {
-            stringMutator.setProb(1);
-        }
-        if (Boolean.parseBoolean(readProperty("operator.value.long.enabled"))) {
-            longMutator.setProb(1);
-        }
-        if (Boolean.parseBoolean(readProperty("operator.value.double.enabled"))) {
-            doubleMutator.setProb(1);
-        }
-        if (Boolean.parseBoolean(readProperty("operator.value.boolean.enabled"))) {
-            booleanMutator.setProb(1);
-        }
-        if (Boolean.parseBoolean(readProperty("operator.value.null.enabled"))) {
-            nullMutator.setProb(1);
-        }
-        if (Boolean.parseBoolean(readProperty("operator.object.enabled"))) {
-            objectMutator.setProb(1);
-            objectMutator.setMinMutations(1);
-            objectMutator.setMaxMutations(1);
-            ((ObjectAddElementOperator) objectMutator.getOperators().get(OperatorNames.ADD_ELEMENT))
-                    .setMinAddedProperties(1);
-            ((ObjectAddElementOperator) objectMutator.getOperators().get(OperatorNames.ADD_ELEMENT))
-                    .setMaxAddedProperties(1);
-            ((ObjectRemoveElementOperator) objectMutator.getOperators().get(OperatorNames.REMOVE_ELEMENT))
-                    .setMinRemovedProperties(1);
-            ((ObjectRemoveElementOperator) objectMutator.getOperators().get(OperatorNames.REMOVE_ELEMENT))
-                    .setMaxRemovedProperties(1);
-        }
-        if (Boolean.parseBoolean(readProperty("operator.array.enabled"))) {
-            arrayMutator.setProb(1);
-            arrayMutator.setMinMutations(1);
-            arrayMutator.setMaxMutations(1);
-            ((ArrayAddElementOperator) arrayMutator.getOperators().get(OperatorNames.ADD_ELEMENT))
-                    .setMinAddedElements(1);
-            ((ArrayAddElementOperator) arrayMutator.getOperators().get(OperatorNames.ADD_ELEMENT))
-                    .setMaxAddedElements(1);
-            ((ArrayRemoveElementOperator) arrayMutator.getOperators().get(OperatorNames.REMOVE_ELEMENT))
-                    .setMinRemovedElements(1);
-            ((ArrayRemoveElementOperator) arrayMutator.getOperators().get(OperatorNames.REMOVE_ELEMENT))
-                    .setMaxRemovedElements(1);
+    private Mutators singleOrderMutators() {
+        Mutators mutators = singleOrderMutators;
+        if (mutators == null) {
+            synchronized (this) {
+                mutators = singleOrderMutators;
+                if (mutators == null) {
+                    mutators = Mutators.singleOrder(config);
+                    singleOrderMutators = mutators;
+                }
+            }
         }
+        return mutators;
     }
-
     /**
-     * Reset all variables used by constructor and singleOrderMutation method.
+     * Discards the mutators built so far, so that they are built again with the
+     * current configuration.
      */
-    private void resetJsonMutator() {
-        firstIteration = true;
-        jsonProgress = 0;
-        singleOrderActive = elementIndex != null && elementIndex != -1;
-        elementIndex = null;
-        elementIndexes = new ArrayList<>();
-        mutationApplied = false;
-    }
-
-    /**
-     * Auxiliary function to set up the JsonMutator for multiple order
-     * mutations. All mutators are re-instantiated, so that their properties are
-     * reset according to the properties file.
-     */
-    private void resetMutators() {
-        stringMutator = Boolean.parseBoolean(readProperty("operator.value.string.enabled")) ? new StringMutator()
-                : null;
-        longMutator = Boolean.parseBoolean(readProperty("operator.value.long.enabled")) ? new LongMutator() : null;
-        doubleMutator = Boolean.parseBoolean(readProperty("operator.value.double.enabled")) ? new DoubleMutator()
-                : null;
-        booleanMutator = Boolean.parseBoolean(readProperty("operator.value.boolean.enabled")) ? new BooleanMutator()
-                : null;
-        nullMutator = Boolean.parseBoolean(readProperty("operator.value.null.enabled")) ? new NullMutator() : null;
-        objectMutator = Boolean.parseBoolean(readProperty("operator.object.enabled")) ? new ObjectMutator() : null;
-        arrayMutator = Boolean.parseBoolean(readProperty("operator.array.enabled")) ? new ArrayMutator() : null;
+    private synchronized void rebuildMutators() {
+        multipleOrderMutators = Mutators.fromConfig(config);
+        singleOrderMutators = null;
     }
 
     /**
      * Apply a single mutation to a JSON object. This is done in the following
-     * way: First, the JSON is fully iterated over, keeping track of all the
-     * elements that are subject to change based on the current configuration of
-     * the JSONmutator. Then, a random element is picked. In a second iteration,
-     * that element is looked for and mutated.
+     * way: First, the JSON is indexed, keeping track of all the elements that
+     * are subject to change based on the current configuration of the
+     * JSONmutator. Then, a random element is picked and mutated in place,
+     * using the parent and key or index stored in the index.
      *
      * @param jsonNode The JSON to mutate.
      * @return The mutated JSON.
      */
-    private JsonNode singleOrderMutation(JsonNode jsonNode) {
-        boolean firstIterationOccurred = false; // Used to reset the state of firstIteration attribute
-        JsonNode jsonNodeCopy = jsonNode;
-        int currentJsonProgress = 0; // Used to locate object property or array element to mutate (within current
-                                     // jsonNode)
-        if (firstIteration) {
-            firstIteration = false;
-            firstIterationOccurred = true;
-            jsonNodeCopy = jsonNode.deepCopy(); // Make a deep copy so that the input object is not altered
-            if (isElementSubjectToChange(jsonNodeCopy)) // If first-level JSON can be changed...
-            {
-                elementIndexes.add(-1); // ...add it to the list of property indexes
-
-            }
-        }
+    private JsonNode singleOrderMutation(Mutators mutators, JsonNode jsonNode) {
+        JsonNode jsonNodeCopy = jsonNode.deepCopy(); // Make a deep copy so that the input object is not altered
 
-        if (elementIndex != null && elementIndex == -1 && !mutationApplied) { // If what has to be mutated is the actual
-                                                                              // first-level JSON
-            if (objectMutator != null && jsonNodeCopy.isObject()) {
-                jsonNodeCopy = objectMutator.getMutatedNode(jsonNodeCopy);
-            } else if (arrayMutator != null && jsonNodeCopy.isArray()) {
-                jsonNodeCopy = arrayMutator.getMutatedNode(jsonNodeCopy);
+        List<MutableLocation> locationsSubjectToChange = new ArrayList<>();
+        for (MutableLocation location : MutableLocationIndex.build(jsonNodeCopy)) {
+            if (isElementSubjectToChange(mutators, location.getNode())) {
+                locationsSubjectToChange.add(location);
             }
-            mutationApplied = true;
         }
 
-        Iterator<JsonNode> jsonIterator = jsonNodeCopy.elements();
-        while (jsonIterator.hasNext()) { // Keep iterating the JSON...
-            JsonNode subJsonNode = jsonIterator.next();
-            if (elementIndex == null) { // If an element to mutate has not been selected yet
-                if (isElementSubjectToChange(subJsonNode)) {
-                    elementIndexes.add(jsonProgress); // Keep track of all properties that are subject to change
-
-                }
-            } else if (elementIndex == jsonProgress) { // If element to mutate is the current one
-                if (jsonNodeCopy.isObject()) {
-                    mutateElement(jsonNodeCopy, Lists.newArrayList(jsonNodeCopy.fieldNames()).get(currentJsonProgress),
-                            null);
-                } else if (jsonNodeCopy.isArray()) {
-                    mutateElement(jsonNodeCopy, null, currentJsonProgress);
+        if (!locationsSubjectToChange.isEmpty()) { // If at least one element can be mutated, do so
+            MutableLocation location = locationsSubjectToChange.get(RandomUtils.nextInt(locationsSubjectToChange.size()));
+            if (location.isRoot()) { // If what has to be mutated is the actual first-level JSON
+                if (mutators.objectMutator != null && jsonNodeCopy.isObject()) {
+                    jsonNodeCopy = mutators.objectMutator.getMutatedNode(jsonNodeCopy);
+                } else if (mutators.arrayMutator != null && jsonNodeCopy.isArray()) {
+                    jsonNodeCopy = mutators.arrayMutator.getMutatedNode(jsonNodeCopy);
                 }
-                mutationApplied = true;
-            }
-            currentJsonProgress++; // Update iteration indexes
-            jsonProgress++;
-            if (mutationApplied) // If mutation was already applied, stop iterating
-            {
-                break;
-            }
-            if (subJsonNode.isContainerNode()) // Iterate over properties that are arrays or objects
-            {
-                singleOrderMutation(subJsonNode);
-            }
-        }
-
-        // At the end of the first iteration, all elements subject to change will have
-        // been saved, choose one to mutate:
-        if (firstIterationOccurred) {
-            if (elementIndexes.size() > 0) { // If at least one element can be mutated, do so
-                elementIndex = elementIndexes.get(RandomUtils.nextInt(elementIndexes.size()));
-                jsonProgress = 0; // Once elementIndex is set, start iterating again, looking for the property
-                singleOrderMutation(jsonNodeCopy);
+            } else {
+                mutateElement(mutators, location.getParent(), location.getPropertyName(),
+                        location.isArrayElement() ? location.getIndex() : null);
             }
-            // Reset variables for the next time this function will be called:
-            resetJsonMutator();
         }
 
         return jsonNodeCopy;
@@ -600,61 +743,40 @@ public class BodyMutator {
      * @param jsonNode The JSON to mutate
      * @return The mutated JSON
      */
-    private JsonNode multipleOrderMutation(JsonNode jsonNode) {
-        boolean firstIterationOccurred = false; // Used to reset the state of firstIteration attribute
-        JsonNode jsonNodeCopy = jsonNode;
-        if (firstIteration) {
-            firstIteration = false; // Set to false so that this block is not entered again when recursively calling
-                                    // the function
-            firstIterationOccurred = true; // Set to true so that firstIteration is reset to true at the end of this
-                                           // call
-            jsonNodeCopy = jsonNode.deepCopy(); // Make a deep copy so that the input object is not altered
-            if (objectMutator != null && jsonNodeCopy.isObject()) {
-                jsonNodeCopy = objectMutator.getMutatedNode(jsonNodeCopy);
-            } else if (arrayMutator != null && jsonNodeCopy.isArray()) {
-                jsonNodeCopy = arrayMutator.getMutatedNode(jsonNodeCopy);
-            }
+    private JsonNode multipleOrderMutation(Mutators mutators, JsonNode jsonNode) {
+        JsonNode jsonNodeCopy = jsonNode.deepCopy(); // Make a deep copy so that the input object is not altered
+        if (mutators.objectMutator != null && jsonNodeCopy.isObject()) {
+            jsonNodeCopy = mutators.objectMutator.getMutatedNode(jsonNodeCopy);
+        } else if (mutators.arrayMutator != null && jsonNodeCopy.isArray()) {
+            jsonNodeCopy = mutators.arrayMutator.getMutatedNode(jsonNodeCopy);
         }
+        mutateChildren(mutators, jsonNodeCopy);
+        return jsonNodeCopy;
+    }
 
-        if (jsonNodeCopy.isObject()) { // If node is object
-            Iterator<String> keysIterator = jsonNodeCopy.fieldNames();
+    /**
+     * (Possibly) mutates each property or element of an object or array, in place,
+     * and recursively the children of those that are objects or arrays.
+     */
+    private void mutateChildren(Mutators mutators, JsonNode jsonNode) {
+        if (jsonNode.isObject()) { // If node is object
+            Iterator<String> keysIterator = jsonNode.fieldNames();
             String propertyName;
             while (keysIterator.hasNext()) { // Iterate over each object property
                 propertyName = keysIterator.next();
-                mutateElement(jsonNodeCopy, propertyName, null); // (Possibly) mutate each property and...
-                if (jsonNodeCopy.get(propertyName).isObject() || jsonNodeCopy.get(propertyName).isArray()) // ...if
-                                                                                                           // property
-                                                                                                           // is object
-                                                                                                           // or
-                                                                                                           // array...
-                {
-                    ((ObjectNode) jsonNodeCopy).replace(propertyName,
-                            multipleOrderMutation(jsonNodeCopy.get(propertyName))); // ...recursively call this function
-
+                mutateElement(mutators, jsonNode, propertyName, null); // (Possibly) mutate each property and...
+                if (jsonNode.get(propertyName).isObject() || jsonNode.get(propertyName).isArray()) { // ...if property is object or array...
+                    mutateChildren(mutators, jsonNode.get(propertyName)); // ...recursively call this function
                 }
             }
-        } else if (jsonNodeCopy.isArray()) { // If node is array
-            for (int arrayIndex = 0; arrayIndex < jsonNodeCopy.size(); arrayIndex++) { // Iterate over each array
-                                                                                       // element
-                mutateElement(jsonNodeCopy, null, arrayIndex); // (Possibly) mutate each element and...
-                if (jsonNodeCopy.get(arrayIndex).isObject() || jsonNodeCopy.get(arrayIndex).isArray()) // ...if element
-                                                                                                       // is object or
-                                                                                                       // array...
-                {
-                    ((ArrayNode) jsonNodeCopy).set(arrayIndex, multipleOrderMutation(jsonNodeCopy.get(arrayIndex))); // ...recursively
-                                                                                                                     // call
-                                                                                                                     // this
-                                                                                                                     // function
-
+        } else if (jsonNode.isArray()) { // If node is array
+            for (int arrayIndex = 0; arrayIndex < jsonNode.size(); arrayIndex++) { // Iterate over each array element
+                mutateElement(mutators, jsonNode, null, arrayIndex); // (Possibly) mutate each element and...
+                if (jsonNode.get(arrayIndex).isObject() || jsonNode.get(arrayIndex).isArray()) { // ...if element is object or array...
+                    mutateChildren(mutators, jsonNode.get(arrayIndex)); // ...recursively call this function
                 }
             }
         }
-
-        if (firstIterationOccurred) {
-            firstIteration = true; // Reset for the next time this function will be called
-
-        }
-        return jsonNodeCopy;
     }
 
     /**
@@ -664,14 +786,14 @@ public class BodyMutator {
      * @param element The element to check, passed as a JsonNode
      * @return true if the element can be changed, false otherwise
      */
-    private boolean isElementSubjectToChange(JsonNode element) {
-        return (longMutator != null && element.isIntegralNumber())
-                || (doubleMutator != null && element.isFloatingPointNumber())
-                || (stringMutator != null && element.isTextual())
-                || (booleanMutator != null && element.isBoolean())
-                || (nullMutator != null && element.isNull())
-                || (objectMutator != null && element.isObject())
-                || (arrayMutator != null && element.isArray());
+    private boolean isElementSubjectToChange(Mutators mutators, JsonNode element) {
+        return (mutators.longMutator != null && element.isIntegralNumber())
+                || (mutators.doubleMutator != null && element.isFloatingPointNumber())
+                || (mutators.stringMutator != null && element.isTextual())
+                || (mutators.booleanMutator != null && element.isBoolean())
+                || (mutators.nullMutator != null && element.isNull())
+                || (mutators.objectMutator != null && element.isObject())
+                || (mutators.arrayMutator != null && element.isArray());
     }
 
     /**
@@ -679,89 +801,196 @@ public class BodyMutator {
      * (respectively) of an element, (possibly) mutates the value of the element
      * and inserts the mutated value in the same position.
      */
-    private void mutateElement(JsonNode jsonNode, String propertyName, Integer index) {
+    private void mutateElement(Mutators mutators, JsonNode jsonNode, String propertyName, Integer index) {
         boolean isObj = index == null; // If index==null, jsonNode is an object, otherwise it is an array
         JsonNode element = isObj ? jsonNode.get(propertyName) : jsonNode.get(index);
-        if (longMutator != null && element.isIntegralNumber()) {
+        if (mutators.longMutator != null && element.isIntegralNumber()) {
             if (isObj) {
-                longMutator.mutate((ObjectNode) jsonNode, propertyName);
+                mutators.longMutator.mutate((ObjectNode) jsonNode, propertyName);
             } else {
-                longMutator.mutate((ArrayNode) jsonNode, index);
+                mutators.longMutator.mutate((ArrayNode) jsonNode, index);
             }
-        } else if (doubleMutator != null && element.isFloatingPointNumber()) {
+        } else if (mutators.doubleMutator != null && element.isFloatingPointNumber()) {
             if (isObj) {
-                doubleMutator.mutate((ObjectNode) jsonNode, propertyName);
+                mutators.doubleMutator.mutate((ObjectNode) jsonNode, propertyName);
             } else {
-                doubleMutator.mutate((ArrayNode) jsonNode, index);
+                mutators.doubleMutator.mutate((ArrayNode) jsonNode, index);
             }
-        } else if (stringMutator != null && element.isTextual()) {
+        } else if (mutators.stringMutator != null && element.isTextual()) {
             if (isObj) {
-                stringMutator.mutate((ObjectNode) jsonNode, propertyName);
+                mutators.stringMutator.mutate((ObjectNode) jsonNode, propertyName);
             } else {
-                stringMutator.mutate((ArrayNode) jsonNode, index);
+                mutators.stringMutator.mutate((ArrayNode) jsonNode, index);
             }
-        } else if (booleanMutator != null && element.isBoolean()) {
+        } else if (mutators.booleanMutator != null && element.isBoolean()) {
             if (isObj) {
-                booleanMutator.mutate((ObjectNode) jsonNode, propertyName);
+                mutators.booleanMutator.mutate((ObjectNode) jsonNode, propertyName);
             } else {
-                booleanMutator.mutate((ArrayNode) jsonNode, index);
+                mutators.booleanMutator.mutate((ArrayNode) jsonNode, index);
             }
-        } else if (nullMutator != null && element.isNull()) {
+        } else if (mutators.nullMutator != null && element.isNull()) {
             if (isObj) {
-                nullMutator.mutate((ObjectNode) jsonNode, propertyName);
+                mutators.nullMutator.mutate((ObjectNode) jsonNode, propertyName);
             } else {
-                nullMutator.mutate((ArrayNode) jsonNode, index);
+                mutators.nullMutator.mutate((ArrayNode) jsonNode, index);
             }
-        } else if (objectMutator != null && element.isObject()) {
+        } else if (mutators.objectMutator != null && element.isObject()) {
             if (isObj) {
-                objectMutator.mutate((ObjectNode) jsonNode, propertyName);
+                mutators.objectMutator.mutate((ObjectNode) jsonNode, propertyName);
             } else {
-                objectMutator.mutate((ArrayNode) jsonNode, index);
+                mutators.objectMutator.mutate((ArrayNode) jsonNode, index);
             }
-        } else if (arrayMutator != null && element.isArray()) {
+        } else if (mutators.arrayMutator != null && element.isArray()) {
             if (isObj) {
-                arrayMutator.mutate((ObjectNode) jsonNode, propertyName);
+                mutators.arrayMutator.mutate((ObjectNode) jsonNode, propertyName);
             } else {
-                arrayMutator.mutate((ArrayNode) jsonNode, index);
+                mutators.arrayMutator.mutate((ArrayNode) jsonNode, index);
             }
         }
     }
 
-    private AbstractMutator getMutator(JsonNode jsonNode) {
+    private static AbstractMutator getMutator(Mutators mutators, JsonNode jsonNode) {
         if (jsonNode.isIntegralNumber()) {
-            return longMutator;
+            return mutators.longMutator;
         } else if (jsonNode.isFloatingPointNumber()) {
-            return doubleMutator;
+            return mutators.doubleMutator;
         } else if (jsonNode.isTextual()) {
-            return stringMutator;
+            return mutators.stringMutator;
         } else if (jsonNode.isBoolean()) {
-            return booleanMutator;
+            return mutators.booleanMutator;
         } else if (jsonNode.isNull()) {
-            return nullMutator;
+            return mutators.nullMutator;
         } else if (jsonNode.isObject()) {
-            return objectMutator;
+            return mutators.objectMutator;
         } else if (jsonNode.isArray()) {
-            return arrayMutator;
+            return mutators.arrayMutator;
         } else {
             return null;
         }
     }
 
     /**
+     * Changes a property of this mutator only. The global properties of
+     * {@link PropertyManager}, used by mutators built afterwards, are left untouched.
+     *
      * @param propertyName  Name of the property in the json-mutation.properties
      *                      file, e.g., "operator.value.double.enabled"
      * @param propertyValue Value to set that property with
      */
-    public void setProperty(String propertyName, String propertyValue) {
-        PropertyManager.setProperty(propertyName, propertyValue);
-        resetMutators();
+    public synchronized void setProperty(String propertyName, String propertyValue) {
+        config = config.withProperty(propertyName, propertyValue);
+        rebuildMutators();
     }
 
     /**
-     * Resets properties to the ones defined in json-mutation.properties
+     * Resets the properties of this mutator to the ones defined in json-mutation.properties.
+     * The global properties of {@link PropertyManager} are left untouched.
      */
-    public void resetProperties() {
-        PropertyManager.resetProperties();
-        resetMutators();
+    public synchronized void resetProperties() {
+        config = MutationConfig.defaults();
+        rebuildMutators();
+    }
+
+    /**
+     * State of a call to {@link #getAllMutants(JsonNode, double, Consumer, ForkJoinPool)},
+     * shared by the tasks that generate its mutants and never modified.
+     */
+    private static final class GenerationContext {
+        private final Mutators mutators;
+        private final MutableLocationIndex index; // Index of a copy of the JSON to mutate
+        private final MutationPlan plan;          // Plan of the shape of the JSON, null if plans are not cached
+        private final double probability;
+        private final long seed;                  // Seed the seed of each mutant is derived from
+
+        GenerationContext(Mutators mutators, MutableLocationIndex index, MutationPlan plan, double probability,
+                          long seed) {
+            this.mutators = mutators;
+            this.index = index;
+            this.plan = plan;
+            this.probability = probability;
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * A set of mutators, one per type of JSON element (null if disabled).
+     * Never modified once built, so it can be shared by concurrent calls.
+     */
+    static final class Mutators {
+        private StringMutator stringMutator;
+        private LongMutator longMutator;
+        private DoubleMutator doubleMutator;
+        private BooleanMutator booleanMutator;
+        private NullMutator nullMutator;
+        private ObjectMutator objectMutator;
+        private ArrayMutator arrayMutator;
+
+        /** Instantiates the mutators enabled in a configuration. */
+        static Mutators fromConfig(MutationConfig config) {
+            Mutators mutators = new Mutators();
+            mutators.stringMutator = config.getBoolean("operator.value.string.enabled") ? new StringMutator(config)
+                    : null;
+            mutators.longMutator = config.getBoolean("operator.value.long.enabled") ? new LongMutator(config) : null;
+            mutators.doubleMutator = config.getBoolean("operator.value.double.enabled") ? new DoubleMutator(config)
+                    : null;
+            mutators.booleanMutator = config.getBoolean("operator.value.boolean.enabled") ? new BooleanMutator(config)
+                    : null;
+            mutators.nullMutator = config.getBoolean("operator.value.null.enabled") ? new NullMutator(config) : null;
+            mutators.objectMutator = config.getBoolean("operator.object.enabled") ? new ObjectMutator(config) : null;
+            mutators.arrayMutator = config.getBoolean("operator.array.enabled") ? new ArrayMutator(config) : null;
+            return mutators;
+        }
+
+        /**
+         * Instantiates the mutators enabled in a configuration, set up for single order mutations.
+         * Basically, probabilities of all mutators are set to 1, and for object and
+         * array mutators, only one mutation is allowed and only one element can be
+         * added or removed. That way, only one change is made at a time.
+         */
+        static Mutators singleOrder(MutationConfig config) {
+            Mutators mutators = fromConfig(config);
+            if (config.getBoolean("operator.value.string.enabled")) {
+                mutators.stringMutator.setProb(1);
+            }
+            if (config.getBoolean("operator.value.long.enabled")) {
+                mutators.longMutator.setProb(1);
+            }
+            if (config.getBoolean("operator.value.double.enabled")) {
+                mutators.doubleMutator.setProb(1);
+            }
+            if (config.getBoolean("operator.value.boolean.enabled")) {
+                mutators.booleanMutator.setProb(1);
+            }
+            if (config.getBoolean("operator.value.null.enabled")) {
+                mutators.nullMutator.setProb(1);
+            }
+            if (config.getBoolean("operator.object.enabled")) {
+                mutators.objectMutator.setProb(1);
+                mutators.objectMutator.setMinMutations(1);
+                mutators.objectMutator.setMaxMutations(1);
+                ((ObjectAddElementOperator) mutators.objectMutator.getOperators().get(OperatorNames.ADD_ELEMENT))
+                        .setMinAddedProperties(1);
+                ((ObjectAddElementOperator) mutators.objectMutator.getOperators().get(OperatorNames.ADD_ELEMENT))
+                        .setMaxAddedProperties(1);
+                ((ObjectRemoveElementOperator) mutators.objectMutator.getOperators().get(OperatorNames.REMOVE_ELEMENT))
+                        .setMinRemovedProperties(1);
+                ((ObjectRemoveElementOperator) mutators.objectMutator.getOperators().get(OperatorNames.REMOVE_ELEMENT))
+                        .setMaxRemovedProperties(1);
+            }
+            if (config.getBoolean("operator.array.enabled")) {
+                mutators.arrayMutator.setProb(1);
+                mutators.arrayMutator.setMinMutations(1);
+                mutators.arrayMutator.setMaxMutations(1);
+                ((ArrayAddElementOperator) mutators.arrayMutator.getOperators().get(OperatorNames.ADD_ELEMENT))
+                        .setMinAddedElements(1);
+                ((ArrayAddElementOperator) mutators.arrayMutator.getOperators().get(OperatorNames.ADD_ELEMENT))
+                        .setMaxAddedElements(1);
+                ((ArrayRemoveElementOperator) mutators.arrayMutator.getOperators().get(OperatorNames.REMOVE_ELEMENT))
+                        .setMinRemovedElements(1);
+                ((ArrayRemoveElementOperator) mutators.arrayMutator.getOperators().get(OperatorNames.REMOVE_ELEMENT))
+                        .setMaxRemovedElements(1);
+            }
+            return mutators;
+        }
     }
 }
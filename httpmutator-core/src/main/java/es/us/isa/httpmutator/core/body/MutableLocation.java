@@ -0,0 +1,97 @@
+package es.us.isa.httpmutator.core.body;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+
+/**
+ * A location of a JSON body that may be mutated: the root JSON, an object
+ * property or an array element. Locations are created by
+ * {@link MutableLocationIndex} and keep everything needed to mutate the
+ * element without walking the JSON again: a precompiled JSON Pointer, the
+ * parent container, the key or index within it and the node type.
+ */
+public final class MutableLocation {
+
+    private final JsonPointer pointer;
+    private final String path;
+    private final JsonNode parent;
+    private final String propertyName;
+    private final int index;
+    private final JsonNode node;
+
+    MutableLocation(JsonPointer pointer, String path, JsonNode parent, String propertyName, int index, JsonNode node) {
+        this.pointer = pointer;
+        this.path = path;
+        this.parent = parent;
+        this.propertyName = propertyName;
+        this.index = index;
+        this.node = node;
+    }
+
+    /**
+     * @return A location with the same pointer, path, property name and index as this
+     *         one, but for an element of another JSON with the same structure
+     */
+    MutableLocation withNode(JsonNode parent, JsonNode node) {
+        return new MutableLocation(pointer, path, parent, propertyName, index, node);
+    }
+
+    /**
+     * @return JSON Pointer to the element, with property names escaped as per
+     *         RFC 6901. Empty for the root JSON
+     */
+    public JsonPointer getPointer() {
+        return pointer;
+    }
+
+    /**
+     * @return Path of the element as used in mutant identifiers (e.g.,
+     *         "/prop1/0/prop2"). Property names are not escaped. Empty for the
+     *         root JSON
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /** @return The object or array containing the element, null for the root JSON */
+    public JsonNode getParent() {
+        return parent;
+    }
+
+    /** @return Name of the property, null if the element is an array element or the root JSON */
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /** @return Index of the array element, -1 if the element is an object property or the root JSON */
+    public int getIndex() {
+        return index;
+    }
+
+    /** @return The element itself */
+    public JsonNode getNode() {
+        return node;
+    }
+
+    public JsonNodeType getNodeType() {
+        return node.getNodeType();
+    }
+
+    public boolean isRoot() {
+        return parent == null;
+    }
+
+    /** @return true if the element is an array element, false if it is an object property or the root JSON */
+    public boolean isArrayElement() {
+        return index >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "MutableLocation{" +
+                "pointer='" + pointer + '\'' +
+                ", nodeType=" + getNodeType() +
+                '}';
+    }
+}
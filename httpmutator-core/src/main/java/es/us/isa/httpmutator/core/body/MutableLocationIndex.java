@@ -0,0 +1,112 @@
+package es.us.isa.httpmutator.core.body;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Flat table of all the locations of a JSON body (root JSON, object properties
+ * and array elements), built with a single traversal of the JSON. Locations are
+ * stored in pre-order, i.e., the root JSON first and then every element followed
+ * by its own children, which is the order in which mutants are generated.
+ *
+ * The index keeps references to the nodes of the indexed JSON, so the JSON must
+ * not be modified while the index is in use.
+ */
+public final class MutableLocationIndex implements Iterable<MutableLocation> {
+
+    private final JsonNode root;
+    private final List<MutableLocation> locations;
+
+    private MutableLocationIndex(JsonNode root, List<MutableLocation> locations) {
+        this.root = root;
+        this.locations = Collections.unmodifiableList(locations);
+    }
+
+    /**
+     * Builds the index of a JSON.
+     *
+     * @param root The JSON to index
+     * @return The index, whose first location is the root JSON
+     */
+    public static MutableLocationIndex build(JsonNode root) {
+        List<MutableLocation> locations = new ArrayList<>();
+        locations.add(new MutableLocation(JsonPointer.empty(), "", null, null, -1, root));
+        addChildren(root, JsonPointer.empty(), "", locations);
+        return new MutableLocationIndex(root, locations);
+    }
+
+    /**
+     * Builds the index of a JSON from its locations, already computed in pre-order
+     * (see {@link MutationPlan#bind(JsonNode)}).
+     */
+    static MutableLocationIndex of(JsonNode root, List<MutableLocation> locations) {
+        return new MutableLocationIndex(root, locations);
+    }
+
+    private static void addChildren(JsonNode parent, JsonPointer parentPointer, String parentPath,
+                                    List<MutableLocation> locations) {
+        if (parent.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = parent.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonPointer pointer = appendProperty(parentPointer, field.getKey());
+                String path = parentPath + "/" + field.getKey();
+                locations.add(new MutableLocation(pointer, path, parent, field.getKey(), -1, field.getValue()));
+                if (field.getValue().isContainerNode()) {
+                    addChildren(field.getValue(), pointer, path, locations);
+                }
+            }
+        } else if (parent.isArray()) {
+            for (int i = 0; i < parent.size(); i++) {
+                JsonNode element = parent.get(i);
+                JsonPointer pointer = parentPointer.appendIndex(i);
+                String path = parentPath + "/" + i;
+                locations.add(new MutableLocation(pointer, path, parent, null, i, element));
+                if (element.isContainerNode()) {
+                    addChildren(element, pointer, path, locations);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends a property name to a pointer, escaping '~' and '/' as per RFC 6901
+     * (JsonPointer.appendProperty() does not escape them in the Jackson version used).
+     */
+    private static JsonPointer appendProperty(JsonPointer parentPointer, String propertyName) {
+        if (propertyName.indexOf('~') < 0 && propertyName.indexOf('/') < 0) {
+            return parentPointer.appendProperty(propertyName);
+        }
+        String escaped = propertyName.replace("~", "~0").replace("/", "~1");
+        return parentPointer.append(JsonPointer.compile("/" + escaped));
+    }
+
+    /** @return The indexed JSON */
+    public JsonNode getRoot() {
+        return root;
+    }
+
+    /** @return All locations, in pre-order */
+    public List<MutableLocation> getLocations() {
+        return locations;
+    }
+
+    public MutableLocation get(int position) {
+        return locations.get(position);
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    @Override
+    public Iterator<MutableLocation> iterator() {
+        return locations.iterator();
+    }
+}
@@ -0,0 +1,172 @@
+package es.us.isa.httpmutator.core.body;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import es.us.isa.httpmutator.core.AbstractMutator;
+import es.us.isa.httpmutator.core.AbstractOperator;
+
+/**
+ * Precompiled mutation plan of a JSON shape: the locations of the JSON (pointers and
+ * paths), the mutator of each location and the operators applicable to it. Two JSONs
+ * have the same shape if they have the same property names, in the same order, the
+ * same array sizes and the same kind of value (integral number, floating point
+ * number, string, boolean, null, object or array) at each location, so that they only
+ * differ in the values of their leaves. Since the built-in operators decide whether
+ * they are applicable from the shape of an element, never from its value, a plan built
+ * for a JSON holds for every JSON of the same shape, and mutating such a JSON only
+ * requires applying the plan to its values (see {@link #bind(JsonNode)}). Operators
+ * whose applicability depends on values must not be used with plans: their
+ * applicability is only checked on the first JSON of each shape.
+ *
+ * Immutable, so it can be shared by concurrent calls.
+ */
+final class MutationPlan {
+
+    private static final HashFunction MURMUR3 = Hashing.murmur3_128();
+
+    private static final byte INTEGRAL = 0;
+    private static final byte FLOATING_POINT = 1;
+    private static final byte STRING = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte NULL = 4;
+    private static final byte OBJECT = 5;
+    private static final byte ARRAY = 6;
+    private static final byte OTHER = 7;
+
+    private final BodyMutator.Mutators mutators;  // Mutators the plan was built with
+    private final MutableLocation[] locations;
+    private final byte[] kinds;     // Kind of value of each location, to check bound JSONs
+    private final AbstractMutator[] locationMutators;
+    private final List<List<Map.Entry<String, AbstractOperator>>> locationOperators;
+
+    MutationPlan(BodyMutator.Mutators mutators, MutableLocationIndex index, AbstractMutator[] locationMutators,
+                 List<List<Map.Entry<String, AbstractOperator>>> locationOperators) {
+        this.mutators = mutators;
+        this.locations = new MutableLocation[index.size()];
+        this.kinds = new byte[index.size()];
+        for (int i = 0; i < index.size(); i++) {
+            MutableLocation location = index.get(i);
+            locations[i] = location.withNode(null, null); // Do not keep the JSON the plan was built for
+            kinds[i] = kindOf(location.getNode());
+        }
+        this.locationMutators = locationMutators;
+        this.locationOperators = locationOperators;
+    }
+
+    /**
+     * Computes the fingerprint of the shape of a JSON, a 128-bit hash (MurmurHash3)
+     * of the kind of value of each location, the size of each object and array and
+     * the names of the properties of each object, in pre-order.
+     *
+     * @param root The JSON
+     * @return The fingerprint, equal for JSONs of the same shape
+     */
+    static HashCode shapeOf(JsonNode root) {
+        Hasher hasher = MURMUR3.newHasher();
+        putShape(hasher, root);
+        return hasher.hash();
+    }
+
+    private static void putShape(Hasher hasher, JsonNode node) {
+        byte kind = kindOf(node);
+        hasher.putByte(kind);
+        if (kind == OBJECT) {
+            hasher.putInt(node.size());
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                hasher.putInt(field.getKey().length()).putUnencodedChars(field.getKey());
+                putShape(hasher, field.getValue());
+            }
+        } else if (kind == ARRAY) {
+            hasher.putInt(node.size());
+            for (JsonNode element : node) {
+                putShape(hasher, element);
+            }
+        }
+    }
+
+    /** Kind of value of a node, as dispatched to mutators (see BodyMutator.getMutator). */
+    private static byte kindOf(JsonNode node) {
+        if (node.isIntegralNumber()) {
+            return INTEGRAL;
+        } else if (node.isFloatingPointNumber()) {
+            return FLOATING_POINT;
+        } else if (node.isTextual()) {
+            return STRING;
+        } else if (node.isBoolean()) {
+            return BOOLEAN;
+        } else if (node.isNull()) {
+            return NULL;
+        } else if (node.isObject()) {
+            return OBJECT;
+        } else if (node.isArray()) {
+            return ARRAY;
+        } else {
+            return OTHER;
+        }
+    }
+
+    /**
+     * @return true if the plan was built with the given mutators
+     */
+    boolean isBuiltWith(BodyMutator.Mutators mutators) {
+        return this.mutators == mutators;
+    }
+
+    /**
+     * Indexes a JSON of the shape of this plan, reusing the pointers and paths of the
+     * plan instead of building them again.
+     *
+     * @param root A JSON whose shape has the fingerprint of this plan
+     * @return The index of the JSON, or null if the JSON does not have the shape of
+     *         this plan (i.e., two shapes with the same fingerprint)
+     */
+    MutableLocationIndex bind(JsonNode root) {
+        List<MutableLocation> boundLocations = new ArrayList<>(locations.length);
+        if (kindOf(root) != kinds[0]) {
+            return null;
+        }
+        boundLocations.add(locations[0].withNode(null, root));
+        if (!bindChildren(root, boundLocations) || boundLocations.size() != locations.length) {
+            return null;
+        }
+        return MutableLocationIndex.of(root, boundLocations);
+    }
+
+    /** Same traversal as {@link MutableLocationIndex#build(JsonNode)}. */
+    private boolean bindChildren(JsonNode parent, List<MutableLocation> boundLocations) {
+        Iterator<JsonNode> children = parent.elements(); // Property values in order for objects
+        while (children.hasNext()) {
+            JsonNode child = children.next();
+            int position = boundLocations.size();
+            if (position == locations.length || kindOf(child) != kinds[position]) {
+                return false;
+            }
+            boundLocations.add(locations[position].withNode(parent, child));
+            if (child.isContainerNode() && !bindChildren(child, boundLocations)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return The mutator of the location in the given position, null if there is none */
+    AbstractMutator getMutator(int position) {
+        return locationMutators[position];
+    }
+
+    /** @return The operators applicable to the location in the given position */
+    List<Map.Entry<String, AbstractOperator>> getOperators(int position) {
+        return locationOperators.get(position);
+    }
+}
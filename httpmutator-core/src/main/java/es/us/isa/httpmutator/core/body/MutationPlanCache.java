@@ -0,0 +1,91 @@
+package es.us.isa.httpmutator.core.body;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.hash.HashCode;
+
+/**
+ * Size-bounded cache of mutation plans, keyed by the fingerprint of the shape of
+ * the JSON bodies they were built for (see {@link MutationPlan}). When the bodies of
+ * many responses share a few shapes (e.g., traffic of the same endpoints), the
+ * locations of a body, the dispatch of each location to its mutator and the
+ * applicability checks of the operators are computed once per shape instead of once
+ * per body. Results are the same as without a cache, provided that the applicability
+ * of the operators only depends on the shape of the elements, as for the built-in ones.
+ *
+ * When the cache is full, the least recently used plan is evicted. Thread-safe: a
+ * cache can be shared by several threads and by several {@link BodyMutator}s (plans
+ * are only reused by the mutators they were built with).
+ */
+public final class MutationPlanCache {
+
+    private final int maxSize;
+    private final Map<HashCode, MutationPlan> plans;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxSize maximum number of plans (i.e., shapes) kept in the cache
+     */
+    public MutationPlanCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be >= 1");
+        }
+        this.maxSize = maxSize;
+        this.plans = new LinkedHashMap<HashCode, MutationPlan>(16, 0.75f, true) { // Access order, for LRU eviction
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<HashCode, MutationPlan> eldest) {
+                return size() > MutationPlanCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param shape    fingerprint of the shape of a JSON
+     * @param mutators mutators the plan must have been built with
+     * @return the plan of the shape, or null if it is not cached
+     */
+    MutationPlan get(HashCode shape, BodyMutator.Mutators mutators) {
+        MutationPlan plan;
+        synchronized (this) {
+            plan = plans.get(shape);
+        }
+        if (plan != null && plan.isBuiltWith(mutators)) {
+            hits.incrementAndGet();
+            return plan;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    synchronized void put(HashCode shape, MutationPlan plan) {
+        plans.put(shape, plan);
+    }
+
+    /** @return the number of bodies whose plan was found in the cache */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** @return the number of bodies whose plan had to be built */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /** @return the number of plans currently cached */
+    public synchronized int size() {
+        return plans.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** Removes all plans from the cache (counters are kept). */
+    public synchronized void clear() {
+        plans.clear();
+    }
+}
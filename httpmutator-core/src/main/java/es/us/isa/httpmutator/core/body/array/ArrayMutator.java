@@ -9,7 +9,9 @@ import es.us.isa.httpmutator.core.body.array.operator.ArrayEmptyOperator;
 import es.us.isa.httpmutator.core.body.array.operator.ArrayRemoveElementOperator;
 import es.us.isa.httpmutator.core.body.value.common.operator.ChangeTypeOperator;
 import es.us.isa.httpmutator.core.body.value.common.operator.NullOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Given a set of array mutation operators, the ArrayMutator selects one based
@@ -20,21 +22,20 @@ import es.us.isa.httpmutator.core.util.OperatorNames;
 public class ArrayMutator extends AbstractObjectOrArrayMutator {
 
     public ArrayMutator() {
-        super();
+        this(PropertyManager.getConfig());
     }
 
-    public void resetOperators() {
-        operators.clear();
-        operators.put(OperatorNames.REMOVE_ELEMENT, new ArrayRemoveElementOperator());
-        operators.put(OperatorNames.EMPTY, new ArrayEmptyOperator());
-        operators.put(OperatorNames.ADD_ELEMENT, new ArrayAddElementOperator());
-        operators.put(OperatorNames.DISORDER_ELEMENTS, new ArrayDisorderElementsOperator());
-        operators.put(OperatorNames.NULL, new NullOperator(ArrayNode.class));
-        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(ArrayNode.class));
+    public ArrayMutator(MutationConfig config) {
+        super(config);
     }
 
-    public void resetFirstLevelOperators() {
-        operators.remove(OperatorNames.NULL);
-        operators.remove(OperatorNames.CHANGE_TYPE);
+    public void resetOperators() {
+        operators.clear();
+        operators.put(OperatorNames.REMOVE_ELEMENT, new ArrayRemoveElementOperator(config));
+        operators.put(OperatorNames.EMPTY, new ArrayEmptyOperator(config));
+        operators.put(OperatorNames.ADD_ELEMENT, new ArrayAddElementOperator(config));
+        operators.put(OperatorNames.DISORDER_ELEMENTS, new ArrayDisorderElementsOperator(config));
+        operators.put(OperatorNames.NULL, new NullOperator(ArrayNode.class, config));
+        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(ArrayNode.class, config));
     }
 }
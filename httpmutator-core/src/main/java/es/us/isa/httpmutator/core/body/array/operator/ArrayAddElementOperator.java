@@ -2,14 +2,14 @@ package es.us.isa.httpmutator.core.body.array.operator;
 
 import java.util.Random;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import org.apache.commons.lang3.RandomStringUtils;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 import es.us.isa.httpmutator.core.util.RandomUtils;
 
 /**
@@ -29,16 +29,20 @@ public class ArrayAddElementOperator extends AbstractOperator {
     private int minAddedElements;     // Minimum number of elements to add to the array
 
     public ArrayAddElementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public ArrayAddElementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.array.weight." + OperatorNames.ADD_ELEMENT));
-        maxAddedElements = Integer.parseInt(readProperty("operator.array.addedElements.max"));
-        minAddedElements = Integer.parseInt(readProperty("operator.array.addedElements.min"));
-        minLong = Long.parseLong(readProperty("operator.value.long.min"));
-        maxLong = Long.parseLong(readProperty("operator.value.long.max"));
-        minDouble = Double.parseDouble(readProperty("operator.value.double.min"));
-        maxDouble = Double.parseDouble(readProperty("operator.value.double.max"));
-        minLength = Integer.parseInt(readProperty("operator.value.string.length.min"));
-        maxLength = Integer.parseInt(readProperty("operator.value.string.length.max"));
+        weight = config.getFloat("operator.array.weight." + OperatorNames.ADD_ELEMENT);
+        maxAddedElements = config.getInt("operator.array.addedElements.max");
+        minAddedElements = config.getInt("operator.array.addedElements.min");
+        minLong = config.getLong("operator.value.long.min");
+        maxLong = config.getLong("operator.value.long.max");
+        minDouble = config.getDouble("operator.value.double.min");
+        maxDouble = config.getDouble("operator.value.double.max");
+        minLength = config.getInt("operator.value.string.length.min");
+        maxLength = config.getInt("operator.value.string.length.max");
     }
 
     public int getMaxAddedElements() {
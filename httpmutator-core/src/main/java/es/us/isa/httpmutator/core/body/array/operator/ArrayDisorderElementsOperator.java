@@ -1,12 +1,12 @@
 package es.us.isa.httpmutator.core.body.array.operator;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates an array by disordering the elements in it.
@@ -16,8 +16,12 @@ import es.us.isa.httpmutator.core.util.OperatorNames;
 public class ArrayDisorderElementsOperator extends AbstractOperator {
 
     public ArrayDisorderElementsOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public ArrayDisorderElementsOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.array.weight." + OperatorNames.DISORDER_ELEMENTS));
+        weight = config.getFloat("operator.array.weight." + OperatorNames.DISORDER_ELEMENTS);
     }
 
     @Override
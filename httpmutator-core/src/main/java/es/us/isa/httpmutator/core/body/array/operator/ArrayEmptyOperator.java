@@ -1,11 +1,11 @@
 package es.us.isa.httpmutator.core.body.array.operator;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that converts an array to empty by removing all elements from it.
@@ -15,8 +15,12 @@ import es.us.isa.httpmutator.core.util.OperatorNames;
 public class ArrayEmptyOperator extends AbstractOperator {
 	    
 	public ArrayEmptyOperator() {
+		this(PropertyManager.getConfig());
+	}
+
+	public ArrayEmptyOperator(MutationConfig config) {
 		super();
-	    weight = Float.parseFloat(readProperty("operator.array.weight." + OperatorNames.EMPTY));
+	    weight = config.getFloat("operator.array.weight." + OperatorNames.EMPTY);
 	}
 
 	@Override
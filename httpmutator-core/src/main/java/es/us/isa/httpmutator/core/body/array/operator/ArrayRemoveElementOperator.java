@@ -1,11 +1,11 @@
 package es.us.isa.httpmutator.core.body.array.operator;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates an array by removing a number of elements from it.
@@ -18,10 +18,14 @@ public class ArrayRemoveElementOperator extends AbstractOperator {
     private int minRemovedElements;     // Minimum number of elements to remove from the array
 
     public ArrayRemoveElementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public ArrayRemoveElementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.array.weight." + OperatorNames.REMOVE_ELEMENT));
-        maxRemovedElements = Integer.parseInt(readProperty("operator.array.removedElements.max"));
-        minRemovedElements = Integer.parseInt(readProperty("operator.array.removedElements.min"));
+        weight = config.getFloat("operator.array.weight." + OperatorNames.REMOVE_ELEMENT);
+        maxRemovedElements = config.getInt("operator.array.removedElements.max");
+        minRemovedElements = config.getInt("operator.array.removedElements.min");
     }
 
     public int getMaxRemovedElements() {
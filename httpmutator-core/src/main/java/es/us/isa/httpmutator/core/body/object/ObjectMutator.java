@@ -8,7 +8,9 @@ import es.us.isa.httpmutator.core.body.object.operator.ObjectRemoveElementOperat
 import es.us.isa.httpmutator.core.body.object.operator.ObjectRemoveObjectTypeElementOperator;
 import es.us.isa.httpmutator.core.body.value.common.operator.ChangeTypeOperator;
 import es.us.isa.httpmutator.core.body.value.common.operator.NullOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Given a set of object mutation operators, the ObjectMutator selects one based
@@ -19,20 +21,19 @@ import es.us.isa.httpmutator.core.util.OperatorNames;
 public class ObjectMutator extends AbstractObjectOrArrayMutator {
 
     public ObjectMutator() {
-        super();
+        this(PropertyManager.getConfig());
     }
 
-    public void resetOperators() {
-        operators.clear();
-        operators.put(OperatorNames.REMOVE_ELEMENT, new ObjectRemoveElementOperator());
-        operators.put(OperatorNames.REMOVE_OBJECT_ELEMENT, new ObjectRemoveObjectTypeElementOperator());
-        operators.put(OperatorNames.ADD_ELEMENT, new ObjectAddElementOperator());
-        operators.put(OperatorNames.NULL, new NullOperator(ObjectNode.class));
-        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(ObjectNode.class));
+    public ObjectMutator(MutationConfig config) {
+        super(config);
     }
 
-    public void resetFirstLevelOperators() {
-        operators.remove(OperatorNames.NULL);
-        operators.remove(OperatorNames.CHANGE_TYPE);
+    public void resetOperators() {
+        operators.clear();
+        operators.put(OperatorNames.REMOVE_ELEMENT, new ObjectRemoveElementOperator(config));
+        operators.put(OperatorNames.REMOVE_OBJECT_ELEMENT, new ObjectRemoveObjectTypeElementOperator(config));
+        operators.put(OperatorNames.ADD_ELEMENT, new ObjectAddElementOperator(config));
+        operators.put(OperatorNames.NULL, new NullOperator(ObjectNode.class, config));
+        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(ObjectNode.class, config));
     }
 }
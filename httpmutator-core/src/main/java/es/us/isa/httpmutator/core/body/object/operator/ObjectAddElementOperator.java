@@ -2,14 +2,14 @@ package es.us.isa.httpmutator.core.body.object.operator;
 
 import java.util.Random;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import org.apache.commons.lang3.RandomStringUtils;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 import es.us.isa.httpmutator.core.util.RandomUtils;
 
 /**
@@ -29,16 +29,20 @@ public class ObjectAddElementOperator extends AbstractOperator {
     private int minAddedProperties;     // Minimum number of properties to add to the object
 
     public ObjectAddElementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public ObjectAddElementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.object.weight." + OperatorNames.ADD_ELEMENT));
-        maxAddedProperties = Integer.parseInt(readProperty("operator.object.addedElements.max"));
-        minAddedProperties = Integer.parseInt(readProperty("operator.object.addedElements.min"));
-        minLong = Long.parseLong(readProperty("operator.value.long.min"));
-        maxLong = Long.parseLong(readProperty("operator.value.long.max"));
-        minDouble = Double.parseDouble(readProperty("operator.value.double.min"));
-        maxDouble = Double.parseDouble(readProperty("operator.value.double.max"));
-        minLength = Integer.parseInt(readProperty("operator.value.string.length.min"));
-        maxLength = Integer.parseInt(readProperty("operator.value.string.length.max"));
+        weight = config.getFloat("operator.object.weight." + OperatorNames.ADD_ELEMENT);
+        maxAddedProperties = config.getInt("operator.object.addedElements.max");
+        minAddedProperties = config.getInt("operator.object.addedElements.min");
+        minLong = config.getLong("operator.value.long.min");
+        maxLong = config.getLong("operator.value.long.max");
+        minDouble = config.getDouble("operator.value.double.min");
+        maxDouble = config.getDouble("operator.value.double.max");
+        minLength = config.getInt("operator.value.string.length.min");
+        maxLength = config.getInt("operator.value.string.length.max");
     }
 
     public int getMaxAddedProperties() {
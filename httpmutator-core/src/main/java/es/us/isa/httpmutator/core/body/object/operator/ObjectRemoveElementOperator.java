@@ -1,14 +1,14 @@
 package es.us.isa.httpmutator.core.body.object.operator;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import java.util.List;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates an object by removing a number of properties from it.
@@ -21,10 +21,14 @@ public class ObjectRemoveElementOperator extends AbstractOperator {
     private int minRemovedProperties;     // Minimum number of properties to remove to the object
 
     public ObjectRemoveElementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public ObjectRemoveElementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.object.weight." + OperatorNames.REMOVE_ELEMENT));
-        maxRemovedProperties = Integer.parseInt(readProperty("operator.object.removedElements.max"));
-        minRemovedProperties = Integer.parseInt(readProperty("operator.object.removedElements.min"));
+        weight = config.getFloat("operator.object.weight." + OperatorNames.REMOVE_ELEMENT);
+        maxRemovedProperties = config.getInt("operator.object.removedElements.max");
+        minRemovedProperties = config.getInt("operator.object.removedElements.min");
     }
 
     public int getMaxRemovedProperties() {
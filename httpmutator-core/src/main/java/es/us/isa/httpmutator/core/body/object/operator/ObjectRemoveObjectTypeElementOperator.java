@@ -5,9 +5,9 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -31,10 +31,14 @@ public class ObjectRemoveObjectTypeElementOperator extends AbstractOperator {
     private int minRemovedProperties; // Minimum number of object-type properties to remove to the object
 
     public ObjectRemoveObjectTypeElementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public ObjectRemoveObjectTypeElementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.object.weight." + OperatorNames.REMOVE_OBJECT_ELEMENT));
-        maxRemovedProperties = Integer.parseInt(readProperty("operator.object.removeObjectElement.max"));
-        minRemovedProperties = Integer.parseInt(readProperty("operator.object.removeObjectElement.min"));
+        weight = config.getFloat("operator.object.weight." + OperatorNames.REMOVE_OBJECT_ELEMENT);
+        maxRemovedProperties = config.getInt("operator.object.removeObjectElement.max");
+        minRemovedProperties = config.getInt("operator.object.removeObjectElement.min");
     }
 
     public int getMaxRemovedProperties() {
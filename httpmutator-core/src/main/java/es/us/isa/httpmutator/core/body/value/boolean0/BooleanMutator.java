@@ -4,8 +4,9 @@ import es.us.isa.httpmutator.core.AbstractMutator;
 import es.us.isa.httpmutator.core.body.value.boolean0.operator.BooleanMutationOperator;
 import es.us.isa.httpmutator.core.body.value.common.operator.ChangeTypeOperator;
 import es.us.isa.httpmutator.core.body.value.common.operator.NullOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Given a set of boolean mutation operators, the BooleanMutator selects one based
@@ -16,10 +17,14 @@ import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 public class BooleanMutator extends AbstractMutator {
 
     public BooleanMutator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public BooleanMutator(MutationConfig config) {
         super();
-        prob = Float.parseFloat(readProperty("operator.value.boolean.prob"));
-        operators.put(OperatorNames.MUTATE, new BooleanMutationOperator());
-        operators.put(OperatorNames.NULL, new NullOperator(Boolean.class));
-        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(Boolean.class));
+        prob = config.getFloat("operator.value.boolean.prob");
+        operators.put(OperatorNames.MUTATE, new BooleanMutationOperator(config));
+        operators.put(OperatorNames.NULL, new NullOperator(Boolean.class, config));
+        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(Boolean.class, config));
     }
 }
@@ -1,8 +1,9 @@
 package es.us.isa.httpmutator.core.body.value.boolean0.operator;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates a boolean by inverting its value
@@ -12,8 +13,12 @@ import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 public class BooleanMutationOperator extends AbstractOperator {
 
     public BooleanMutationOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public BooleanMutationOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.value.boolean.weight." + OperatorNames.MUTATE));
+        weight = config.getFloat("operator.value.boolean.weight." + OperatorNames.MUTATE);
     }
 
     @Override
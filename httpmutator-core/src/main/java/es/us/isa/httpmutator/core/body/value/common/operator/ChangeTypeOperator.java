@@ -1,8 +1,5 @@
 package es.us.isa.httpmutator.core.body.value.common.operator;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-import static es.us.isa.httpmutator.core.util.Utilities.assignWeight;
-
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.NullNode;
@@ -10,7 +7,9 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
 import es.us.isa.httpmutator.core.body.value.string0.operator.StringReplacementOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates an element by changing its type (int, string...)
@@ -26,17 +25,23 @@ public class ChangeTypeOperator extends AbstractOperator {
     private double maxDouble;
     private int minLength;      // Minimum length of the randomly generated string
     private int maxLength;      // Maximum length of the randomly generated string
+    private final StringReplacementOperator stringReplacementOperator; // Generates random strings
+
+    public ChangeTypeOperator(Class<?> classType) {
+        this(classType, PropertyManager.getConfig());
+    }
 
-    public ChangeTypeOperator(Class classType) {
+    public ChangeTypeOperator(Class<?> classType, MutationConfig config) {
         super();
         type = classType.getSimpleName();
-        weight = assignWeight(type, OperatorNames.CHANGE_TYPE);
-        minLong = Long.parseLong(readProperty("operator.value.long.min"));
-        maxLong = Long.parseLong(readProperty("operator.value.long.max"));
-        minDouble = Double.parseDouble(readProperty("operator.value.double.min"));
-        maxDouble = Double.parseDouble(readProperty("operator.value.double.max"));
-        minLength = Integer.parseInt(readProperty("operator.value.string.length.min"));
-        maxLength = Integer.parseInt(readProperty("operator.value.string.length.max"));
+        weight = config.getWeight(type, OperatorNames.CHANGE_TYPE);
+        minLong = config.getLong("operator.value.long.min");
+        maxLong = config.getLong("operator.value.long.max");
+        minDouble = config.getDouble("operator.value.double.min");
+        maxDouble = config.getDouble("operator.value.double.max");
+        minLength = config.getInt("operator.value.string.length.min");
+        maxLength = config.getInt("operator.value.string.length.max");
+        stringReplacementOperator = new StringReplacementOperator(config);
     }
 
     @Override
@@ -52,7 +57,7 @@ public class ChangeTypeOperator extends AbstractOperator {
             } else if (randomValue > 2f/6 && randomValue <= 3f/6 && !type.equals("Boolean")) {
                 returnObject = rand2.nextBoolean(); // Return random boolean
             } else if (randomValue > 3f/6 && randomValue <= 4f/6 && !type.equals("String")) {
-                returnObject = (new StringReplacementOperator()).mutate(null);
+                returnObject = stringReplacementOperator.mutate(null);
             } else if (randomValue > 4f/6 && randomValue <= 5f/6 && !type.equals("ObjectNode")) {
                 returnObject = new ObjectNode(JsonNodeFactory.instance); // Return empty object
             } else if (randomValue > 5f/6 && randomValue <= 1 && !type.equals("ArrayNode")) {
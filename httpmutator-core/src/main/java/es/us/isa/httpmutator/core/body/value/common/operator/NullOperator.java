@@ -3,8 +3,9 @@ package es.us.isa.httpmutator.core.body.value.common.operator;
 import com.fasterxml.jackson.databind.node.NullNode;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.Utilities.assignWeight;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates an element by returning null
@@ -13,9 +14,13 @@ import static es.us.isa.httpmutator.core.util.Utilities.assignWeight;
  */
 public class NullOperator extends AbstractOperator {
 
-    public NullOperator(Class classType) {
+    public NullOperator(Class<?> classType) {
+        this(classType, PropertyManager.getConfig());
+    }
+
+    public NullOperator(Class<?> classType, MutationConfig config) {
         super();
-        weight = assignWeight(classType.getSimpleName(), OperatorNames.NULL);
+        weight = config.getWeight(classType.getSimpleName(), OperatorNames.NULL);
     }
     
     @Override
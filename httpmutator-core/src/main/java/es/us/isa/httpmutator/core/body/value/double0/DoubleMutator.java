@@ -5,8 +5,9 @@ import es.us.isa.httpmutator.core.body.value.common.operator.ChangeTypeOperator;
 import es.us.isa.httpmutator.core.body.value.common.operator.NullOperator;
 import es.us.isa.httpmutator.core.body.value.double0.operator.DoubleMutationOperator;
 import es.us.isa.httpmutator.core.body.value.double0.operator.DoubleReplacementOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Given a set of double mutation operators, the DoubleMutator selects one based
@@ -17,11 +18,15 @@ import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 public class DoubleMutator extends AbstractMutator {
 
     public DoubleMutator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public DoubleMutator(MutationConfig config) {
         super();
-        prob = Float.parseFloat(readProperty("operator.value.string.prob"));
-        operators.put(OperatorNames.REPLACE, new DoubleReplacementOperator());
-        // operators.put(OperatorNames.MUTATE, new DoubleMutationOperator());
-        operators.put(OperatorNames.NULL, new NullOperator(Double.class));
-        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(Double.class));
+        prob = config.getFloat("operator.value.string.prob");
+        operators.put(OperatorNames.REPLACE, new DoubleReplacementOperator(config));
+        // operators.put(OperatorNames.MUTATE, new DoubleMutationOperator(config));
+        operators.put(OperatorNames.NULL, new NullOperator(Double.class, config));
+        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(Double.class, config));
     }
 }
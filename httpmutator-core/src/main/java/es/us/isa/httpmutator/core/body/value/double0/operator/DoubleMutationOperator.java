@@ -1,8 +1,9 @@
 package es.us.isa.httpmutator.core.body.value.double0.operator;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates a double by adding or subtracting a delta number
@@ -15,9 +16,13 @@ public class DoubleMutationOperator extends AbstractOperator {
     private double delta;
 
     public DoubleMutationOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public DoubleMutationOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.value.double.weight." + OperatorNames.MUTATE));
-        delta = Double.parseDouble(readProperty("operator.value.double.delta"));
+        weight = config.getFloat("operator.value.double.weight." + OperatorNames.MUTATE);
+        delta = config.getDouble("operator.value.double.delta");
     }
 
     @Override
@@ -1,8 +1,9 @@
 package es.us.isa.httpmutator.core.body.value.double0.operator;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates a double by completely replacing it.
@@ -15,10 +16,14 @@ public class DoubleReplacementOperator extends AbstractOperator {
     private double maxDouble;
 
     public DoubleReplacementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public DoubleReplacementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.value.double.weight." + OperatorNames.REPLACE));
-        minDouble = Double.parseDouble(readProperty("operator.value.double.min"));
-        maxDouble = Double.parseDouble(readProperty("operator.value.double.max"));
+        weight = config.getFloat("operator.value.double.weight." + OperatorNames.REPLACE);
+        minDouble = config.getDouble("operator.value.double.min");
+        maxDouble = config.getDouble("operator.value.double.max");
     }
 
     @Override
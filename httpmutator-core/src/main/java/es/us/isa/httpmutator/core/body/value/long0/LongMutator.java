@@ -1,13 +1,13 @@
 package es.us.isa.httpmutator.core.body.value.long0;
 
-
 import es.us.isa.httpmutator.core.AbstractMutator;
 import es.us.isa.httpmutator.core.body.value.common.operator.ChangeTypeOperator;
 import es.us.isa.httpmutator.core.body.value.common.operator.NullOperator;
 import es.us.isa.httpmutator.core.body.value.long0.operator.LongMutationOperator;
 import es.us.isa.httpmutator.core.body.value.long0.operator.LongReplacementOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Given a set of long mutation operators, the LongMutator selects one based
@@ -18,11 +18,15 @@ import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 public class LongMutator extends AbstractMutator {
 
     public LongMutator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public LongMutator(MutationConfig config) {
         super();
-        prob = Float.parseFloat(readProperty("operator.value.long.prob"));
-        operators.put(OperatorNames.REPLACE, new LongReplacementOperator());
-        // operators.put(OperatorNames.MUTATE, new LongMutationOperator());
-        operators.put(OperatorNames.NULL, new NullOperator(Long.class));
-        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(Long.class));
+        prob = config.getFloat("operator.value.long.prob");
+        operators.put(OperatorNames.REPLACE, new LongReplacementOperator(config));
+        // operators.put(OperatorNames.MUTATE, new LongMutationOperator(config));
+        operators.put(OperatorNames.NULL, new NullOperator(Long.class, config));
+        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(Long.class, config));
     }
 }
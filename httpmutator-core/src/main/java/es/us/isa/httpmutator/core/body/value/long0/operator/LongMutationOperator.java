@@ -1,8 +1,9 @@
 package es.us.isa.httpmutator.core.body.value.long0.operator;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates a long by adding or subtracting a delta number
@@ -15,9 +16,13 @@ public class LongMutationOperator extends AbstractOperator {
     private long delta;
 
     public LongMutationOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public LongMutationOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.value.long.weight." + OperatorNames.MUTATE));
-        delta = Long.parseLong(readProperty("operator.value.long.delta"));
+        weight = config.getFloat("operator.value.long.weight." + OperatorNames.MUTATE);
+        delta = config.getLong("operator.value.long.delta");
     }
 
     protected Object doMutate(Object longObject) {
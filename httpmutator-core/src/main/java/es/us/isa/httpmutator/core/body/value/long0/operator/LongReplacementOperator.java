@@ -1,8 +1,9 @@
 package es.us.isa.httpmutator.core.body.value.long0.operator;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates a long by completely replacing it.
@@ -15,10 +16,14 @@ public class LongReplacementOperator extends AbstractOperator {
     private long maxLong;
 
     public LongReplacementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public LongReplacementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.value.long.weight." + OperatorNames.REPLACE));
-        minLong = Long.parseLong(readProperty("operator.value.long.min"));
-        maxLong = Long.parseLong(readProperty("operator.value.long.max"));
+        weight = config.getFloat("operator.value.long.weight." + OperatorNames.REPLACE);
+        minLong = config.getLong("operator.value.long.min");
+        maxLong = config.getLong("operator.value.long.max");
     }
     
     @Override
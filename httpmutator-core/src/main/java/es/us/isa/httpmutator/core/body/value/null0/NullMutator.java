@@ -4,8 +4,9 @@ import com.fasterxml.jackson.databind.node.NullNode;
 
 import es.us.isa.httpmutator.core.AbstractMutator;
 import es.us.isa.httpmutator.core.body.value.common.operator.ChangeTypeOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Given a set of null mutation operators, the NullMutator selects one based
@@ -16,8 +17,12 @@ import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 public class NullMutator extends AbstractMutator {
 
     public NullMutator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public NullMutator(MutationConfig config) {
         super();
-        prob = Float.parseFloat(readProperty("operator.value.null.prob"));
-        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(NullNode.class));
+        prob = config.getFloat("operator.value.null.prob");
+        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(NullNode.class, config));
     }
 }
@@ -7,8 +7,9 @@ import es.us.isa.httpmutator.core.body.value.string0.operator.StringAddSpecialCh
 import es.us.isa.httpmutator.core.body.value.string0.operator.StringBoundaryOperator;
 import es.us.isa.httpmutator.core.body.value.string0.operator.StringMutationOperator;
 import es.us.isa.httpmutator.core.body.value.string0.operator.StringReplacementOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Given a set of string mutation operators, the StringMutator selects one based
@@ -19,13 +20,17 @@ import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 public class StringMutator extends AbstractMutator {
 
     public StringMutator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public StringMutator(MutationConfig config) {
         super();
-        prob = Float.parseFloat(readProperty("operator.value.string.prob"));
-        operators.put(OperatorNames.REPLACE, new StringReplacementOperator());
-        operators.put(OperatorNames.ADD_SPECIAL_CHARACTERS, new StringAddSpecialCharactersMutationOperator());
-//        operators.put(OperatorNames.MUTATE, new StringMutationOperator());
-        operators.put(OperatorNames.BOUNDARY, new StringBoundaryOperator());
-        operators.put(OperatorNames.NULL, new NullOperator(String.class));
-        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(String.class));
+        prob = config.getFloat("operator.value.string.prob");
+        operators.put(OperatorNames.REPLACE, new StringReplacementOperator(config));
+        operators.put(OperatorNames.ADD_SPECIAL_CHARACTERS, new StringAddSpecialCharactersMutationOperator(config));
+//        operators.put(OperatorNames.MUTATE, new StringMutationOperator(config));
+        operators.put(OperatorNames.BOUNDARY, new StringBoundaryOperator(config));
+        operators.put(OperatorNames.NULL, new NullOperator(String.class, config));
+        operators.put(OperatorNames.CHANGE_TYPE, new ChangeTypeOperator(String.class, config));
     }
 }
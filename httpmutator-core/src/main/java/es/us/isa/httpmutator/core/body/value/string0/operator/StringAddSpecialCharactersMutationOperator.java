@@ -5,8 +5,9 @@ import java.util.Arrays;
 import java.util.List;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates a string by adding special characters like "/", "*", and ",".
@@ -19,8 +20,12 @@ public class StringAddSpecialCharactersMutationOperator extends AbstractOperator
     );
 
     public StringAddSpecialCharactersMutationOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public StringAddSpecialCharactersMutationOperator(MutationConfig config) {
     	 super();
-         weight = Float.parseFloat(readProperty("operator.value.string.weight." + OperatorNames.ADD_SPECIAL_CHARACTERS));
+         weight = config.getFloat("operator.value.string.weight." + OperatorNames.ADD_SPECIAL_CHARACTERS);
      }
 
      @Override
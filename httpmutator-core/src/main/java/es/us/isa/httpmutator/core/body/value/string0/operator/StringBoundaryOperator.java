@@ -1,11 +1,12 @@
 package es.us.isa.httpmutator.core.body.value.string0.operator;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 import es.us.isa.httpmutator.core.util.RandomUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 
 /**
  * Operator that mutates a string by replacing it with a boundary value, namely
@@ -22,12 +23,16 @@ public class StringBoundaryOperator extends AbstractOperator {
     private String lowercaseString;
 
     public StringBoundaryOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public StringBoundaryOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.value.string.weight." + OperatorNames.BOUNDARY));
-        minLength = Integer.parseInt(readProperty("operator.value.string.length.min"));
-        maxLength = Integer.parseInt(readProperty("operator.value.string.length.max"));
-        uppercaseString = readProperty("operator.value.string.uppercase");
-        lowercaseString = readProperty("operator.value.string.lowercase");
+        weight = config.getFloat("operator.value.string.weight." + OperatorNames.BOUNDARY);
+        minLength = config.getInt("operator.value.string.length.min");
+        maxLength = config.getInt("operator.value.string.length.max");
+        uppercaseString = config.getString("operator.value.string.uppercase");
+        lowercaseString = config.getString("operator.value.string.lowercase");
     }
 
     @Override
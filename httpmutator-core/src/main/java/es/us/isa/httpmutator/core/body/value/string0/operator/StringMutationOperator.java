@@ -2,12 +2,12 @@ package es.us.isa.httpmutator.core.body.value.string0.operator;
 
 import java.util.Random;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import org.apache.commons.lang3.RandomStringUtils;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 import es.us.isa.httpmutator.core.util.RandomUtils;
 
 /**
@@ -19,8 +19,12 @@ import es.us.isa.httpmutator.core.util.RandomUtils;
 public class StringMutationOperator extends AbstractOperator {
 
     public StringMutationOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public StringMutationOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.value.string.weight." + OperatorNames.MUTATE));
+        weight = config.getFloat("operator.value.string.weight." + OperatorNames.MUTATE);
     }
     
     @Override
@@ -2,12 +2,12 @@ package es.us.isa.httpmutator.core.body.value.string0.operator;
 
 import java.util.Random;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import org.apache.commons.lang3.RandomStringUtils;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 import es.us.isa.httpmutator.core.util.RandomUtils;
 
 /**
@@ -19,23 +19,33 @@ public class StringReplacementOperator extends AbstractOperator {
 
     private int minLength;      // Minimum length of the randomly generated string
     private int maxLength;      // Maximum length of the randomly generated string
+    private boolean includeAscii;   // Whether to generate strings of printable ASCII characters
+    private boolean includeLetters; // Otherwise, whether to include letters and numbers in the string
+    private boolean includeNumbers;
 
     public StringReplacementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public StringReplacementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.value.string.weight." + OperatorNames.REPLACE));
-        minLength = Integer.parseInt(readProperty("operator.value.string.length.min"));
-        maxLength = Integer.parseInt(readProperty("operator.value.string.length.max"));
+        weight = config.getFloat("operator.value.string.weight." + OperatorNames.REPLACE);
+        minLength = config.getInt("operator.value.string.length.min");
+        maxLength = config.getInt("operator.value.string.length.max");
+        includeAscii = config.getBoolean("operator.value.string.includeAscii");
+        includeLetters = config.getBoolean("operator.value.string.includeLetters");
+        includeNumbers = config.getBoolean("operator.value.string.includeNumbers");
     }
 
     @Override
     protected Object doMutate(Object stringObject) {
-        if (Boolean.parseBoolean(readProperty("operator.value.string.includeAscii"))) {
+        if (includeAscii) {
             return RandomStringUtils.random(RandomUtils.nextInt(minLength, maxLength), 32, 127, false, false, null, RandomUtils.getRandom()); 
         }else {
             return RandomStringUtils.random(rand1.nextInt(minLength, maxLength),
                     0, 0,
-                    Boolean.parseBoolean(readProperty("operator.value.string.includeLetters")),
-                    Boolean.parseBoolean(readProperty("operator.value.string.includeNumbers")),
+                    includeLetters,
+                    includeNumbers,
                     null, RandomUtils.getRandom());
         }
     }
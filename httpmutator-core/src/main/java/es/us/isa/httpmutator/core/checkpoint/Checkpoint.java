@@ -0,0 +1,148 @@
+package es.us.isa.httpmutator.core.checkpoint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Progress of a long mutation run writing sharded output (see
+ * {@link es.us.isa.httpmutator.core.writer.ShardedZstdJsonlMutantWriter}), saved each
+ * time a shard is committed so that an interrupted run can be resumed from its last
+ * committed shard without duplicating or losing mutants:
+ * <ul>
+ *     <li>the number of input exchanges whose mutants are all in committed shards,
+ *     which the resumed run skips;</li>
+ *     <li>the index of the next shard, from which the resumed run writes (shards
+ *     written after the checkpoint are overwritten);</li>
+ *     <li>the random seed of the run. Random streams are derived from the seed and
+ *     the exchange ids, so it is the only random state to restore;</li>
+ *     <li>the state of the reporters (see
+ *     {@link es.us.isa.httpmutator.core.reporter.CheckpointableReporter});</li>
+ *     <li>a signature of the configuration, to refuse resuming with a different input
+ *     or configuration.</li>
+ * </ul>
+ *
+ * Checkpoints are written atomically (to a temporary file then moved), so a crash
+ * while saving one leaves the previous one intact.
+ */
+public final class Checkpoint {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String configuration;
+    private final long randomSeed;
+    private final long exchangesProcessed;
+    private final int nextShardIndex;
+    private final Map<String, JsonNode> reporterStates;
+    private final boolean complete;
+
+    /**
+     * @param configuration      signature of the input and configuration of the run
+     * @param randomSeed         random seed of the run
+     * @param exchangesProcessed number of input exchanges whose mutants are all committed
+     * @param nextShardIndex     index of the next shard to write
+     * @param reporterStates     state of each reporter, by name
+     * @param complete           whether the run finished
+     */
+    public Checkpoint(String configuration, long randomSeed, long exchangesProcessed, int nextShardIndex,
+                      Map<String, JsonNode> reporterStates, boolean complete) {
+        this.configuration = Objects.requireNonNull(configuration, "configuration must not be null");
+        this.randomSeed = randomSeed;
+        this.exchangesProcessed = exchangesProcessed;
+        this.nextShardIndex = nextShardIndex;
+        this.reporterStates = Collections.unmodifiableMap(new LinkedHashMap<>(reporterStates));
+        this.complete = complete;
+    }
+
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public long getExchangesProcessed() {
+        return exchangesProcessed;
+    }
+
+    public int getNextShardIndex() {
+        return nextShardIndex;
+    }
+
+    public Map<String, JsonNode> getReporterStates() {
+        return reporterStates;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return the same checkpoint, marked as the one of a finished run
+     */
+    public Checkpoint completed() {
+        return new Checkpoint(configuration, randomSeed, exchangesProcessed, nextShardIndex, reporterStates, true);
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #write(Path)}.
+     *
+     * @throws IOException if the file cannot be read or is not a checkpoint
+     */
+    public static Checkpoint read(Path file) throws IOException {
+        JsonNode node = MAPPER.readTree(file.toFile());
+        if (node == null || !node.path("configuration").isTextual()) {
+            throw new IOException("Not a checkpoint file: " + file);
+        }
+        Map<String, JsonNode> reporterStates = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> reporters = node.path("reporters").fields();
+        while (reporters.hasNext()) {
+            Map.Entry<String, JsonNode> reporter = reporters.next();
+            reporterStates.put(reporter.getKey(), reporter.getValue());
+        }
+        return new Checkpoint(
+                node.get("configuration").asText(),
+                node.path("randomSeed").asLong(),
+                node.path("exchangesProcessed").asLong(),
+                node.path("nextShardIndex").asInt(),
+                reporterStates,
+                node.path("complete").asBoolean());
+    }
+
+    /**
+     * Writes the checkpoint atomically, replacing the file if it exists.
+     */
+    public void write(Path file) throws IOException {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("configuration", configuration);
+        node.put("randomSeed", randomSeed);
+        node.put("exchangesProcessed", exchangesProcessed);
+        node.put("nextShardIndex", nextShardIndex);
+        node.put("complete", complete);
+        ObjectNode reporters = node.putObject("reporters");
+        reporterStates.forEach(reporters::set);
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(out, node);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
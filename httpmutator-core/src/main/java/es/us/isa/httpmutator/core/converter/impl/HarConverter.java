@@ -3,7 +3,9 @@ package es.us.isa.httpmutator.core.converter.impl;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import es.us.isa.httpmutator.core.converter.BidirectionalConverter;
 import es.us.isa.httpmutator.core.converter.ConversionException;
 import es.us.isa.httpmutator.core.model.StandardHttpRequest;
@@ -11,6 +13,7 @@ import es.us.isa.httpmutator.core.model.StandardHttpResponse;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -79,15 +82,11 @@ public class HarConverter implements BidirectionalConverter<JsonNode> {
         }
 
         try {
-            // Build canonical JSON: Status, Headers, Body
-            ObjectNode canonical = MAPPER.createObjectNode();
-
             // Status
             int status = originalResponse.path("status").asInt(0);
-            canonical.put("Status Code", status);
 
-            // Headers: HAR "headers" array -> canonical "Headers" object
-            ObjectNode headers = MAPPER.createObjectNode();
+            // Headers: HAR "headers" array -> canonical "Headers" map
+            Map<String, Object> headers = new LinkedHashMap<>();
             for (JsonNode h : originalResponse.path("headers")) {
                 String name = h.path("name").asText();
                 String value = h.path("value").asText();
@@ -95,25 +94,27 @@ public class HarConverter implements BidirectionalConverter<JsonNode> {
                     headers.put(name, value);
                 }
             }
-            canonical.set("Headers", headers);
 
             // Body: HAR "content.text"
+            JsonNode body;
             JsonNode content = originalResponse.path("content");
             if (!content.isMissingNode() && content.has("text")) {
                 String bodyText = content.path("text").asText();
                 // Try parsing body as JSON; fall back to raw string
                 try {
-                    JsonNode bodyNode = MAPPER.readTree(bodyText);
-                    canonical.set("Body", bodyNode);
+                    body = MAPPER.readTree(bodyText);
                 } catch (Exception e) {
-                    canonical.put("Body", bodyText);
+                    body = null;
+                }
+                if (body == null || body.isMissingNode()) { // Also keeps an empty text as ""
+                    body = TextNode.valueOf(bodyText);
                 }
             } else {
-                canonical.putNull("Body");
+                body = NullNode.getInstance();
             }
 
-            // Delegate to StandardHttpResponse factory
-            return StandardHttpResponse.fromJsonNode(canonical);
+            // The parsed body is used as is, instead of being copied again through a canonical JSON tree
+            return StandardHttpResponse.of(status, headers, body);
 
         } catch (Exception e) {
             throw new ConversionException("Failed to convert HAR response to StandardHttpResponse", e);
@@ -128,7 +129,7 @@ public class HarConverter implements BidirectionalConverter<JsonNode> {
 
         try {
             // Convert StandardHttpResponse to its canonical JSON representation
-            JsonNode canonical = standardResponse.toJsonNode();
+            JsonNode canonical = standardResponse.toReadOnlyJsonNode();
             if (canonical == null || canonical.isNull()) {
                 throw new ConversionException("StandardHttpResponse.toJsonNode() returned null");
             }
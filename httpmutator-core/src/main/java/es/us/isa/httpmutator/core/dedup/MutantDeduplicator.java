@@ -0,0 +1,152 @@
+package es.us.isa.httpmutator.core.dedup;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.HashCode;
+
+/**
+ * Drops mutants whose mutated response is identical to the original response, or to
+ * another mutant already emitted, comparing the {@link StructuralHash} of the responses.
+ * Two scopes are supported:
+ * <ul>
+ *     <li>{@link #perExchange()}: duplicates are searched among the mutants of the same
+ *     exchange only, exactly. Memory is bounded by the number of mutants of an exchange.</li>
+ *     <li>{@link #windowed(int, double)}: duplicates are also searched across exchanges,
+ *     among (at least) the last {@code windowSize} mutants emitted, using two rotating
+ *     Bloom filters. Memory is fixed, but a unique mutant is dropped with probability
+ *     {@code fpp} (false positive).</li>
+ * </ul>
+ *
+ * Thread-safe. A {@link Scope} is obtained for each exchange, and must be used by one
+ * thread at a time.
+ */
+public final class MutantDeduplicator {
+
+    private static final Funnel<HashCode> HASH_FUNNEL = (hash, sink) -> sink.putBytes(hash.asBytes());
+
+    private final int windowSize;   // 0 for per-exchange deduplication
+    private final double fpp;
+    private final boolean dropOriginal;
+
+    // Windowed scope: mutants are added to the current filter, and looked up in both
+    private BloomFilter<HashCode> current;
+    private BloomFilter<HashCode> previous;
+    private int currentSize = 0;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private MutantDeduplicator(int windowSize, double fpp, boolean dropOriginal) {
+        this.windowSize = windowSize;
+        this.fpp = fpp;
+        this.dropOriginal = dropOriginal;
+        if (windowSize > 0) {
+            current = newFilter();
+            previous = newFilter();
+        }
+    }
+
+    /**
+     * @return a deduplicator that compares the mutants of each exchange with each other
+     *         and with the original response
+     */
+    public static MutantDeduplicator perExchange() {
+        return new MutantDeduplicator(0, 0, true);
+    }
+
+    /**
+     * @param windowSize minimum number of recent mutants each mutant is compared with
+     * @param fpp        probability of dropping a mutant that is not a duplicate
+     * @return a deduplicator that compares mutants across exchanges, with bounded memory
+     */
+    public static MutantDeduplicator windowed(int windowSize, double fpp) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be >= 1");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be between 0 and 1");
+        }
+        return new MutantDeduplicator(windowSize, fpp, true);
+    }
+
+    /**
+     * @param windowSize minimum number of recent mutants each mutant is compared with
+     * @return a windowed deduplicator with a false positive probability of 0.1%
+     */
+    public static MutantDeduplicator windowed(int windowSize) {
+        return windowed(windowSize, 0.001);
+    }
+
+    /**
+     * @param dropOriginal whether to drop mutants identical to the original response (true by default)
+     * @return a copy of this deduplicator with the given setting and empty state
+     */
+    public MutantDeduplicator withDropOriginal(boolean dropOriginal) {
+        return new MutantDeduplicator(windowSize, fpp, dropOriginal);
+    }
+
+    /**
+     * @param originalHash hash of the original response of the exchange
+     * @return the scope in which to deduplicate the mutants of the exchange
+     */
+    public Scope forExchange(HashCode originalHash) {
+        return new Scope(Objects.requireNonNull(originalHash, "originalHash must not be null"));
+    }
+
+    /** @return the number of mutants dropped so far */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private BloomFilter<HashCode> newFilter() {
+        return BloomFilter.create(HASH_FUNNEL, windowSize, fpp);
+    }
+
+    /**
+     * Adds a hash to the window.
+     *
+     * @return false if the hash was (probably) already in the window
+     */
+    private synchronized boolean addToWindow(HashCode hash) {
+        if (current.mightContain(hash) || previous.mightContain(hash)) {
+            return false;
+        }
+        if (currentSize == windowSize) {
+            previous = current;
+            current = newFilter();
+            currentSize = 0;
+        }
+        current.put(hash);
+        currentSize++;
+        return true;
+    }
+
+    /**
+     * Deduplication state of a single exchange.
+     */
+    public final class Scope {
+        private final HashCode originalHash;
+        private final Set<HashCode> seen = new HashSet<>(); // Only used in per-exchange mode
+
+        private Scope(HashCode originalHash) {
+            this.originalHash = originalHash;
+        }
+
+        /**
+         * @param mutatedHash hash of a mutated response
+         * @return true if the mutant must be emitted, false if it is a duplicate
+         */
+        public boolean accept(HashCode mutatedHash) {
+            boolean unique = !(dropOriginal && mutatedHash.equals(originalHash))
+                    && (windowSize > 0 ? addToWindow(mutatedHash) : seen.add(mutatedHash));
+            if (!unique) {
+                dropped.incrementAndGet();
+            }
+            return unique;
+        }
+    }
+}
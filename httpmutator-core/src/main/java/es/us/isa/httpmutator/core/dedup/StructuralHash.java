@@ -0,0 +1,76 @@
+package es.us.isa.httpmutator.core.dedup;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * 128-bit structural hash of a JSON tree (MurmurHash3), computed in a single traversal
+ * without serializing the tree. Two trees get the same hash if they serialize to the
+ * same JSON text: object fields are hashed in document order, and numbers by their
+ * textual representation, so e.g. an int and a long with the same value are equal but
+ * 1 and 1.0 are not. Each node is prefixed with its type and containers with their size,
+ * so that different structures do not collide by concatenation.
+ */
+public final class StructuralHash {
+
+    private static final HashFunction MURMUR3 = Hashing.murmur3_128();
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte NUMBER = 3;
+    private static final byte STRING = 4;
+    private static final byte ARRAY = 5;
+    private static final byte OBJECT = 6;
+    private static final byte OTHER = 7;
+
+    private StructuralHash() {
+    }
+
+    /**
+     * @param node the JSON tree to hash (may be null, hashed as a JSON null)
+     * @return the 128-bit hash of the tree
+     */
+    public static HashCode of(JsonNode node) {
+        Hasher hasher = MURMUR3.newHasher();
+        put(hasher, node);
+        return hasher.hash();
+    }
+
+    private static void put(Hasher hasher, JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            hasher.putByte(NULL);
+        } else if (node.isBoolean()) {
+            hasher.putByte(node.booleanValue() ? TRUE : FALSE);
+        } else if (node.isNumber()) {
+            putText(hasher.putByte(NUMBER), node.asText());
+        } else if (node.isTextual()) {
+            putText(hasher.putByte(STRING), node.textValue());
+        } else if (node.isArray()) {
+            hasher.putByte(ARRAY).putInt(node.size());
+            for (JsonNode element : node) {
+                put(hasher, element);
+            }
+        } else if (node.isObject()) {
+            hasher.putByte(OBJECT).putInt(node.size());
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                putText(hasher, field.getKey());
+                put(hasher, field.getValue());
+            }
+        } else {
+            putText(hasher.putByte(OTHER), node.toString()); // Binary or POJO nodes, not produced by operators
+        }
+    }
+
+    private static void putText(Hasher hasher, String text) {
+        hasher.putInt(text.length()).putUnencodedChars(text);
+    }
+}
@@ -1,7 +1,5 @@
 package es.us.isa.httpmutator.core.headers;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import java.io.IOException;
 import java.util.*;
 import java.util.function.Consumer;
@@ -20,7 +18,10 @@ import es.us.isa.httpmutator.core.model.MutantGroup;
 import es.us.isa.httpmutator.core.headers.charset.CharsetMutator;
 import es.us.isa.httpmutator.core.headers.location.LocationMutator;
 import es.us.isa.httpmutator.core.headers.mediaType.MediaTypeMutator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
+import es.us.isa.httpmutator.core.util.RandomUtils;
 
 public class HeaderMutator extends AbstractMutator {
 
@@ -29,43 +30,46 @@ public class HeaderMutator extends AbstractMutator {
     private static final Set<String> MEDIA_TYPE_PREFIXES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
             "application", "audio", "image", "message", "model", "multipart", "text", "video")));
 
-    private final Random rand = new Random();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private CharsetMutator charsetMutator;
-    private MediaTypeMutator mediaTypeMutator;
-    private LocationMutator locationMutator;
+    // Built once and never modified, so header mutants can be generated by several threads at the same time
+    private final CharsetMutator charsetMutator;
+    private final MediaTypeMutator mediaTypeMutator;
+    private final LocationMutator locationMutator;
 
     public HeaderMutator() {
-        resetMutators();
+        this(PropertyManager.getConfig());
     }
 
-    private void resetMutators() {
-        charsetMutator = Boolean.parseBoolean(readProperty("operator.header.charset.enabled")) ? new CharsetMutator()
+    public HeaderMutator(MutationConfig config) {
+        charsetMutator = config.getBoolean("operator.header.charset.enabled") ? new CharsetMutator(config)
                 : null;
-        mediaTypeMutator = Boolean. parseBoolean(readProperty("operator.header.mediaType.enabled"))
-                ? new MediaTypeMutator()
+        mediaTypeMutator = config.getBoolean("operator.header.mediaType.enabled")
+                ? new MediaTypeMutator(config)
                 : null;
-        locationMutator = Boolean.parseBoolean(readProperty("operator.header.location.enabled")) ? new LocationMutator()
+        locationMutator = config.getBoolean("operator.header.location.enabled") ? new LocationMutator(config)
                 : null;
     }
 
      /**
      * Process header mutants by path in streaming fashion.
      * Each header component (media-type, charset, location) is processed separately.
+     * Each operator of each component draws from a random stream of its own, derived
+     * from the seed of the current scope (see {@link RandomUtils#currentSeed()}), the
+     * identifier of the component and the operator name.
      * 
      * @param node the headers JsonNode to mutate
      * @param probability the probability for mutation generation  
      * @param consumer consumer to process each MutantGroup
      */
     public void getAllMutants(JsonNode node, double probability, Consumer<MutantGroup> consumer) {
-        adjustMutatorsBasedOnPresence(node);
+        long seed = RandomUtils.currentSeed();
         
         // Process Content-Type header components
-        processContentTypeMutants(node, probability, consumer);
+        processContentTypeMutants(node, probability, seed, consumer);
         
         // Process Location header
-        processLocationMutants(node, probability, consumer);
+        processLocationMutants(node, probability, seed, consumer);
     }
 
     /**
@@ -81,39 +85,11 @@ public class HeaderMutator extends AbstractMutator {
         }
     }
 
-    // Adjust operators based on header presence
-    private void adjustMutatorsBasedOnPresence(JsonNode node) {
-        // Handle Content-Type header
-        if (hasHeader(node, CONTENT_TYPE_HEADER)) {
-            String contentType = getHeaderValue(node, CONTENT_TYPE_HEADER).toLowerCase();
-            boolean hasMediaType = MEDIA_TYPE_PREFIXES.stream().anyMatch(contentType::startsWith);
-            boolean hasCharset = contentType.contains("charset=");
-
-            if (mediaTypeMutator != null && !hasMediaType) {
-                mediaTypeMutator.getOperators().remove(OperatorNames.NULL);
-            }
-            if (charsetMutator != null && !hasCharset) {
-                charsetMutator.getOperators().remove(OperatorNames.NULL);
-            }
-        } else {
-            if (mediaTypeMutator != null) {
-                mediaTypeMutator.getOperators().remove(OperatorNames.NULL);
-            }
-            if (charsetMutator != null) {
-                charsetMutator.getOperators().remove(OperatorNames.NULL);
-            }
-        }
-
-        // Handle Location header
-        if (locationMutator != null && !hasHeader(node, LOCATION_HEADER)) {
-            locationMutator.getOperators().remove(OperatorNames.NULL);
-        }
-    }
-
     /**
      * Process Content-Type header mutants (media-type and charset components).
      */
-    private void processContentTypeMutants(JsonNode node, double probability, Consumer<MutantGroup> consumer) {
+    private void processContentTypeMutants(JsonNode node, double probability, long seed,
+                                           Consumer<MutantGroup> consumer) {
         if (!hasHeader(node, CONTENT_TYPE_HEADER)) {
             return;
         }
@@ -121,34 +97,44 @@ public class HeaderMutator extends AbstractMutator {
         String contentType = getHeaderValue(node, CONTENT_TYPE_HEADER);
         ContentTypeComponents components = new ContentTypeComponents(contentType);
 
+        // The null operator only applies to the components present in the header
+        String lowerCaseContentType = contentType.toLowerCase();
+        boolean hasMediaType = MEDIA_TYPE_PREFIXES.stream().anyMatch(lowerCaseContentType::startsWith);
+        boolean hasCharset = lowerCaseContentType.contains("charset=");
+
         // Process media type mutants
-        processMediaTypeMutants(node, components, probability, consumer);
+        processMediaTypeMutants(node, components, hasMediaType, probability, seed, consumer);
         
         // Process charset mutants  
-        processCharsetMutants(node, components, probability, consumer);
+        processCharsetMutants(node, components, hasCharset, probability, seed, consumer);
     }
 
     /**
      * Process media type mutants for Content-Type header.
      */
-    private void processMediaTypeMutants(JsonNode node, ContentTypeComponents components, 
-                                        double probability, Consumer<MutantGroup> consumer) {
+    private void processMediaTypeMutants(JsonNode node, ContentTypeComponents components, boolean hasMediaType,
+                                        double probability, long seed, Consumer<MutantGroup> consumer) {
         if (mediaTypeMutator == null) {
             return;
         }
 
+        String identifier = "Headers/" + CONTENT_TYPE_HEADER + "/mediaType";
         List<Mutant> mediaTypeMutants = new ArrayList<>();
         
-        for (AbstractOperator operator : mediaTypeMutator.getOperators().values()) {
-            if (shouldSkipMutation(probability)) {
+        for (Map.Entry<String, AbstractOperator> entry : mediaTypeMutator.getOperators().entrySet()) {
+            if (!hasMediaType && OperatorNames.NULL.equals(entry.getKey())) {
                 continue;
             }
-            Mutant mutant = mutateComponent(node, components, operator, true);
-            mediaTypeMutants.add(mutant);
+            Mutant mutant = RandomUtils.callWithSeed(RandomUtils.deriveSeed(seed, identifier, entry.getKey()),
+                    () -> shouldSkipMutation(probability) ? null
+                            : mutateComponent(node, components, entry.getValue(), true));
+            if (mutant != null) {
+                mediaTypeMutants.add(mutant);
+            }
         }
 
         if (!mediaTypeMutants.isEmpty()) {
-            MutantGroup mutantGroup = new MutantGroup("Headers/" + CONTENT_TYPE_HEADER + "/mediaType", mediaTypeMutants);
+            MutantGroup mutantGroup = new MutantGroup(identifier, mediaTypeMutants);
             consumer.accept(mutantGroup);
         }
     }
@@ -156,24 +142,29 @@ public class HeaderMutator extends AbstractMutator {
     /**
      * Process charset mutants for Content-Type header.
      */
-    private void processCharsetMutants(JsonNode node, ContentTypeComponents components, 
-                                      double probability, Consumer<MutantGroup> consumer) {
+    private void processCharsetMutants(JsonNode node, ContentTypeComponents components, boolean hasCharset,
+                                      double probability, long seed, Consumer<MutantGroup> consumer) {
         if (charsetMutator == null) {
             return;
         }
 
+        String identifier = "Headers/" + CONTENT_TYPE_HEADER + "/charset";
         List<Mutant> charsetMutants = new ArrayList<>();
         
-        for (AbstractOperator operator : charsetMutator.getOperators().values()) {
-            if (shouldSkipMutation(probability)) {
+        for (Map.Entry<String, AbstractOperator> entry : charsetMutator.getOperators().entrySet()) {
+            if (!hasCharset && OperatorNames.NULL.equals(entry.getKey())) {
                 continue;
             }
-            Mutant mutant = mutateComponent(node, components, operator, false);
-            charsetMutants.add(mutant);
+            Mutant mutant = RandomUtils.callWithSeed(RandomUtils.deriveSeed(seed, identifier, entry.getKey()),
+                    () -> shouldSkipMutation(probability) ? null
+                            : mutateComponent(node, components, entry.getValue(), false));
+            if (mutant != null) {
+                charsetMutants.add(mutant);
+            }
         }
 
         if (!charsetMutants.isEmpty()) {
-            MutantGroup mutantGroup = new MutantGroup("Headers/" + CONTENT_TYPE_HEADER + "/charset", charsetMutants);
+            MutantGroup mutantGroup = new MutantGroup(identifier, charsetMutants);
             consumer.accept(mutantGroup);
         }
     }
@@ -181,7 +172,8 @@ public class HeaderMutator extends AbstractMutator {
     /**
      * Process Location header mutants.
      */
-    private void processLocationMutants(JsonNode node, double probability, Consumer<MutantGroup> consumer) {
+    private void processLocationMutants(JsonNode node, double probability, long seed,
+                                        Consumer<MutantGroup> consumer) {
         if (!hasHeader(node, LOCATION_HEADER) || locationMutator == null) {
             return;
         }
@@ -189,14 +181,17 @@ public class HeaderMutator extends AbstractMutator {
         List<Mutant> locationMutants = new ArrayList<>();
         String location = getHeaderValue(node, LOCATION_HEADER);
         
-        for (AbstractOperator operator : locationMutator.getOperators().values()) {
-            if (shouldSkipMutation(probability)) {
+        for (Map.Entry<String, AbstractOperator> entry : locationMutator.getOperators().entrySet()) {
+            AbstractOperator operator = entry.getValue();
+            Optional<Object> mutated = RandomUtils.callWithSeed(
+                    RandomUtils.deriveSeed(seed, "Headers/" + LOCATION_HEADER, entry.getKey()),
+                    () -> shouldSkipMutation(probability) ? null : Optional.ofNullable(operator.mutate(location)));
+            if (mutated == null) {
                 continue;
             }
 
-            Object mutated = operator.mutate(location);
             ObjectNode copiedNode = ((ObjectNode) node).deepCopy();
-            updateHeaderField(copiedNode, LOCATION_HEADER, mutated);
+            updateHeaderField(copiedNode, LOCATION_HEADER, mutated.orElse(null));
 
             Mutant mutant = new Mutant(
                 "Headers/" + LOCATION_HEADER,
@@ -302,7 +297,7 @@ public class HeaderMutator extends AbstractMutator {
 
     // Utility methods
     private boolean shouldSkipMutation(double probability) {
-        return rand.nextFloat() >= probability;
+        return RandomUtils.nextDouble() >= probability;
     }
 
     private void updateHeaderField(ObjectNode node, String headerName, Object value) {
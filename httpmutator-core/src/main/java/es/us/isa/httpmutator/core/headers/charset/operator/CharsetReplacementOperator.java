@@ -1,9 +1,9 @@
 package es.us.isa.httpmutator.core.headers.charset.operator;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 public class CharsetReplacementOperator extends AbstractOperator {
     private final String[] CHARSET_VALUES = {
@@ -26,8 +26,12 @@ public class CharsetReplacementOperator extends AbstractOperator {
     };
     
     public CharsetReplacementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public CharsetReplacementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.header.charset.weight." + OperatorNames.REPLACE));;
+        weight = config.getFloat("operator.header.charset.weight." + OperatorNames.REPLACE);;
     }
 
     @Override
@@ -1,17 +1,21 @@
 package es.us.isa.httpmutator.core.headers.location.operator;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import java.net.URI;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 public class LocationMutationOperator extends AbstractOperator {
 
     public LocationMutationOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public LocationMutationOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.header.location.weight." + OperatorNames.MUTATE));
+        weight = config.getFloat("operator.header.location.weight." + OperatorNames.MUTATE);
     }
 
     @Override
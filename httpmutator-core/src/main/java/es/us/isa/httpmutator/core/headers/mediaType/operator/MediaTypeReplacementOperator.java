@@ -1,16 +1,20 @@
 package es.us.isa.httpmutator.core.headers.mediaType.operator;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 public class MediaTypeReplacementOperator extends AbstractOperator {
     private static final String[] CT_STRINGS = {"application/json", "application/xml", "text/plain", "text/html", "text/css", "text/javascript", "application/x-www-form-urlencoded"};
 
     public MediaTypeReplacementOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public MediaTypeReplacementOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.header.mediaType.weight." + OperatorNames.REPLACE));
+        weight = config.getFloat("operator.header.mediaType.weight." + OperatorNames.REPLACE);
     }
 
     @Override
@@ -0,0 +1,64 @@
+package es.us.isa.httpmutator.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Counterpart of {@link MutantGroup} holding {@link MutantCandidate}s, i.e., mutants
+ * that are only generated when chosen (see
+ * {@link es.us.isa.httpmutator.core.strategy.MutationStrategy#selectCandidates}).
+ */
+public class CandidateGroup {
+    private final String identifier;
+    private final List<MutantCandidate> candidates;
+
+    /**
+     * @param identifier the identifier for this group (e.g., JSON path, component name)
+     * @param candidates the list of candidates in this group
+     */
+    public CandidateGroup(String identifier, List<MutantCandidate> candidates) {
+        this.identifier = Objects.requireNonNull(identifier, "Identifier cannot be null");
+        this.candidates = new ArrayList<>(Objects.requireNonNull(candidates, "Candidates list cannot be null"));
+    }
+
+    /**
+     * @param group a group of already generated mutants
+     * @return a group with one candidate per mutant, in the same order
+     */
+    public static CandidateGroup of(MutantGroup group) {
+        List<MutantCandidate> candidates = new ArrayList<>();
+        for (Mutant mutant : group.getMutants()) {
+            candidates.add(MutantCandidate.of(mutant));
+        }
+        return new CandidateGroup(group.getIdentifier(), candidates);
+    }
+
+    /**
+     * @return the group identifier (e.g., JSON path, component name)
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * @return unmodifiable list of candidates
+     */
+    public List<MutantCandidate> getCandidates() {
+        return Collections.unmodifiableList(candidates);
+    }
+
+    /**
+     * Generates every candidate of the group.
+     *
+     * @return a group with the same identifier and the generated mutants, in the same order
+     */
+    public MutantGroup materialize() {
+        List<Mutant> mutants = new ArrayList<>(candidates.size());
+        for (MutantCandidate candidate : candidates) {
+            mutants.add(candidate.materialize());
+        }
+        return new MutantGroup(identifier, mutants);
+    }
+}
@@ -5,6 +5,7 @@ package es.us.isa.httpmutator.core.model;
 
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Represents a single HTTP interaction (request–response pair) in a unified,
@@ -30,12 +31,17 @@ import java.util.UUID;
  *     <li>Request is never mutated by HttpMutator.</li>
  *     <li>Response is always normalized to {@link StandardHttpResponse}.</li>
  *     <li>{@code id} is propagated to writers and reporters for traceability.</li>
+ *     <li>The request may be converted lazily (see {@link #withLazyRequest}), as
+ *         most writers never need it.</li>
  * </ul>
  */
 public final class HttpExchange {
 
     /** Canonical HTTP request (may be null depending on input format). */
-    private final StandardHttpRequest request;
+    private StandardHttpRequest request;
+
+    /** Converts the request on first access; null once converted, or if the request was given. */
+    private volatile Supplier<StandardHttpRequest> requestSupplier;
 
     /** Canonical HTTP response (never null, used by mutation engine). */
     private final StandardHttpResponse response;
@@ -69,6 +75,22 @@ public final class HttpExchange {
         this(request, response, null);
     }
 
+    /**
+     * Constructs an exchange whose request is only converted the first time it is
+     * needed (e.g., by a HAR writer), then kept.
+     *
+     * @param request  supplies the canonical request (may supply null)
+     * @param response canonical response (must not be null)
+     * @param id       stable identifier (auto-generated if null/blank)
+     */
+    public static HttpExchange withLazyRequest(Supplier<StandardHttpRequest> request,
+                                               StandardHttpResponse response,
+                                               String id) {
+        HttpExchange exchange = new HttpExchange(null, response, id);
+        exchange.requestSupplier = Objects.requireNonNull(request, "request supplier must not be null");
+        return exchange;
+    }
+
     /**
      * Unique ID generator for HttpExchange.
      * Current strategy: UUID-based, prefixed for readability.
@@ -83,6 +105,15 @@ public final class HttpExchange {
     }
 
     public StandardHttpRequest getRequest() {
+        if (requestSupplier != null) {
+            synchronized (this) {
+                Supplier<StandardHttpRequest> supplier = requestSupplier;
+                if (supplier != null) {
+                    request = supplier.get();
+                    requestSupplier = null;
+                }
+            }
+        }
         return request;
     }
 
@@ -1,19 +1,33 @@
 package es.us.isa.httpmutator.core.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import es.us.isa.httpmutator.core.AbstractMutator;
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.JsonManager;
 
 /**
  * Represents a single mutation applied to a JSON document.
  * Immutable: all fields are final and cannot be changed after construction.
  *
  * Stores the JSONPath of the original node and the classes of the mutator and
- * operator used.
+ * operator used. The mutated document is held in one of two ways:
+ * <ul>
+ * <li>Materialized: the full mutated JSON node is kept.</li>
+ * <li>Patch-based: only a reference to the original document plus the list of
+ * {@link PatchOperation}s that turn it into the mutant are kept, and the mutated
+ * node is built each time {@link #getMutatedNode()} is called. Consumers that only
+ * need metadata (path, mutator, operator) never pay for the full tree.</li>
+ * </ul>
+ * In both cases the mutated node may share subtrees with the original document and
+ * with other mutants, so it must be treated as read-only (see {@link #deepCopy()}).
  *
  * author: Lixin Xu
  */
@@ -23,9 +37,15 @@ public final class Mutant {
     /** JSONPath string pointing to the original node before mutation. */
     private final String originalJsonPath;
 
-    /** The mutated JSON node after mutation. */
+    /** The mutated JSON node after mutation, null for patch-based mutants. */
     private final JsonNode mutatedNode;
 
+    /** The document the patch applies to, null for materialized mutants. */
+    private final JsonNode originalNode;
+
+    /** The changes that turn originalNode into the mutant, null for materialized mutants. */
+    private final List<PatchOperation> patch;
+
     /** The class of the mutator that generated this mutation. */
     private final Class<? extends AbstractMutator> mutatorClass;
 
@@ -46,6 +66,31 @@ public final class Mutant {
             Class<? extends AbstractOperator> operatorClass) {
         this.originalJsonPath = Objects.requireNonNull(originalJsonPath, "originalJsonPath must not be null");
         this.mutatedNode = Objects.requireNonNull(mutatedNode, "mutatedNode must not be null");
+        this.originalNode = null;
+        this.patch = null;
+        this.mutatorClass = Objects.requireNonNull(mutatorClass, "mutatorClass must not be null");
+        this.operatorClass = Objects.requireNonNull(operatorClass, "operatorClass must not be null");
+    }
+
+    /**
+     * Constructs a new patch-based Mutant instance, whose mutated node is only built
+     * when requested.
+     *
+     * @param originalJsonPath JSONPath of the node before mutation
+     * @param originalNode     the document the patch applies to (not modified)
+     * @param patch            the operations that turn originalNode into the mutant
+     * @param mutatorClass     the class of the mutator used
+     * @param operatorClass    the class of the operator used
+     */
+    public Mutant(String originalJsonPath,
+            JsonNode originalNode,
+            List<PatchOperation> patch,
+            Class<? extends AbstractMutator> mutatorClass,
+            Class<? extends AbstractOperator> operatorClass) {
+        this.originalJsonPath = Objects.requireNonNull(originalJsonPath, "originalJsonPath must not be null");
+        this.mutatedNode = null;
+        this.originalNode = Objects.requireNonNull(originalNode, "originalNode must not be null");
+        this.patch = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(patch, "patch must not be null")));
         this.mutatorClass = Objects.requireNonNull(mutatorClass, "mutatorClass must not be null");
         this.operatorClass = Objects.requireNonNull(operatorClass, "operatorClass must not be null");
     }
@@ -55,14 +100,45 @@ public final class Mutant {
         return originalJsonPath;
     }
 
-    /** @return the JSON node after mutation */
+    /**
+     * Returns the JSON node after mutation. For patch-based mutants, the node is built
+     * on every call by applying the patch to the original document, copying only the
+     * containers on the path to the changed locations. Callers that need the node
+     * several times should keep the returned reference.
+     *
+     * @return the JSON node after mutation
+     */
     public JsonNode getMutatedNode() {
-        return mutatedNode;
+        if (mutatedNode != null) {
+            return mutatedNode;
+        }
+        return JsonManager.applyPatch(originalNode, patch);
+    }
+
+    /** @return true if the mutated node is stored, false if it is built from a patch on demand */
+    public boolean isMaterialized() {
+        return mutatedNode != null;
+    }
+
+    /** @return the document the patch applies to, or null if this mutant is materialized */
+    public JsonNode getOriginalNode() {
+        return originalNode;
+    }
+
+    /**
+     * @return the operations that turn the original document into this mutant. For
+     *         materialized mutants, a single replacement of the whole document
+     */
+    public List<PatchOperation> getPatch() {
+        if (patch != null) {
+            return patch;
+        }
+        return Collections.singletonList(PatchOperation.replace(JsonPointer.empty(), mutatedNode));
     }
 
     public String getMutatedNodeAsString() {
         try {
-            return MAPPER.writeValueAsString(mutatedNode);
+            return MAPPER.writeValueAsString(getMutatedNode());
         } catch (Exception e) {
             throw new RuntimeException("Failed to convert mutated node to string", e);
         }
@@ -87,7 +163,7 @@ public final class Mutant {
     }
 
     public Mutant deepCopy() {
-        JsonNode nodeCopy = mutatedNode.deepCopy();
+        JsonNode nodeCopy = getMutatedNode().deepCopy();
         return new Mutant(originalJsonPath, nodeCopy, mutatorClass, operatorClass);
     }
 
@@ -99,14 +175,14 @@ public final class Mutant {
             return false;
         Mutant that = (Mutant) o;
         return originalJsonPath.equals(that.originalJsonPath) &&
-                mutatedNode.equals(that.mutatedNode) &&
+                getMutatedNode().equals(that.getMutatedNode()) &&
                 mutatorClass.equals(that.mutatorClass) &&
                 operatorClass.equals(that.operatorClass);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(originalJsonPath, mutatedNode, mutatorClass, operatorClass);
+        return Objects.hash(originalJsonPath, getMutatedNode(), mutatorClass, operatorClass);
     }
 
     @Override
@@ -0,0 +1,100 @@
+package es.us.isa.httpmutator.core.model;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import es.us.isa.httpmutator.core.AbstractMutator;
+import es.us.isa.httpmutator.core.AbstractOperator;
+
+/**
+ * Lightweight descriptor of a mutant that may not have been generated yet: the
+ * location it mutates and the mutator and operator it would apply. Strategies can
+ * choose among candidates using this information only, and just the chosen ones
+ * are generated with {@link #materialize()}.
+ *
+ * Materializing a candidate always yields the same mutant, whenever and on whatever
+ * thread it is called, since candidates carry the random stream of their operator.
+ */
+public final class MutantCandidate {
+
+    /** JSONPath string pointing to the original node before mutation. */
+    private final String originalJsonPath;
+
+    /** The class of the mutator that would generate the mutation. */
+    private final Class<? extends AbstractMutator> mutatorClass;
+
+    /** The class of the operator that would perform the mutation. */
+    private final Class<? extends AbstractOperator> operatorClass;
+
+    /** Applies the operator and builds the mutant. */
+    private final Supplier<Mutant> generator;
+
+    /**
+     * @param originalJsonPath JSONPath of the node to mutate
+     * @param mutatorClass     the class of the mutator
+     * @param operatorClass    the class of the operator
+     * @param generator        generates the mutant; must not return null
+     */
+    public MutantCandidate(String originalJsonPath,
+            Class<? extends AbstractMutator> mutatorClass,
+            Class<? extends AbstractOperator> operatorClass,
+            Supplier<Mutant> generator) {
+        this.originalJsonPath = Objects.requireNonNull(originalJsonPath, "originalJsonPath must not be null");
+        this.mutatorClass = Objects.requireNonNull(mutatorClass, "mutatorClass must not be null");
+        this.operatorClass = Objects.requireNonNull(operatorClass, "operatorClass must not be null");
+        this.generator = Objects.requireNonNull(generator, "generator must not be null");
+    }
+
+    /**
+     * @param mutant an already generated mutant
+     * @return a candidate whose materialization returns the given mutant
+     */
+    public static MutantCandidate of(Mutant mutant) {
+        Objects.requireNonNull(mutant, "mutant must not be null");
+        return new MutantCandidate(mutant.getOriginalJsonPath(), mutant.getMutatorClass(),
+                mutant.getOperatorClass(), () -> mutant);
+    }
+
+    /** @return the JSONPath of the node to mutate */
+    public String getOriginalJsonPath() {
+        return originalJsonPath;
+    }
+
+    /** @return the class of the mutator that would generate the mutation */
+    public Class<? extends AbstractMutator> getMutatorClass() {
+        return mutatorClass;
+    }
+
+    public String getMutatorClassName() {
+        return mutatorClass.getSimpleName();
+    }
+
+    /** @return the class of the operator that would perform the mutation */
+    public Class<? extends AbstractOperator> getOperatorClass() {
+        return operatorClass;
+    }
+
+    public String getOperatorClassName() {
+        return operatorClass.getSimpleName();
+    }
+
+    /**
+     * Generates the mutant. Each call applies the operator again (with the same
+     * random stream, hence the same result), so callers should keep the returned
+     * mutant rather than calling this method several times.
+     *
+     * @return the mutant described by this candidate
+     */
+    public Mutant materialize() {
+        return generator.get();
+    }
+
+    @Override
+    public String toString() {
+        return "MutantCandidate{" +
+                "originalJsonPath='" + originalJsonPath + '\'' +
+                ", mutator=" + getMutatorClassName() +
+                ", operator=" + getOperatorClassName() +
+                '}';
+    }
+}
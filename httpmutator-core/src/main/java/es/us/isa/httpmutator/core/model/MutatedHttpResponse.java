@@ -0,0 +1,164 @@
+// ========================================
+// MutatedHttpResponse - Read-only view over a mutated canonical response
+// ========================================
+package es.us.isa.httpmutator.core.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * {@link StandardHttpResponse} backed by the canonical JsonNode of a mutant:
+ * {@code {"Status Code": ..., "Headers": {...}, "Body": ...}}.
+ *
+ * <p>Status code and body are read from the node, and {@link #toReadOnlyJsonNode()} returns
+ * the node itself, so writers and reporters can use a mutant without converting it to a
+ * {@link StandardHttpResponse} and back; {@link #toJsonNode()} returns a copy of it. Headers are converted to a map on the first call
+ * to {@link #getHeaders()}; {@link #getHeadersNode()} reads them without conversion.</p>
+ *
+ * <p>Mutants share unchanged subtrees with the original response and with each other,
+ * so the node and the values returned by the getters must be treated as read-only.
+ * Setters detach the response from the node and do not affect it.
+ * {@link #toStandardHttpResponse()} returns an independent copy.</p>
+ */
+public class MutatedHttpResponse extends StandardHttpResponse {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> HEADERS_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    /** Canonical response node, null once detached by a setter. */
+    private ObjectNode node;
+
+    /** Headers of the node, converted on first access. */
+    private Map<String, Object> headerMap;
+
+    private MutatedHttpResponse(ObjectNode node) {
+        this.node = node;
+    }
+
+    /**
+     * Returns a view over a canonical response node. Nodes that
+     * {@link StandardHttpResponse#fromJsonNode} would not serialize back identically
+     * (missing, extra or reordered fields, non-int status code) are converted instead.
+     */
+    public static StandardHttpResponse of(JsonNode canonicalResponseNode) {
+        if (isCanonical(canonicalResponseNode)) {
+            return new MutatedHttpResponse((ObjectNode) canonicalResponseNode);
+        }
+        return StandardHttpResponse.fromJsonNode(canonicalResponseNode);
+    }
+
+    private static boolean isCanonical(JsonNode node) {
+        if (!(node instanceof ObjectNode) || node.size() != 3) {
+            return false;
+        }
+        Iterator<String> names = node.fieldNames();
+        if (!"Status Code".equals(names.next()) || !"Headers".equals(names.next()) || !"Body".equals(names.next())) {
+            return false;
+        }
+        JsonNode headers = node.get("Headers");
+        return node.get("Status Code").isInt() && (headers.isObject() || headers.isNull());
+    }
+
+    @Override
+    public int getStatusCode() {
+        return node != null ? node.get("Status Code").intValue() : super.getStatusCode();
+    }
+
+    @Override
+    public Map<String, Object> getHeaders() {
+        if (node == null) {
+            return super.getHeaders();
+        }
+        if (headerMap == null) {
+            headerMap = OBJECT_MAPPER.convertValue(node.get("Headers"), HEADERS_TYPE);
+        }
+        return headerMap;
+    }
+
+    /**
+     * @return the headers as a JsonNode (an object, or a null node), without converting them
+     */
+    @JsonIgnore
+    public JsonNode getHeadersNode() {
+        return node != null ? node.get("Headers") : OBJECT_MAPPER.valueToTree(super.getHeaders());
+    }
+
+    @Override
+    public JsonNode getBody() {
+        return node != null ? node.get("Body") : super.getBody();
+    }
+
+    @Override
+    public void setStatusCode(int statusCode) {
+        detach();
+        super.setStatusCode(statusCode);
+    }
+
+    @Override
+    public void setHeaders(Map<String, Object> headers) {
+        detach();
+        super.setHeaders(headers);
+    }
+
+    @Override
+    public void setBody(JsonNode body) {
+        detach();
+        super.setBody(body);
+    }
+
+    /**
+     * Copies the fields of the node to this response, so that they can be replaced.
+     */
+    private void detach() {
+        ObjectNode attached = node;
+        if (attached != null) {
+            Map<String, Object> headers = getHeaders();
+            node = null;
+            super.setStatusCode(attached.get("Status Code").intValue());
+            super.setHeaders(headers);
+            super.setBody(attached.get("Body"));
+        }
+    }
+
+    /**
+     * @return a copy of the canonical node of the mutant, which the caller may modify
+     */
+    @Override
+    public JsonNode toJsonNode() {
+        return node != null ? node.deepCopy() : super.toJsonNode();
+    }
+
+    /**
+     * @return the canonical node of the mutant, shared with other mutants (read-only)
+     */
+    @Override
+    public JsonNode toReadOnlyJsonNode() {
+        return node != null ? node : super.toJsonNode();
+    }
+
+    @Override
+    public String toJsonString() {
+        if (node == null) {
+            return super.toJsonString();
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to convert to JSON string", e);
+        }
+    }
+
+    /**
+     * @return an independent {@link StandardHttpResponse} with a copy of this response
+     */
+    public StandardHttpResponse toStandardHttpResponse() {
+        return StandardHttpResponse.fromJsonNode(toReadOnlyJsonNode());
+    }
+}
@@ -0,0 +1,118 @@
+package es.us.isa.httpmutator.core.model;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A single JSON-Patch-style change (RFC 6902 subset): an operation, the JSON
+ * Pointer of the affected location and, for "add" and "replace", the new value.
+ * Immutable: all fields are final and cannot be changed after construction.
+ *
+ * Patches are applied with {@link es.us.isa.httpmutator.core.util.JsonManager#applyPatch},
+ * which copies only the containers on the path to each location, so the value of a
+ * patch operation and the document it is applied to may be shared with other mutants.
+ * Neither of them should be modified in place.
+ */
+public final class PatchOperation {
+
+    /** Supported patch operations, named as in RFC 6902. */
+    public enum Op {
+        ADD("add"),
+        REMOVE("remove"),
+        REPLACE("replace");
+
+        private final String jsonName;
+
+        Op(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        /** @return the name of the operation as written in a JSON Patch document */
+        public String getJsonName() {
+            return jsonName;
+        }
+    }
+
+    private final Op op;
+
+    /** Location affected by the operation. The empty pointer refers to the whole document. */
+    private final JsonPointer path;
+
+    /** New value for "add" and "replace" operations, null for "remove". */
+    private final JsonNode value;
+
+    private PatchOperation(Op op, JsonPointer path, JsonNode value) {
+        this.op = Objects.requireNonNull(op, "op must not be null");
+        this.path = Objects.requireNonNull(path, "path must not be null");
+        if (op != Op.REMOVE) {
+            Objects.requireNonNull(value, "value must not be null for " + op.getJsonName() + " operations");
+        }
+        this.value = value;
+    }
+
+    public static PatchOperation add(JsonPointer path, JsonNode value) {
+        return new PatchOperation(Op.ADD, path, value);
+    }
+
+    public static PatchOperation remove(JsonPointer path) {
+        return new PatchOperation(Op.REMOVE, path, null);
+    }
+
+    public static PatchOperation replace(JsonPointer path, JsonNode value) {
+        return new PatchOperation(Op.REPLACE, path, value);
+    }
+
+    /** @return the kind of operation */
+    public Op getOp() {
+        return op;
+    }
+
+    /** @return the JSON Pointer of the affected location */
+    public JsonPointer getPath() {
+        return path;
+    }
+
+    /** @return the new value, or null for "remove" operations */
+    public JsonNode getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the same operation relative to an enclosing document, e.g., turns a
+     * patch over a response body into a patch over the whole response when
+     * prefixed with "/Body".
+     *
+     * @param prefix pointer of this patch's document within the enclosing one
+     * @return a new operation whose path is prefix + path
+     */
+    public PatchOperation withPrefix(JsonPointer prefix) {
+        return new PatchOperation(op, prefix.append(path), value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof PatchOperation))
+            return false;
+        PatchOperation that = (PatchOperation) o;
+        return op == that.op &&
+                path.equals(that.path) &&
+                Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(op, path, value);
+    }
+
+    @Override
+    public String toString() {
+        return "PatchOperation{" +
+                "op=" + op.getJsonName() +
+                ", path='" + path + '\'' +
+                '}';
+    }
+}
@@ -41,7 +41,7 @@ public class StandardHttpResponse {
     // Constructors
     // ========================================
 
-    private StandardHttpResponse() {}
+    protected StandardHttpResponse() {}
 
     public StandardHttpResponse(int statusCode, Map<String, Object> headers, JsonNode body) {
         this.statusCode = statusCode;
@@ -124,6 +124,14 @@ public class StandardHttpResponse {
     public JsonNode toJsonNode() {
         return OBJECT_MAPPER.valueToTree(this);
     }
+
+    /**
+     * Same as {@link #toJsonNode()}, for callers that only read the node: subclasses may
+     * return a node they share instead of a new one, so it must not be modified.
+     */
+    public JsonNode toReadOnlyJsonNode() {
+        return toJsonNode();
+    }
     
     /**
      * Convert to JSON string
@@ -141,16 +149,18 @@ public class StandardHttpResponse {
      */
     @JsonIgnore
     public boolean isValidForStatusCodeMutator() {
+        int statusCode = getStatusCode();
         return 200 <= statusCode && statusCode < 600;
     }
 
     @JsonIgnore
     public boolean isValidForBodyMutator() {
-        return body != null;
+        return getBody() != null;
     }
 
     @JsonIgnore
     public boolean isValidForHeadersMutator() {
+        Map<String, Object> headers = getHeaders();
         return headers != null && !headers.isEmpty();
     }
 
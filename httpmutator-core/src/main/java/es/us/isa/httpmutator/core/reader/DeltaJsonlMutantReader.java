@@ -0,0 +1,205 @@
+package es.us.isa.httpmutator.core.reader;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import es.us.isa.httpmutator.core.model.PatchOperation;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+import es.us.isa.httpmutator.core.util.JsonManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for the delta-encoded JSONL written by
+ * {@link es.us.isa.httpmutator.core.writer.DeltaJsonlMutantWriter}.
+ *
+ * <p>Each mutant record is passed to the consumer as a {@link MutantRecord}, holding
+ * the original response it applies to and its patch; the full mutated response is
+ * only built when requested (see {@link MutantRecord#getMutatedNode()}). Only the
+ * last original read is kept in memory.</p>
+ */
+public class DeltaJsonlMutantReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public void read(Reader in, Consumer<MutantRecord> consumer) throws IOException {
+        Objects.requireNonNull(in, "reader must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+
+        BufferedReader br = (in instanceof BufferedReader)
+                ? (BufferedReader) in
+                : new BufferedReader(in);
+
+        String line;
+        int lineNumber = 0;
+        JsonNode original = null;
+
+        while ((line = br.readLine()) != null) {
+            lineNumber++;
+
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            JsonNode node;
+            try {
+                node = MAPPER.readTree(line);
+            } catch (Exception e) {
+                throw new IOException("Invalid JSON at line " + lineNumber, e);
+            }
+
+            if (node.has("_hm_original")) {
+                original = node.get("_hm_original");
+                continue;
+            }
+            if (original == null) {
+                throw new IOException("Mutant without a preceding original at line " + lineNumber);
+            }
+
+            List<PatchOperation> patch;
+            try {
+                patch = parsePatch(node.path("_hm_patch"));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid patch at line " + lineNumber, e);
+            }
+
+            JsonNode idNode = node.get("_hm_original_id");
+            consumer.accept(new MutantRecord(
+                    idNode == null ? null : idNode.asText(),
+                    node.path("_hm_original_json_path").asText(),
+                    node.path("_hm_mutator").asText(),
+                    node.path("_hm_operator").asText(),
+                    original,
+                    patch));
+        }
+    }
+
+    private static List<PatchOperation> parsePatch(JsonNode operations) {
+        if (!operations.isArray()) {
+            throw new IllegalArgumentException("\"_hm_patch\" must be an array");
+        }
+        List<PatchOperation> patch = new ArrayList<>(operations.size());
+        for (JsonNode operation : operations) {
+            JsonPointer path = JsonPointer.compile(textField(operation, "path"));
+            String op = textField(operation, "op");
+            switch (op) {
+                case "add":
+                    patch.add(PatchOperation.add(path, value(operation, op)));
+                    break;
+                case "remove":
+                    patch.add(PatchOperation.remove(path));
+                    break;
+                case "replace":
+                    patch.add(PatchOperation.replace(path, value(operation, op)));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported patch operation: " + op);
+            }
+        }
+        return patch;
+    }
+
+    private static String textField(JsonNode operation, String name) {
+        JsonNode field = operation.get(name);
+        if (field == null || !field.isTextual()) {
+            throw new IllegalArgumentException("Patch operation without a textual \"" + name + "\": " + operation);
+        }
+        return field.asText();
+    }
+
+    private static JsonNode value(JsonNode operation, String op) {
+        JsonNode value = operation.get("value");
+        if (value == null) {
+            throw new IllegalArgumentException("\"" + op + "\" operation without a \"value\": " + operation);
+        }
+        return value;
+    }
+
+    /**
+     * A mutant read from delta-encoded JSONL: its metadata, the original response and
+     * the patch that turns it into the mutant.
+     */
+    public static final class MutantRecord {
+        private final String originalId;
+        private final String originalJsonPath;
+        private final String mutatorClassName;
+        private final String operatorClassName;
+        private final JsonNode originalNode;
+        private final List<PatchOperation> patch;
+
+        MutantRecord(String originalId, String originalJsonPath, String mutatorClassName, String operatorClassName,
+                     JsonNode originalNode, List<PatchOperation> patch) {
+            this.originalId = originalId;
+            this.originalJsonPath = originalJsonPath;
+            this.mutatorClassName = mutatorClassName;
+            this.operatorClassName = operatorClassName;
+            this.originalNode = originalNode;
+            this.patch = Collections.unmodifiableList(patch);
+        }
+
+        /** @return the id of the original exchange, or null if it had none */
+        public String getOriginalId() {
+            return originalId;
+        }
+
+        public String getOriginalJsonPath() {
+            return originalJsonPath;
+        }
+
+        public String getMutatorClassName() {
+            return mutatorClassName;
+        }
+
+        public String getOperatorClassName() {
+            return operatorClassName;
+        }
+
+        /** @return the original response, shared by all the mutants of the exchange (read-only) */
+        public JsonNode getOriginalNode() {
+            return originalNode;
+        }
+
+        public List<PatchOperation> getPatch() {
+            return patch;
+        }
+
+        /**
+         * Builds the mutated response by applying the patch to the original, copying
+         * only the containers on the path to the changed locations. The result may share
+         * subtrees with the original, so it must be treated as read-only.
+         *
+         * @return the mutated response
+         */
+        public JsonNode getMutatedNode() {
+            return JsonManager.applyPatch(originalNode, patch);
+        }
+
+        /** @return the mutated response as a {@link StandardHttpResponse} */
+        public StandardHttpResponse getMutatedResponse() {
+            return StandardHttpResponse.fromJsonNode(getMutatedNode());
+        }
+
+        /**
+         * @return the full mutant as written by
+         *         {@link es.us.isa.httpmutator.core.writer.JsonlMutantWriter} with metadata
+         */
+        public ObjectNode toJsonlObject() {
+            ObjectNode line = (ObjectNode) getMutatedResponse().toJsonNode();
+            if (originalId != null) {
+                line.put("_hm_original_id", originalId);
+            }
+            line.put("_hm_original_json_path", originalJsonPath);
+            line.put("_hm_mutator", mutatorClassName);
+            line.put("_hm_operator", operatorClassName);
+            return line;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package es.us.isa.httpmutator.core.reader;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import es.us.isa.httpmutator.core.converter.ConversionException;
@@ -11,6 +13,7 @@ import es.us.isa.httpmutator.core.model.StandardHttpResponse;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.function.Consumer;
 
 /**
@@ -25,11 +28,16 @@ import java.util.function.Consumer;
  *
  * <h2>Key Responsibilities</h2>
  * <ul>
- *     <li>Read and parse the HAR JSON structure.</li>
+ *     <li>Stream the HAR JSON structure up to {@code log.entries}, then parse
+ *         one entry at a time: memory is bounded by the largest entry, not
+ *         by the size of the file.</li>
  *     <li>For each {@code log.entries[*]} element:
  *         <ul>
  *             <li>Extract {@code entry.request} and convert it to
- *                 {@link StandardHttpRequest} (may be {@code null} depending on content).</li>
+ *                 {@link StandardHttpRequest} (may be {@code null} depending on content),
+ *                 lazily, the first time {@link HttpExchange#getRequest()} is called.
+ *                 Mutation only needs the response, so the request of a run writing
+ *                 JSONL is never converted.</li>
  *             <li>Extract {@code entry.response} and convert it to
  *                 {@link StandardHttpResponse} (required for mutation).</li>
  *             <li>Create an {@link HttpExchange} where:
@@ -54,7 +62,11 @@ import java.util.function.Consumer;
  *
  * <h2>Failure Behavior</h2>
  * <ul>
- *     <li>Malformed HAR input results in {@link IOException}.</li>
+ *     <li>Malformed HAR input results in {@link IOException}. As entries are
+ *         streamed, the exchanges before the malformed part have already been
+ *         passed to the consumer.</li>
+ *     <li>A request that cannot be converted results in an
+ *         {@link UncheckedIOException} when it is first accessed.</li>
  *     <li>Missing or invalid response fields result in an error, as a
  *         response is required for mutation.</li>
  * </ul>
@@ -76,33 +88,50 @@ public class HarExchangeReader implements HttpExchangeReader {
     @Override
     public void read(Reader in, Consumer<HttpExchange> consumer) throws IOException {
 
-        JsonNode root = objectMapper.readTree(
-                in instanceof BufferedReader ? in : new BufferedReader(in)
-        );
+        try (JsonParser parser = objectMapper.getFactory().createParser(
+                in instanceof BufferedReader ? in : new BufferedReader(in))) {
 
-        JsonNode entries = root.path("log").path("entries");
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Invalid HAR: expected a JSON object");
+            }
+
+            boolean entriesFound = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken value = parser.nextToken();
+                if ("log".equals(parser.getCurrentName()) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        JsonToken logValue = parser.nextToken();
+                        if ("entries".equals(parser.getCurrentName()) && logValue == JsonToken.START_ARRAY) {
+                            readEntries(parser, consumer);
+                            entriesFound = true;
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
 
-        if (!entries.isArray()) {
-            throw new IOException("Invalid HAR: expected log.entries array");
+            if (!entriesFound) {
+                throw new IOException("Invalid HAR: expected log.entries array");
+            }
         }
+    }
 
+    /**
+     * Reads the elements of {@code log.entries}, the parser being on its start, one at a
+     * time: only the entry being converted is held in memory.
+     */
+    private void readEntries(JsonParser parser, Consumer<HttpExchange> consumer) throws IOException {
         int index = 0;
-        for (JsonNode entry : entries) {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
             index++;
+            JsonNode entry = objectMapper.readTree(parser);
 
             JsonNode rawRequestNode  = entry.path("request");
             JsonNode rawResponseNode = entry.path("response");
 
-            // Convert HAR request -> StandardHttpRequest (may be null)
-            StandardHttpRequest canonicalRequest = null;
-            try {
-                if (rawRequestNode != null && !rawRequestNode.isMissingNode() && !rawRequestNode.isNull()) {
-                    canonicalRequest = converter.toStandardRequest(rawRequestNode);
-                }
-            } catch (ConversionException e) {
-                throw new IOException("Failed to convert HAR request at index " + index, e);
-            }
-
             // Convert HAR response -> StandardHttpResponse (required)
             StandardHttpResponse canonicalResponse;
             try {
@@ -119,9 +148,23 @@ public class HarExchangeReader implements HttpExchangeReader {
                     ? entry.get("id").asText()
                     : String.valueOf(index);
 
-            HttpExchange exchange = new HttpExchange(canonicalRequest, canonicalResponse, id);
+            // Convert HAR request -> StandardHttpRequest (may be null) only if a writer or strategy asks for it
+            HttpExchange exchange;
+            if (rawRequestNode.isMissingNode() || rawRequestNode.isNull()) {
+                exchange = new HttpExchange(null, canonicalResponse, id);
+            } else {
+                int requestIndex = index;
+                exchange = HttpExchange.withLazyRequest(() -> {
+                    try {
+                        return converter.toStandardRequest(rawRequestNode);
+                    } catch (ConversionException e) {
+                        throw new UncheckedIOException(new IOException(
+                                "Failed to convert HAR request at index " + requestIndex, e));
+                    }
+                }, canonicalResponse, id);
+            }
 
             consumer.accept(exchange);
         }
     }
-}
\ No newline at end of file
+}
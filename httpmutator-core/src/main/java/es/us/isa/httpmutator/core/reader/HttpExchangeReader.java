@@ -2,8 +2,13 @@ package es.us.isa.httpmutator.core.reader;
 
 import es.us.isa.httpmutator.core.model.HttpExchange;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.function.Consumer;
 
 /**
@@ -38,6 +43,7 @@ import java.util.function.Consumer;
  * <ul>
  *     <li>{@code JsonlExchangeReader} — reads JSONL where each line is a response
  *         (request is {@code null}).</li>
+ *     <li>{@code MappedJsonlExchangeReader} — reads JSONL files on several threads.</li>
  *     <li>{@code HarExchangeReader} — reads HAR entries; request/response are
  *         converted to {@code StandardHttpRequest} / {@code StandardHttpResponse}.</li>
  *     <li>Custom readers — for API gateway logs, proxy dumps, bespoke monitoring formats, etc.</li>
@@ -54,4 +60,32 @@ public interface HttpExchangeReader {
      * @throws IOException if an input or parsing error occurs
      */
     void read(Reader in, Consumer<HttpExchange> consumer) throws IOException;
+
+    /**
+     * Same as {@link #read(Reader, Consumer)}, for UTF-8 encoded input. Implementations
+     * parsing bytes directly (e.g. {@code JsonlExchangeReader}) override it; by default,
+     * the input is decoded to characters.
+     *
+     * @param in       the input source (streamed), see {@link InputFiles#open} for compressed files
+     * @param consumer callback invoked for each parsed {@link HttpExchange}
+     * @throws IOException if an input or parsing error occurs
+     */
+    default void read(InputStream in, Consumer<HttpExchange> consumer) throws IOException {
+        read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), consumer);
+    }
+
+    /**
+     * Same as {@link #read(InputStream, Consumer)}, for a UTF-8 file, decompressed
+     * according to its extension (see {@link InputFiles#open}). Implementations with
+     * random access to the file (e.g. {@code MappedJsonlExchangeReader}) override it.
+     *
+     * @param file     the input file
+     * @param consumer callback invoked for each parsed {@link HttpExchange}
+     * @throws IOException if an input or parsing error occurs
+     */
+    default void read(Path file, Consumer<HttpExchange> consumer) throws IOException {
+        try (InputStream in = InputFiles.open(file)) {
+            read(in, consumer);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package es.us.isa.httpmutator.core.reader;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens input files for {@link HttpExchangeReader#read(InputStream, java.util.function.Consumer)},
+ * transparently decompressing Zstandard ({@code .zst}) and gzip ({@code .gz}) files,
+ * e.g. "traffic.jsonl.zst" or "capture.har.gz".
+ */
+public final class InputFiles {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private InputFiles() {
+    }
+
+    /**
+     * @return the bytes of the file, decompressed according to its extension
+     */
+    public static InputStream open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        InputStream in = Files.newInputStream(file);
+        try {
+            if (name.endsWith(".zst")) {
+                return new ZstdInputStream(new BufferedInputStream(in, BUFFER_BYTES));
+            }
+            if (name.endsWith(".gz")) {
+                return new GZIPInputStream(in, BUFFER_BYTES);
+            }
+            return in; // Parsers buffer their input
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the file name without its compression extension, if any (e.g. "traffic.jsonl"
+     *         for "traffic.jsonl.zst")
+     */
+    public static String uncompressedName(String fileName) {
+        String lower = fileName.toLowerCase();
+        if (lower.endsWith(".zst")) {
+            return fileName.substring(0, fileName.length() - ".zst".length());
+        }
+        if (lower.endsWith(".gz")) {
+            return fileName.substring(0, fileName.length() - ".gz".length());
+        }
+        return fileName;
+    }
+}
@@ -1,13 +1,19 @@
 package es.us.isa.httpmutator.core.reader;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import es.us.isa.httpmutator.core.model.HttpExchange;
 import es.us.isa.httpmutator.core.model.StandardHttpResponse;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -32,57 +38,154 @@ import java.util.function.Consumer;
  * response = parsed {@link StandardHttpResponse}
  * id       = JSON["id"] or line number
  *
- * <p>Fully streaming, no in-memory accumulation.</p>
+ * <p>Fully streaming, no in-memory accumulation. A single parser reads the whole
+ * input as a sequence of root-level JSON values, and each response is built from
+ * its tokens, without splitting lines or going through an intermediate tree. Prefer
+ * {@link #read(InputStream, Consumer)}, which parses UTF-8 bytes without decoding
+ * them to characters first (see {@link InputFiles#open} for compressed files).</p>
  */
 public class JsonlExchangeReader implements HttpExchangeReader {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
+    static final JsonFactory FACTORY = MAPPER.getFactory();
+    private static final TypeReference<Map<String, Object>> HEADERS_TYPE = new TypeReference<Map<String, Object>>() {};
 
     @Override
     public void read(Reader in, Consumer<HttpExchange> consumer) throws IOException {
         Objects.requireNonNull(in, "reader must not be null");
         Objects.requireNonNull(consumer, "consumer must not be null");
 
-        BufferedReader br = (in instanceof BufferedReader)
-                ? (BufferedReader) in
-                : new BufferedReader(in);
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            read(parser, consumer);
+        }
+    }
 
-        String line;
-        int lineNumber = 0;
+    @Override
+    public void read(InputStream in, Consumer<HttpExchange> consumer) throws IOException {
+        Objects.requireNonNull(in, "input stream must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
 
-        while ((line = br.readLine()) != null) {
-            lineNumber++;
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            read(parser, consumer);
+        }
+    }
 
-            if (line.isEmpty()) {
-                continue;
-            }
+    private static void read(JsonParser parser, Consumer<HttpExchange> consumer) throws IOException {
+        readRecords(parser, (lineNumber, id, response) ->
+                consumer.accept(new HttpExchange(null, response, id != null ? id : String.valueOf(lineNumber))));
+    }
+
+    /**
+     * Receives the responses read by {@link #readRecords}.
+     */
+    interface RecordConsumer {
+        /**
+         * @param lineNumber line of the response, counted by the parser (1-based)
+         * @param id         explicit "id" of the response, or null if it has none
+         */
+        void accept(int lineNumber, String id, StandardHttpResponse response);
+    }
 
-            JsonNode node;
+    /**
+     * Reads every response of the input of a parser, in order.
+     *
+     * @throws InvalidRecordException if a response is not valid JSON or not a valid response
+     */
+    static void readRecords(JsonParser parser, RecordConsumer records) throws IOException {
+        while (true) {
+            JsonToken token;
             try {
-                node = MAPPER.readTree(line);
-            } catch (Exception e) {
-                throw new IOException("Invalid JSON at line " + lineNumber, e);
+                token = parser.nextToken();
+            } catch (JsonParseException e) {
+                throw new InvalidRecordException("Invalid JSON", parser.getCurrentLocation().getLineNr(), e);
+            }
+            if (token == null) {
+                return;
             }
 
-            // Determine id: prefer explicit "id" field, otherwise line number
-            String id;
-            JsonNode idNode = node.get("id");
-            if (idNode != null && !idNode.isNull()) {
-                id = idNode.asText();
-            } else {
-                id = String.valueOf(lineNumber);
+            int lineNumber = parser.getTokenLocation().getLineNr();
+            if (token != JsonToken.START_OBJECT) {
+                throw new InvalidRecordException("Invalid canonical StandardHttpResponse", lineNumber, null);
             }
 
+            String[] id = new String[1];
             StandardHttpResponse response;
             try {
-                response = StandardHttpResponse.fromJsonNode(node);
-            } catch (Exception e) {
-                throw new IOException("Invalid canonical StandardHttpResponse at line " + lineNumber, e);
+                response = readResponse(parser, id);
+            } catch (JsonParseException e) {
+                throw new InvalidRecordException("Invalid JSON", lineNumber, e);
+            } catch (IOException | RuntimeException e) {
+                throw new InvalidRecordException("Invalid canonical StandardHttpResponse", lineNumber, e);
             }
 
-            HttpExchange exchange = new HttpExchange(null, response, id);
+            records.accept(lineNumber, id[0], response);
+        }
+    }
+
+    /**
+     * Reads the fields of a response, the parser being on its start. Values are
+     * converted as {@link StandardHttpResponse#fromJsonNode} would.
+     */
+    private static StandardHttpResponse readResponse(JsonParser parser, String[] idHolder) throws IOException {
+        int statusCode = 0;
+        Map<String, Object> headers = null;
+        JsonNode body = null;
+        String id = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "Status Code":
+                    statusCode = value == JsonToken.VALUE_NUMBER_INT
+                            ? parser.getIntValue()
+                            : MAPPER.readValue(parser, int.class); // Coerced, e.g. "200" or null
+                    break;
+
+                case "Headers":
+                    headers = MAPPER.readValue(parser, HEADERS_TYPE);
+                    break;
+
+                case "Body":
+                    body = MAPPER.readTree(parser);
+                    break;
+
+                case "id":
+                    // Prefer explicit "id" field, otherwise line number
+                    id = value == JsonToken.VALUE_NULL ? null : MAPPER.<JsonNode>readTree(parser).asText();
+                    break;
+
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        StandardHttpResponse response = StandardHttpResponse.of(statusCode, headers, body);
+        response.setHeaders(headers); // Keep missing headers null, as when deserialized
+        idHolder[0] = id;
+        return response;
+    }
+
+    /**
+     * Input error at a given line, which readers parsing parts of a file (see
+     * {@link MappedJsonlExchangeReader}) shift to the line in the whole file.
+     */
+    static final class InvalidRecordException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final String problem;
+        private final int lineNumber;
+
+        InvalidRecordException(String problem, int lineNumber, Throwable cause) {
+            super(problem + " at line " + lineNumber, cause);
+            this.problem = problem;
+            this.lineNumber = lineNumber;
+        }
 
-            consumer.accept(exchange);
+        /** @return the same error, {@code lines} lines further in the input */
+        InvalidRecordException shifted(long lines) {
+            return new InvalidRecordException(problem, (int) (lineNumber + lines), getCause());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,207 @@
+package es.us.isa.httpmutator.core.reader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * {@link JsonlExchangeReader} parsing large JSONL files on several threads.
+ *
+ * <p>The file is memory-mapped in chunks of about {@code chunkBytes} bytes, each ending
+ * at a line boundary, and the chunks are parsed in parallel. Exchanges are still passed
+ * to the consumer one at a time, on the calling thread and in file order, with the same
+ * ids as {@link JsonlExchangeReader} (the line number when a response has no "id"):
+ * chunks are parsed with line numbers relative to their start, which are shifted once
+ * the lines of the previous chunks are known.</p>
+ *
+ * <p>At most {@code 2 * threads} chunks are parsed or waiting to be consumed at any time,
+ * so memory is bounded by the parsed responses of those chunks.</p>
+ *
+ * <p>Only uncompressed files given to {@link #read(Path, Consumer)} are read in parallel.
+ * Each response must be on a single line, as required by JSONL. Compressed files,
+ * readers and streams are read sequentially, as by {@link JsonlExchangeReader}.</p>
+ */
+public class MappedJsonlExchangeReader extends JsonlExchangeReader {
+
+    /**
+     * Default size of the chunks parsed by each thread. Parsed responses are far larger
+     * than their JSON and are kept until consumed, so larger chunks mostly add GC work.
+     */
+    public static final int DEFAULT_CHUNK_BYTES = 256 << 10; // 256 KiB
+
+    private static final AtomicInteger READER_COUNT = new AtomicInteger();
+
+    private final int threads;
+    private final int chunkBytes;
+
+    /**
+     * @param threads number of threads parsing the chunks of the file
+     */
+    public MappedJsonlExchangeReader(int threads) {
+        this(threads, DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * @param threads    number of threads parsing the chunks of the file
+     * @param chunkBytes approximate size of the chunks (a chunk holds at least one line)
+     */
+    public MappedJsonlExchangeReader(int threads, int chunkBytes) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1");
+        }
+        if (chunkBytes < 1) {
+            throw new IllegalArgumentException("chunkBytes must be >= 1");
+        }
+        this.threads = threads;
+        this.chunkBytes = chunkBytes;
+    }
+
+    @Override
+    public void read(Path file, Consumer<HttpExchange> consumer) throws IOException {
+        if (!InputFiles.uncompressedName(file.getFileName().toString()).equals(file.getFileName().toString())) {
+            super.read(file, consumer);
+            return;
+        }
+
+        int reader = READER_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "httpmutator-jsonl-" + reader + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long next = 0;
+            long linesBefore = 0;
+            Deque<Future<Chunk>> parsing = new ArrayDeque<>();
+
+            while (next < size || !parsing.isEmpty()) {
+                // Keep the threads busy, without parsing too far ahead of the consumer
+                while (next < size && parsing.size() < 2 * threads) {
+                    ByteBuffer chunk = mapChunk(channel, next, size);
+                    next += chunk.remaining();
+                    parsing.add(executor.submit(() -> parse(chunk)));
+                }
+
+                Chunk chunk = await(parsing.poll());
+                for (Record record : chunk.records) {
+                    String id = record.id != null ? record.id : String.valueOf(linesBefore + record.lineNumber);
+                    consumer.accept(new HttpExchange(null, record.response, id));
+                }
+                if (chunk.failure != null) {
+                    throw chunk.failure.shifted(linesBefore);
+                }
+                linesBefore += chunk.lines;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Maps the chunk starting at {@code start}: about {@link #chunkBytes} bytes, up to the
+     * end of the last line they contain, or the first line if it is longer.
+     */
+    private ByteBuffer mapChunk(FileChannel channel, long start, long size) throws IOException {
+        long end = Math.min(start + chunkBytes, size);
+        if (end < size) {
+            ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            int newline = window.limit() - 1;
+            while (newline >= 0 && window.get(newline) != '\n') {
+                newline--;
+            }
+            if (newline >= 0) {
+                window.limit(newline + 1);
+                return window;
+            }
+            end = endOfLine(channel, end, size);
+        }
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("Line too long at byte " + start);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    }
+
+    /** @return the position after the first newline at or after {@code from}, or the end of the file */
+    private long endOfLine(FileChannel channel, long from, long size) throws IOException {
+        while (from < size) {
+            ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(chunkBytes, size - from));
+            for (int i = 0; i < window.limit(); i++) {
+                if (window.get(i) == '\n') {
+                    return from + i + 1;
+                }
+            }
+            from += window.limit();
+        }
+        return size;
+    }
+
+    private static Chunk parse(ByteBuffer bytes) throws IOException {
+        Chunk chunk = new Chunk();
+        try (JsonParser parser = FACTORY.createParser(new ByteBufferBackedInputStream(bytes))) {
+            try {
+                readRecords(parser, (lineNumber, id, response) -> chunk.records.add(new Record(lineNumber, id, response)));
+            } catch (InvalidRecordException e) {
+                chunk.failure = e; // Thrown once the records before it have been consumed
+            }
+            chunk.lines = parser.getCurrentLocation().getLineNr() - 1;
+        }
+        return chunk;
+    }
+
+    private static Chunk await(Future<Chunk> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading JSONL chunks");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to read JSONL chunk", cause);
+        }
+    }
+
+    private static final class Chunk {
+        final List<Record> records = new ArrayList<>();
+        long lines;
+        InvalidRecordException failure;
+    }
+
+    private static final class Record {
+        final int lineNumber;
+        final String id;
+        final StandardHttpResponse response;
+
+        Record(int lineNumber, String id, StandardHttpResponse response) {
+            this.lineNumber = lineNumber;
+            this.id = id;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package es.us.isa.httpmutator.core.reporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Reporter whose state can be saved in a checkpoint and restored when an interrupted
+ * run is resumed, so that its final report covers the mutants of both runs.
+ */
+public interface CheckpointableReporter extends MutantReporter {
+
+    /**
+     * @return the state of the reporter, i.e., everything it collected from
+     *         {@link #onMutant} so far, as a JSON
+     */
+    JsonNode saveState();
+
+    /**
+     * Restores a state returned by {@link #saveState()}, before any mutant is reported.
+     *
+     * @param state the saved state
+     */
+    void restoreState(JsonNode state);
+}
@@ -1,15 +1,27 @@
 package es.us.isa.httpmutator.core.reporter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import es.us.isa.httpmutator.core.model.HttpExchange;
 import es.us.isa.httpmutator.core.model.Mutant;
 import es.us.isa.httpmutator.core.model.StandardHttpResponse;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Produces a single CSV containing one row per request-exchange,
@@ -21,19 +33,37 @@ import java.util.concurrent.ConcurrentHashMap;
  * ex-1,3,0,1,5
  * ex-2,0,2,0,0
  * TOTAL,3,2,1,5
+ *
+ * The counts can be saved in a checkpoint and restored when resuming a run
+ * (see {@link CheckpointableReporter}). Each checkpoint appends the rows collected
+ * since the previous one to a file next to the report ("&lt;report&gt;.rows.jsonl"),
+ * and only saves the length of that file, so checkpoints stay small however many
+ * exchanges the run has. The file is deleted once the report is written.
  */
-public class CsvReporter implements MutantReporter {
+public class CsvReporter implements CheckpointableReporter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     /** All distinct operator keys observed globally (mutator:operator). */
     private final Set<String> allOperators = ConcurrentHashMap.newKeySet();
 
-    /** Per ID → (operator → count). */
+    /** Per ID → (operator → count), for the rows not saved by a checkpoint yet. */
     private final Map<String, Map<String, Integer>> perIdCounts = new ConcurrentHashMap<>();
 
+    /** Shared by onMutant, exclusive while checkpoints move the rows to the saved rows file. */
+    private final ReadWriteLock rowsLock = new ReentrantReadWriteLock();
+
     private final Path outputFile;
 
+    /** Rows saved by checkpoints, one JSON object per line. */
+    private final Path savedRowsFile;
+
+    /** Whether savedRowsFile belongs to this run (and is appended to), guarded by rowsLock. */
+    private boolean rowsSaved = false;
+
     public CsvReporter(Path outputFile) {
         this.outputFile = outputFile;
+        this.savedRowsFile = outputFile.resolveSibling(outputFile.getFileName() + ".rows.jsonl");
     }
 
     @Override
@@ -48,14 +78,107 @@ public class CsvReporter implements MutantReporter {
 
         allOperators.add(key);
 
-        perIdCounts
-                .computeIfAbsent(id, k -> new ConcurrentHashMap<>())
-                .merge(key, 1, Integer::sum);
+        rowsLock.readLock().lock();
+        try {
+            perIdCounts
+                    .computeIfAbsent(id, k -> new ConcurrentHashMap<>())
+                    .merge(key, 1, Integer::sum);
+        } finally {
+            rowsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the rows collected since the previous checkpoint to the saved rows file.
+     *
+     * @return {"operators": [...], "savedRowsBytes": length of the saved rows file}
+     */
+    @Override
+    public JsonNode saveState() {
+        rowsLock.writeLock().lock();
+        try {
+            // The file of a previous run is overwritten, unless this run resumes it
+            StandardOpenOption mode = rowsSaved ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+            try (BufferedWriter out = Files.newBufferedWriter(savedRowsFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+                for (Map.Entry<String, Map<String, Integer>> e : perIdCounts.entrySet()) {
+                    ObjectNode row = JsonNodeFactory.instance.objectNode();
+                    row.put("id", e.getKey());
+                    ObjectNode opCounts = row.putObject("counts");
+                    e.getValue().forEach(opCounts::put);
+                    out.write(MAPPER.writeValueAsString(row));
+                    out.write('\n');
+                }
+            }
+            rowsSaved = true;
+            perIdCounts.clear();
+
+            ObjectNode state = JsonNodeFactory.instance.objectNode();
+            List<String> sortedOperators = new ArrayList<>(allOperators);
+            Collections.sort(sortedOperators);
+            sortedOperators.forEach(state.putArray("operators")::add);
+            state.put("savedRowsBytes", Files.size(savedRowsFile));
+            return state;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save the rows of " + outputFile, e);
+        } finally {
+            rowsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Restores a state returned by {@link #saveState()}: rows saved after it, by the
+     * interrupted part of the run, are discarded.
+     */
+    @Override
+    public void restoreState(JsonNode state) {
+        for (JsonNode op : state.path("operators")) {
+            allOperators.add(op.asText());
+        }
+
+        long savedRowsBytes = state.path("savedRowsBytes").asLong();
+        rowsLock.writeLock().lock();
+        try {
+            if (Files.exists(savedRowsFile) ? Files.size(savedRowsFile) < savedRowsBytes : savedRowsBytes > 0) {
+                throw new IllegalStateException("Rows saved by the checkpoint are missing from " + savedRowsFile);
+            }
+            try (FileChannel rows = FileChannel.open(savedRowsFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                rows.truncate(savedRowsBytes);
+            }
+            rowsSaved = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore the rows of " + outputFile, e);
+        } finally {
+            rowsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the rows saved by checkpoints to the ones collected since the last one.
+     */
+    private void loadSavedRows() throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(savedRowsFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                JsonNode row = MAPPER.readTree(line);
+                Map<String, Integer> opCounts = perIdCounts.computeIfAbsent(row.get("id").asText(),
+                        k -> new ConcurrentHashMap<>());
+                Iterator<Map.Entry<String, JsonNode>> ops = row.get("counts").fields();
+                while (ops.hasNext()) {
+                    Map.Entry<String, JsonNode> op = ops.next();
+                    opCounts.merge(op.getKey(), op.getValue().asInt(), Integer::sum);
+                }
+            }
+        }
     }
 
     @Override
     public void onFinished() throws IOException {
 
+        if (rowsSaved) {
+            loadSavedRows();
+        }
+
         // Sort operator columns alphabetically for stable output
         List<String> sortedOperators = new ArrayList<>(allOperators);
         Collections.sort(sortedOperators);
@@ -101,5 +224,10 @@ public class CsvReporter implements MutantReporter {
             }
             bw.write("\n");
         }
+
+        if (rowsSaved) {
+            Files.delete(savedRowsFile);
+            rowsSaved = false;
+        }
     }
 }
\ No newline at end of file
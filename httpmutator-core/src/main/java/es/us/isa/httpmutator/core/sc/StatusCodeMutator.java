@@ -1,9 +1,8 @@
 package es.us.isa.httpmutator.core.sc;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -16,21 +15,37 @@ import es.us.isa.httpmutator.core.model.MutantGroup;
 import es.us.isa.httpmutator.core.sc.operator.StatusCodeReplacementWith20XOperator;
 import es.us.isa.httpmutator.core.sc.operator.StatusCodeReplacementWith40XOperator;
 import es.us.isa.httpmutator.core.sc.operator.StatusCodeReplacementWith50XOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
+import es.us.isa.httpmutator.core.util.RandomUtils;
 
 public class StatusCodeMutator extends AbstractMutator {
     public StatusCodeMutator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public StatusCodeMutator(MutationConfig config) {
         super();
-        prob = Float.parseFloat(readProperty("operator.sc.prob"));
-        operators.put(OperatorNames.REPLACE_WITH_20X, new StatusCodeReplacementWith20XOperator());
-        operators.put(OperatorNames.REPLACE_WITH_40X, new StatusCodeReplacementWith40XOperator());
-        operators.put(OperatorNames.REPLACE_WITH_50X, new StatusCodeReplacementWith50XOperator());
+        prob = config.getFloat("operator.sc.prob");
+        operators.put(OperatorNames.REPLACE_WITH_20X, new StatusCodeReplacementWith20XOperator(config));
+        operators.put(OperatorNames.REPLACE_WITH_40X, new StatusCodeReplacementWith40XOperator(config));
+        operators.put(OperatorNames.REPLACE_WITH_50X, new StatusCodeReplacementWith50XOperator(config));
     }
 
+    /**
+     * Generates one mutant per operator. Each operator draws from a random stream of
+     * its own, derived from the seed of the current scope and the operator name (see
+     * {@link RandomUtils#currentSeed()}).
+     */
     public void getAllMutants(int statusCode, double probability, Consumer<MutantGroup> consumer) {
         List<Mutant> mutants = new ArrayList<>();
-        for (AbstractOperator operator : operators.values()) {
-            JsonNode mutant = JsonNodeFactory.instance.numberNode((Integer) operator.mutate(statusCode));
+        long seed = RandomUtils.currentSeed();
+        for (Map.Entry<String, AbstractOperator> entry : operators.entrySet()) {
+            AbstractOperator operator = entry.getValue();
+            Integer mutatedStatusCode = RandomUtils.callWithSeed(RandomUtils.deriveSeed(seed, "Status Code", entry.getKey()),
+                    () -> (Integer) operator.mutate(statusCode));
+            JsonNode mutant = JsonNodeFactory.instance.numberNode(mutatedStatusCode);
             mutants.add(new Mutant("Status Code", mutant, this.getClass(), operator.getClass()));
         }
         consumer.accept(new MutantGroup("Status Code", mutants));
@@ -1,10 +1,9 @@
 package es.us.isa.httpmutator.core.sc.operator;
 
-
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 
 /**
@@ -14,8 +13,12 @@ public class StatusCodeReplacementWith20XOperator extends AbstractOperator {
     private final int[] SC20X = {200, 201, 202, 204};
 
     public StatusCodeReplacementWith20XOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public StatusCodeReplacementWith20XOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.sc.weight." + OperatorNames.REPLACE_WITH_20X));
+        weight = config.getFloat("operator.sc.weight." + OperatorNames.REPLACE_WITH_20X);
     }
 
     @Override
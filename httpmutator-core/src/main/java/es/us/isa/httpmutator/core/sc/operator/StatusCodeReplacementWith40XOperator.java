@@ -1,9 +1,10 @@
 package es.us.isa.httpmutator.core.sc.operator;
 
 import es.us.isa.httpmutator.core.util.OperatorNames;
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
 
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 /**
  * Operator that mutates the status code of an HTTP response by changing it to a different one.
@@ -12,8 +13,12 @@ public class StatusCodeReplacementWith40XOperator extends AbstractOperator{
     private final int[] SC40X = {400, 401, 403, 404, 409};
 
     public StatusCodeReplacementWith40XOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public StatusCodeReplacementWith40XOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.sc.weight." + OperatorNames.REPLACE_WITH_40X));
+        weight = config.getFloat("operator.sc.weight." + OperatorNames.REPLACE_WITH_40X);
     }
 
     @Override
@@ -1,17 +1,21 @@
 package es.us.isa.httpmutator.core.sc.operator;
 
-import static es.us.isa.httpmutator.core.util.PropertyManager.readProperty;
-
 import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
 import es.us.isa.httpmutator.core.util.OperatorNames;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 
 
 public class StatusCodeReplacementWith50XOperator extends AbstractOperator {
     private final int[] SC50X = {500, 501, 502, 503, 504};
 
     public StatusCodeReplacementWith50XOperator() {
+        this(PropertyManager.getConfig());
+    }
+
+    public StatusCodeReplacementWith50XOperator(MutationConfig config) {
         super();
-        weight = Float.parseFloat(readProperty("operator.sc.weight." + OperatorNames.REPLACE_WITH_50X));
+        weight = config.getFloat("operator.sc.weight." + OperatorNames.REPLACE_WITH_50X);
     }
 
     @Override
@@ -0,0 +1,176 @@
+package es.us.isa.httpmutator.core.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import es.us.isa.httpmutator.core.model.CandidateGroup;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutantGroup;
+
+/**
+ * Strategy that enforces hard limits on the mutants selected by another strategy:
+ * <ul>
+ *     <li>at most {@code maxPerExchange} mutants per exchange;</li>
+ *     <li>at most {@code maxPerPath} mutants per endpoint (request method and URL
+ *     path, if the exchange has a request) and JSON path, where array indices are
+ *     not distinguished (e.g., "Body/items/0/id" and "Body/items/1/id" share a
+ *     budget);</li>
+ *     <li>at most {@code maxTotal} mutants in total, over the lifetime of the strategy
+ *     (e.g., a whole {@code mutateStream} run).</li>
+ * </ul>
+ * Once a budget is exhausted, the groups it covers are discarded without generating
+ * their mutants, so output volume and runtime stay bounded no matter how large the
+ * input is. Within a group, the mutants kept are the first ones selected by the
+ * underlying strategy.
+ *
+ * Budgets are thread-safe. When exchanges are processed concurrently, the global and
+ * per-path budgets are consumed in the order groups are processed, so which mutants
+ * are kept may vary from run to run (the limits always hold).
+ */
+public class BudgetStrategy implements MutationStrategy {
+
+    /** Value of a limit meaning that there is no limit. */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final MutationStrategy delegate;
+    private final long maxPerExchange;
+    private final long maxPerPath;
+    private final long maxTotal;
+
+    private final ConcurrentMap<String, AtomicLong> selectedPerPath = new ConcurrentHashMap<>();
+    private final AtomicLong selectedTotal = new AtomicLong();
+
+    /**
+     * @param delegate       strategy whose selection is limited
+     * @param maxPerExchange maximum number of mutants per exchange, or {@link #UNLIMITED}
+     * @param maxPerPath     maximum number of mutants per endpoint and JSON path, or {@link #UNLIMITED}
+     * @param maxTotal       maximum number of mutants overall, or {@link #UNLIMITED}
+     */
+    public BudgetStrategy(MutationStrategy delegate, long maxPerExchange, long maxPerPath, long maxTotal) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (maxPerExchange < 0 || maxPerPath < 0 || maxTotal < 0) {
+            throw new IllegalArgumentException("Budgets must not be negative");
+        }
+        this.maxPerExchange = maxPerExchange;
+        this.maxPerPath = maxPerPath;
+        this.maxTotal = maxTotal;
+    }
+
+    /**
+     * Selects mutants outside of any exchange: the per-exchange budget does not apply.
+     */
+    @Override
+    public List<Mutant> selectMutants(MutantGroup group) {
+        return select("", group.getIdentifier(), UNLIMITED, () -> delegate.selectMutants(group));
+    }
+
+    /**
+     * Same as {@link #selectMutants(MutantGroup)}, only generating the mutants of groups
+     * with some budget left.
+     */
+    @Override
+    public List<Mutant> selectCandidates(CandidateGroup group) {
+        return select("", group.getIdentifier(), UNLIMITED, () -> delegate.selectCandidates(group));
+    }
+
+    @Override
+    public MutationStrategy forExchange(HttpExchange exchange) {
+        return new ExchangeBudget(delegate.forExchange(exchange), Endpoints.endpointOf(exchange));
+    }
+
+    /** @return the number of mutants selected so far */
+    public long getSelectedTotal() {
+        return selectedTotal.get();
+    }
+
+    /**
+     * Selects the mutants of a group within the budgets, and consumes the budgets.
+     *
+     * @param exchangeBudget mutants left in the budget of the exchange
+     * @param selection      selects the mutants of the group; only called if some budget is left
+     */
+    private List<Mutant> select(String endpoint, String identifier, long exchangeBudget,
+                                Supplier<List<Mutant>> selection) {
+        AtomicLong pathCounter = maxPerPath == UNLIMITED ? null
+                : selectedPerPath.computeIfAbsent(endpoint + " " + Endpoints.normalizePath(identifier),
+                        k -> new AtomicLong());
+        if (exchangeBudget <= 0 || remaining(pathCounter, maxPerPath) <= 0 || remaining(selectedTotal, maxTotal) <= 0) {
+            return new ArrayList<>(); // Do not even generate the mutants
+        }
+
+        List<Mutant> selected = selection.get();
+        long wanted = Math.min(selected.size(), exchangeBudget);
+        long grantedByPath = acquire(pathCounter, maxPerPath, wanted);
+        long granted = acquire(selectedTotal, maxTotal, grantedByPath);
+        if (pathCounter != null && granted < grantedByPath) {
+            pathCounter.addAndGet(granted - grantedByPath); // Give back what the global budget did not allow
+        }
+        return granted < selected.size() ? new ArrayList<>(selected.subList(0, (int) granted)) : selected;
+    }
+
+    private static long remaining(AtomicLong counter, long max) {
+        return counter == null || max == UNLIMITED ? UNLIMITED : max - counter.get();
+    }
+
+    /**
+     * Takes up to {@code wanted} units from a budget.
+     *
+     * @return the number of units taken
+     */
+    private static long acquire(AtomicLong counter, long max, long wanted) {
+        if (max == UNLIMITED) {
+            if (counter != null) {
+                counter.addAndGet(wanted);
+            }
+            return wanted;
+        }
+        while (true) {
+            long used = counter.get();
+            long granted = Math.max(0, Math.min(wanted, max - used));
+            if (granted == 0 || counter.compareAndSet(used, used + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * Budget of a single exchange, on top of the budgets shared by all exchanges.
+     */
+    private final class ExchangeBudget implements MutationStrategy {
+        private final MutationStrategy exchangeDelegate;
+        private final String endpoint;
+        private final AtomicLong selectedInExchange = new AtomicLong();
+
+        ExchangeBudget(MutationStrategy exchangeDelegate, String endpoint) {
+            this.exchangeDelegate = exchangeDelegate;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public List<Mutant> selectMutants(MutantGroup group) {
+            return track(select(endpoint, group.getIdentifier(), exchangeRemaining(),
+                    () -> exchangeDelegate.selectMutants(group)));
+        }
+
+        @Override
+        public List<Mutant> selectCandidates(CandidateGroup group) {
+            return track(select(endpoint, group.getIdentifier(), exchangeRemaining(),
+                    () -> exchangeDelegate.selectCandidates(group)));
+        }
+
+        private long exchangeRemaining() {
+            return maxPerExchange == UNLIMITED ? UNLIMITED : maxPerExchange - selectedInExchange.get();
+        }
+
+        private List<Mutant> track(List<Mutant> selected) {
+            selectedInExchange.addAndGet(selected.size());
+            return selected;
+        }
+    }
+}
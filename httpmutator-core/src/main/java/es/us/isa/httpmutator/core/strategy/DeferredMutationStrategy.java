@@ -0,0 +1,24 @@
+package es.us.isa.httpmutator.core.strategy;
+
+import java.util.function.BiConsumer;
+
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+
+/**
+ * Strategy that may hold back mutants while a stream is processed and only decide at
+ * the end which ones to emit (e.g., {@link ReservoirSamplingStrategy}). Mutants held
+ * back are not returned by the select... methods; {@code HttpMutator.mutateStream}
+ * drains them once the whole input has been read, and passes them to the writers and
+ * reporters.
+ */
+public interface DeferredMutationStrategy extends MutationStrategy {
+
+    /**
+     * Passes the consumer the mutants held back so far, each with its exchange, and
+     * forgets them.
+     *
+     * @param consumer consumer of the mutants held back
+     */
+    void drain(BiConsumer<HttpExchange, Mutant> consumer);
+}
@@ -0,0 +1,59 @@
+package es.us.isa.httpmutator.core.strategy;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.StandardHttpRequest;
+
+/**
+ * Keys used by the strategies that keep track of what has been selected per endpoint
+ * and JSON path (see {@link BudgetStrategy} and {@link PathNoveltyStrategy}).
+ */
+final class Endpoints {
+
+    private static final Pattern ARRAY_INDEX = Pattern.compile("/\\d+(?=/|$)");
+
+    // URL path segments that are most likely identifiers: numbers, UUIDs and long hexadecimal strings
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,})(?=/|$)");
+
+    private Endpoints() {
+    }
+
+    /**
+     * @return the JSON path of a group or mutant identifier with array indices replaced
+     *         by "*", so that e.g. "Body/items/0/id" and "Body/items/1/id" are the same path
+     */
+    static String normalizePath(String identifier) {
+        return ARRAY_INDEX.matcher(identifier).replaceAll("/*");
+    }
+
+    /**
+     * @return the request method and URL path of an exchange, or "" if it has no request
+     */
+    static String endpointOf(HttpExchange exchange) {
+        StandardHttpRequest request = exchange == null ? null : exchange.getRequest();
+        if (request == null) {
+            return "";
+        }
+        String url = request.getUrl() == null ? "" : request.getUrl();
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            int query = url.indexOf('?');
+            path = query < 0 ? url : url.substring(0, query);
+        }
+        return request.getMethod() + " " + (path == null ? "" : path);
+    }
+
+    /**
+     * @return the request method and URL template of an exchange, i.e., its URL path
+     *         with identifiers replaced by "{id}" (e.g., "GET /orders/{id}" for
+     *         "GET /orders/42?expand=items"), or "" if it has no request
+     */
+    static String templateOf(HttpExchange exchange) {
+        return ID_SEGMENT.matcher(endpointOf(exchange)).replaceAll("/{id}");
+    }
+}
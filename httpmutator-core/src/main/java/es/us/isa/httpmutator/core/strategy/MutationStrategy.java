@@ -2,6 +2,8 @@ package es.us.isa.httpmutator.core.strategy;
 
 import java.util.List;
 
+import es.us.isa.httpmutator.core.model.CandidateGroup;
+import es.us.isa.httpmutator.core.model.HttpExchange;
 import es.us.isa.httpmutator.core.model.Mutant;
 import es.us.isa.httpmutator.core.model.MutantGroup;
 
@@ -19,4 +21,37 @@ public interface MutationStrategy {
      * @return a list of mutants chosen for application
      */
     List<Mutant> selectMutants(MutantGroup group);
+
+    /**
+     * Two-phase selection: chooses from candidates that have not been generated yet
+     * and returns the chosen ones, generated with {@link es.us.isa.httpmutator.core.model.MutantCandidate#materialize()}.
+     * The engine calls this method instead of {@link #selectMutants(MutantGroup)}, so
+     * strategies that can decide from the path, mutator and operator of each
+     * candidate should override it to avoid generating the mutants they discard.
+     *
+     * The default implementation generates every candidate and delegates to
+     * {@link #selectMutants(MutantGroup)}.
+     *
+     * @param group the complete list of candidate mutants
+     * @return a list of mutants chosen for application
+     */
+    default List<Mutant> selectCandidates(CandidateGroup group) {
+        return selectMutants(group.materialize());
+    }
+
+    /**
+     * Returns the strategy used to select the mutants of one exchange. The engine calls
+     * it once per exchange and uses the returned strategy for all the groups of that
+     * exchange, so strategies can keep per-exchange state (e.g., a budget) in the
+     * returned object. Since exchanges may be processed concurrently, state shared by
+     * all exchanges must be thread-safe.
+     *
+     * The default implementation returns this strategy.
+     *
+     * @param exchange the exchange whose mutants are about to be selected
+     * @return the strategy for the groups of that exchange
+     */
+    default MutationStrategy forExchange(HttpExchange exchange) {
+        return this;
+    }
 }
\ No newline at end of file
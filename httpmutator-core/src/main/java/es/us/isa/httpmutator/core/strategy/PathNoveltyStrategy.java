@@ -0,0 +1,183 @@
+package es.us.isa.httpmutator.core.strategy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.model.CandidateGroup;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutantCandidate;
+import es.us.isa.httpmutator.core.model.MutantGroup;
+
+/**
+ * Strategy that only lets another strategy select mutants that are still novel: each
+ * combination of endpoint, JSON path and operator is selected at most
+ * {@code maxPerCombination} times over the lifetime of the strategy. The endpoint is
+ * the request method and URL template of the exchange (its URL path with identifiers
+ * such as numbers or UUIDs replaced by "{id}"), and array indices are not
+ * distinguished in JSON paths. On a capture with thousands of calls to
+ * {@code GET /orders}, the mutants of e.g. the price of the items with a given operator
+ * are thus only generated for the first calls, and coverage of paths and operators is
+ * kept with a fraction of the output.
+ *
+ * Candidates of combinations already selected often enough are discarded before the
+ * underlying strategy sees them, so their mutants are never generated. Combinations
+ * are counted in a table of at most {@code maxTableSize} entries; when it is full,
+ * the least recently used combination is forgotten (and becomes novel again).
+ *
+ * Thread-safe: the limit always holds, but when exchanges are processed concurrently,
+ * which exchange gets the mutants of a combination may vary from run to run.
+ */
+public class PathNoveltyStrategy implements MutationStrategy {
+
+    /** Default maximum number of combinations counted. */
+    public static final int DEFAULT_TABLE_SIZE = 100_000;
+
+    private final MutationStrategy delegate;
+    private final int maxPerCombination;
+    private final int maxTableSize;
+
+    private final Map<String, long[]> selectedPerCombination; // Access order, for LRU eviction
+    private final AtomicLong skipped = new AtomicLong();
+
+    /**
+     * @param delegate          strategy whose selection is limited to novel mutants
+     * @param maxPerCombination times each endpoint, JSON path and operator combination may be selected
+     */
+    public PathNoveltyStrategy(MutationStrategy delegate, int maxPerCombination) {
+        this(delegate, maxPerCombination, DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * @param delegate          strategy whose selection is limited to novel mutants
+     * @param maxPerCombination times each endpoint, JSON path and operator combination may be selected
+     * @param maxTableSize      maximum number of combinations counted
+     */
+    public PathNoveltyStrategy(MutationStrategy delegate, int maxPerCombination, int maxTableSize) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (maxPerCombination < 1) {
+            throw new IllegalArgumentException("maxPerCombination must be >= 1");
+        }
+        if (maxTableSize < 1) {
+            throw new IllegalArgumentException("maxTableSize must be >= 1");
+        }
+        this.maxPerCombination = maxPerCombination;
+        this.maxTableSize = maxTableSize;
+        this.selectedPerCombination = new LinkedHashMap<String, long[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+                return size() > PathNoveltyStrategy.this.maxTableSize;
+            }
+        };
+    }
+
+    /**
+     * Selects mutants outside of any exchange, as if they all had the same endpoint.
+     */
+    @Override
+    public List<Mutant> selectMutants(MutantGroup group) {
+        return selectMutants("", group, delegate);
+    }
+
+    /**
+     * Same as {@link #selectMutants(MutantGroup)}, only generating novel mutants.
+     */
+    @Override
+    public List<Mutant> selectCandidates(CandidateGroup group) {
+        return selectCandidates("", group, delegate);
+    }
+
+    @Override
+    public MutationStrategy forExchange(HttpExchange exchange) {
+        MutationStrategy exchangeDelegate = delegate.forExchange(exchange);
+        String endpoint = Endpoints.templateOf(exchange);
+        return new MutationStrategy() {
+            @Override
+            public List<Mutant> selectMutants(MutantGroup group) {
+                return PathNoveltyStrategy.this.selectMutants(endpoint, group, exchangeDelegate);
+            }
+
+            @Override
+            public List<Mutant> selectCandidates(CandidateGroup group) {
+                return PathNoveltyStrategy.this.selectCandidates(endpoint, group, exchangeDelegate);
+            }
+        };
+    }
+
+    /** @return the number of mutants and candidates discarded so far for not being novel */
+    public long getSkippedCount() {
+        return skipped.get();
+    }
+
+    private List<Mutant> selectMutants(String endpoint, MutantGroup group, MutationStrategy strategy) {
+        List<Mutant> novel = new ArrayList<>();
+        for (Mutant mutant : group.getMutants()) {
+            if (isNovel(combination(endpoint, mutant.getOriginalJsonPath(), mutant.getOperatorClass()))) {
+                novel.add(mutant);
+            }
+        }
+        skipped.addAndGet(group.getMutants().size() - novel.size());
+        if (novel.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return retain(endpoint, strategy.selectMutants(new MutantGroup(group.getIdentifier(), novel)));
+    }
+
+    private List<Mutant> selectCandidates(String endpoint, CandidateGroup group, MutationStrategy strategy) {
+        List<MutantCandidate> novel = new ArrayList<>();
+        for (MutantCandidate candidate : group.getCandidates()) {
+            if (isNovel(combination(endpoint, candidate.getOriginalJsonPath(), candidate.getOperatorClass()))) {
+                novel.add(candidate);
+            }
+        }
+        skipped.addAndGet(group.getCandidates().size() - novel.size());
+        if (novel.isEmpty()) {
+            return new ArrayList<>(); // Do not even generate the mutants
+        }
+        return retain(endpoint, strategy.selectCandidates(new CandidateGroup(group.getIdentifier(), novel)));
+    }
+
+    /**
+     * Counts the mutants selected by the underlying strategy, dropping the ones whose
+     * combination has meanwhile been selected often enough (e.g., by another thread, or
+     * by another mutant of the same group).
+     */
+    private List<Mutant> retain(String endpoint, List<Mutant> selected) {
+        List<Mutant> retained = new ArrayList<>(selected.size());
+        for (Mutant mutant : selected) {
+            if (acquire(combination(endpoint, mutant.getOriginalJsonPath(), mutant.getOperatorClass()))) {
+                retained.add(mutant);
+            }
+        }
+        skipped.addAndGet(selected.size() - retained.size());
+        return retained;
+    }
+
+    private static String combination(String endpoint, String path, Class<? extends AbstractOperator> operatorClass) {
+        return endpoint + " " + Endpoints.normalizePath(path) + " " + operatorClass.getName();
+    }
+
+    private synchronized boolean isNovel(String combination) {
+        long[] selected = selectedPerCombination.get(combination);
+        return selected == null || selected[0] < maxPerCombination;
+    }
+
+    /**
+     * Counts one more selection of a combination, if it is still novel.
+     *
+     * @return false if the combination has already been selected often enough
+     */
+    private synchronized boolean acquire(String combination) {
+        long[] selected = selectedPerCombination.computeIfAbsent(combination, k -> new long[1]);
+        if (selected[0] >= maxPerCombination) {
+            return false;
+        }
+        selected[0]++;
+        return true;
+    }
+}
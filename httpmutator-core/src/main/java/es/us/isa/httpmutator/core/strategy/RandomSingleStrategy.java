@@ -6,7 +6,9 @@ import java.util.List;
 import java.util.Objects;
 
 import es.us.isa.httpmutator.core.RandomManager;
+import es.us.isa.httpmutator.core.model.CandidateGroup;
 import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutantCandidate;
 import es.us.isa.httpmutator.core.model.MutantGroup;
 import es.us.isa.httpmutator.core.util.RandomUtils;
 
@@ -34,4 +36,18 @@ public class RandomSingleStrategy implements MutationStrategy {
         int idx = RandomUtils.nextInt(group.getMutants().size());
         return Collections.singletonList(group.getMutants().get(idx));
     }
+
+    /**
+     * Selects one random candidate, and only generates that one
+     */
+    @Override
+    public List<Mutant> selectCandidates(CandidateGroup group) {
+        Objects.requireNonNull(group, "CandidateGroup must not be null");
+        List<MutantCandidate> candidates = group.getCandidates();
+        if (candidates.isEmpty()) {
+            return new ArrayList<>(); // Return empty list if no candidates available
+        }
+        int idx = RandomUtils.nextInt(candidates.size());
+        return Collections.singletonList(candidates.get(idx).materialize());
+    }
 }
@@ -0,0 +1,114 @@
+package es.us.isa.httpmutator.core.strategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import es.us.isa.httpmutator.core.model.CandidateGroup;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutantCandidate;
+import es.us.isa.httpmutator.core.model.MutantGroup;
+import es.us.isa.httpmutator.core.util.RandomUtils;
+
+/**
+ * Strategy that keeps a uniform random sample of {@code sampleSize} mutants out of all
+ * the candidates of a stream (reservoir sampling, Algorithm R), however large the stream
+ * is. Only the sampled mutants are generated, when the stream ends (see
+ * {@link DeferredMutationStrategy}), and the sample is emitted in input order.
+ *
+ * Memory grows with the sample size times the size of the responses, not with the
+ * length of the stream: each sampled candidate keeps its whole exchange, and the
+ * generator of a body candidate keeps a copy of the part of the body it mutates. At
+ * worst, every sampled candidate comes from a different exchange.
+ *
+ * The sample is reproducible for a given seed when exchanges are processed one at a
+ * time; with several threads, it depends on the order in which groups are offered.
+ */
+public class ReservoirSamplingStrategy implements DeferredMutationStrategy {
+
+    private final int sampleSize;
+
+    private final List<Sample> reservoir = new ArrayList<>();
+    private long seen = 0; // Number of candidates offered so far
+
+    /**
+     * @param sampleSize maximum number of mutants emitted for the whole stream
+     */
+    public ReservoirSamplingStrategy(int sampleSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("sampleSize must be >= 1");
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Mutants outside of any exchange cannot be deferred: returns a random sample of
+     * the group of at most {@code sampleSize} mutants.
+     */
+    @Override
+    public List<Mutant> selectMutants(MutantGroup group) {
+        List<Mutant> mutants = new ArrayList<>(group.getMutants());
+        Collections.shuffle(mutants, RandomUtils.getRandom());
+        return new ArrayList<>(mutants.subList(0, Math.min(sampleSize, mutants.size())));
+    }
+
+    @Override
+    public MutationStrategy forExchange(HttpExchange exchange) {
+        return new MutationStrategy() {
+            @Override
+            public List<Mutant> selectMutants(MutantGroup group) {
+                return selectCandidates(CandidateGroup.of(group));
+            }
+
+            @Override
+            public List<Mutant> selectCandidates(CandidateGroup group) {
+                offer(exchange, group);
+                return new ArrayList<>(); // Emitted when the stream ends
+            }
+        };
+    }
+
+    private synchronized void offer(HttpExchange exchange, CandidateGroup group) {
+        for (MutantCandidate candidate : group.getCandidates()) {
+            Sample sample = new Sample(seen, exchange, candidate);
+            if (seen < sampleSize) {
+                reservoir.add(sample);
+            } else {
+                long slot = (long) (RandomUtils.nextDouble() * (seen + 1));
+                if (slot < sampleSize) {
+                    reservoir.set((int) slot, sample);
+                }
+            }
+            seen++;
+        }
+    }
+
+    @Override
+    public void drain(BiConsumer<HttpExchange, Mutant> consumer) {
+        List<Sample> samples;
+        synchronized (this) {
+            samples = new ArrayList<>(reservoir);
+            reservoir.clear();
+            seen = 0;
+        }
+        samples.sort(Comparator.comparingLong(sample -> sample.order));
+        for (Sample sample : samples) {
+            consumer.accept(sample.exchange, sample.candidate.materialize());
+        }
+    }
+
+    private static final class Sample {
+        final long order;
+        final HttpExchange exchange;
+        final MutantCandidate candidate;
+
+        Sample(long order, HttpExchange exchange, MutantCandidate candidate) {
+            this.order = order;
+            this.exchange = exchange;
+            this.candidate = candidate;
+        }
+    }
+}
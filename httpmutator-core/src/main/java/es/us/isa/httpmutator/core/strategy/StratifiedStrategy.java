@@ -0,0 +1,87 @@
+package es.us.isa.httpmutator.core.strategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import es.us.isa.httpmutator.core.AbstractOperator;
+import es.us.isa.httpmutator.core.model.CandidateGroup;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutantCandidate;
+import es.us.isa.httpmutator.core.model.MutantGroup;
+import es.us.isa.httpmutator.core.util.RandomUtils;
+
+/**
+ * Strategy that spreads mutants evenly across paths and operators. Each group (i.e.,
+ * path) gets at most {@code perGroup} mutants, and within a group, the operators
+ * selected least often so far (over the lifetime of the strategy) are preferred, ties
+ * being broken at random. Operators are thus used round-robin across the whole run
+ * instead of in proportion to how often they are applicable.
+ *
+ * Only the selected candidates are generated. Combine it with {@link BudgetStrategy}
+ * to bound the number of mutants per exchange or overall.
+ *
+ * Since the usage counts are shared by all exchanges, the selection is reproducible
+ * for a given seed when exchanges are processed one at a time; with several threads,
+ * it depends on the order in which groups are offered.
+ */
+public class StratifiedStrategy implements MutationStrategy {
+
+    private final int perGroup;
+
+    private final ConcurrentMap<Class<? extends AbstractOperator>, AtomicLong> selectedPerOperator =
+            new ConcurrentHashMap<>();
+
+    public StratifiedStrategy() {
+        this(1);
+    }
+
+    /**
+     * @param perGroup maximum number of mutants selected per group
+     */
+    public StratifiedStrategy(int perGroup) {
+        if (perGroup < 1) {
+            throw new IllegalArgumentException("perGroup must be >= 1");
+        }
+        this.perGroup = perGroup;
+    }
+
+    @Override
+    public List<Mutant> selectMutants(MutantGroup group) {
+        return selectCandidates(CandidateGroup.of(group));
+    }
+
+    @Override
+    public List<Mutant> selectCandidates(CandidateGroup group) {
+        Objects.requireNonNull(group, "CandidateGroup must not be null");
+        List<MutantCandidate> candidates = new ArrayList<>(group.getCandidates());
+
+        // Shuffle, then stable-sort by usage: least used operators first, ties in random order
+        for (int i = candidates.size() - 1; i > 0; i--) {
+            int j = RandomUtils.nextInt(i + 1);
+            candidates.set(j, candidates.set(i, candidates.get(j)));
+        }
+        Map<Class<? extends AbstractOperator>, Long> usage = new HashMap<>(); // Snapshot, other threads may select meanwhile
+        for (MutantCandidate candidate : candidates) {
+            usage.put(candidate.getOperatorClass(), counter(candidate).get());
+        }
+        candidates.sort(Comparator.comparingLong(candidate -> usage.get(candidate.getOperatorClass())));
+
+        List<Mutant> selected = new ArrayList<>();
+        for (MutantCandidate candidate : candidates.subList(0, Math.min(perGroup, candidates.size()))) {
+            counter(candidate).incrementAndGet();
+            selected.add(candidate.materialize());
+        }
+        return selected;
+    }
+
+    private AtomicLong counter(MutantCandidate candidate) {
+        return selectedPerOperator.computeIfAbsent(candidate.getOperatorClass(), k -> new AtomicLong());
+    }
+}
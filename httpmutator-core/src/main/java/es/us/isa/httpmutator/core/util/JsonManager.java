@@ -1,11 +1,15 @@
 package es.us.isa.httpmutator.core.util;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.*;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.List;
+
+import es.us.isa.httpmutator.core.model.PatchOperation;
 
 /**
  * Class to manage insertion, deletion and replacement of elements in JSON (objects
@@ -29,31 +33,28 @@ public class JsonManager {
      */
     public static void insertElement(JsonNode jsonNode, Object element, String propertyName, Integer index) {
         boolean isObj = index == null; // If index==null, jsonNode is an object, otherwise it is an array
-        if (element instanceof String) {
-            if (isObj) ((ObjectNode) jsonNode).put(propertyName, (String) element);
-            else ((ArrayNode) jsonNode).set(index, new TextNode((String) element));
-        } else if (element instanceof Long) {
-            if (isObj) ((ObjectNode) jsonNode).put(propertyName, (Long) element);
-            else ((ArrayNode) jsonNode).set(index, new LongNode((Long) element));
-        } else if (element instanceof Double) {
-            if (isObj) ((ObjectNode) jsonNode).put(propertyName, (Double) element);
-            else ((ArrayNode) jsonNode).set(index, new DoubleNode((Double) element));
-        } else if (element instanceof Boolean) {
-            if (isObj) ((ObjectNode) jsonNode).put(propertyName, (Boolean) element);
-            else ((ArrayNode) jsonNode).set(index, (Boolean) element ? BooleanNode.TRUE : BooleanNode.FALSE);
-        } else if (element instanceof NullNode) {
-            if (isObj) ((ObjectNode) jsonNode).putNull(propertyName);
-            else ((ArrayNode) jsonNode).set(index, (NullNode) element);
-        } else if (element instanceof ObjectNode) {
-            if (isObj) ((ObjectNode) jsonNode).replace(propertyName, (ObjectNode) element);
-            else ((ArrayNode) jsonNode).set(index, (ObjectNode) element);
-        } else if (element instanceof ArrayNode) {
-            if (isObj) ((ObjectNode) jsonNode).replace(propertyName, (ArrayNode) element);
-            else ((ArrayNode) jsonNode).set(index, (ArrayNode) element);
-        } else {
-            throw new IllegalArgumentException("The element to insert must be a string, int, float, boolean, " +
+        if (isObj) ((ObjectNode) jsonNode).replace(propertyName, toElementNode(element));
+        else ((ArrayNode) jsonNode).set(index, toElementNode(element));
+    }
+
+    /**
+     * Wraps the value returned by a mutation operator (string, long, double, boolean,
+     * null node, object or array) into the JsonNode that {@link #insertElement} would
+     * insert in an object or array.
+     *
+     * @param element The value of the element, as returned by an operator
+     * @return The element as a JsonNode
+     */
+    public static JsonNode toElementNode(Object element) {
+        if (element instanceof String) return new TextNode((String) element);
+        else if (element instanceof Long) return new LongNode((Long) element);
+        else if (element instanceof Double) return new DoubleNode((Double) element);
+        else if (element instanceof Boolean) return (Boolean) element ? BooleanNode.TRUE : BooleanNode.FALSE;
+        else if (element instanceof NullNode) return (NullNode) element;
+        else if (element instanceof ObjectNode) return (ObjectNode) element;
+        else if (element instanceof ArrayNode) return (ArrayNode) element;
+        else throw new IllegalArgumentException("The element to insert must be a string, int, float, boolean, " +
                     "object, array or null value.");
-        }
     }
 
     /**
@@ -81,6 +82,109 @@ public class JsonManager {
                     "object, array or null value.");
     }
 
+    /**
+     * Returns a shallow copy of an object or array, i.e., a new container holding
+     * the same children as the original one. Any other node is returned as is, since
+     * value nodes are immutable.
+     *
+     * @param jsonNode The node to copy
+     * @return A new container sharing its children with jsonNode, or jsonNode itself
+     */
+    public static JsonNode shallowCopy(JsonNode jsonNode) {
+        if (jsonNode.isObject()) {
+            ObjectNode copy = ((ObjectNode) jsonNode).objectNode();
+            copy.setAll((ObjectNode) jsonNode);
+            return copy;
+        } else if (jsonNode.isArray()) {
+            ArrayNode copy = ((ArrayNode) jsonNode).arrayNode(jsonNode.size());
+            copy.addAll((ArrayNode) jsonNode);
+            return copy;
+        }
+        return jsonNode;
+    }
+
+    /**
+     * Copies only the containers found on the way from the root to the node pointed
+     * to by jsonPointer (both included), sharing every other subtree with the original
+     * JSON. Any container reachable through jsonPointer in the returned JSON can then
+     * be modified without altering the original one, at a cost proportional to the
+     * depth of the node rather than to the size of the whole JSON.
+     *
+     * @param jsonNode    The root JSON, which is not modified
+     * @param jsonPointer Pointer to the deepest node to copy
+     * @return The copy of the root JSON
+     */
+    public static JsonNode copyPath(JsonNode jsonNode, JsonPointer jsonPointer) {
+        JsonNode rootCopy = shallowCopy(jsonNode);
+        JsonNode current = rootCopy;
+        JsonPointer pointer = jsonPointer;
+        while (!pointer.matches() && current.isContainerNode()) {
+            JsonNode child;
+            if (current.isArray()) {
+                int index = pointer.getMatchingIndex();
+                child = current.get(index);
+                if (child == null) break;
+                child = shallowCopy(child);
+                ((ArrayNode) current).set(index, child);
+            } else {
+                String propertyName = pointer.getMatchingProperty();
+                child = current.get(propertyName);
+                if (child == null) break;
+                child = shallowCopy(child);
+                ((ObjectNode) current).set(propertyName, child);
+            }
+            current = child;
+            pointer = pointer.tail();
+        }
+        return rootCopy;
+    }
+
+    /**
+     * Applies a JSON-Patch-style list of operations to a JSON without modifying it.
+     * For each operation only the containers on the path to the affected location
+     * are copied (see {@link #copyPath}), so the result shares every untouched
+     * subtree with jsonNode.
+     *
+     * @param jsonNode The JSON to patch, which is not modified
+     * @param patch    The operations to apply, in order
+     * @return The patched JSON
+     */
+    public static JsonNode applyPatch(JsonNode jsonNode, List<PatchOperation> patch) {
+        JsonNode result = jsonNode;
+        for (PatchOperation operation : patch) {
+            JsonPointer path = operation.getPath();
+            if (path.matches()) { // The operation affects the whole document
+                if (operation.getOp() == PatchOperation.Op.REMOVE)
+                    throw new IllegalArgumentException("The root of a JSON cannot be removed");
+                result = operation.getValue();
+                continue;
+            }
+
+            JsonPointer parentPath = path.head();
+            JsonPointer last = path.last();
+            result = copyPath(result, parentPath);
+            JsonNode parent = result.at(parentPath);
+            if (parent.isObject()) {
+                String propertyName = last.getMatchingProperty();
+                if (operation.getOp() == PatchOperation.Op.REMOVE) ((ObjectNode) parent).remove(propertyName);
+                else ((ObjectNode) parent).set(propertyName, operation.getValue());
+            } else if (parent.isArray()) {
+                ArrayNode array = (ArrayNode) parent;
+                if (operation.getOp() == PatchOperation.Op.ADD) {
+                    if ("-".equals(last.getMatchingProperty())) array.add(operation.getValue());
+                    else array.insert(last.getMatchingIndex(), operation.getValue());
+                } else if (operation.getOp() == PatchOperation.Op.REMOVE) {
+                    array.remove(last.getMatchingIndex());
+                } else {
+                    array.set(last.getMatchingIndex(), operation.getValue());
+                }
+            } else {
+                throw new IllegalArgumentException("Path " + path + " does not point to an element of an object or array");
+            }
+        }
+        return result;
+    }
+
     public static JsonNode toJsonNode(Object v, ObjectMapper mapper) {
         final JsonNodeFactory f = mapper.getNodeFactory();
         if (v == null) return f.nullNode();
@@ -0,0 +1,169 @@
+package es.us.isa.httpmutator.core.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable snapshot of the mutation properties (see json-mutation.properties).
+ * Mutators and operators read their configuration from a MutationConfig once, when
+ * they are built, so engines built with different configurations can run side by
+ * side in the same JVM, and changing the properties afterwards (e.g., with
+ * {@link PropertyManager#setProperty}) does not affect engines already built.
+ *
+ * Typed getters throw an IllegalArgumentException if the property is missing or
+ * cannot be parsed.
+ */
+public final class MutationConfig {
+
+    private final Map<String, String> properties;
+
+    private MutationConfig(Map<String, String> properties) {
+        this.properties = Collections.unmodifiableMap(properties);
+    }
+
+    /**
+     * @return The configuration defined in the json-mutation.properties file of the classpath
+     */
+    public static MutationConfig defaults() {
+        return fromProperties(PropertyManager.loadDefaultProperties());
+    }
+
+    /**
+     * @param properties Properties to copy; later changes to them are not reflected
+     * @return A configuration with the given properties
+     */
+    public static MutationConfig fromProperties(Properties properties) {
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        return new MutationConfig(values);
+    }
+
+    /**
+     * @param name  Name of the property, e.g., "operator.value.double.enabled"
+     * @param value New value of the property
+     * @return A copy of this configuration with the given property changed
+     */
+    public MutationConfig withProperty(String name, String value) {
+        Map<String, String> values = new HashMap<>(properties);
+        values.put(name, value);
+        return new MutationConfig(values);
+    }
+
+    /** @return The value of the property, or null if it is not defined */
+    public String getProperty(String name) {
+        return properties.get(name);
+    }
+
+    public String getString(String name) {
+        return require(name);
+    }
+
+    public boolean getBoolean(String name) {
+        return Boolean.parseBoolean(properties.get(name)); // Missing boolean properties are false, as before
+    }
+
+    public int getInt(String name) {
+        try {
+            return Integer.parseInt(require(name));
+        } catch (NumberFormatException e) {
+            throw invalid(name, e);
+        }
+    }
+
+    public long getLong(String name) {
+        try {
+            return Long.parseLong(require(name));
+        } catch (NumberFormatException e) {
+            throw invalid(name, e);
+        }
+    }
+
+    public float getFloat(String name) {
+        try {
+            return Float.parseFloat(require(name));
+        } catch (NumberFormatException e) {
+            throw invalid(name, e);
+        }
+    }
+
+    public double getDouble(String name) {
+        try {
+            return Double.parseDouble(require(name));
+        } catch (NumberFormatException e) {
+            throw invalid(name, e);
+        }
+    }
+
+    /**
+     * Weight of an operator for a given type of element.
+     *
+     * @param type             Simple name of the class of the element (Long, Double, Boolean,
+     *                         String, NullNode, ObjectNode, ArrayNode) or of the header mutator
+     *                         (MediaTypeMutator, CharsetMutator, LocationMutator)
+     * @param mutationOperator Name of the operator, as in {@link OperatorNames}
+     * @return The weight of the operator
+     */
+    public float getWeight(String type, String mutationOperator) {
+        switch (type) {
+            case "Long":
+                return getFloat("operator.value.long.weight." + mutationOperator);
+            case "Double":
+                return getFloat("operator.value.double.weight." + mutationOperator);
+            case "Boolean":
+                return getFloat("operator.value.boolean.weight." + mutationOperator);
+            case "String":
+                return getFloat("operator.value.string.weight." + mutationOperator);
+            case "NullNode":
+                return getFloat("operator.value.null.weight." + mutationOperator);
+            case "ObjectNode":
+                return getFloat("operator.object.weight." + mutationOperator);
+            case "ArrayNode":
+                return getFloat("operator.array.weight." + mutationOperator);
+            // mediaTypeMutator
+            case "MediaTypeMutator":
+                return getFloat("operator.header.mediaType.weight." + mutationOperator);
+            // charsetMutator
+            case "CharsetMutator":
+                return getFloat("operator.header.charset.weight." + mutationOperator);
+            // lacationMutator
+            case "LocationMutator":
+                return getFloat("operator.header.location.weight." + mutationOperator);
+            default:
+                throw new IllegalArgumentException("Wrong class: "+ type +". The class passed to the " +
+                        "constructor must be Long, Double, Boolean, String, NullNode, ObjectNode or ArrayNode.");
+        }
+    }
+
+    private String require(String name) {
+        String value = properties.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing mutation property: " + name);
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException invalid(String name, NumberFormatException e) {
+        return new IllegalArgumentException("Invalid value for mutation property " + name + ": " + e.getMessage(), e);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MutationConfig)) return false;
+        return properties.equals(((MutationConfig) o).properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return properties.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "MutationConfig" + properties;
+    }
+}
@@ -5,7 +5,10 @@ import java.io.InputStream;
 import java.util.Properties;
 
 /**
- * 
+ * Global, mutable mutation properties, initially loaded from json-mutation.properties.
+ * Mutators and operators built without an explicit {@link MutationConfig} use a
+ * snapshot of these properties taken when they are built (see {@link #getConfig()}).
+ *
  * @author Alberto Martin-Lopez
  */
 public class PropertyManager {
@@ -14,28 +17,57 @@ public class PropertyManager {
 	private static final String CLASSPATH_PROP = "json-mutation.properties";
 
 	private static 	Properties properties = null;
+	private static volatile MutationConfig config = null; // Snapshot of properties, discarded when they change
 
 	public static String readProperty(String name) {
 		loadProperties();
 		return properties.getProperty(name);
 	}
 
-	public static void setProperty(String propertyName, String propertyValue) {
+	public static synchronized void setProperty(String propertyName, String propertyValue) {
 		loadProperties();
 		properties.setProperty(propertyName, propertyValue);
+		config = null;
 	}
 
-	public static void resetProperties() {
-		properties = new Properties();
+	public static synchronized void resetProperties() {
+		properties = loadDefaultProperties();
+		config = null;
+	}
+
+	/**
+	 * @return An immutable snapshot of the current properties. The same instance is
+	 *         returned until the properties are changed
+	 */
+	public static MutationConfig getConfig() {
+		MutationConfig current = config;
+		if (current == null) {
+			synchronized (PropertyManager.class) {
+				loadProperties();
+				if (config == null) {
+					config = MutationConfig.fromProperties(properties);
+				}
+				current = config;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * @return The properties defined in the json-mutation.properties file of the classpath
+	 */
+	static Properties loadDefaultProperties() {
+		Properties defaults = new Properties();
 		try (InputStream in = PropertyManager.class.getClassLoader().getResourceAsStream(CLASSPATH_PROP)) {
             if (in == null) {
                 throw new IOException("Resource not found: " + CLASSPATH_PROP);
             }
-            properties.load(in);
+            defaults.load(in);
         } catch (IOException e) {
             System.err.printf("Error reading classpath config %s: %s%n", CLASSPATH_PROP, e.getMessage());
             throw new RuntimeException("Cannot load mutation properties", e);
         }
+		return defaults;
 	}
 
 	private static void loadProperties() {
@@ -4,10 +4,22 @@ package es.us.isa.httpmutator.core.util;
 import java.util.Random;
 import java.util.SplittableRandom;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Simple global random utility.
- * Provides reproducible randomness by controlling a single global seed
+ * Provides reproducible randomness by controlling a single global seed.
+ *
+ * Code run through {@link #callWithSeed(long, Supplier)} uses a stream of its own,
+ * local to the current thread, instead of the global one. This stream is also
+ * used by mutators and operators (see {@link ScopedRandomGenerator}), so that
+ * tasks running concurrently get reproducible results regardless of scheduling.
+ *
+ * Mutation pipelines derive the seed of each stream from stable keys rather than
+ * from the position of the work in the run (see {@link #deriveSeed(long, String...)}):
+ * run seed, then exchange id, then location and operator. Every mutant is thus
+ * generated from a stream of its own, and results are the same whatever the number
+ * of threads, the processing order or the subset of exchanges processed.
  * TODO: RandomManager is not suitable for this purpose as it is designed to be extended by multiple classes
  *
  * @author lixin
@@ -16,6 +28,8 @@ public class RandomUtils {
     private static final AtomicLong GLOBAL_SEED = new AtomicLong(-1L);
     private static volatile SplittableRandom RNG = new SplittableRandom();
     private static volatile Random RANDOM = new Random();
+    private static volatile SeedSequence UNSCOPED_SEEDS = new SeedSequence(new SplittableRandom().nextLong());
+    private static final ThreadLocal<ScopedStream> SCOPED_STREAM = new ThreadLocal<>();
 
 
     private RandomUtils() {
@@ -28,6 +42,7 @@ public class RandomUtils {
         GLOBAL_SEED.set(seed);
         RNG = new SplittableRandom(seed);
         RANDOM = new Random(seed);
+        UNSCOPED_SEEDS = new SeedSequence(seed);
     }
 
     /**
@@ -37,34 +52,160 @@ public class RandomUtils {
         GLOBAL_SEED.set(-1L);
         RNG = new SplittableRandom();
         RANDOM = new Random();
+        UNSCOPED_SEEDS = new SeedSequence(new SplittableRandom().nextLong());
     }
 
     public static long getSeed() {
         return GLOBAL_SEED.get();
     }
 
+    // ========== Thread-scoped streams ==========
+
+    /**
+     * Runs an action with a random stream of its own, seeded with the given seed.
+     * While the action runs, all the methods of this class and all mutators and
+     * operators on the current thread draw from that stream instead of the global
+     * one. Scopes can be nested; the previous stream is restored afterwards.
+     */
+    public static <T> T callWithSeed(long seed, Supplier<T> action) {
+        ScopedStream previous = SCOPED_STREAM.get();
+        SCOPED_STREAM.set(new ScopedStream(seed));
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SCOPED_STREAM.remove();
+            } else {
+                SCOPED_STREAM.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @see #callWithSeed(long, Supplier)
+     */
+    public static void runWithSeed(long seed, Runnable action) {
+        callWithSeed(seed, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Derives a well-mixed seed from a base seed and a sequence of keys, e.g., the
+     * seed of the stream of an exchange from the run seed and the exchange id, or the
+     * seed of a mutant from the seed of its exchange, its location and its operator.
+     * The result only depends on the arguments, never on the state of any stream.
+     * A null key is treated as an empty string.
+     */
+    public static long deriveSeed(long baseSeed, String... keys) {
+        long seed = mix64(baseSeed);
+        for (String key : keys) {
+            seed = mix64(seed ^ hash64(key == null ? "" : key));
+        }
+        return seed;
+    }
+
+    /**
+     * Seed of the active scope on the current thread, to derive the seeds of nested
+     * scopes from. If no scope is active, the next seed of a sequence derived from the
+     * global seed is returned, so that results are still reproducible when only a global
+     * seed has been set. The sequence is thread-safe, unlike the global stream.
+     */
+    public static long currentSeed() {
+        ScopedStream scoped = SCOPED_STREAM.get();
+        return scoped == null ? UNSCOPED_SEEDS.next() : scoped.seed;
+    }
+
+    // FNV-1a over the UTF-16 chars of the key, finished with mix64
+    private static long hash64(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix64(hash);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** @return the stream of the current scope, or null if no scope is active on this thread */
+    static SplittableRandom scopedStream() {
+        ScopedStream scoped = SCOPED_STREAM.get();
+        return scoped == null ? null : scoped.rng;
+    }
+
+    private static SplittableRandom rng() {
+        ScopedStream scoped = SCOPED_STREAM.get();
+        return scoped == null ? RNG : scoped.rng;
+    }
+
     // ========== Random number generation methods ==========
     public static int nextInt(int bound) {
-        return RNG.nextInt(bound);
+        return rng().nextInt(bound);
     }
 
     public static int nextInt(int origin, int bound) {
-        return RNG.nextInt(origin, bound);
+        return rng().nextInt(origin, bound);
     }
 
     public static long nextLong() {
-        return RNG.nextLong();
+        return rng().nextLong();
     }
 
     public static double nextDouble() {
-        return RNG.nextDouble();
+        return rng().nextDouble();
     }
 
     public static boolean nextBoolean() {
-        return RNG.nextBoolean();
+        return rng().nextBoolean();
     }
 
     public static Random getRandom() {
-        return RANDOM;
+        ScopedStream scoped = SCOPED_STREAM.get();
+        return scoped == null ? RANDOM : scoped.random;
+    }
+
+    /**
+     * Seeds drawn when no scope is active: the n-th one is derived from the base seed and n.
+     */
+    private static final class SeedSequence {
+        private final long baseSeed;
+        private final AtomicLong count = new AtomicLong();
+
+        private SeedSequence(long baseSeed) {
+            this.baseSeed = baseSeed;
+        }
+
+        private long next() {
+            return deriveSeed(baseSeed, "unscoped", Long.toString(count.getAndIncrement()));
+        }
+    }
+
+    /**
+     * Random stream of a scope, exposed both as a SplittableRandom and as a
+     * java.util.Random (for libraries such as RandomStringUtils).
+     */
+    private static final class ScopedStream {
+        private final long seed;
+        private final SplittableRandom rng;
+        private final Random random;
+
+        private ScopedStream(long seed) {
+            this.seed = seed;
+            this.rng = new SplittableRandom(seed);
+            this.random = new Random() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected int next(int bits) {
+                    return rng.nextInt() >>> (32 - bits);
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,101 @@
+package es.us.isa.httpmutator.core.util;
+
+import java.util.SplittableRandom;
+
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * RandomGenerator used by mutators and operators. When a scope opened with
+ * {@link RandomUtils#callWithSeed} is active on the current thread, numbers are
+ * drawn from the stream of that scope; otherwise, they are drawn from the
+ * generator owned by the mutator or operator, as usual.
+ */
+public final class ScopedRandomGenerator implements RandomGenerator {
+
+    private final RandomGenerator fallback;
+
+    public ScopedRandomGenerator(RandomGenerator fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void setSeed(int seed) {
+        fallback.setSeed(seed);
+    }
+
+    @Override
+    public void setSeed(int[] seed) {
+        fallback.setSeed(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        fallback.setSeed(seed);
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        SplittableRandom scoped = RandomUtils.scopedStream();
+        if (scoped == null) {
+            fallback.nextBytes(bytes);
+            return;
+        }
+        for (int i = 0; i < bytes.length; ) {
+            for (int rnd = scoped.nextInt(), n = Math.min(bytes.length - i, 4); n-- > 0; rnd >>= 8) {
+                bytes[i++] = (byte) rnd;
+            }
+        }
+    }
+
+    @Override
+    public int nextInt() {
+        SplittableRandom scoped = RandomUtils.scopedStream();
+        return scoped == null ? fallback.nextInt() : scoped.nextInt();
+    }
+
+    @Override
+    public int nextInt(int n) {
+        SplittableRandom scoped = RandomUtils.scopedStream();
+        return scoped == null ? fallback.nextInt(n) : scoped.nextInt(n);
+    }
+
+    @Override
+    public long nextLong() {
+        SplittableRandom scoped = RandomUtils.scopedStream();
+        return scoped == null ? fallback.nextLong() : scoped.nextLong();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        SplittableRandom scoped = RandomUtils.scopedStream();
+        return scoped == null ? fallback.nextBoolean() : scoped.nextBoolean();
+    }
+
+    @Override
+    public float nextFloat() {
+        SplittableRandom scoped = RandomUtils.scopedStream();
+        return scoped == null ? fallback.nextFloat() : (scoped.nextInt() >>> 8) * 0x1.0p-24f;
+    }
+
+    @Override
+    public double nextDouble() {
+        SplittableRandom scoped = RandomUtils.scopedStream();
+        return scoped == null ? fallback.nextDouble() : scoped.nextDouble();
+    }
+
+    @Override
+    public double nextGaussian() {
+        SplittableRandom scoped = RandomUtils.scopedStream();
+        if (scoped == null) {
+            return fallback.nextGaussian();
+        }
+        // Marsaglia polar method, without caching the second value so that no state is kept
+        double v1, v2, s;
+        do {
+            v1 = 2 * scoped.nextDouble() - 1;
+            v2 = 2 * scoped.nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+    }
+}
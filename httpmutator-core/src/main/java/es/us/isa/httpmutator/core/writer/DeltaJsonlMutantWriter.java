@@ -0,0 +1,118 @@
+package es.us.isa.httpmutator.core.writer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.PatchOperation;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * A {@link MutantWriter} that writes delta-encoded JSONL: the original response of
+ * each exchange once, followed by one compact record per mutant holding only the
+ * changes that turn the original into the mutant (a JSON Patch, RFC 6902) and the
+ * mutation metadata. Most mutants differ from the original response in a single
+ * leaf, so records are a tiny fraction of the full mutated responses written by
+ * {@link JsonlMutantWriter}.
+ *
+ * <p>Records, one per line:</p>
+ * <pre>
+ * {"_hm_original_id": "1", "_hm_original": {"Status Code": 200, "Headers": {...}, "Body": {...}}}
+ * {"_hm_original_id": "1", "_hm_original_json_path": "Body/price", "_hm_mutator": "DoubleMutator",
+ *  "_hm_operator": "DoubleReplacementOperator", "_hm_patch": [{"op": "replace", "path": "/Body/price", "value": 0.5}]}
+ * </pre>
+ *
+ * <p>The original of an exchange is written right before its first mutant, and again
+ * if mutants of another exchange were written in between, so the patch of a mutant
+ * always applies to the last original before it. Patches are relative to the
+ * canonical response of the exchange ({@link StandardHttpResponse#toJsonNode()}), as
+ * for the mutants generated by {@code HttpMutator}. Use
+ * {@link es.us.isa.httpmutator.core.reader.DeltaJsonlMutantReader} to rebuild the full
+ * mutants.</p>
+ */
+public class DeltaJsonlMutantWriter implements MutantWriter {
+
+    private final JsonGenerator gen;
+
+    /** Exchange whose original was written last. */
+    private HttpExchange currentExchange;
+
+    private boolean closed = false;
+
+    /**
+     * @param out the underlying writer to which records will be written (closed with this writer)
+     * @throws IOException if the writer cannot be set up
+     */
+    public DeltaJsonlMutantWriter(Writer out) throws IOException {
+        Objects.requireNonNull(out, "out must not be null");
+        this.gen = new ObjectMapper().getFactory().createGenerator(out);
+        gen.setRootValueSeparator(null); // Records are separated by '\n' only
+    }
+
+    @Override
+    public void write(HttpExchange exchange,
+                      StandardHttpResponse mutatedResponse,
+                      Mutant mutant) throws IOException {
+
+        if (closed) {
+            throw new IOException("DeltaJsonlMutantWriter is already closed");
+        }
+
+        String originalId = exchange.getId();
+        if (exchange != currentExchange) {
+            gen.writeStartObject();
+            if (originalId != null) {
+                gen.writeStringField("_hm_original_id", originalId);
+            }
+            gen.writeFieldName("_hm_original");
+            gen.writeTree(exchange.getResponse().toReadOnlyJsonNode());
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+            currentExchange = exchange;
+        }
+
+        gen.writeStartObject();
+        if (originalId != null) {
+            gen.writeStringField("_hm_original_id", originalId);
+        }
+        gen.writeStringField("_hm_original_json_path", mutant.getOriginalJsonPath());
+        gen.writeStringField("_hm_mutator", mutant.getMutatorClassName());
+        gen.writeStringField("_hm_operator", mutant.getOperatorClassName());
+        gen.writeArrayFieldStart("_hm_patch");
+        for (PatchOperation operation : mutant.getPatch()) {
+            gen.writeStartObject();
+            gen.writeStringField("op", operation.getOp().getJsonName());
+            gen.writeStringField("path", operation.getPath().toString());
+            JsonNode value = operation.getValue();
+            if (value != null) {
+                gen.writeFieldName("value");
+                gen.writeTree(value);
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (closed) {
+            return;
+        }
+        gen.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            gen.close(); // Flushes and closes the underlying writer
+        }
+    }
+}
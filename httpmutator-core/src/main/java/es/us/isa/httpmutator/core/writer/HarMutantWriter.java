@@ -1,9 +1,9 @@
 package es.us.isa.httpmutator.core.writer;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import es.us.isa.httpmutator.core.converter.ConversionException;
 import es.us.isa.httpmutator.core.converter.impl.HarConverter;
@@ -12,13 +12,20 @@ import es.us.isa.httpmutator.core.model.Mutant;
 import es.us.isa.httpmutator.core.model.StandardHttpRequest;
 import es.us.isa.httpmutator.core.model.StandardHttpResponse;
 
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 
 /**
  * HAR writer with viewer-friendly compatibility:
@@ -29,6 +36,15 @@ import java.time.format.DateTimeFormatter;
  * - if request/url missing -> synthesize a unique URL per entry and encode operator/mutator in query
  * - response includes common fields and bodySize aligns with content.size when possible
  * - log.pages present (empty)
+ *
+ * The HAR is streamed: the log header is written with the first entry, then each entry as it
+ * arrives, and the entries array and log are closed on {@link #close()}. Memory does
+ * not grow with the number of mutants.
+ *
+ * Optionally, the output is split into several HAR files of about the same size
+ * ("&lt;prefix&gt;-00000.har", "&lt;prefix&gt;-00001.har", ...), each of them a complete
+ * HAR, so that viewers can still open the output of large runs. A file is closed once
+ * it reaches the size limit, so it may exceed it by one entry.
  */
 public class HarMutantWriter implements MutantWriter {
 
@@ -41,38 +57,54 @@ public class HarMutantWriter implements MutantWriter {
     /** Base URL used when we have no real request URL. */
     private static final String SYN_BASE = "http://httpmutator.local/exchange/";
 
+    private static final int BUFFER_BYTES = 1 << 16;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final HarConverter converter = new HarConverter();
-    private final Writer out;
 
-    private final ObjectNode root;
-    private final ObjectNode log;
-    private final ArrayNode entries;
+    // Rotation (outputDir is null when writing a single HAR)
+    private final Path outputDir;
+    private final String filePrefix;
+    private final long maxBytesPerFile;
+    private int fileIndex = 0;
+    private CountingOutputStream countOut;
+
+    private JsonGenerator gen;  // null between two rotated files
+    private boolean headerPending = false; // The header of a single HAR is written with the first entry, or on close
 
-    private boolean flushed = false;
     private boolean closed = false;
 
+    /**
+     * Writes a single HAR to {@code out}, which is closed on {@link #close()}.
+     * Nothing is written to {@code out} before the first entry (or {@link #close()}).
+     */
     public HarMutantWriter(Writer out) {
-        this.out = out;
-        // Prevent Jackson from closing the underlying Writer in writeValue(...)
-        this.objectMapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
-
-        this.root = objectMapper.createObjectNode();
-        this.log = objectMapper.createObjectNode();
-        this.entries = objectMapper.createArrayNode();
-
-        log.put("version", "1.2");
-
-        ObjectNode creator = objectMapper.createObjectNode();
-        creator.put("name", "HttpMutator");
-        creator.put("version", "1.0.0");
-        log.set("creator", creator);
-
-        // Many viewers expect pages[] to exist.
-        log.set("pages", objectMapper.createArrayNode());
+        this.outputDir = null;
+        this.filePrefix = null;
+        this.maxBytesPerFile = Long.MAX_VALUE;
+        try {
+            this.gen = objectMapper.getFactory().createGenerator(Objects.requireNonNull(out, "out must not be null"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not expected, nothing is written yet
+        }
+        this.headerPending = true;
+    }
 
-        log.set("entries", entries);
-        root.set("log", log);
+    /**
+     * Writes HAR files of about {@code maxBytesPerFile} bytes each in {@code outputDir}.
+     *
+     * @param filePrefix      prefix of the file names, followed by the file index and ".har"
+     * @param maxBytesPerFile size (UTF-8 bytes) after which a file is closed and the next one started
+     */
+    public HarMutantWriter(Path outputDir, String filePrefix, long maxBytesPerFile) throws IOException {
+        this.outputDir = Objects.requireNonNull(outputDir, "outputDir must not be null");
+        this.filePrefix = Objects.requireNonNull(filePrefix, "filePrefix must not be null");
+        if (maxBytesPerFile < 1) {
+            throw new IllegalArgumentException("maxBytesPerFile must be >= 1");
+        }
+        this.maxBytesPerFile = maxBytesPerFile;
+        Files.createDirectories(outputDir);
+        openNextFile();
     }
 
     @Override
@@ -83,9 +115,6 @@ public class HarMutantWriter implements MutantWriter {
         if (closed) {
             throw new IOException("HarMutantWriter is already closed");
         }
-        if (flushed) {
-            throw new IOException("HarMutantWriter is already flushed; no further writes are allowed");
-        }
 
         ObjectNode entry = objectMapper.createObjectNode();
 
@@ -108,7 +137,54 @@ public class HarMutantWriter implements MutantWriter {
         entry.put("_hm_operator", mutant.getOperatorClassName());
         entry.put("_hm_original_json_path", mutant.getOriginalJsonPath());
 
-        entries.add(entry);
+        if (gen == null) {
+            openNextFile();
+        } else if (headerPending) {
+            writeHeader();
+        }
+        gen.writeTree(entry);
+
+        if (countOut != null && countOut.getCount() + Math.max(gen.getOutputBuffered(), 0) >= maxBytesPerFile) {
+            finishFile();
+        }
+    }
+
+    private void openNextFile() throws IOException {
+        Path file = outputDir.resolve(String.format("%s-%05d.har", filePrefix, fileIndex++));
+        countOut = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_BYTES));
+        gen = objectMapper.getFactory().createGenerator(countOut, JsonEncoding.UTF8);
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        headerPending = false;
+        gen.writeStartObject();
+        gen.writeObjectFieldStart("log");
+        gen.writeStringField("version", "1.2");
+
+        gen.writeObjectFieldStart("creator");
+        gen.writeStringField("name", "HttpMutator");
+        gen.writeStringField("version", "1.0.0");
+        gen.writeEndObject();
+
+        // Many viewers expect pages[] to exist.
+        gen.writeArrayFieldStart("pages");
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("entries");
+    }
+
+    /** Closes the entries array and the log, and the underlying writer or file. */
+    private void finishFile() throws IOException {
+        JsonGenerator finishing = gen;
+        gen = null;
+        try {
+            finishing.writeEndArray();
+            finishing.writeEndObject();
+            finishing.writeEndObject();
+        } finally {
+            finishing.close(); // Flushes and closes the underlying writer or file
+        }
     }
 
     /**
@@ -299,12 +375,9 @@ public class HarMutantWriter implements MutantWriter {
         if (closed) {
             throw new IOException("HarMutantWriter is already closed");
         }
-        if (flushed) {
-            return;
+        if (gen != null) {
+            gen.flush();
         }
-        objectMapper.writeValue(out, root);
-        out.flush();
-        flushed = true;
     }
 
     @Override
@@ -312,28 +385,36 @@ public class HarMutantWriter implements MutantWriter {
         if (closed) {
             return;
         }
+        closed = true;
+        if (gen != null) {
+            if (headerPending) {
+                writeHeader(); // No entries: still a valid, empty HAR
+            }
+            finishFile();
+        }
+    }
 
-        IOException first = null;
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
 
-        if (!flushed) {
-            try {
-                flush();
-            } catch (IOException e) {
-                first = e;
-            }
+        CountingOutputStream(OutputStream delegate) {
+            super(delegate);
         }
 
-        try {
-            out.close();
-        } catch (IOException e) {
-            if (first == null) first = e;
-            else first.addSuppressed(e);
-        } finally {
-            closed = true;
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
         }
 
-        if (first != null) {
-            throw first;
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
         }
     }
 }
@@ -1,15 +1,21 @@
 package es.us.isa.httpmutator.core.writer;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import es.us.isa.httpmutator.core.model.HttpExchange;
 import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutatedHttpResponse;
 import es.us.isa.httpmutator.core.model.StandardHttpResponse;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.Objects;
 
@@ -26,18 +32,28 @@ import java.util.Objects;
  *     <li>The exchange identifier (for metadata, if enabled)</li>
  *     <li>The mutation metadata from {@link Mutant}</li>
  * </ul>
+ *
+ * <p>Each line is streamed with a {@link JsonGenerator}: the response fields and the
+ * metadata are serialized directly into the buffer, with no intermediate tree or
+ * string. Given an {@link OutputStream} (e.g. {@code Channels.newOutputStream} of a
+ * {@code FileChannel}), lines are encoded to UTF-8 bytes as they are generated; given
+ * a {@link Writer}, the writer encodes them. Both produce the same bytes, except for
+ * characters outside the Basic Multilingual Plane (e.g. emoji), which are written to a
+ * stream as a pair of escaped UTF-16 surrogates: parsers read them as the same string.</p>
  */
 public class JsonlMutantWriter implements MutantWriter{
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final Writer out;
-    private final boolean includeMeta;
+    /** Default buffer size, in bytes or characters. */
+    private static final int DEFAULT_FLUSH_THRESHOLD = 1_048_576; // 1 MB
 
-    /** Internal buffer used to batch JSONL writes. */
-    private final StringBuilder buffer;
+    // Headers and bodies are serialized line after line: the buffer is only flushed when full
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private final boolean includeMeta;
 
-    /** Threshold (in characters) at which the buffer is flushed to the underlying writer. */
-    private final int flushThreshold;
+    /** Internal buffer used to batch JSONL writes, flushed to the underlying output when full. */
+    private final Flushable buffer;
+    private final Closeable out;
+    private final JsonGenerator gen;
 
     private boolean closed = false;
 
@@ -48,7 +64,7 @@ public class JsonlMutantWriter implements MutantWriter{
      * @param includeMeta whether to attach mutation metadata fields to each JSON object
      */
     public JsonlMutantWriter(Writer out, boolean includeMeta) {
-        this(out, includeMeta, 1_048_576); // 1 MB default
+        this(out, includeMeta, DEFAULT_FLUSH_THRESHOLD);
     }
 
     /**
@@ -61,8 +77,50 @@ public class JsonlMutantWriter implements MutantWriter{
     public JsonlMutantWriter(Writer out, boolean includeMeta, int flushThreshold) {
         this.out = Objects.requireNonNull(out, "out must not be null");
         this.includeMeta = includeMeta;
-        this.flushThreshold = flushThreshold;
-        this.buffer = new StringBuilder(flushThreshold);
+        BufferedWriter buffered = new BufferedWriter(out, flushThreshold);
+        this.buffer = buffered;
+        try {
+            this.gen = configure(objectMapper.getFactory().createGenerator(buffered));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not expected, nothing is written yet
+        }
+    }
+
+    /**
+     * Creates a JSONL writer of UTF-8 bytes with a default 1 MB buffer.
+     *
+     * @param out         the underlying stream to which JSONL lines will be written
+     * @param includeMeta whether to attach mutation metadata fields to each JSON object
+     */
+    public JsonlMutantWriter(OutputStream out, boolean includeMeta) {
+        this(out, includeMeta, DEFAULT_FLUSH_THRESHOLD);
+    }
+
+    /**
+     * Creates a JSONL writer of UTF-8 bytes with a configurable buffer size.
+     *
+     * @param out            the underlying stream to which JSONL lines will be written
+     * @param includeMeta    whether to attach mutation metadata fields to each JSON object
+     * @param flushThreshold buffer size (in bytes) at which data is flushed
+     */
+    public JsonlMutantWriter(OutputStream out, boolean includeMeta, int flushThreshold) {
+        this.out = Objects.requireNonNull(out, "out must not be null");
+        this.includeMeta = includeMeta;
+        BufferedOutputStream buffered = new BufferedOutputStream(out, flushThreshold);
+        this.buffer = buffered;
+        try {
+            this.gen = configure(objectMapper.getFactory().createGenerator(buffered, JsonEncoding.UTF8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not expected, nothing is written yet
+        }
+    }
+
+    private static JsonGenerator configure(JsonGenerator generator) {
+        // Lines are separated by '\n' only, and the underlying output is closed by close()
+        generator.setRootValueSeparator(null);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        return generator;
     }
 
     /**
@@ -81,50 +139,36 @@ public class JsonlMutantWriter implements MutantWriter{
             throw new IOException("JsonlMutantWriter is already closed");
         }
 
-        // 1) Convert StandardHttpResponse to canonical JsonNode
-        JsonNode canonical = mutatedResponse.toJsonNode();
-        if (canonical == null || canonical.isNull()) {
-            // Defensive: should not happen in normal pipelines
-            return;
+        // 1) Canonical response fields, as serialized by StandardHttpResponse#toJsonNode()
+        gen.writeStartObject();
+        gen.writeNumberField("Status Code", mutatedResponse.getStatusCode());
+        gen.writeFieldName("Headers");
+        if (mutatedResponse instanceof MutatedHttpResponse) {
+            gen.writeTree(((MutatedHttpResponse) mutatedResponse).getHeadersNode()); // No conversion to a map
+        } else {
+            objectMapper.writeValue(gen, mutatedResponse.getHeaders());
         }
-
-        // 2) Ensure we always serialize an ObjectNode
-        final ObjectNode lineObject;
-        if (canonical instanceof ObjectNode) {
-            lineObject = (ObjectNode) canonical;
+        gen.writeFieldName("Body");
+        if (mutatedResponse.getBody() == null) {
+            gen.writeNull();
         } else {
-            lineObject = objectMapper.createObjectNode();
-            lineObject.set("Body", canonical);
+            gen.writeTree(mutatedResponse.getBody());
         }
 
-        // 3) Optionally attach metadata
+        // 2) Optionally attach metadata
         if (includeMeta) {
             String originalId = exchange.getId();
             if (originalId != null) {
-                lineObject.put("_hm_original_id", originalId);
+                gen.writeStringField("_hm_original_id", originalId);
             }
-            lineObject.put("_hm_original_json_path", mutant.getOriginalJsonPath());
-            lineObject.put("_hm_mutator", mutant.getMutatorClassName());
-            lineObject.put("_hm_operator", mutant.getOperatorClassName());
+            gen.writeStringField("_hm_original_json_path", mutant.getOriginalJsonPath());
+            gen.writeStringField("_hm_mutator", mutant.getMutatorClassName());
+            gen.writeStringField("_hm_operator", mutant.getOperatorClassName());
         }
 
-        // 4) Append one JSON line into buffer
-        buffer.append(objectMapper.writeValueAsString(lineObject))
-                .append('\n');
-
-        // 5) Flush when exceeding the threshold
-        if (buffer.length() >= flushThreshold) {
-            flushBuffer();
-        }
-    }
-
-    private void flushBuffer() throws IOException {
-        if (buffer.length() == 0) {
-            return;
-        }
-        out.write(buffer.toString());
-        buffer.setLength(0);
-        out.flush();
+        // 3) End the line; the buffers are flushed when full
+        gen.writeEndObject();
+        gen.writeRaw('\n');
     }
 
     @Override
@@ -132,18 +176,20 @@ public class JsonlMutantWriter implements MutantWriter{
         if (closed) {
             return;
         }
-        flushBuffer();
+        gen.flush();
+        buffer.flush();
     }
 
     @Override
     public void close() throws IOException {
         if (!closed) {
             try {
-                flushBuffer();
+                flush();
+                gen.close();
             } finally {
                 closed = true;
                 out.close();
             }
         }
     }
-}
\ No newline at end of file
+}
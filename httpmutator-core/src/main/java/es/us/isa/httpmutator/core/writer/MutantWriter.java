@@ -34,4 +34,16 @@ public interface MutantWriter extends Flushable, Closeable {
     void write(HttpExchange exchange,
                StandardHttpResponse mutatedResponse,
                Mutant mutant) throws IOException;
+
+    /**
+     * Called by {@code HttpMutator.mutateStream} once all the mutants of an exchange
+     * have been written (possibly none). Writers may use it to cut
+     * their output at exchange boundaries.
+     *
+     * @param exchange original HTTP exchange whose mutants have all been written
+     * @throws IOException if a write error occurs
+     */
+    default void endExchange(HttpExchange exchange) throws IOException {
+        // default no-op
+    }
 }
\ No newline at end of file
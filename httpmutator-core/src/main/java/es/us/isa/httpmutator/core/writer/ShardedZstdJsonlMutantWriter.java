@@ -6,18 +6,27 @@ import com.fasterxml.jackson.core.JsonGenerator.Feature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdException;
 import com.github.luben.zstd.ZstdOutputStream;
 import es.us.isa.httpmutator.core.model.HttpExchange;
 import es.us.isa.httpmutator.core.model.Mutant;
 import es.us.isa.httpmutator.core.model.StandardHttpResponse;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
@@ -33,6 +42,18 @@ import java.util.Objects;
  *  - Uses a large BufferedOutputStream to improve throughput on large records.
  *  - Maintains an approximate "uncompressed bytes" counter (bytes emitted to generator),
  *    allowing rotation by bytes as well as by line count.
+ *  - Rotates at exchange boundaries: once a limit is reached, the shard is committed when
+ *    the current exchange ends (see {@link #endExchange}) or, at the latest, before the
+ *    first mutant of the next exchange. The mutants of an exchange never span shards, so
+ *    each commit is a consistent checkpoint (see {@link #withCommitListener}).
+ *  - Optionally compresses on background threads (see {@link #withCompressionWorkers}),
+ *    so that compression at higher levels keeps up with parallel generation.
+ *  - Optionally compresses every shard with a zstd dictionary, loaded or trained from the
+ *    first mutants (see {@link #withDictionary} and {@link #withTrainedDictionary}).
+ *    Mutants are nearly identical to each other, so a dictionary improves both ratio and
+ *    speed. The dictionary is stored next to the shards, as "&lt;prefix&gt;.dict", and
+ *    referenced by the manifest "&lt;prefix&gt;.manifest.json"; readers must load it to
+ *    decompress the shards (see {@link #readDictionary}).
  */
 public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
 
@@ -43,6 +64,10 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
     public static final long DEFAULT_MAX_UNCOMPRESSED_BYTES = 1L << 30; // 1 GiB (approx)
     public static final int  DEFAULT_ZSTD_LEVEL = 3;                  // throughput-friendly
     public static final int  DEFAULT_BUFFER_BYTES = 1 << 20;          // 1 MiB buffer
+    public static final int  DEFAULT_DICTIONARY_SAMPLES = 10_000;     // mutants used to train a dictionary
+    public static final int  DEFAULT_DICTIONARY_BYTES = 112_640;      // 110 KiB, as the zstd CLI
+
+    private static final Logger logger = LogManager.getLogger(ShardedZstdJsonlMutantWriter.class.getName());
 
     private final ObjectMapper mapper;
     private final JsonFactory factory;
@@ -54,10 +79,26 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
     private final long maxUncompressedBytesApprox;
     private final int zstdLevel;
     private final int bufferBytes;
+    private int compressionWorkers = 0;
+
+    // Dictionary, once loaded or trained (null if none)
+    private byte[] dictionary;
+    private ZstdDictCompress compressionDictionary;
 
-    private int shardIndex = 0;
+    // Dictionary training: until it is trained, lines are held in pendingLines instead of being compressed
+    private ZstdDictTrainer trainer;
+    private int samplesLeft;
+    private SampleBuffer pendingLines;
+
+    private final int firstShardIndex;
+    private int shardIndex;
     private long currentLines = 0;
 
+    private HttpExchange currentExchange;  // Exchange of the last mutant written, null at an exchange boundary
+    private boolean rotationPending = false;
+    private long exchangesCompleted = 0;
+    private ShardCommitListener commitListener;
+
     // counts bytes emitted to JsonGenerator (pre-compression bytes), approximates "uncompressed size"
     private long currentUncompressedBytes = 0;
 
@@ -110,6 +151,26 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
             int zstdLevel,
             int bufferBytes
     ) throws IOException {
+        this(outputDir, shardPrefix, maxLinesPerShard, maxUncompressedBytesApprox, zstdLevel, bufferBytes, 0);
+    }
+
+    /**
+     * @param firstShardIndex index of the first shard written, e.g. the next shard of an
+     *                        interrupted run being resumed (shards with that index or
+     *                        higher are overwritten)
+     */
+    public ShardedZstdJsonlMutantWriter(
+            Path outputDir,
+            String shardPrefix,
+            long maxLinesPerShard,
+            long maxUncompressedBytesApprox,
+            int zstdLevel,
+            int bufferBytes,
+            int firstShardIndex
+    ) throws IOException {
+        if (firstShardIndex < 0) throw new IllegalArgumentException("firstShardIndex must be >= 0");
+        this.firstShardIndex = firstShardIndex;
+        this.shardIndex = firstShardIndex;
         this.outputDir = Objects.requireNonNull(outputDir, "outputDir must not be null");
         this.shardPrefix = Objects.requireNonNull(shardPrefix, "shardPrefix must not be null");
         if (maxLinesPerShard <= 0) throw new IllegalArgumentException("maxLinesPerShard must be > 0");
@@ -128,6 +189,128 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
         openNextShard();
     }
 
+    /**
+     * Callback notified each time a shard is committed (moved to its final name) at an
+     * exchange boundary. A shard committed by {@link #close()} while an exchange is in
+     * progress (e.g., after a failure, or if {@link #endExchange} is never called) is not
+     * notified, since it may hold part of the mutants of that exchange.
+     */
+    @FunctionalInterface
+    public interface ShardCommitListener {
+        /**
+         * @param shard              the committed shard
+         * @param nextShardIndex     index of the next shard to write
+         * @param exchangesCompleted number of exchanges ended by this writer so far (see
+         *                           {@link #endExchange}), all of whose mutants are in
+         *                           committed shards
+         * @throws IOException if the listener fails (e.g., when saving a checkpoint)
+         */
+        void onCommit(Path shard, int nextShardIndex, long exchangesCompleted) throws IOException;
+    }
+
+    /**
+     * @param commitListener listener notified after each shard commit, or null
+     * @return this writer
+     */
+    public ShardedZstdJsonlMutantWriter withCommitListener(ShardCommitListener commitListener) {
+        this.commitListener = commitListener;
+        return this;
+    }
+
+    /**
+     * Compresses shards with zstd's multi-threaded mode: the calling thread only
+     * serializes lines, and compression jobs of consecutive chunks of the shard run on
+     * {@code workers} background threads. Shard names, contents once decompressed and
+     * commit semantics are the same as with single-threaded compression; the compressed
+     * bytes are the same for any number of workers above 0. Must be called before any
+     * mutant is written.
+     *
+     * @param workers number of compression threads, or 0 (the default) to compress on
+     *                the calling thread
+     * @return this writer
+     * @throws IOException if the workers cannot be set up
+     */
+    public ShardedZstdJsonlMutantWriter withCompressionWorkers(int workers) throws IOException {
+        if (workers < 0) throw new IllegalArgumentException("workers must be >= 0");
+        if (currentLines > 0 || exchangesCompleted > 0 || shardIndex > firstShardIndex + 1) {
+            throw new IllegalStateException("Compression workers must be set before writing mutants");
+        }
+        this.compressionWorkers = workers;
+        if (zstdOut != null) {
+            zstdOut.setWorkers(workers);
+        }
+        return this;
+    }
+
+    /**
+     * Compresses all shards with the given dictionary (e.g., trained by a previous run on
+     * similar traffic). The dictionary is stored next to the shards. Must be called before
+     * any mutant is written.
+     *
+     * @param dictionary a zstd dictionary
+     * @return this writer
+     * @throws IOException if the dictionary cannot be stored or used
+     */
+    public ShardedZstdJsonlMutantWriter withDictionary(byte[] dictionary) throws IOException {
+        Objects.requireNonNull(dictionary, "dictionary must not be null");
+        checkNothingWritten("The dictionary");
+        useDictionary(dictionary);
+        return this;
+    }
+
+    /**
+     * Trains a dictionary from the first mutants written and compresses all shards with
+     * it. Until it is trained, the mutants are held in memory; the dictionary is trained
+     * once {@code samples} mutants (or about 100 times {@code dictionaryBytes} of them)
+     * have been written, or at the latest when the first shard is committed. If training
+     * fails (e.g., too few mutants), shards are compressed without a dictionary. Must be
+     * called before any mutant is written.
+     *
+     * @param samples         number of mutants to train the dictionary from
+     * @param dictionaryBytes maximum size of the dictionary
+     * @return this writer
+     */
+    public ShardedZstdJsonlMutantWriter withTrainedDictionary(int samples, int dictionaryBytes) {
+        if (samples < 1) throw new IllegalArgumentException("samples must be >= 1");
+        if (dictionaryBytes < 256) throw new IllegalArgumentException("dictionaryBytes must be >= 256");
+        checkNothingWritten("The dictionary");
+        this.trainer = new ZstdDictTrainer((int) Math.min(100L * dictionaryBytes, Integer.MAX_VALUE - 8), dictionaryBytes);
+        this.samplesLeft = samples;
+        this.pendingLines = new SampleBuffer();
+        countOut.redirect(pendingLines);
+        return this;
+    }
+
+    /** @return the dictionary the shards are compressed with, or null if none (yet) */
+    public byte[] getDictionary() {
+        return dictionary == null ? null : dictionary.clone();
+    }
+
+    /**
+     * Reads the dictionary of the shards written with a given prefix, as referenced by
+     * their manifest.
+     *
+     * @return the dictionary, or null if the shards are compressed without a dictionary
+     * @throws IOException if the manifest or the dictionary cannot be read
+     */
+    public static byte[] readDictionary(Path outputDir, String shardPrefix) throws IOException {
+        Path manifest = outputDir.resolve(shardPrefix + ".manifest.json");
+        if (!Files.exists(manifest)) {
+            return null;
+        }
+        JsonNode dictionary = new ObjectMapper().readTree(manifest.toFile()).path("dictionary");
+        return dictionary.isTextual() ? Files.readAllBytes(outputDir.resolve(dictionary.asText())) : null;
+    }
+
+    private void checkNothingWritten(String what) {
+        if (currentLines > 0 || exchangesCompleted > 0 || shardIndex > firstShardIndex + 1) {
+            throw new IllegalStateException(what + " must be set before writing mutants");
+        }
+        if (dictionary != null || trainer != null) {
+            throw new IllegalStateException("A dictionary is already set");
+        }
+    }
+
     // -----------------------------
     // MutantWriter implementation
     // -----------------------------
@@ -140,19 +323,47 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
             throw new IOException("ShardedZstdJsonlMutantWriter is already closed");
         }
 
-        final JsonNode canonical = mutatedResponse.toJsonNode();
+        final JsonNode canonical = mutatedResponse.toReadOnlyJsonNode();
         if (canonical == null || canonical.isNull()) {
             return;
         }
 
+        // A new exchange starts: rotate now if the previous one filled the shard (and was not ended explicitly)
+        if (rotationPending && exchange != currentExchange) {
+            currentExchange = null;
+            rotateShard();
+        }
+        currentExchange = exchange;
+
         // JSONL: exactly one JSON object per line, followed by '\n'
+        long lineStart = countOut.getCount();
         writeOneJsonlObject(exchange, canonical);
 
+        if (trainer != null) {
+            gen.flush();
+            boolean full = !trainer.addSample(pendingLines.copyOfRange(lineStart, countOut.getCount()));
+            if (full || --samplesLeft == 0) {
+                finishTraining();
+            }
+        }
+
         currentLines++;
         currentUncompressedBytes = countOut.getCount(); // bytes emitted so far in this shard
 
-        // Rotate AFTER writing (so a single huge record is allowed; it just triggers a rotate right after)
+        // Rotate AFTER the exchange (so a single huge exchange is allowed; it just triggers a rotate right after)
         if (shouldRotateShard()) {
+            rotationPending = true;
+        }
+    }
+
+    @Override
+    public void endExchange(HttpExchange exchange) throws IOException {
+        if (closed) {
+            throw new IOException("ShardedZstdJsonlMutantWriter is already closed");
+        }
+        exchangesCompleted++;
+        currentExchange = null;
+        if (rotationPending) {
             rotateShard();
         }
     }
@@ -161,7 +372,7 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
     public void flush() throws IOException {
         if (closed) return;
         if (gen != null) gen.flush();
-        if (zstdOut != null) zstdOut.flush();
+        if (zstdOut != null && trainer == null) zstdOut.flush(); // Nothing to compress while training
         if (fileOut != null) fileOut.flush();
     }
 
@@ -169,7 +380,13 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
     public void close() throws IOException {
         if (closed) return;
         closed = true;
-        closeCurrentShardAndCommit();
+        try {
+            closeCurrentShardAndCommit();
+        } finally {
+            if (compressionDictionary != null) {
+                compressionDictionary.close();
+            }
+        }
     }
 
     // -----------------------------
@@ -213,7 +430,51 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
                 || currentUncompressedBytes >= maxUncompressedBytesApprox;
     }
 
+    /**
+     * Trains the dictionary from the samples collected so far, then compresses the lines
+     * held until now with it.
+     */
+    private void finishTraining() throws IOException {
+        ZstdDictTrainer trainer = this.trainer;
+        this.trainer = null;
+        gen.flush();
+        try {
+            useDictionary(trainer.trainSamples());
+        } catch (ZstdException e) {
+            logger.warn("Could not train a zstd dictionary, shards are compressed without one: {}", e.getMessage());
+        }
+        pendingLines.writeTo(zstdOut);
+        countOut.redirect(zstdOut);
+        pendingLines = null;
+    }
+
+    /**
+     * Stores the dictionary and its manifest next to the shards, then sets it on the
+     * current shard (nothing has been compressed yet) and the next ones.
+     */
+    private void useDictionary(byte[] dictionary) throws IOException {
+        String dictionaryFile = shardPrefix + ".dict";
+        Path tmp = outputDir.resolve(dictionaryFile + ".tmp");
+        Files.write(tmp, dictionary);
+        moveAtomically(tmp, outputDir.resolve(dictionaryFile));
+
+        ObjectNode manifest = mapper.createObjectNode();
+        manifest.put("shards", shardPrefix + "-*.jsonl.zst");
+        manifest.put("dictionary", dictionaryFile);
+        manifest.put("dictionaryId", Zstd.getDictIdFromDict(dictionary));
+        manifest.put("zstdLevel", zstdLevel);
+        Path manifestFile = outputDir.resolve(shardPrefix + ".manifest.json");
+        tmp = outputDir.resolve(manifestFile.getFileName() + ".tmp");
+        mapper.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), manifest);
+        moveAtomically(tmp, manifestFile);
+
+        this.dictionary = dictionary;
+        this.compressionDictionary = new ZstdDictCompress(dictionary, zstdLevel);
+        zstdOut.setDict(compressionDictionary);
+    }
+
     private void rotateShard() throws IOException {
+        rotationPending = false;
         closeCurrentShardAndCommit();
         openNextShard();
     }
@@ -229,6 +490,12 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
         OutputStream buffered = new BufferedOutputStream(fileOut, bufferBytes);
 
         zstdOut = new ZstdOutputStream(buffered, zstdLevel);
+        if (compressionWorkers > 0) {
+            zstdOut.setWorkers(compressionWorkers);
+        }
+        if (compressionDictionary != null) {
+            zstdOut.setDict(compressionDictionary);
+        }
 
         // Count bytes BEFORE compression: place counter ABOVE zstdOut (so it sees uncompressed JSONL bytes).
         // Note: we count "bytes emitted by JsonGenerator", which is the uncompressed UTF-8 JSONL stream.
@@ -237,6 +504,9 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
         gen = factory.createGenerator(countOut);
         // We want explicit control over closing underlying streams
         gen.configure(Feature.AUTO_CLOSE_TARGET, false);
+        // Lines are separated by '\n' only, not by the default root value separator (" "),
+        // so that a line does not depend on its position in the shard
+        gen.setRootValueSeparator(null);
 
         currentLines = 0;
         currentUncompressedBytes = 0;
@@ -246,6 +516,9 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
         if (gen == null) {
             return;
         }
+        if (trainer != null) {
+            finishTraining(); // Fewer samples than requested, but the first shard is complete
+        }
 
         IOException closeError = null;
 
@@ -280,10 +553,19 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
         }
 
         // 4) Commit tmp -> final
+        moveAtomically(currentTmpPath, currentFinalPath);
+
+        // 5) Notify the listener: all the mutants of the exchanges ended so far are committed
+        if (commitListener != null && currentExchange == null) {
+            commitListener.onCommit(currentFinalPath, shardIndex, exchangesCompleted);
+        }
+    }
+
+    private static void moveAtomically(Path from, Path to) throws IOException {
         try {
-            Files.move(currentTmpPath, currentFinalPath, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
         } catch (AtomicMoveNotSupportedException e) {
-            Files.move(currentTmpPath, currentFinalPath, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -301,13 +583,18 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
     // CountingOutputStream
     // -----------------------------
     private static final class CountingOutputStream extends OutputStream {
-        private final OutputStream delegate;
+        private OutputStream delegate;
         private long count = 0;
 
         CountingOutputStream(OutputStream delegate) {
             this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
         }
 
+        /** Sends the next bytes to another stream, keeping the count. */
+        void redirect(OutputStream delegate) {
+            this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        }
+
         long getCount() {
             return count;
         }
@@ -340,4 +627,14 @@ public final class ShardedZstdJsonlMutantWriter implements MutantWriter {
             delegate.close();
         }
     }
+
+    // -----------------------------
+    // SampleBuffer
+    // -----------------------------
+    /** Lines held while training a dictionary, from which samples are copied. */
+    private static final class SampleBuffer extends ByteArrayOutputStream {
+        byte[] copyOfRange(long from, long to) {
+            return Arrays.copyOfRange(buf, (int) from, (int) to);
+        }
+    }
 }
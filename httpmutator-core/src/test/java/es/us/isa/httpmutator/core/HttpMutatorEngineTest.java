@@ -13,6 +13,8 @@ import es.us.isa.httpmutator.core.headers.HeaderMutator;
 import es.us.isa.httpmutator.core.model.Mutant;
 import es.us.isa.httpmutator.core.model.MutantGroup;
 import es.us.isa.httpmutator.core.sc.StatusCodeMutator;
+import es.us.isa.httpmutator.core.util.MutationConfig;
+import es.us.isa.httpmutator.core.util.PropertyManager;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -190,6 +192,162 @@ public class HttpMutatorEngineTest {
 
     }
 
+    @Test
+    public void testParallelGenerationIsDeterministic() throws Exception {
+        // Large paginated body, so that it is split into several chunks
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            if (i > 0) items.append(',');
+            items.append("{\"id\":").append(i).append(",\"name\":\"item").append(i).append("\",\"price\":").append(i + 0.5).append('}');
+        }
+        JsonNode root = MAPPER.readTree("{\"Status Code\": 200, \"Headers\": {\"content-type\": \"application/json\"}, " +
+                "\"Body\": {\"items\": [" + items + "]}}");
+
+        List<String> sequential = generateInParallel(root, 0);
+        List<String> singleThread = generateInParallel(root, 1);
+        List<String> multiThread = generateInParallel(root, 4);
+
+        Assert.assertFalse(singleThread.isEmpty());
+        Assert.assertTrue("The first groups should be the status code and header ones",
+                singleThread.get(0).startsWith("Status Code") && multiThread.get(0).startsWith("Status Code"));
+        Assert.assertEquals("Results must not depend on the number of threads", singleThread, multiThread);
+        Assert.assertEquals("Parallel and sequential generation must yield the same mutants", sequential, multiThread);
+    }
+
+    @Test
+    public void testMutantsDoNotDependOnOtherLocations() throws Exception {
+        JsonNode small = MAPPER.readTree("{\"Status Code\": 200, \"Headers\": {}, " +
+                "\"Body\": {\"name\": \"Alice\"}}");
+        JsonNode large = MAPPER.readTree("{\"Status Code\": 200, \"Headers\": {}, " +
+                "\"Body\": {\"id\": 1, \"tags\": [\"x\", \"y\"], \"name\": \"Alice\"}}");
+
+        // Mutants of the same location and operator come from the same random stream
+        List<String> smallNameMutants = generateNameMutants(small);
+        List<String> largeNameMutants = generateNameMutants(large);
+        Assert.assertFalse(smallNameMutants.isEmpty());
+        Assert.assertEquals(smallNameMutants, largeNameMutants);
+    }
+
+    @Test
+    public void testEngineSharedByConcurrentCallers() throws Exception {
+        List<String> lines = readLines(RESOURCE_PATH);
+        List<JsonNode> responses = new ArrayList<>();
+        for (String line : lines) {
+            if (!line.trim().isEmpty()) responses.add(MAPPER.readTree(line));
+        }
+        HttpMutatorEngine hm = new HttpMutatorEngine();
+
+        List<List<String>> expected = new ArrayList<>();
+        for (JsonNode response : responses) {
+            expected.add(generate(hm, response));
+        }
+
+        // Every thread mutates every response with the same engine
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(8);
+        try {
+            List<java.util.concurrent.Future<List<List<String>>>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    List<List<String>> results = new ArrayList<>();
+                    for (JsonNode response : responses) {
+                        results.add(generate(hm, response));
+                    }
+                    return results;
+                }));
+            }
+            for (java.util.concurrent.Future<List<List<String>>> future : futures) {
+                Assert.assertEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<String> generate(HttpMutatorEngine hm, JsonNode root) {
+        List<String> mutants = new ArrayList<>();
+        es.us.isa.httpmutator.core.util.RandomUtils.runWithSeed(42, () -> hm.getAllMutants(root, mg -> {
+            for (Mutant m : mg.getMutants()) {
+                mutants.add(m.getOriginalJsonPath() + " " + m.getOperatorClassName() + " " + m.getMutatedNode());
+            }
+        }));
+        return mutants;
+    }
+
+    @Test
+    public void testEnginesWithDifferentConfigs() throws Exception {
+        JsonNode root = MAPPER.readTree("{\"Status Code\": 200, \"Headers\": {}, \"Body\": {\"id\": 1}}");
+        MutationConfig defaults = MutationConfig.defaults();
+        HttpMutatorEngine withSc = new HttpMutatorEngine(defaults.withProperty("operator.sc.enabled", "true"));
+        HttpMutatorEngine withoutSc = new HttpMutatorEngine(defaults.withProperty("operator.sc.enabled", "false"));
+
+        // Changing the global properties does not affect engines already built
+        PropertyManager.setProperty("operator.sc.enabled", "false");
+        try {
+            Assert.assertTrue(collectGroupIds(withSc, root).contains("Status Code"));
+            Assert.assertFalse(collectGroupIds(withoutSc, root).contains("Status Code"));
+        } finally {
+            PropertyManager.resetProperties();
+        }
+    }
+
+    @Test
+    public void testStreamMatchesPushGeneration() throws Exception {
+        HttpMutatorEngine hm = new HttpMutatorEngine();
+        for (String line : readLines(RESOURCE_PATH)) {
+            JsonNode root = MAPPER.readTree(line);
+            List<String> expected = generate(hm, root);
+
+            Assert.assertEquals(expected, streamed(hm, root, false, Long.MAX_VALUE));
+            Assert.assertEquals(expected, streamed(hm, root, true, Long.MAX_VALUE));
+            Assert.assertEquals(expected.subList(0, Math.min(5, expected.size())), streamed(hm, root, false, 5));
+        }
+    }
+
+    private static List<String> streamed(HttpMutatorEngine hm, JsonNode root, boolean parallel, long limit) {
+        java.util.stream.Stream<Mutant> mutants = es.us.isa.httpmutator.core.util.RandomUtils.callWithSeed(42,
+                () -> hm.streamMutants(root));
+        return (parallel ? mutants.parallel() : mutants)
+                .limit(limit)
+                .map(m -> m.getOriginalJsonPath() + " " + m.getOperatorClassName() + " " + m.getMutatedNode())
+                .collect(java.util.stream.Collectors.toList());
+    }
+
+    private static Set<String> collectGroupIds(HttpMutatorEngine engine, JsonNode root) {
+        Set<String> ids = new HashSet<>();
+        engine.getAllMutants(root, mg -> ids.add(mg.getIdentifier()));
+        return ids;
+    }
+
+    private static List<String> generateNameMutants(JsonNode root) {
+        List<String> mutants = new ArrayList<>();
+        es.us.isa.httpmutator.core.util.RandomUtils.runWithSeed(42, () -> new HttpMutatorEngine().getAllMutants(root, mg -> {
+            for (Mutant m : mg.getMutants()) {
+                if (m.getOriginalJsonPath().equals("Body/name")) {
+                    mutants.add(m.getOperatorClassName() + " " + m.getMutatedNode().at("/Body/name"));
+                }
+            }
+        }));
+        return mutants;
+    }
+
+    /** Generates all mutants with seed 42, on a pool of the given parallelism (0 for sequential generation). */
+    private static List<String> generateInParallel(JsonNode root, int parallelism) {
+        java.util.concurrent.ForkJoinPool pool = parallelism > 0 ? new java.util.concurrent.ForkJoinPool(parallelism) : null;
+        try {
+            HttpMutatorEngine hm = new HttpMutatorEngine();
+            hm.setForkJoinPool(pool);
+            List<String> mutants = new ArrayList<>();
+            es.us.isa.httpmutator.core.util.RandomUtils.runWithSeed(42, () -> hm.getAllMutants(root, mg -> {
+                for (Mutant m : mg.getMutants()) {
+                    mutants.add(m.getOriginalJsonPath() + " " + m.getOperatorClassName() + " " + m.getMutatedNode());
+                }
+            }));
+            return mutants;
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+    }
+
 
     /* ====================== JSONL writer ====================== */
 
@@ -0,0 +1,185 @@
+package es.us.isa.httpmutator.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import es.us.isa.httpmutator.core.dedup.MutantDeduplicator;
+import es.us.isa.httpmutator.core.model.MutatedHttpResponse;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+import es.us.isa.httpmutator.core.reader.JsonlExchangeReader;
+import es.us.isa.httpmutator.core.strategy.AllOperatorsStrategy;
+import es.us.isa.httpmutator.core.strategy.RandomSingleStrategy;
+import es.us.isa.httpmutator.core.strategy.ReservoirSamplingStrategy;
+import es.us.isa.httpmutator.core.writer.JsonlMutantWriter;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the {@link HttpMutator} facade: concurrent callers, output of the streaming
+ * pipeline, deduplication and mutated response views.
+ */
+public class HttpMutatorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String RESOURCE_PATH = "/httpmutatorInput.jsonl";
+
+    /** Response with arrays of equal elements, whose disordering mutants equal the original. */
+    private static final String DUPLICATING_RESPONSE = "{\"Status Code\": 200, \"Headers\": {}, "
+            + "\"Body\": {\"same\": [1, 1, 1], \"tags\": [\"a\", \"a\"]}}";
+
+    @Test
+    public void testMutateReturnsViewsOverMutatedNodes() throws Exception {
+        for (String line : readLines(RESOURCE_PATH)) {
+            StandardHttpResponse original = StandardHttpResponse.fromJson(line);
+            List<StandardHttpResponse> responses = new HttpMutator(7L)
+                    .withMutationStrategy(new AllOperatorsStrategy())
+                    .mutate(original);
+            List<JsonNode> nodes = new HttpMutator(7L)
+                    .withMutationStrategy(new AllOperatorsStrategy())
+                    .mutate(original.toJsonNode());
+
+            assertEquals(nodes.size(), responses.size());
+            for (int i = 0; i < nodes.size(); i++) {
+                assertTrue(responses.get(i) instanceof MutatedHttpResponse);
+                assertEquals(StandardHttpResponse.fromJsonNode(nodes.get(i)).toJsonString(), responses.get(i).toJsonString());
+            }
+        }
+    }
+
+    @Test
+    public void testInstanceSharedByConcurrentCallers() throws Exception {
+        List<JsonNode> responses = new ArrayList<>();
+        for (String line : readLines(RESOURCE_PATH)) {
+            responses.add(MAPPER.readTree(line));
+        }
+        // A random strategy, so that the selected mutants depend on the random streams
+        List<List<String>> expected = mutateAll(new HttpMutator(7L).withMutationStrategy(new RandomSingleStrategy()),
+                responses);
+
+        // Half of the threads share an instance, the other half use another one with another seed
+        HttpMutator shared = new HttpMutator(7L).withMutationStrategy(new RandomSingleStrategy());
+        HttpMutator other = new HttpMutator(99L).withMutationStrategy(new RandomSingleStrategy());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<List<String>>>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                HttpMutator mutator = t % 2 == 0 ? shared : other;
+                futures.add(executor.submit(() -> mutateAll(mutator, responses)));
+            }
+            for (int t = 0; t < 8; t += 2) {
+                assertEquals(expected, futures.get(t).get());
+            }
+            assertFalse(expected.equals(futures.get(1).get()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<List<String>> mutateAll(HttpMutator mutator, List<JsonNode> responses) {
+        List<List<String>> results = new ArrayList<>();
+        for (int i = 0; i < responses.size(); i++) {
+            results.add(mutator.mutate(responses.get(i), "exchange-" + i).stream()
+                    .map(JsonNode::toString)
+                    .collect(Collectors.toList()));
+        }
+        return results;
+    }
+
+    @Test
+    public void testPipelinedStreamMatchesSequentialStream() throws Exception {
+        String input = String.join("\n", readLines(RESOURCE_PATH));
+        String sequential = mutateStream(input, 1, true);
+        assertFalse(sequential.isEmpty());
+
+        List<String> expected = new ArrayList<>(Arrays.asList(sequential.split("\n")));
+        Collections.sort(expected);
+        for (int threads : new int[]{2, 4}) {
+            assertEquals(sequential, mutateStream(input, threads, true));
+
+            // Unordered output has the same mutants, possibly in a different order
+            List<String> unordered = new ArrayList<>(Arrays.asList(mutateStream(input, threads, false).split("\n")));
+            Collections.sort(unordered);
+            assertEquals(expected, unordered);
+        }
+    }
+
+    @Test
+    public void testDeduplicationDropsDuplicatesAndOriginal() throws Exception {
+        JsonNode root = MAPPER.readTree(DUPLICATING_RESPONSE);
+        MutantDeduplicator deduplicator = MutantDeduplicator.perExchange();
+        List<JsonNode> mutants = new HttpMutator(7L)
+                .withMutationStrategy(new AllOperatorsStrategy())
+                .mutate(root);
+        List<JsonNode> unique = new HttpMutator(7L)
+                .withMutationStrategy(new AllOperatorsStrategy())
+                .withDeduplication(deduplicator)
+                .mutate(root);
+
+        Set<JsonNode> expected = new LinkedHashSet<>(mutants);
+        expected.remove(root);
+        assertEquals(new ArrayList<>(expected), unique);
+        assertEquals(mutants.size() - unique.size(), deduplicator.getDroppedCount());
+        assertTrue(deduplicator.getDroppedCount() > 0); // Disordering arrays of equal elements
+    }
+
+    @Test
+    public void testDeduplicationOfDeferredMutants() throws Exception {
+        // Reservoir sampling holds mutants back until the exchange ends
+        MutantDeduplicator deduplicator = MutantDeduplicator.perExchange();
+        StringWriter out = new StringWriter();
+        new HttpMutator(7L)
+                .withMutationStrategy(new ReservoirSamplingStrategy(100_000))
+                .withDeduplication(deduplicator)
+                .addWriter(new JsonlMutantWriter(out, false))
+                .mutateStream(new JsonlExchangeReader(), new StringReader(DUPLICATING_RESPONSE));
+
+        Set<JsonNode> unique = new HashSet<>();
+        for (String line : out.toString().split("\n")) {
+            assertTrue("Duplicate mutant " + line, unique.add(MAPPER.readTree(line)));
+        }
+        assertFalse(unique.contains(MAPPER.readTree(DUPLICATING_RESPONSE)));
+        assertTrue(deduplicator.getDroppedCount() > 0);
+    }
+
+    private static String mutateStream(String input, int threads, boolean ordered) throws IOException {
+        StringWriter out = new StringWriter();
+        new HttpMutator(7L)
+                .withMutationStrategy(new AllOperatorsStrategy())
+                .addWriter(new JsonlMutantWriter(out, true))
+                .withThreads(threads)
+                .withOrderedOutput(ordered)
+                .mutateStream(new JsonlExchangeReader(), new StringReader(input));
+        return out.toString();
+    }
+
+    private static List<String> readLines(String resourcePath) throws IOException {
+        InputStream in = HttpMutatorTest.class.getResourceAsStream(resourcePath);
+        if (in == null) {
+            throw new IllegalStateException("Resource not found: " + resourcePath);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.lines().filter(line -> !line.trim().isEmpty()).collect(Collectors.toList());
+        }
+    }
+}
@@ -3,9 +3,12 @@ package es.us.isa.httpmutator.core.body;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -15,6 +18,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.util.PropertyManager;
+import es.us.isa.httpmutator.core.util.RandomUtils;
 
 import static junit.framework.TestCase.assertEquals;
 
@@ -173,6 +178,15 @@ public class BodyMutatorTest {
         assertNotEquals("The mutated JSON should be different to the original JSON", jsonString, mutatedJsonString1);
     }
 
+    @Test
+    public void setPropertyOnlyChangesThisMutator() {
+        String enabled = PropertyManager.readProperty("operator.value.long.enabled");
+        deactivateAllMutators(); // Deactivate the mutators of this instance only
+        assertEquals(enabled, PropertyManager.readProperty("operator.value.long.enabled"));
+        JsonNode mutatedJsonNode1 = new BodyMutator().mutateJson(jsonNode, false);
+        assertNotEquals("The mutated JSON should be different to the original JSON", jsonNode, mutatedJsonNode1);
+    }
+
     @Test
     public void badJsonString() {
         String badString = "bad string";
@@ -308,6 +322,55 @@ public class BodyMutatorTest {
         assertEquals("The number of generated mutants does not match", 192, mutants.size());
     }
 
+    @Test
+    public void getAllMutantsDoNotAlterEachOther() {
+        activateAllMutators();
+        JsonNode original = jsonNode.deepCopy();
+        List<Mutant> mutants = new ArrayList<>();
+        List<JsonNode> snapshots = new ArrayList<>();
+        jsonMutator.getAllMutants(jsonNode, 1, group -> {
+            for (Mutant mutant : group.getMutants()) {
+                mutants.add(mutant);
+                snapshots.add(mutant.getMutatedNode().deepCopy());
+            }
+        });
+
+        assertEquals("The input JSON must not be modified", original, jsonNode);
+        assertTrue("Some mutants should have been generated", mutants.size() > 0);
+        for (int i = 0; i < mutants.size(); i++) {
+            assertEquals("Mutants sharing subtrees must not be modified by later mutations",
+                    snapshots.get(i), mutants.get(i).getMutatedNode());
+        }
+    }
+
+    @Test
+    public void getAllMutantsArePatchBased() {
+        activateAllMutators();
+        jsonMutator.getAllMutants(jsonNode, 1, group -> {
+            for (Mutant mutant : group.getMutants()) {
+                assertFalse("Body mutants should only be materialized on demand", mutant.isMaterialized());
+                assertEquals(1, mutant.getPatch().size());
+                assertEquals(mutant.getOriginalJsonPath(), "Body" + mutant.getPatch().get(0).getPath());
+            }
+        });
+    }
+
+    @Test
+    public void getAllMutantsWithEscapedPropertyNames() throws IOException {
+        activateAllMutators();
+        JsonNode escapedNode = objectMapper.readTree("{\"a/b\": {\"c~d\": 1}}");
+        List<Mutant> mutants = new ArrayList<>();
+        jsonMutator.getAllMutants(escapedNode, 1, group -> mutants.addAll(group.getMutants()));
+
+        assertTrue("Some mutants should have been generated", mutants.size() > 0);
+        for (Mutant mutant : mutants) {
+            JsonNode mutated = mutant.getMutatedNode();
+            if (mutant.getOriginalJsonPath().equals("Body/a/b/c~d") && mutated.has("a/b")) {
+                assertEquals("Only the mutated property should change", 1, mutated.get("a/b").size());
+            }
+        }
+    }
+
     @Test
     public void getAllMutantsProbZero() {
         activateAllMutators();
@@ -322,6 +385,37 @@ public class BodyMutatorTest {
         assertEquals("The number of generated mutants does not match", 0, mutants.size());
     }
 
+    @Test
+    public void getAllMutantsWithPlanCache() throws IOException {
+        activateAllMutators();
+        JsonNode first = objectMapper.readTree("{\"id\": 1, \"name\": \"a\", \"tags\": [\"x\", \"y\"], \"inner\": {\"price\": 1.5, \"ok\": true}}");
+        JsonNode sameShape = objectMapper.readTree("{\"id\": 7, \"name\": \"b\", \"tags\": [\"z\", \"w\"], \"inner\": {\"price\": 9.25, \"ok\": false}}");
+        JsonNode otherShape = objectMapper.readTree("{\"id\": 7, \"name\": \"b\", \"tags\": [\"z\"], \"inner\": {\"price\": 9.25, \"ok\": false}}");
+
+        BodyMutator cachingMutator = new BodyMutator();
+        MutationPlanCache cache = new MutationPlanCache(1);
+        cachingMutator.setPlanCache(cache);
+
+        assertEquals(describeMutants(jsonMutator, first), describeMutants(cachingMutator, first));
+        assertEquals(describeMutants(jsonMutator, sameShape), describeMutants(cachingMutator, sameShape));
+        assertEquals(describeMutants(jsonMutator, otherShape), describeMutants(cachingMutator, otherShape));
+        assertEquals(describeMutants(jsonMutator, sameShape), describeMutants(cachingMutator, sameShape));
+        assertEquals("The plan of the first shape should have been reused", 1, cache.getHitCount());
+        assertEquals("The plan of the first shape should have been evicted by the second one", 3, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    private static List<String> describeMutants(BodyMutator mutator, JsonNode body) {
+        List<String> descriptions = new ArrayList<>();
+        RandomUtils.runWithSeed(42, () -> mutator.getAllMutants(body, 1, group -> {
+            for (Mutant mutant : group.getMutants()) {
+                descriptions.add(mutant.getOriginalJsonPath() + " " + mutant.getOperatorClass().getSimpleName() + " "
+                        + mutant.getMutatedNode());
+            }
+        }));
+        return descriptions;
+    }
+
     private void deactivateAllMutators() {
         jsonMutator.setProperty("operator.value.long.enabled", "false");
         jsonMutator.setProperty("operator.value.double.enabled", "false");
@@ -1,14 +1,48 @@
 package es.us.isa.httpmutator.core.headers;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import es.us.isa.httpmutator.core.body.value.common.operator.NullOperator;
 import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutantGroup;
 
 public class HeaderMutatorTest {
     private final HeaderMutator headerMutator = new HeaderMutator();
 
+    @Test
+    public void testCharsetNullOperatorKeptAfterResponseWithoutCharset() {
+        List<Mutant> withoutCharset = charsetMutants("{\"Content-Type\": \"application/json\"}");
+        Assert.assertFalse(withoutCharset.isEmpty());
+        for (Mutant mutant : withoutCharset) {
+            Assert.assertNotEquals(NullOperator.class, mutant.getOperatorClass());
+        }
+
+        // Same mutator instance: the null operator must apply again once a charset is present
+        List<Mutant> withCharset = charsetMutants("{\"Content-Type\": \"application/json; charset=utf-8\"}");
+        boolean nullMutant = false;
+        for (Mutant mutant : withCharset) {
+            if (mutant.getOperatorClass() == NullOperator.class) {
+                nullMutant = true;
+                Assert.assertEquals("application/json", mutant.getMutatedNode().get("Content-Type").asText());
+            }
+        }
+        Assert.assertTrue("Charset NULL mutant missing", nullMutant);
+    }
+
+    private List<Mutant> charsetMutants(String headers) {
+        List<Mutant> mutants = new ArrayList<>();
+        headerMutator.getAllMutants(headers, 1.0, (MutantGroup group) -> {
+            if (group.getIdentifier().endsWith("/charset")) {
+                mutants.addAll(group.getMutants());
+            }
+        });
+        return mutants;
+    }
+
     // @Test
     // public void test1() {
     //     System.out.println("Test case with not-empty media type and not-empty charset");
@@ -0,0 +1,114 @@
+package es.us.isa.httpmutator.core.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MutatedHttpResponseTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String CANONICAL = "{\"Status Code\": 201, "
+            + "\"Headers\": {\"Content-Type\": \"application/json\", \"X-Count\": 3}, "
+            + "\"Body\": {\"id\": 7, \"tags\": [\"a\", null]}}";
+
+    @Test
+    public void testViewReadsCanonicalNode() throws Exception {
+        JsonNode node = MAPPER.readTree(CANONICAL);
+        StandardHttpResponse view = MutatedHttpResponse.of(node);
+        StandardHttpResponse converted = StandardHttpResponse.fromJsonNode(node);
+
+        assertTrue(view instanceof MutatedHttpResponse);
+        assertEquals(converted.getStatusCode(), view.getStatusCode());
+        assertEquals(converted.getHeaders(), view.getHeaders());
+        assertEquals(converted.getBody(), view.getBody());
+        assertEquals(converted.toJsonString(), view.toJsonString());
+        assertEquals(converted.toJsonNode(), view.toJsonNode());
+        // Nothing is copied
+        assertSame(node, view.toReadOnlyJsonNode());
+        assertSame(node.get("Body"), view.getBody());
+        assertSame(node.get("Headers"), ((MutatedHttpResponse) view).getHeadersNode());
+    }
+
+    @Test
+    public void testToJsonNodeReturnsCopy() throws Exception {
+        JsonNode node = MAPPER.readTree(CANONICAL);
+        StandardHttpResponse view = MutatedHttpResponse.of(node);
+
+        JsonNode copy = view.toJsonNode();
+        assertNotSame(node, copy);
+        assertEquals(node, copy);
+        ((ObjectNode) copy.get("Body")).put("id", 8);
+        ((ObjectNode) copy).put("Status Code", 500);
+
+        // The node, which other mutants may share, is unchanged
+        assertEquals(MAPPER.readTree(CANONICAL), node);
+        assertEquals(201, view.getStatusCode());
+        assertEquals(7, view.getBody().get("id").intValue());
+    }
+
+    @Test
+    public void testNullHeadersAndBody() throws Exception {
+        JsonNode node = MAPPER.readTree("{\"Status Code\": 204, \"Headers\": null, \"Body\": null}");
+        StandardHttpResponse view = MutatedHttpResponse.of(node);
+        StandardHttpResponse converted = StandardHttpResponse.fromJsonNode(node);
+
+        assertTrue(view instanceof MutatedHttpResponse);
+        assertEquals(converted.getHeaders(), view.getHeaders());
+        assertTrue(((MutatedHttpResponse) view).getHeadersNode().isNull());
+        assertEquals(converted.toJsonString(), view.toJsonString());
+    }
+
+    @Test
+    public void testNonCanonicalNodesAreConverted() throws Exception {
+        for (String json : Arrays.asList(
+                "{\"Headers\": {}, \"Status Code\": 200, \"Body\": 1}",
+                "{\"Status Code\": 200, \"Headers\": {}}",
+                "{\"Status Code\": 200, \"Headers\": {}, \"Body\": 1, \"id\": \"x\"}",
+                "{\"Status Code\": \"200\", \"Headers\": {}, \"Body\": 1}")) {
+            JsonNode node = MAPPER.readTree(json);
+            StandardHttpResponse response = MutatedHttpResponse.of(node);
+
+            assertFalse(json, response instanceof MutatedHttpResponse);
+            assertEquals(json, StandardHttpResponse.fromJsonNode(node).toJsonString(), response.toJsonString());
+        }
+    }
+
+    @Test
+    public void testSettersDetachFromNode() throws Exception {
+        JsonNode node = MAPPER.readTree(CANONICAL);
+        StandardHttpResponse view = MutatedHttpResponse.of(node);
+
+        view.setStatusCode(599);
+        assertEquals(599, view.getStatusCode());
+        assertEquals(599, view.toJsonNode().get("Status Code").intValue());
+        assertEquals(node.get("Headers"), view.toJsonNode().get("Headers"));
+        view.setHeaders(Collections.singletonMap("X-New", "1"));
+        view.setBody(MAPPER.readTree("[1, 2]"));
+        assertEquals(MAPPER.readTree("{\"Status Code\": 599, \"Headers\": {\"X-New\": \"1\"}, \"Body\": [1, 2]}"),
+                view.toJsonNode());
+
+        // The node, which other mutants may share, is unchanged
+        assertEquals(MAPPER.readTree(CANONICAL), node);
+    }
+
+    @Test
+    public void testStandardHttpResponseIsIndependentCopy() throws Exception {
+        JsonNode node = MAPPER.readTree(CANONICAL);
+        StandardHttpResponse copy = ((MutatedHttpResponse) MutatedHttpResponse.of(node)).toStandardHttpResponse();
+
+        assertFalse(copy instanceof MutatedHttpResponse);
+        assertEquals(node, copy.toJsonNode());
+        assertNotSame(node.get("Body"), copy.getBody());
+    }
+}
@@ -0,0 +1,56 @@
+package es.us.isa.httpmutator.core.reader;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DeltaJsonlMutantReaderTest {
+
+    private static final String ORIGINAL =
+            "{\"_hm_original_id\": \"1\", \"_hm_original\": {\"Status Code\": 200, \"Headers\": {}, \"Body\": {\"id\": 1}}}";
+
+    @Test
+    public void testMutantWithoutOriginal() {
+        assertReadError("Mutant without a preceding original at line 1",
+                "{\"_hm_original_id\": \"1\", \"_hm_patch\": []}");
+    }
+
+    @Test
+    public void testMissingPatch() {
+        assertReadError("Invalid patch at line 3", ORIGINAL, "", "{\"_hm_original_id\": \"1\"}");
+    }
+
+    @Test
+    public void testUnsupportedPatchOperation() {
+        assertReadError("Invalid patch at line 2", ORIGINAL,
+                "{\"_hm_original_id\": \"1\", \"_hm_patch\": [{\"op\": \"move\", \"from\": \"/Body/id\", \"path\": \"/Body/x\"}]}");
+    }
+
+    @Test
+    public void testMalformedPatchOperations() {
+        assertReadError("Invalid patch at line 2", ORIGINAL,
+                "{\"_hm_original_id\": \"1\", \"_hm_patch\": [{\"op\": \"replace\", \"path\": \"/Body/id\"}]}");
+        assertReadError("Invalid patch at line 2", ORIGINAL,
+                "{\"_hm_original_id\": \"1\", \"_hm_patch\": [{\"op\": \"add\", \"path\": \"/Body/x\"}]}");
+        assertReadError("Invalid patch at line 2", ORIGINAL,
+                "{\"_hm_original_id\": \"1\", \"_hm_patch\": [{\"op\": \"remove\"}]}");
+        assertReadError("Invalid patch at line 2", ORIGINAL,
+                "{\"_hm_original_id\": \"1\", \"_hm_patch\": [{\"path\": \"/Body/id\", \"value\": 2}]}");
+        assertReadError("Invalid patch at line 2", ORIGINAL,
+                "{\"_hm_original_id\": \"1\", \"_hm_patch\": [\"replace\"]}");
+    }
+
+    private static void assertReadError(String message, String... lines) {
+        try {
+            new DeltaJsonlMutantReader().read(new StringReader(String.join("\n", lines)), record -> {
+            });
+            fail("The input is invalid");
+        } catch (IOException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package es.us.isa.httpmutator.core.reader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class HarExchangeReaderTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String FIRST_ENTRY = "{\"request\":{\"method\":\"GET\",\"url\":\"http://api/orders/1\",\"headers\":[]},"
+            + "\"response\":{\"status\":200,\"headers\":[{\"name\":\"Content-Type\",\"value\":\"application/json\"}],"
+            + "\"content\":{\"mimeType\":\"application/json\",\"text\":\"{\\\"id\\\":1}\"}}}";
+
+    @Test
+    public void testHarReaderStreamsEntries() throws Exception {
+        // "entries" fields outside log.entries are not entries
+        String har = "{\"log\":{\"version\":\"1.2\",\"creator\":{\"name\":\"proxy\",\"entries\":[]},\"entries\":["
+                + FIRST_ENTRY + ","
+                + "{\"id\":\"second\",\"response\":{\"status\":404,\"content\":{\"text\":\"not found\"}}}"
+                + "],\"pages\":[]},\"extra\":{\"entries\":[1]}}";
+
+        List<HttpExchange> exchanges = new ArrayList<>();
+        new HarExchangeReader().read(new StringReader(har), exchanges::add);
+
+        assertEquals(2, exchanges.size());
+        assertEquals("1", exchanges.get(0).getId());
+        assertEquals(MAPPER.readTree("{\"id\":1}"), exchanges.get(0).getResponse().getBody());
+        assertEquals("application/json", exchanges.get(0).getResponse().getHeaders().get("Content-Type"));
+        assertEquals("http://api/orders/1", exchanges.get(0).getRequest().getUrl());
+        assertEquals("second", exchanges.get(1).getId());
+        assertEquals(404, exchanges.get(1).getResponse().getStatusCode());
+        assertEquals("not found", exchanges.get(1).getResponse().getBody().asText());
+        assertNull(exchanges.get(1).getRequest());
+    }
+
+    @Test
+    public void testEntriesBeforeMalformedInputAreStreamed() {
+        String truncated = "{\"log\":{\"entries\":[" + FIRST_ENTRY + ",{\"response\":{\"status\":";
+
+        List<HttpExchange> exchanges = new ArrayList<>();
+        try {
+            new HarExchangeReader().read(new StringReader(truncated), exchanges::add);
+            fail("The input is truncated");
+        } catch (IOException e) {
+            assertEquals(1, exchanges.size());
+            assertEquals(200, exchanges.get(0).getResponse().getStatusCode());
+        }
+    }
+
+    @Test
+    public void testMissingEntries() {
+        try {
+            new HarExchangeReader().read(new StringReader("{\"log\":{\"version\":\"1.2\",\"pages\":[]}}"), exchange -> {
+            });
+            fail("The input has no entries");
+        } catch (IOException e) {
+            assertEquals("Invalid HAR: expected log.entries array", e.getMessage());
+        }
+    }
+}
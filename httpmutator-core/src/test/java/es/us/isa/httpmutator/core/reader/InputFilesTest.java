@@ -0,0 +1,114 @@
+package es.us.isa.httpmutator.core.reader;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.google.common.io.ByteStreams;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class InputFilesTest {
+
+    private static final String JSONL = "{\"id\": \"a\", \"Status Code\": 200, \"Headers\": {}, \"Body\": {\"name\": \"Señor Müller\"}}\n"
+            + "\n"
+            + "{\"Status Code\": 404, \"Headers\": {\"Content-Type\": \"text/plain\"}, \"Body\": \"ничего\"}\r\n";
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testCompressionDetectedByExtension() throws Exception {
+        byte[] bytes = JSONL.getBytes(StandardCharsets.UTF_8);
+        List<Path> files = Arrays.asList(
+                write("input.jsonl", bytes),
+                gzip("input.jsonl.gz", bytes),
+                gzip("INPUT.JSONL.GZ", bytes),
+                zstd("input.jsonl.zst", bytes),
+                zstd("input.jsonl.Zst", bytes));
+
+        for (Path file : files) {
+            try (InputStream in = InputFiles.open(file)) {
+                assertArrayEquals(file.toString(), bytes, ByteStreams.toByteArray(in));
+            }
+        }
+    }
+
+    @Test
+    public void testCompressedExtensionWithPlainContent() throws Exception {
+        // Content is never sniffed: the extension decides how the file is read
+        for (String name : Arrays.asList("input.jsonl.gz", "input.jsonl.zst")) {
+            Path file = write(name, JSONL.getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = InputFiles.open(file)) {
+                ByteStreams.toByteArray(in);
+                fail(name + " is not compressed");
+            } catch (IOException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void testCompressedJsonlMatchesPlainInput() throws Exception {
+        List<String> expected = new ArrayList<>();
+        new JsonlExchangeReader().read(new StringReader(JSONL), exchange -> expected.add(describe(exchange)));
+
+        byte[] bytes = JSONL.getBytes(StandardCharsets.UTF_8);
+        for (Path file : Arrays.asList(gzip("input.jsonl.gz", bytes), zstd("input.jsonl.zst", bytes))) {
+            List<String> read = new ArrayList<>();
+            new JsonlExchangeReader().read(file, exchange -> read.add(describe(exchange)));
+            assertEquals(file.toString(), expected, read);
+        }
+        assertEquals(Arrays.asList(
+                "a {\"Status Code\":200,\"Headers\":{},\"Body\":{\"name\":\"Señor Müller\"}}",
+                "3 {\"Status Code\":404,\"Headers\":{\"Content-Type\":\"text/plain\"},\"Body\":\"ничего\"}"), expected);
+    }
+
+    @Test
+    public void testUncompressedName() {
+        assertEquals("traffic.jsonl", InputFiles.uncompressedName("traffic.jsonl.zst"));
+        assertEquals("capture.har", InputFiles.uncompressedName("capture.har.gz"));
+        assertEquals("CAPTURE.HAR", InputFiles.uncompressedName("CAPTURE.HAR.GZ"));
+        assertEquals("traffic.jsonl", InputFiles.uncompressedName("traffic.jsonl"));
+        assertEquals("traffic.gzip", InputFiles.uncompressedName("traffic.gzip"));
+    }
+
+    private static String describe(HttpExchange exchange) {
+        return exchange.getId() + " " + exchange.getResponse().toJsonString();
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        return Files.write(tmp.getRoot().toPath().resolve(name), bytes);
+    }
+
+    private Path gzip(String name, byte[] bytes) throws IOException {
+        Path file = tmp.getRoot().toPath().resolve(name);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(bytes);
+        }
+        return file;
+    }
+
+    private Path zstd(String name, byte[] bytes) throws IOException {
+        Path file = tmp.getRoot().toPath().resolve(name);
+        try (OutputStream out = new ZstdOutputStream(Files.newOutputStream(file))) {
+            out.write(bytes);
+        }
+        return file;
+    }
+}
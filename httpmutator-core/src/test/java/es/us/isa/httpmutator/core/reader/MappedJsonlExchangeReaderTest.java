@@ -0,0 +1,152 @@
+package es.us.isa.httpmutator.core.reader;
+
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class MappedJsonlExchangeReaderTest {
+
+    /** Chunk sizes from a single byte, so that chunk boundaries fall on every kind of line. */
+    private static final List<Integer> CHUNK_BYTES = Arrays.asList(1, 7, 64, 100, 333, 4096);
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testLineNumbersShiftedAcrossChunks() throws Exception {
+        List<String> lines = lines(120);
+        Path file = write("input.jsonl", String.join("\n", lines));
+
+        // Ids are the line numbers in the whole file, unless the response has an "id"
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (!lines.get(i).trim().isEmpty()) {
+                expected.add((i % 11 == 0 ? "explicit-" + i : Integer.toString(i + 1)) + " " + (200 + i % 5));
+            }
+        }
+        assertEquals(expected, readSequentially(file));
+
+        for (int chunkBytes : CHUNK_BYTES) {
+            for (int threads : Arrays.asList(1, 3)) {
+                assertEquals(chunkBytes + " bytes, " + threads + " threads", expected, read(file, threads, chunkBytes));
+            }
+        }
+    }
+
+    @Test
+    public void testLineLongerThanChunk() throws Exception {
+        String longBody = String.join("", Collections.nCopies(500, "long"));
+        Path file = write("input.jsonl", "{\"Status Code\": 200, \"Body\": \"short\"}\n"
+                + "{\"Status Code\": 201, \"Body\": \"" + longBody + "\"}\n"
+                + "\n"
+                + "{\"Status Code\": 202, \"Body\": \"short\"}");
+
+        for (int chunkBytes : CHUNK_BYTES) {
+            assertEquals(Arrays.asList("1 200", "2 201", "4 202"), read(file, 2, chunkBytes));
+        }
+    }
+
+    @Test
+    public void testErrorReportsLineInWholeFile() throws Exception {
+        List<String> lines = lines(60);
+        lines.set(45, "{\"Status Code\": oops}");
+        Path file = write("input.jsonl", String.join("\n", lines));
+
+        List<String> beforeError = readSequentially(file.resolveSibling("valid.jsonl"), lines.subList(0, 45));
+        for (int chunkBytes : CHUNK_BYTES) {
+            List<String> read = new ArrayList<>();
+            try {
+                new MappedJsonlExchangeReader(3, chunkBytes).read(file, exchange -> read.add(describe(exchange)));
+                fail("Line 46 is invalid");
+            } catch (IOException e) {
+                assertEquals("Invalid JSON at line 46", e.getMessage());
+            }
+            // Responses before the error are still consumed, and none after it
+            assertEquals(chunkBytes + " bytes", beforeError, read);
+        }
+    }
+
+    @Test
+    public void testCompressedFileReadSequentially() throws Exception {
+        List<String> lines = lines(30);
+        Path plain = write("input.jsonl", String.join("\n", lines));
+        Path gz = tmp.getRoot().toPath().resolve("input.jsonl.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz))) {
+            out.write(Files.readAllBytes(plain));
+        }
+
+        assertEquals(readSequentially(plain), read(gz, 3, 64));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkBytes() {
+        new MappedJsonlExchangeReader(2, 0);
+    }
+
+    /**
+     * @return JSONL lines of different lengths, with blank lines, CRLF line ends,
+     *         multi-byte characters and explicit ids
+     */
+    private static List<String> lines(int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 9 == 4) {
+                lines.add(i % 2 == 0 ? "" : "  \r");
+                continue;
+            }
+            StringBuilder line = new StringBuilder("{");
+            if (i % 11 == 0) {
+                line.append("\"id\": \"explicit-").append(i).append("\", ");
+            }
+            line.append("\"Status Code\": ").append(200 + i % 5)
+                    .append(", \"Headers\": {\"X-Line\": \"").append(i).append("\"}")
+                    .append(", \"Body\": {\"text\": \"").append(String.join("", Collections.nCopies(i % 13, "añ€")))
+                    .append("\"}}");
+            if (i % 3 == 0) {
+                line.append('\r');
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static String describe(HttpExchange exchange) {
+        return exchange.getId() + " " + exchange.getResponse().getStatusCode();
+    }
+
+    private static List<String> read(Path file, int threads, int chunkBytes) throws IOException {
+        List<String> read = new ArrayList<>();
+        new MappedJsonlExchangeReader(threads, chunkBytes).read(file, exchange -> read.add(describe(exchange)));
+        return read;
+    }
+
+    private static List<String> readSequentially(Path file) throws IOException {
+        List<String> read = new ArrayList<>();
+        new JsonlExchangeReader().read(file, exchange -> read.add(describe(exchange)));
+        return read;
+    }
+
+    private static List<String> readSequentially(Path file, List<String> lines) throws IOException {
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return readSequentially(file);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(tmp.getRoot().toPath().resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package es.us.isa.httpmutator.core.reporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import es.us.isa.httpmutator.core.body.value.string0.StringMutator;
+import es.us.isa.httpmutator.core.body.value.string0.operator.StringReplacementOperator;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+import es.us.isa.httpmutator.core.sc.StatusCodeMutator;
+import es.us.isa.httpmutator.core.sc.operator.StatusCodeReplacementWith20XOperator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CsvReporterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int EXCHANGES = 50;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testStateDoesNotGrowWithExchanges() throws Exception {
+        CsvReporter reporter = new CsvReporter(tmp.getRoot().toPath().resolve("run-report.csv"));
+        report(reporter, 0, 5);
+        String small = reporter.saveState().toString();
+        report(reporter, 5, EXCHANGES);
+        JsonNode state = reporter.saveState();
+
+        assertEquals(small.length(), state.toString().length(), 5);
+        assertEquals(2, state.get("operators").size());
+    }
+
+    @Test
+    public void testResumeMatchesUninterruptedRun() throws Exception {
+        Path expected = tmp.getRoot().toPath().resolve("expected-report.csv");
+        CsvReporter uninterrupted = new CsvReporter(expected);
+        report(uninterrupted, 0, EXCHANGES);
+        uninterrupted.onFinished();
+
+        Path resumed = tmp.getRoot().toPath().resolve("resumed-report.csv");
+        CsvReporter interrupted = new CsvReporter(resumed);
+        report(interrupted, 0, 10);
+        interrupted.saveState();
+        report(interrupted, 10, 20);
+        JsonNode state = MAPPER.readTree(interrupted.saveState().toString());
+        // Rows of the interrupted part of the run, saved after the restored checkpoint
+        report(interrupted, 20, 30);
+        interrupted.saveState();
+
+        CsvReporter resuming = new CsvReporter(resumed);
+        resuming.restoreState(state);
+        report(resuming, 20, EXCHANGES);
+        resuming.saveState();
+        resuming.onFinished();
+
+        assertEquals(sortedLines(expected), sortedLines(resumed));
+        assertFalse(Files.exists(savedRowsFile(resumed)));
+    }
+
+    @Test
+    public void testCheckpointsOfPreviousRunIgnored() throws Exception {
+        Path report = tmp.getRoot().toPath().resolve("run-report.csv");
+        CsvReporter previous = new CsvReporter(report);
+        report(previous, 0, 10);
+        previous.saveState();
+        assertTrue(Files.exists(savedRowsFile(report)));
+
+        // A new run, without checkpoints, then another one with a checkpoint
+        CsvReporter noCheckpoints = new CsvReporter(report);
+        report(noCheckpoints, 0, 1);
+        noCheckpoints.onFinished();
+        assertEquals(3, Files.readAllLines(report, StandardCharsets.UTF_8).size());
+
+        CsvReporter checkpointed = new CsvReporter(report);
+        report(checkpointed, 0, 1);
+        checkpointed.saveState();
+        checkpointed.onFinished();
+        assertEquals(3, Files.readAllLines(report, StandardCharsets.UTF_8).size());
+        assertFalse(Files.exists(savedRowsFile(report)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMissingSavedRows() throws Exception {
+        Path report = tmp.getRoot().toPath().resolve("run-report.csv");
+        CsvReporter reporter = new CsvReporter(report);
+        report(reporter, 0, 10);
+        JsonNode state = reporter.saveState();
+        Files.delete(savedRowsFile(report));
+
+        new CsvReporter(report).restoreState(state);
+    }
+
+    /** Reports the mutants of exchanges [from, to): one status code mutant, and i % 4 body mutants. */
+    private static void report(CsvReporter reporter, int from, int to) throws Exception {
+        for (int i = from; i < to; i++) {
+            JsonNode response = MAPPER.readTree("{\"Status Code\": 200, \"Headers\": {}, \"Body\": {\"n\": \"" + i + "\"}}");
+            HttpExchange exchange = new HttpExchange(null, StandardHttpResponse.fromJsonNode(response), "exchange-" + i);
+            reporter.onMutant(exchange, exchange.getResponse(), new Mutant("Status Code", response,
+                    StatusCodeMutator.class, StatusCodeReplacementWith20XOperator.class));
+            for (int j = 0; j < i % 4; j++) {
+                reporter.onMutant(exchange, exchange.getResponse(), new Mutant("Body/n", response,
+                        StringMutator.class, StringReplacementOperator.class));
+            }
+        }
+    }
+
+    private static Path savedRowsFile(Path report) {
+        return report.resolveSibling(report.getFileName() + ".rows.jsonl");
+    }
+
+    private static List<String> sortedLines(Path file) throws Exception {
+        List<String> lines = new ArrayList<>(Files.readAllLines(file, StandardCharsets.UTF_8));
+        Collections.sort(lines);
+        return lines;
+    }
+}
@@ -1,12 +1,34 @@
 package es.us.isa.httpmutator.core.strategy;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import es.us.isa.httpmutator.core.AbstractOperator;
 import es.us.isa.httpmutator.core.HttpMutatorEngine;
+import es.us.isa.httpmutator.core.body.value.common.operator.NullOperator;
+import es.us.isa.httpmutator.core.body.value.string0.StringMutator;
+import es.us.isa.httpmutator.core.body.value.string0.operator.StringBoundaryOperator;
+import es.us.isa.httpmutator.core.body.value.string0.operator.StringReplacementOperator;
+import es.us.isa.httpmutator.core.model.CandidateGroup;
+import es.us.isa.httpmutator.core.model.HttpExchange;
 import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutantCandidate;
+import es.us.isa.httpmutator.core.model.StandardHttpRequest;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+import es.us.isa.httpmutator.core.util.RandomUtils;
 
 /**
  * Unit tests for different MutationStrategy implementations using JUnit4.
@@ -61,4 +83,149 @@ public class MutationStrategyTest {
         System.out.println("Total mutants selected: " + selected.size());
         System.out.println("====================================================");
     }
+
+    /**
+     * Verifies that RandomSingleStrategy picks the same mutant from candidates as from
+     * generated mutants, generating only the chosen candidate.
+     */
+    @Test
+    public void testRandomSingleStrategyGeneratesOnlySelectedCandidate() {
+        MutationStrategy strategy = new RandomSingleStrategy();
+        mutator.getAllMutants(JSON, mutantGroup -> {
+            AtomicInteger generated = new AtomicInteger();
+            List<MutantCandidate> candidates = new ArrayList<>();
+            for (Mutant mutant : mutantGroup.getMutants()) {
+                candidates.add(new MutantCandidate(mutant.getOriginalJsonPath(), mutant.getMutatorClass(),
+                        mutant.getOperatorClass(), () -> {
+                            generated.incrementAndGet();
+                            return mutant;
+                        }));
+            }
+            CandidateGroup candidateGroup = new CandidateGroup(mutantGroup.getIdentifier(), candidates);
+
+            List<Mutant> fromMutants = RandomUtils.callWithSeed(7, () -> strategy.selectMutants(mutantGroup));
+            List<Mutant> fromCandidates = RandomUtils.callWithSeed(7, () -> strategy.selectCandidates(candidateGroup));
+
+            assertEquals(fromMutants, fromCandidates);
+            assertEquals(fromCandidates.size(), generated.get());
+        });
+    }
+
+    /**
+     * Verifies that BudgetStrategy enforces per-exchange and global caps.
+     */
+    @Test
+    public void testBudgetStrategy() {
+        BudgetStrategy strategy = new BudgetStrategy(new AllOperatorsStrategy(), 5, BudgetStrategy.UNLIMITED, 8);
+        List<Mutant> first = selectForExchange(strategy, "1");
+        List<Mutant> second = selectForExchange(strategy, "2");
+        List<Mutant> third = selectForExchange(strategy, "3");
+
+        assertEquals(5, first.size());
+        assertEquals(3, second.size());
+        assertEquals(0, third.size());
+        assertEquals(8, strategy.getSelectedTotal());
+    }
+
+    /**
+     * Verifies that StratifiedStrategy selects at most perGroup mutants per group and
+     * rotates through the operators across groups, least used first.
+     */
+    @Test
+    public void testStratifiedStrategy() {
+        List<Class<? extends AbstractOperator>> operators = Arrays.asList(
+                NullOperator.class, StringBoundaryOperator.class, StringReplacementOperator.class);
+
+        StratifiedStrategy single = new StratifiedStrategy();
+        Map<Class<? extends AbstractOperator>, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3 * operators.size(); i++) {
+            List<Mutant> selected = selectStratified(single, "Body/field" + i, operators, i);
+            assertEquals(1, selected.size());
+            counts.merge(selected.get(0).getOperatorClass(), 1, Integer::sum);
+            // After each full round, every operator has been used equally often
+            if ((i + 1) % operators.size() == 0) {
+                for (Class<? extends AbstractOperator> operator : operators) {
+                    assertEquals(Integer.valueOf((i + 1) / operators.size()), counts.get(operator));
+                }
+            }
+        }
+
+        StratifiedStrategy pairs = new StratifiedStrategy(2);
+        Set<Class<? extends AbstractOperator>> firstTwo = new HashSet<>();
+        for (Mutant mutant : selectStratified(pairs, "Body/a", operators, 0)) {
+            firstTwo.add(mutant.getOperatorClass());
+        }
+        assertEquals(2, firstTwo.size());
+        List<Mutant> next = selectStratified(pairs, "Body/b", operators, 1);
+        assertEquals(2, next.size());
+        assertTrue("The operator not used yet goes first",
+                !firstTwo.contains(next.get(0).getOperatorClass()));
+        assertEquals(1, selectStratified(pairs, "Body/c", operators.subList(0, 1), 2).size());
+    }
+
+    private static List<Mutant> selectStratified(StratifiedStrategy strategy, String path,
+                                                 List<Class<? extends AbstractOperator>> operators, long seed) {
+        List<MutantCandidate> candidates = new ArrayList<>();
+        for (Class<? extends AbstractOperator> operator : operators) {
+            candidates.add(new MutantCandidate(path, StringMutator.class, operator,
+                    () -> new Mutant(path, TextNode.valueOf(operator.getSimpleName()), StringMutator.class, operator)));
+        }
+        CandidateGroup group = new CandidateGroup(path, candidates);
+        return RandomUtils.callWithSeed(seed, () -> strategy.selectCandidates(group));
+    }
+
+    /**
+     * Verifies that ReservoirSamplingStrategy defers its selection and emits a sample
+     * of the requested size in input order.
+     */
+    @Test
+    public void testReservoirSamplingStrategy() {
+        ReservoirSamplingStrategy strategy = new ReservoirSamplingStrategy(4);
+        assertEquals(0, selectForExchange(strategy, "1").size());
+        assertEquals(0, selectForExchange(strategy, "2").size());
+
+        List<String> exchanges = new ArrayList<>();
+        strategy.drain((exchange, mutant) -> exchanges.add(exchange.getId()));
+        assertEquals(4, exchanges.size());
+        List<String> sorted = new ArrayList<>(exchanges);
+        sorted.sort(null);
+        assertEquals(sorted, exchanges);
+    }
+
+    /**
+     * Verifies that PathNoveltyStrategy selects each endpoint template, normalized path
+     * and operator combination only once, and that URLs of the same template share
+     * combinations.
+     */
+    @Test
+    public void testPathNoveltyStrategy() {
+        PathNoveltyStrategy strategy = new PathNoveltyStrategy(new AllOperatorsStrategy(), 1);
+        List<Mutant> first = selectForExchange(strategy, "1", StandardHttpRequest.of("GET", "http://api/users/1"));
+        List<Mutant> sameTemplate = selectForExchange(strategy, "2",
+                StandardHttpRequest.of("GET", "http://api/users/2?x=y"));
+        List<Mutant> otherEndpoint = selectForExchange(strategy, "3", StandardHttpRequest.of("POST", "http://api/users"));
+
+        Set<String> combinations = new HashSet<>();
+        for (Mutant mutant : first) {
+            String combination = mutant.getOriginalJsonPath().replaceAll("/\\d+", "/*") + " " + mutant.getOperatorClass();
+            assertTrue("Duplicate combination " + combination, combinations.add(combination));
+        }
+        assertTrue(first.size() > 0);
+        assertTrue("Array elements should share combinations", strategy.getSkippedCount() > 0);
+        assertEquals(0, sameTemplate.size());
+        assertEquals(first.size(), otherEndpoint.size());
+    }
+
+    private static List<Mutant> selectForExchange(MutationStrategy strategy, String id) {
+        return selectForExchange(strategy, id, null);
+    }
+
+    private static List<Mutant> selectForExchange(MutationStrategy strategy, String id, StandardHttpRequest request) {
+        HttpExchange exchange = new HttpExchange(request, StandardHttpResponse.fromJson(JSON), id);
+        MutationStrategy exchangeStrategy = strategy.forExchange(exchange);
+        List<Mutant> selected = new ArrayList<>();
+        RandomUtils.runWithSeed(7, () -> mutator.getAllCandidates(exchange.getResponse().toJsonNode(),
+                candidateGroup -> selected.addAll(exchangeStrategy.selectCandidates(candidateGroup))));
+        return selected;
+    }
 }
@@ -0,0 +1,90 @@
+package es.us.isa.httpmutator.core.writer;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import es.us.isa.httpmutator.core.body.array.ArrayMutator;
+import es.us.isa.httpmutator.core.body.array.operator.ArrayRemoveElementOperator;
+import es.us.isa.httpmutator.core.body.value.double0.DoubleMutator;
+import es.us.isa.httpmutator.core.body.value.double0.operator.DoubleReplacementOperator;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.PatchOperation;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+import es.us.isa.httpmutator.core.reader.DeltaJsonlMutantReader;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class DeltaJsonlMutantWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testDeltaJsonlRebuildsFullMutants() throws Exception {
+        HttpExchange order = exchange("order", "{\"Status Code\": 200, \"Headers\": {}, "
+                + "\"Body\": {\"price\": 9.5, \"tags\": [\"new\", \"sale\"]}}");
+        HttpExchange invoice = exchange("invoice", "{\"Status Code\": 201, \"Headers\": {\"Location\": \"/invoices/1\"}, "
+                + "\"Body\": {\"price\": 20.0}}");
+        Mutant price = new Mutant("Body/price", order.getResponse().toJsonNode(),
+                Collections.singletonList(PatchOperation.replace(JsonPointer.compile("/Body/price"), DoubleNode.valueOf(0.5))),
+                DoubleMutator.class, DoubleReplacementOperator.class);
+        Mutant tag = new Mutant("Body/tags", order.getResponse().toJsonNode(),
+                Collections.singletonList(PatchOperation.remove(JsonPointer.compile("/Body/tags/0"))),
+                ArrayMutator.class, ArrayRemoveElementOperator.class);
+        // Materialized mutants are written as a replacement of the whole response
+        JsonNode invoiceNode = MAPPER.readTree("{\"Status Code\": 201, \"Headers\": {}, \"Body\": {\"price\": -1.0}}");
+        Mutant invoicePrice = new Mutant("Body/price", invoiceNode, DoubleMutator.class, DoubleReplacementOperator.class);
+
+        StringWriter out = new StringWriter();
+        try (DeltaJsonlMutantWriter writer = new DeltaJsonlMutantWriter(out)) {
+            write(writer, order, price);
+            write(writer, invoice, invoicePrice);
+            write(writer, order, tag);
+        }
+        String[] lines = out.toString().split("\n");
+
+        // The original of an exchange is written again after the mutants of another one
+        assertEquals(6, lines.length);
+        assertEquals(order.getResponse().toJsonNode(), MAPPER.readTree(lines[0]).get("_hm_original"));
+        assertEquals(invoice.getResponse().toJsonNode(), MAPPER.readTree(lines[2]).get("_hm_original"));
+        assertEquals(order.getResponse().toJsonNode(), MAPPER.readTree(lines[4]).get("_hm_original"));
+        JsonNode priceRecord = MAPPER.readTree(lines[1]);
+        assertEquals(MAPPER.readTree("[{\"op\": \"replace\", \"path\": \"/Body/price\", \"value\": 0.5}]"),
+                priceRecord.get("_hm_patch"));
+        assertFalse(priceRecord.has("Body"));
+        assertEquals(MAPPER.readTree("[{\"op\": \"remove\", \"path\": \"/Body/tags/0\"}]"),
+                MAPPER.readTree(lines[5]).get("_hm_patch"));
+
+        List<DeltaJsonlMutantReader.MutantRecord> records = new ArrayList<>();
+        new DeltaJsonlMutantReader().read(new StringReader(out.toString()), records::add);
+
+        assertEquals(3, records.size());
+        List<Mutant> mutants = Arrays.asList(price, invoicePrice, tag);
+        List<String> ids = Arrays.asList("order", "invoice", "order");
+        for (int i = 0; i < mutants.size(); i++) {
+            DeltaJsonlMutantReader.MutantRecord record = records.get(i);
+            assertEquals(ids.get(i), record.getOriginalId());
+            assertEquals(mutants.get(i).getOriginalJsonPath(), record.getOriginalJsonPath());
+            assertEquals(mutants.get(i).getOperatorClassName(), record.getOperatorClassName());
+            assertEquals(mutants.get(i).getMutatedNode(), record.getMutatedNode());
+        }
+    }
+
+    private static HttpExchange exchange(String id, String response) throws Exception {
+        return new HttpExchange(null, StandardHttpResponse.fromJsonNode(MAPPER.readTree(response)), id);
+    }
+
+    private static void write(DeltaJsonlMutantWriter writer, HttpExchange exchange, Mutant mutant) throws Exception {
+        writer.write(exchange, StandardHttpResponse.fromJsonNode(mutant.getMutatedNode()), mutant);
+    }
+}
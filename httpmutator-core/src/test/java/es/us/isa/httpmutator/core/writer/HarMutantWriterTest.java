@@ -0,0 +1,125 @@
+package es.us.isa.httpmutator.core.writer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import es.us.isa.httpmutator.core.body.value.string0.StringMutator;
+import es.us.isa.httpmutator.core.body.value.string0.operator.StringReplacementOperator;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HarMutantWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int MUTANTS = 60;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testHarSplitIntoSizeCappedFiles() throws Exception {
+        long maxBytes = 5_000;
+        File dir = tmp.getRoot();
+        writeMutants(new HarMutantWriter(dir.toPath(), "mutants", maxBytes));
+
+        File[] files = dir.listFiles();
+        Arrays.sort(files);
+        assertTrue(files.length > 3);
+
+        List<JsonNode> entries = new ArrayList<>();
+        for (int i = 0; i < files.length; i++) {
+            assertEquals(String.format("mutants-%05d.har", i), files[i].getName());
+            JsonNode log = MAPPER.readTree(files[i]).get("log");
+            assertEquals("1.2", log.get("version").asText());
+            assertTrue(log.get("pages").isArray());
+            JsonNode fileEntries = log.get("entries");
+            assertTrue(fileEntries.size() > 0);
+            fileEntries.forEach(entries::add);
+
+            // A file is closed by the entry that reaches the limit, the last one may be smaller
+            long withoutLastEntry = files[i].length() - MAPPER.writeValueAsBytes(fileEntries.get(fileEntries.size() - 1)).length;
+            assertTrue(withoutLastEntry < maxBytes);
+            if (i < files.length - 1) {
+                assertTrue(files[i].length() >= maxBytes);
+            }
+        }
+
+        // Entries keep the order in which they were written
+        StringWriter single = new StringWriter();
+        writeMutants(new HarMutantWriter(single));
+        JsonNode singleEntries = MAPPER.readTree(single.toString()).at("/log/entries");
+        assertEquals(MUTANTS, entries.size());
+        for (int i = 0; i < MUTANTS; i++) {
+            assertEquals(singleEntries.get(i).get("response"), entries.get(i).get("response"));
+            assertEquals(singleEntries.get(i).get("request"), entries.get(i).get("request"));
+        }
+    }
+
+    @Test
+    public void testEntryLargerThanLimit() throws Exception {
+        File dir = tmp.getRoot();
+        writeMutants(new HarMutantWriter(dir.toPath(), "mutants", 1));
+
+        File[] files = dir.listFiles();
+        assertEquals(MUTANTS, files.length);
+        for (File file : files) {
+            assertEquals(1, MAPPER.readTree(file).at("/log/entries").size());
+        }
+    }
+
+    @Test
+    public void testHarWithoutMutantsHasNoEntries() throws Exception {
+        StringWriter out = new StringWriter();
+        HarMutantWriter writer = new HarMutantWriter(out);
+        assertEquals("", out.toString()); // Nothing is written before the first entry
+        writer.close();
+
+        JsonNode log = MAPPER.readTree(out.toString()).get("log");
+        assertEquals("1.2", log.get("version").asText());
+        assertTrue(log.get("entries").isArray());
+        assertEquals(0, log.get("entries").size());
+    }
+
+    /** Writes {@link #MUTANTS} mutants of a few exchanges, then closes the writer. */
+    private static void writeMutants(HarMutantWriter writer) throws IOException {
+        try {
+            HttpExchange exchange = null;
+            for (int i = 0; i < MUTANTS; i++) {
+                if (i % 10 == 0) {
+                    exchange = new HttpExchange(null, StandardHttpResponse.fromJsonNode(response(i / 10, "active")),
+                            Integer.toString(i / 10));
+                }
+                JsonNode mutated = response(i / 10, "mutant " + i);
+                writer.write(exchange, StandardHttpResponse.fromJsonNode(mutated),
+                        new Mutant("Body/status", mutated, StringMutator.class, StringReplacementOperator.class));
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static JsonNode response(int id, String status) {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("Status Code", 200);
+        response.putObject("Headers").put("Content-Type", "application/json");
+        ObjectNode body = response.putObject("Body");
+        body.put("id", id);
+        body.put("status", status);
+        return response;
+    }
+}
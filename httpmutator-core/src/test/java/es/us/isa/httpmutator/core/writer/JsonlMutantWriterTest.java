@@ -0,0 +1,151 @@
+package es.us.isa.httpmutator.core.writer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import es.us.isa.httpmutator.core.body.value.string0.StringMutator;
+import es.us.isa.httpmutator.core.body.value.string0.operator.StringReplacementOperator;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.MutatedHttpResponse;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonlMutantWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Multi-byte characters and characters that must be escaped. */
+    private static final String[] TEXTS = {"Zürich", "東京 ☃", "quote \" and \\ and \n", "Ærø"};
+
+    private static final int MUTANTS = 40;
+
+    @Test
+    public void testBytesMatchCharacters() throws Exception {
+        // Buffers smaller than a line, so lines are flushed while being generated
+        for (int flushThreshold : new int[]{1, 16, 4096}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            writeMutants(new JsonlMutantWriter(bytes, true, flushThreshold));
+            StringWriter chars = new StringWriter();
+            writeMutants(new JsonlMutantWriter(chars, true, flushThreshold));
+
+            assertArrayEquals(chars.toString().getBytes(StandardCharsets.UTF_8), bytes.toByteArray());
+        }
+    }
+
+    @Test
+    public void testSupplementaryCharactersEscapedOnBytes() throws Exception {
+        ObjectNode mutated = MAPPER.createObjectNode();
+        mutated.put("Status Code", 200);
+        mutated.putObject("Headers");
+        mutated.putObject("Body").put("text", "smile \uD83D\uDE00 \uD834\uDD1E");
+        Mutant mutant = new Mutant("Body/text", mutated, StringMutator.class, StringReplacementOperator.class);
+        HttpExchange exchange = new HttpExchange(null, StandardHttpResponse.fromJsonNode(response(-1)), "1");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonlMutantWriter writer = new JsonlMutantWriter(bytes, false, 16)) {
+            writer.write(exchange, MutatedHttpResponse.of(mutated), mutant);
+        }
+        StringWriter chars = new StringWriter();
+        try (JsonlMutantWriter writer = new JsonlMutantWriter(chars, false, 16)) {
+            writer.write(exchange, MutatedHttpResponse.of(mutated), mutant);
+        }
+
+        String line = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(line, line.contains("smile \\uD83D\\uDE00 \\uD834\\uDD1E"));
+        assertEquals(MAPPER.readTree(chars.toString()), MAPPER.readTree(line));
+        assertEquals(mutated, MAPPER.readTree(line));
+    }
+
+    @Test
+    public void testLinesAreCanonicalResponsesWithMeta() throws Exception {
+        StringWriter out = new StringWriter();
+        writeMutants(new JsonlMutantWriter(out, true, 16));
+
+        String[] lines = out.toString().split("\n", -1);
+        assertEquals(MUTANTS + 1, lines.length);
+        assertEquals("", lines[MUTANTS]); // Every line ends with '\n'
+        for (int i = 0; i < MUTANTS; i++) {
+            ObjectNode expected = response(i).deepCopy();
+            expected.put("_hm_original_id", "exchange-" + i / 10);
+            expected.put("_hm_original_json_path", "Body/city");
+            expected.put("_hm_mutator", StringMutator.class.getSimpleName());
+            expected.put("_hm_operator", StringReplacementOperator.class.getSimpleName());
+            assertEquals(expected, MAPPER.readTree(lines[i]));
+            assertFalse(lines[i].contains("\r"));
+        }
+    }
+
+    @Test
+    public void testLinesWithoutMeta() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeMutants(new JsonlMutantWriter(out, false, 16));
+
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(MUTANTS, lines.length);
+        for (int i = 0; i < MUTANTS; i++) {
+            assertEquals(response(i), MAPPER.readTree(lines[i]));
+        }
+    }
+
+    @Test
+    public void testOutputBufferedUntilFull() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonlMutantWriter writer = new JsonlMutantWriter(out, true, 1 << 16);
+        write(writer, 0);
+        assertEquals(0, out.size());
+
+        writer.flush();
+        assertTrue(out.size() > 0);
+        writer.close();
+        try {
+            write(writer, 1);
+            fail("The writer is closed");
+        } catch (IOException e) {
+            assertEquals("JsonlMutantWriter is already closed", e.getMessage());
+        }
+    }
+
+    /** Writes {@link #MUTANTS} mutants, as views and as converted responses, then closes the writer. */
+    private static void writeMutants(JsonlMutantWriter writer) throws IOException {
+        try {
+            for (int i = 0; i < MUTANTS; i++) {
+                write(writer, i);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void write(JsonlMutantWriter writer, int i) throws IOException {
+        JsonNode mutated = response(i);
+        StandardHttpResponse response = i % 2 == 0
+                ? MutatedHttpResponse.of(mutated)
+                : StandardHttpResponse.fromJsonNode(mutated);
+        writer.write(new HttpExchange(null, StandardHttpResponse.fromJsonNode(response(-1)), "exchange-" + i / 10),
+                response, new Mutant("Body/city", mutated, StringMutator.class, StringReplacementOperator.class));
+    }
+
+    /** @return the i-th mutant, or the original response for -1 */
+    private static ObjectNode response(int i) {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("Status Code", 200 + Math.max(i, 0) % 3);
+        response.putObject("Headers").put("X-Name", TEXTS[Math.max(i, 0) % TEXTS.length]);
+        ObjectNode body = response.putObject("Body");
+        body.put("city", i < 0 ? "Sevilla" : TEXTS[i % TEXTS.length] + " " + i);
+        body.put("amount", 1.5e3);
+        body.putArray("tags").add("ñ").add(i);
+        return response;
+    }
+}
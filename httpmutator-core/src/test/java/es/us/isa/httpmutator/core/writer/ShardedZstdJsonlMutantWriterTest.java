@@ -0,0 +1,227 @@
+package es.us.isa.httpmutator.core.writer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import es.us.isa.httpmutator.core.body.value.string0.StringMutator;
+import es.us.isa.httpmutator.core.body.value.string0.operator.StringReplacementOperator;
+import es.us.isa.httpmutator.core.model.HttpExchange;
+import es.us.isa.httpmutator.core.model.Mutant;
+import es.us.isa.httpmutator.core.model.StandardHttpResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShardedZstdJsonlMutantWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Exchanges written by each run, with {@link #MUTANTS_PER_EXCHANGE} mutants each. */
+    private static final int EXCHANGES = 40;
+    private static final int MUTANTS_PER_EXCHANGE = 7;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testResumeFromLastCommittedShard() throws Exception {
+        Path full = tmp.newFolder("full").toPath();
+        Path resumed = tmp.newFolder("resumed").toPath();
+
+        writeExchanges(shardWriter(full, 0), 0);
+
+        // Interrupted while committing the second shard: the first commit is the checkpoint
+        long[] checkpoint = new long[2];
+        try {
+            writeExchanges(shardWriter(resumed, 0).withCommitListener((shard, nextShardIndex, completed) -> {
+                assertEquals(String.format("mutants-%05d.jsonl.zst", nextShardIndex - 1), shard.getFileName().toString());
+                if (nextShardIndex > 1) {
+                    throw new IOException("interrupted");
+                }
+                checkpoint[0] = nextShardIndex;
+                checkpoint[1] = completed;
+            }), 0);
+            fail("The run should have been interrupted");
+        } catch (IOException e) {
+            assertEquals("interrupted", e.getMessage());
+        }
+        // Shards are cut at exchange boundaries, so the first one holds whole exchanges
+        assertEquals(1, checkpoint[0]);
+        List<String> firstShard = readLines(resumed.resolve("mutants-00000.jsonl.zst"), null);
+        assertEquals(MUTANTS_PER_EXCHANGE * checkpoint[1], firstShard.size());
+        assertEquals(Long.toString(checkpoint[1] - 1),
+                MAPPER.readTree(firstShard.get(firstShard.size() - 1)).get("_hm_original_id").asText());
+
+        writeExchanges(shardWriter(resumed, (int) checkpoint[0]), (int) checkpoint[1]);
+
+        assertTrue(shardNames(full).size() > 3);
+        assertEquals(shardNames(full), shardNames(resumed));
+        assertEquals(readShards(full), readShards(resumed));
+    }
+
+    @Test
+    public void testCompressionWorkersDoNotChangeShards() throws Exception {
+        Path single = tmp.newFolder("single").toPath();
+        Path oneWorker = tmp.newFolder("one-worker").toPath();
+        Path twoWorkers = tmp.newFolder("two-workers").toPath();
+
+        writeExchanges(shardWriter(single, 0), 0);
+        writeExchanges(shardWriter(oneWorker, 0).withCompressionWorkers(1), 0);
+        writeExchanges(shardWriter(twoWorkers, 0).withCompressionWorkers(2), 0);
+
+        assertEquals(shardNames(single), shardNames(twoWorkers));
+        assertEquals(readShards(single), readShards(twoWorkers));
+        // The compressed bytes do not depend on the number of workers
+        for (String shard : shardNames(oneWorker)) {
+            assertArrayEquals(Files.readAllBytes(oneWorker.resolve(shard)), Files.readAllBytes(twoWorkers.resolve(shard)));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCompressionWorkersSetAfterWriting() throws Exception {
+        try (ShardedZstdJsonlMutantWriter writer = shardWriter(tmp.getRoot().toPath(), 0)) {
+            JsonNode mutated = response(0, 0);
+            writer.write(new HttpExchange(null, StandardHttpResponse.fromJsonNode(response(0, -1)), "0"),
+                    StandardHttpResponse.fromJsonNode(mutated),
+                    new Mutant("Body/status", mutated, StringMutator.class, StringReplacementOperator.class));
+            writer.withCompressionWorkers(2);
+        }
+    }
+
+    @Test
+    public void testShardsWithTrainedDictionary() throws Exception {
+        Path plain = tmp.newFolder("plain").toPath();
+        Path trained = tmp.newFolder("trained").toPath();
+        Path loaded = tmp.newFolder("loaded").toPath();
+
+        writeExchanges(shardWriter(plain, 0), 0);
+        ShardedZstdJsonlMutantWriter trainedWriter = shardWriter(trained, 0).withTrainedDictionary(40, 4096);
+        writeExchanges(trainedWriter, 0);
+        byte[] dictionary = ShardedZstdJsonlMutantWriter.readDictionary(trained, "mutants");
+
+        assertNotNull(dictionary);
+        assertTrue(dictionary.length <= 4096);
+        assertNull(ShardedZstdJsonlMutantWriter.readDictionary(plain, "mutants"));
+        assertArrayEquals(trainedWriter.getDictionary(), dictionary);
+        JsonNode manifest = MAPPER.readTree(trained.resolve("mutants.manifest.json").toFile());
+        assertEquals("mutants.dict", manifest.get("dictionary").asText());
+        assertEquals(Zstd.getDictIdFromDict(dictionary), manifest.get("dictionaryId").longValue());
+        assertEquals(shardNames(plain), shardNames(trained));
+        assertEquals(readShards(plain), readShards(trained));
+        assertTrue(shardBytes(trained) < shardBytes(plain));
+
+        // Shards cannot be read without their dictionary
+        try {
+            readLines(trained.resolve("mutants-00000.jsonl.zst"), null);
+            fail("The shard needs the dictionary");
+        } catch (UncheckedIOException e) {
+            assertEquals("Dictionary mismatch", e.getCause().getMessage());
+        }
+
+        // A dictionary trained by a previous run can be loaded
+        writeExchanges(shardWriter(loaded, 0).withDictionary(dictionary), 0);
+        assertArrayEquals(dictionary, ShardedZstdJsonlMutantWriter.readDictionary(loaded, "mutants"));
+        assertEquals(readShards(plain), readShards(loaded));
+    }
+
+    private static ShardedZstdJsonlMutantWriter shardWriter(Path dir, int firstShardIndex) throws IOException {
+        return new ShardedZstdJsonlMutantWriter(dir, "mutants", 50,
+                ShardedZstdJsonlMutantWriter.DEFAULT_MAX_UNCOMPRESSED_BYTES,
+                ShardedZstdJsonlMutantWriter.DEFAULT_ZSTD_LEVEL,
+                ShardedZstdJsonlMutantWriter.DEFAULT_BUFFER_BYTES,
+                firstShardIndex);
+    }
+
+    /**
+     * Writes the mutants of the exchanges from the given one on, ending each exchange,
+     * then closes the writer.
+     */
+    private static void writeExchanges(ShardedZstdJsonlMutantWriter writer, int firstExchange) throws IOException {
+        try {
+            for (int i = firstExchange; i < EXCHANGES; i++) {
+                HttpExchange exchange = new HttpExchange(null, StandardHttpResponse.fromJsonNode(response(i, -1)),
+                        Integer.toString(i));
+                for (int j = 0; j < MUTANTS_PER_EXCHANGE; j++) {
+                    JsonNode mutated = response(i, j);
+                    writer.write(exchange, StandardHttpResponse.fromJsonNode(mutated),
+                            new Mutant("Body/status", mutated, StringMutator.class, StringReplacementOperator.class));
+                }
+                writer.endExchange(exchange);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /** @return a customer response of an exchange, or its j-th mutant (-1 for the original) */
+    private static JsonNode response(int exchange, int mutant) {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("Status Code", 200);
+        response.putObject("Headers").put("Content-Type", "application/json");
+        ObjectNode body = response.putObject("Body");
+        body.put("id", exchange);
+        body.put("name", "Customer " + exchange);
+        body.put("email", "customer" + exchange + "@example.org");
+        body.put("status", mutant < 0 ? "active" : "mutant " + mutant);
+        ObjectNode address = body.putObject("address");
+        address.put("street", (100 + exchange * 7) + " Main Street");
+        address.put("city", exchange % 2 == 0 ? "Seville" : "Madrid");
+        address.put("zip", String.format("%05d", 41000 + exchange * 13));
+        return response;
+    }
+
+    private static List<String> shardNames(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(f -> f.getFileName().toString()).filter(f -> f.endsWith(".jsonl.zst")).sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> readShards(Path dir) throws IOException {
+        byte[] dictionary = ShardedZstdJsonlMutantWriter.readDictionary(dir, "mutants");
+        List<String> lines = new ArrayList<>();
+        for (String shard : shardNames(dir)) {
+            lines.addAll(readLines(dir.resolve(shard), dictionary));
+        }
+        return lines;
+    }
+
+    private static List<String> readLines(Path shard, byte[] dictionary) throws IOException {
+        ZstdInputStream in = new ZstdInputStream(Files.newInputStream(shard));
+        if (dictionary != null) {
+            in.setDict(dictionary);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    private static long shardBytes(Path dir) throws IOException {
+        long bytes = 0;
+        for (String shard : shardNames(dir)) {
+            bytes += Files.size(dir.resolve(shard));
+        }
+        return bytes;
+    }
+}
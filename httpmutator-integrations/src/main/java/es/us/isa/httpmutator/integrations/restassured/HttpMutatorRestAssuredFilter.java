@@ -6,7 +6,6 @@ import es.us.isa.httpmutator.core.model.StandardHttpResponse;
 import es.us.isa.httpmutator.core.reporter.CsvReporter;
 import es.us.isa.httpmutator.core.strategy.AllOperatorsStrategy;
 import es.us.isa.httpmutator.core.strategy.MutationStrategy;
-import es.us.isa.httpmutator.core.util.RandomUtils;
 import io.restassured.filter.Filter;
 import io.restassured.filter.FilterContext;
 import io.restassured.response.Response;
@@ -76,7 +75,7 @@ public class HttpMutatorRestAssuredFilter implements Filter {
     /**
      * Creates a new filter with explicit configuration.
      *
-     * @param randomSeed       seed for HttpMutator's randomness (via {@link RandomUtils}).
+     * @param randomSeed       seed for HttpMutator's randomness (see {@link HttpMutator#withRandomSeed(long)}).
      * @param mutationStrategy strategy selecting which mutants to execute.
      * @param reportDir        directory where reports could be written (not used directly here, but kept for future extensions).
      */